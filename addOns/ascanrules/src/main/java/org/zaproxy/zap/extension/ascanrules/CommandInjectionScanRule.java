@@ -30,6 +30,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.configuration.ConversionException;
@@ -42,6 +43,7 @@ import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
+import org.zaproxy.zap.extension.ascanrules.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
 import org.zaproxy.zap.model.TechSet;
@@ -536,7 +538,7 @@ public class CommandInjectionScanRule extends AbstractAppParamPlugin {
                             msg.getRequestHeader().getURI());
                     continue; // Something went wrong, move to next payload iteration
                 }
-                elapsedTime = msg.getTimeElapsedMillis();
+                elapsedTime = ResponseTimes.getMillis(msg);
                 responseTimes.add(elapsedTime);
 
                 // Check if the injected content has been evaluated and printed
@@ -605,37 +607,52 @@ public class CommandInjectionScanRule extends AbstractAppParamPlugin {
                         ? getResponseTimeAverage(responseTimes) + TIME_STDEV_COEFF * deviation
                         : timeSleepSeconds * 1000;
 
+        // The mean response time of the feedback payloads is the baseline, without delay
+        double baseline = getResponseTimeAverage(responseTimes) / 1000.0;
+
         it = blindOsPayloads.iterator();
 
-        String timeSleepSecondsStr = String.valueOf(timeSleepSeconds);
         for (int i = 0; it.hasNext() && (i < blindTargetCount); i++) {
-            HttpMessage msg = getNewMsg();
             payload = it.next();
-
-            paramValue = value + payload.replace("{0}", timeSleepSecondsStr);
-            setParameter(msg, paramName, paramValue);
-
-            log.debug("Testing [{}] = [{}]", paramName, paramValue);
+            String blindPayload = payload;
+            AtomicReference<HttpMessage> firstMessage = new AtomicReference<>();
+            TimingUtils.RequestSender requestSender =
+                    delay -> {
+                        HttpMessage msg = getNewMsg();
+                        firstMessage.compareAndSet(null, msg);
+                        String attack =
+                                value + blindPayload.replace("{0}", String.valueOf((int) delay));
+                        setParameter(msg, paramName, attack);
+                        log.debug("Testing [{}] = [{}]", paramName, attack);
+                        sendAndReceive(msg, false);
+                        return ResponseTimes.getSeconds(msg);
+                    };
 
             try {
-                // Send the request and retrieve the response
+                // Send the requests, with the configured sleep first, and check that the response
+                // times follow the sleeps
+                boolean timingDependent;
                 try {
-                    sendAndReceive(msg, false);
+                    timingDependent =
+                            TimingUtils.checkTimingDependence(
+                                    TimingUtils.getDelays(timeSleepSeconds),
+                                    baseline,
+                                    timeSleepSeconds * 3,
+                                    requestSender);
                 } catch (SocketException ex) {
                     log.debug(
                             "Caught {} {} when accessing: {}.\n The target may have replied with a poorly formed redirect due to our input.",
                             ex.getClass().getName(),
                             ex.getMessage(),
-                            msg.getRequestHeader().getURI());
+                            getBaseMsg().getRequestHeader().getURI());
                     continue; // Something went wrong, move to next blind iteration
                 }
-                elapsedTime = msg.getTimeElapsedMillis();
-
-                // Check if enough time has passed
-                if (elapsedTime >= lowerLimit && elapsedTime > timeSleepSeconds * 1000) {
+                HttpMessage msg = firstMessage.get();
+                elapsedTime = ResponseTimes.getMillis(msg);
 
-                    // Probably we've to confirm it launching again the query
-                    // But we arise the alert directly with MEDIUM Confidence...
+                // Check if enough time has passed, also compared with the previous responses
+                if (timingDependent && elapsedTime >= lowerLimit) {
+                    paramValue = value + payload.replace("{0}", String.valueOf(timeSleepSeconds));
 
                     // We Found IT!
                     // First do logging
@@ -0,0 +1,67 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascanrules;
+
+import java.util.function.ToIntFunction;
+import org.parosproxy.paros.network.HttpMessage;
+
+/**
+ * The time the responses took, as used by the time based scan rules.
+ *
+ * <p>Allows the tests to simulate the response times, instead of actually delaying the responses.
+ */
+final class ResponseTimes {
+
+    private static final ToIntFunction<HttpMessage> ACTUAL_RESPONSE_TIME =
+            HttpMessage::getTimeElapsedMillis;
+
+    private static volatile ToIntFunction<HttpMessage> responseTime = ACTUAL_RESPONSE_TIME;
+
+    private ResponseTimes() {}
+
+    /**
+     * Gets the time, in milliseconds, the response to the given message took.
+     *
+     * @param msg the message.
+     * @return the time the response took, in milliseconds.
+     */
+    static int getMillis(HttpMessage msg) {
+        return responseTime.applyAsInt(msg);
+    }
+
+    /**
+     * Gets the time, in seconds, the response to the given message took.
+     *
+     * @param msg the message.
+     * @return the time the response took, in seconds.
+     */
+    static double getSeconds(HttpMessage msg) {
+        return getMillis(msg) / 1000.0;
+    }
+
+    /**
+     * Sets the function that gets the time, in milliseconds, the response to a message took.
+     *
+     * @param function the function, or {@code null} to get the actual response times.
+     */
+    static void setFunction(ToIntFunction<HttpMessage> function) {
+        responseTime = function != null ? function : ACTUAL_RESPONSE_TIME;
+    }
+}
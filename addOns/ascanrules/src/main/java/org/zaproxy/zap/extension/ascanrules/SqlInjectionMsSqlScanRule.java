@@ -22,6 +22,7 @@ package org.zaproxy.zap.extension.ascanrules;
 import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.configuration.ConversionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +32,7 @@ import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
+import org.zaproxy.zap.extension.ascanrules.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
 import org.zaproxy.zap.model.TechSet;
@@ -201,20 +203,38 @@ public class SqlInjectionMsSqlScanRule extends AbstractAppParamPlugin {
                     paramValue);
 
             // Check for time based SQL Injection, using MsSQL specific syntax
-            String sleepToken = getSleepToken(sleepInSeconds);
             for (int timeBasedSQLindex = 0;
                     timeBasedSQLindex < SQL_MSSQL_TIME_REPLACEMENTS.length
                             && doTimeBased
                             && countTimeBasedRequests < doTimeMaxRequests;
                     timeBasedSQLindex++) {
-                HttpMessage msgAttack = getNewMsg();
+                String timeBasedInjectionValue =
+                        SQL_MSSQL_TIME_REPLACEMENTS[timeBasedSQLindex].replace(
+                                ORIG_VALUE_TOKEN, paramValue);
                 String newTimeBasedInjectionValue =
-                        SQL_MSSQL_TIME_REPLACEMENTS[timeBasedSQLindex]
-                                .replace(ORIG_VALUE_TOKEN, paramValue)
-                                .replace(SLEEP_TOKEN, sleepToken);
-
-                setParameter(msgAttack, paramName, newTimeBasedInjectionValue);
-                long modifiedTimeUsed = getRoundTripTime(msgAttack);
+                        timeBasedInjectionValue.replace(SLEEP_TOKEN, getSleepToken(sleepInSeconds));
+                AtomicReference<HttpMessage> firstMessage = new AtomicReference<>();
+                TimingUtils.RequestSender requestSender =
+                        delay -> {
+                            HttpMessage msg = getNewMsg();
+                            firstMessage.compareAndSet(null, msg);
+                            setParameter(
+                                    msg,
+                                    paramName,
+                                    timeBasedInjectionValue.replace(
+                                            SLEEP_TOKEN, getSleepToken((int) delay)));
+                            return getRoundTripTime(msg) / 1000.0;
+                        };
+                // send the requests, with the configured delay first, verifying that the
+                // response times follow the delays (and not a slow or overloaded server).
+                boolean timingDependent =
+                        TimingUtils.checkTimingDependence(
+                                TimingUtils.getDelays(sleepInSeconds),
+                                originalTimeUsed / 1000.0,
+                                sleepInSeconds * 3,
+                                requestSender);
+                HttpMessage msgAttack = firstMessage.get();
+                long modifiedTimeUsed = ResponseTimes.getMillis(msgAttack);
                 log.debug(
                         "Time Based SQL Injection test: [{}] on field: [{}] with value [{}] took {}ms, where the original took {}ms",
                         newTimeBasedInjectionValue,
@@ -222,25 +242,8 @@ public class SqlInjectionMsSqlScanRule extends AbstractAppParamPlugin {
                         newTimeBasedInjectionValue,
                         modifiedTimeUsed,
                         originalTimeUsed);
-                // add some small leeway on the time, since adding a 5 (by default) second delay in
-                // the SQL query will not cause the request
-                // to take a full 15 (by default) seconds longer to run than the original..
-                if (modifiedTimeUsed >= (originalTimeUsed + sleepInSeconds * 1000 - 200)) {
-                    // takes more than 5(by default) extra seconds => likely time based SQL
-                    // injection.
-
-                    // But first double check
-                    HttpMessage msgc = getNewMsg();
-                    try {
-                        sendAndReceive(msgc, false); // do not follow redirects
-                    } catch (Exception e) {
-                        // Ignore all exceptions
-                    }
-                    long checkTimeUsed = msgc.getTimeElapsedMillis();
-                    if (checkTimeUsed >= (originalTimeUsed + (this.sleepInSeconds * 1000) - 200)) {
-                        // Looks like the server is overloaded, very unlikely this is a real issue
-                        continue;
-                    }
+                if (timingDependent) {
+                    // the response times followed the delays => likely time based SQL injection.
 
                     String extraInfo =
                             Constant.messages.getString(
@@ -265,7 +268,7 @@ public class SqlInjectionMsSqlScanRule extends AbstractAppParamPlugin {
                             msgAttack.getRequestHeader().getURI(),
                             paramName);
                     return;
-                } // query took longer than the amount of time we attempted to delay it by
+                } // query times followed the amount of time we attempted to delay it by
                 // bale out if we were asked nicely
                 if (isStop()) {
                     log.debug("Stopping the scan due to a user request");
@@ -290,7 +293,7 @@ public class SqlInjectionMsSqlScanRule extends AbstractAppParamPlugin {
                     msg.getRequestHeader().getURI());
         }
         countTimeBasedRequests++;
-        return msg.getTimeElapsedMillis();
+        return ResponseTimes.getMillis(msg);
     }
 
     private static String getSleepToken(int totalTimeInSeconds) {
@@ -22,6 +22,8 @@ package org.zaproxy.zap.extension.ascanrules;
 import java.net.SocketException;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.configuration.ConversionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +33,7 @@ import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
+import org.zaproxy.zap.extension.ascanrules.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
 import org.zaproxy.zap.model.TechSet;
@@ -290,7 +293,7 @@ public class SqlInjectionMySqlScanRule extends AbstractAppParamPlugin {
                         msgTimeBaseline.getRequestHeader().getURI());
                 return; // No need to keep going
             }
-            long originalTimeUsed = msgTimeBaseline.getTimeElapsedMillis();
+            long originalTimeUsed = ResponseTimes.getMillis(msgTimeBaseline);
             // if the time was very slow (because JSP was being compiled on first call, for
             // instance)
             // then the rest of the time based logic will fail.  Lets double-check for that scenario
@@ -317,7 +320,7 @@ public class SqlInjectionMySqlScanRule extends AbstractAppParamPlugin {
                             msgTimeBaseline.getRequestHeader().getURI());
                     return; // No need to keep going
                 }
-                long originalTimeUsed2 = msgTimeBaseline.getTimeElapsedMillis();
+                long originalTimeUsed2 = ResponseTimes.getMillis(msgTimeBaseline);
                 if (originalTimeUsed2 > sleep * 1000) {
                     // no better the second time around.  we need to bale out.
                     log.debug(
@@ -333,7 +336,7 @@ public class SqlInjectionMySqlScanRule extends AbstractAppParamPlugin {
             }
             // end of timing baseline check
 
-            int countTimeBasedRequests = 0;
+            AtomicInteger countTimeBasedRequests = new AtomicInteger();
 
             log.debug(
                     "Scanning URL [{}] [{}], [{}] with value [{}] for SQL Injection",
@@ -346,36 +349,57 @@ public class SqlInjectionMySqlScanRule extends AbstractAppParamPlugin {
             for (int timeBasedSQLindex = 0;
                     timeBasedSQLindex < SQL_MYSQL_TIME_REPLACEMENTS.length
                             && doTimeBased
-                            && countTimeBasedRequests < doTimeMaxRequests;
+                            && countTimeBasedRequests.get() < doTimeMaxRequests;
                     timeBasedSQLindex++) {
-                HttpMessage msg3 = getNewMsg();
+                String timeBasedInjectionValue =
+                        SQL_MYSQL_TIME_REPLACEMENTS[timeBasedSQLindex].replace(
+                                ORIG_VALUE_TOKEN, originalParamValue);
                 String newTimeBasedInjectionValue =
-                        SQL_MYSQL_TIME_REPLACEMENTS[timeBasedSQLindex]
-                                .replace(ORIG_VALUE_TOKEN, originalParamValue)
-                                .replace(SLEEP_TOKEN, Integer.toString(sleep));
-                setParameter(msg3, paramName, newTimeBasedInjectionValue);
-
-                // send it.
+                        timeBasedInjectionValue.replace(SLEEP_TOKEN, Integer.toString(sleep));
+                AtomicReference<HttpMessage> firstMessage = new AtomicReference<>();
+                TimingUtils.RequestSender requestSender =
+                        delay -> {
+                            HttpMessage msg3 = getNewMsg();
+                            firstMessage.compareAndSet(null, msg3);
+                            setParameter(
+                                    msg3,
+                                    paramName,
+                                    timeBasedInjectionValue.replace(
+                                            SLEEP_TOKEN, Integer.toString((int) delay)));
+                            sendAndReceive(msg3, false); // do not follow redirects
+                            countTimeBasedRequests.incrementAndGet();
+                            return ResponseTimes.getSeconds(msg3);
+                        };
+
+                // send the requests, with the configured sleep first, verifying that the
+                // response times follow the sleeps (and not a slow or overloaded server).
+                boolean timingDependent;
                 try {
-                    sendAndReceive(msg3, false); // do not follow redirects
-                    countTimeBasedRequests++;
+                    timingDependent =
+                            TimingUtils.checkTimingDependence(
+                                    TimingUtils.getDelays(sleep),
+                                    originalTimeUsed / 1000.0,
+                                    sleep * 3,
+                                    requestSender);
                 } catch (java.net.SocketTimeoutException e) {
                     // to be expected occasionally, if the contains some parameters exploiting time
                     // based SQL injection
                     log.debug(
                             "The time check query timed out on [{}] URL [{}] on field: [{}]",
-                            msg3.getRequestHeader().getMethod(),
-                            msg3.getRequestHeader().getURI(),
+                            getBaseMsg().getRequestHeader().getMethod(),
+                            getBaseMsg().getRequestHeader().getURI(),
                             paramName);
+                    continue;
                 } catch (SocketException ex) {
                     log.debug(
                             "Caught {} {} when accessing: {}",
                             ex.getClass().getName(),
                             ex.getMessage(),
-                            msg3.getRequestHeader().getURI());
+                            getBaseMsg().getRequestHeader().getURI());
                     return; // No need to keep going
                 }
-                long modifiedTimeUsed = msg3.getTimeElapsedMillis();
+                HttpMessage msg3 = firstMessage.get();
+                long modifiedTimeUsed = ResponseTimes.getMillis(msg3);
 
                 log.debug(
                         "Time Based SQL Injection test: [{}] on field: [{}] with value [{}] took {}ms, where the original took {}ms",
@@ -385,26 +409,7 @@ public class SqlInjectionMySqlScanRule extends AbstractAppParamPlugin {
                         modifiedTimeUsed,
                         originalTimeUsed);
 
-                // add some small leeway on the time, since adding a 5 (by default) second delay in
-                // the SQL query will not cause the request
-                // to take a full 5 (by default) seconds longer to run than the original..
-                if (modifiedTimeUsed >= (originalTimeUsed + (sleep * 1000) - 200)) {
-                    // takes more than 5 (by default) extra seconds => likely time based SQL
-                    // injection.
-
-                    // But first double check
-                    HttpMessage msgc = getNewMsg();
-                    try {
-                        sendAndReceive(msgc, false); // do not follow redirects
-                    } catch (Exception e) {
-                        // Ignore all exceptions
-                    }
-                    long checkTimeUsed = msgc.getTimeElapsedMillis();
-                    if (checkTimeUsed >= (originalTimeUsed + (sleep * 1000) - 200)) {
-                        // Looks like the server is overloaded, very unlikely this is a real issue
-                        continue;
-                    }
-
+                if (timingDependent) {
                     // Likely a SQL Injection. Raise it
                     String extraInfo =
                             Constant.messages.getString(
@@ -431,7 +436,7 @@ public class SqlInjectionMySqlScanRule extends AbstractAppParamPlugin {
                             paramName);
 
                     return;
-                } // query took longer than the amount of time we attempted to retard it by
+                } // query times followed the amount of time we attempted to retard it by
                 // bale out if we were asked nicely
                 if (isStop()) {
                     log.debug("Stopping the scan due to a user request");
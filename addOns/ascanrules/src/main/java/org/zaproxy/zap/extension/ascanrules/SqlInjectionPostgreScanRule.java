@@ -22,6 +22,8 @@ package org.zaproxy.zap.extension.ascanrules;
 import java.net.SocketException;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.configuration.ConversionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +33,7 @@ import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
+import org.zaproxy.zap.extension.ascanrules.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
 import org.zaproxy.zap.model.TechSet;
@@ -277,10 +280,10 @@ public class SqlInjectionPostgreScanRule extends AbstractAppParamPlugin {
                         msgTimeBaseline.getRequestHeader().getURI());
                 return; // No need to keep going
             }
-            long originalTimeUsed = msgTimeBaseline.getTimeElapsedMillis();
+            long originalTimeUsed = ResponseTimes.getMillis(msgTimeBaseline);
             // end of timing baseline check
 
-            int countTimeBasedRequests = 0;
+            AtomicInteger countTimeBasedRequests = new AtomicInteger();
 
             log.debug(
                     "Scanning URL [{}] [{}], field [{}] with original value [{}] for SQL Injection",
@@ -293,28 +296,48 @@ public class SqlInjectionPostgreScanRule extends AbstractAppParamPlugin {
             for (int timeBasedSQLindex = 0;
                     timeBasedSQLindex < SQL_POSTGRES_TIME_REPLACEMENTS.length
                             && doTimeBased
-                            && countTimeBasedRequests < doTimeMaxRequests;
+                            && countTimeBasedRequests.get() < doTimeMaxRequests;
                     timeBasedSQLindex++) {
-                HttpMessage msgAttack = getNewMsg();
+                String timeBasedInjectionValue =
+                        SQL_POSTGRES_TIME_REPLACEMENTS[timeBasedSQLindex].replace(
+                                ORIG_VALUE_TOKEN, paramValue);
                 String newTimeBasedInjectionValue =
-                        SQL_POSTGRES_TIME_REPLACEMENTS[timeBasedSQLindex]
-                                .replace(ORIG_VALUE_TOKEN, paramValue)
-                                .replace(SLEEP_TOKEN, Integer.toString(sleepInSeconds));
-
-                setParameter(msgAttack, paramName, newTimeBasedInjectionValue);
-
-                // send it.
+                        timeBasedInjectionValue.replace(
+                                SLEEP_TOKEN, Integer.toString(sleepInSeconds));
+                AtomicReference<HttpMessage> firstMessage = new AtomicReference<>();
+                TimingUtils.RequestSender requestSender =
+                        delay -> {
+                            HttpMessage msg = getNewMsg();
+                            firstMessage.compareAndSet(null, msg);
+                            setParameter(
+                                    msg,
+                                    paramName,
+                                    timeBasedInjectionValue.replace(
+                                            SLEEP_TOKEN, Integer.toString((int) delay)));
+                            sendAndReceive(msg, false); // do not follow redirects
+                            countTimeBasedRequests.incrementAndGet();
+                            return ResponseTimes.getSeconds(msg);
+                        };
+
+                // send the requests, with the configured sleep first, verifying that the
+                // response times follow the sleeps (and not a slow or overloaded server).
+                boolean timingDependent;
                 try {
-                    sendAndReceive(msgAttack, false); // do not follow redirects
-                    countTimeBasedRequests++;
+                    timingDependent =
+                            TimingUtils.checkTimingDependence(
+                                    TimingUtils.getDelays(sleepInSeconds),
+                                    originalTimeUsed / 1000.0,
+                                    sleepInSeconds * 3,
+                                    requestSender);
                 } catch (java.net.SocketTimeoutException e) {
                     // this is to be expected, if we start sending slow queries to the database.
-                    // ignore it in this case.. and just get the time.
+                    // ignore it in this case.. and try the next one.
                     log.debug(
                             "The time check query timed out on [{}] URL [{}] on field: [{}]",
                             msgTimeBaseline.getRequestHeader().getMethod(),
                             msgTimeBaseline.getRequestHeader().getURI(),
                             paramName);
+                    continue;
                 } catch (SocketException ex) {
                     log.debug(
                             "Caught {} {} when accessing: {}",
@@ -323,7 +346,8 @@ public class SqlInjectionPostgreScanRule extends AbstractAppParamPlugin {
                             msgTimeBaseline.getRequestHeader().getURI());
                     return; // No need to keep going
                 }
-                long modifiedTimeUsed = msgAttack.getTimeElapsedMillis();
+                HttpMessage msgAttack = firstMessage.get();
+                long modifiedTimeUsed = ResponseTimes.getMillis(msgAttack);
 
                 log.debug(
                         "Time Based SQL Injection test: [{}] on field: [{}] with value [{}] took {}ms, where the original took {}ms",
@@ -333,22 +357,8 @@ public class SqlInjectionPostgreScanRule extends AbstractAppParamPlugin {
                         modifiedTimeUsed,
                         originalTimeUsed);
 
-                if (modifiedTimeUsed >= (originalTimeUsed + (sleepInSeconds * 1000))) {
-                    // takes more than 15 (by default) extra seconds => likely time based SQL
-                    // injection
-
-                    // But first double check
-                    HttpMessage msgc = getNewMsg();
-                    try {
-                        sendAndReceive(msgc, false); // do not follow redirects
-                    } catch (Exception e) {
-                        // Ignore all exceptions
-                    }
-                    long checkTimeUsed = msgc.getTimeElapsedMillis();
-                    if (checkTimeUsed >= (originalTimeUsed + (this.sleepInSeconds * 1000) - 200)) {
-                        // Looks like the server is overloaded, very unlikely this is a real issue
-                        continue;
-                    }
+                if (timingDependent) {
+                    // the response times followed the sleeps => likely time based SQL injection
 
                     String extraInfo =
                             Constant.messages.getString(
@@ -379,7 +389,7 @@ public class SqlInjectionPostgreScanRule extends AbstractAppParamPlugin {
                             msgAttack.getRequestHeader().getURI(),
                             paramName);
                     return;
-                } // query took longer than the amount of time we attempted to retard it by
+                } // query times followed the amount of time we attempted to retard it by
             } // for each time based SQL index
             // end of check for time based SQL Injection
 
@@ -30,6 +30,16 @@ import net.htmlparser.jericho.Source;
 import org.apache.commons.lang3.StringUtils;
 import org.parosproxy.paros.network.HttpMessage;
 
+/**
+ * Analyses the HTML contexts where a target (for example, an XSS payload) is reflected in the
+ * response of a message.
+ *
+ * <p>The response is parsed only if the target is found in it, and at most once. The parse of a
+ * baseline response is not reused, nor is the response re-parsed just around the reflection: the
+ * payloads usually contain markup, which changes the elements (and their parents) around the
+ * reflection, and the parser used does not allow to parse a document incrementally, so the
+ * contexts would not be reliable.
+ */
 public class HtmlContextAnalyser {
 
     private char[] quotes = {'\'', '"'};
@@ -89,8 +99,20 @@ public class HtmlContextAnalyser {
     public HtmlContextAnalyser(HttpMessage msg) {
         this.msg = msg;
         this.htmlPage = msg.getResponseBody().toString();
-        src = new Source(htmlPage);
-        src.fullSequentialParse();
+    }
+
+    /**
+     * Gets the parsed page, parsing it on first use, the page is not parsed if the target is not
+     * found.
+     *
+     * @return the parsed page.
+     */
+    private Source getSource() {
+        if (src == null) {
+            src = new Source(htmlPage);
+            src.fullSequentialParse();
+        }
+        return src;
     }
 
     private boolean isQuote(char chr) {
@@ -289,14 +311,14 @@ public class HtmlContextAnalyser {
                 }
             }
             // is it in an HTML comment?
-            String prefix = htmlPage.substring(0, context.getStart());
-            if (prefix.lastIndexOf("<!--") > prefix.lastIndexOf(">")) {
+            int start = context.getStart();
+            if (htmlPage.lastIndexOf("<!--", start - 4) > htmlPage.lastIndexOf('>', start - 1)) {
                 // Also check closing comment?
                 context.setHtmlComment(true);
             }
 
             // Work out the location in the DOM
-            Element element = src.getEnclosingElement(context.getStart());
+            Element element = getSource().getEnclosingElement(context.getStart());
             if (element != null) {
                 // See if its in an attribute
                 boolean isInputTag =
@@ -0,0 +1,80 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascanrules.timing;
+
+/**
+ * A simple linear regression, computed incrementally as the points are added, without keeping
+ * them.
+ */
+class OnlineSimpleLinearRegression {
+
+    private int count;
+    private double meanX;
+    private double meanY;
+    private double varX;
+    private double varY;
+    private double covXY;
+
+    /**
+     * Adds the given point to the regression.
+     *
+     * @param x the value of the independent variable.
+     * @param y the value of the dependent variable.
+     */
+    void addPoint(double x, double y) {
+        count++;
+        double dx = x - meanX;
+        double dy = y - meanY;
+        meanX += dx / count;
+        meanY += dy / count;
+        varX += dx * (x - meanX);
+        varY += dy * (y - meanY);
+        covXY += dx * (y - meanY);
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the slope of the regression line.
+     *
+     * @return the slope, or {@code NaN} if the independent variable does not vary.
+     */
+    double getSlope() {
+        if (varX == 0) {
+            return Double.NaN;
+        }
+        return covXY / varX;
+    }
+
+    /**
+     * Gets the Pearson correlation coefficient of the points.
+     *
+     * @return the correlation, between {@code -1} and {@code 1}, or {@code 0} if any of the
+     *     variables does not vary.
+     */
+    double getCorrelation() {
+        if (varX == 0 || varY == 0) {
+            return 0;
+        }
+        return covXY / Math.sqrt(varX * varY);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascanrules.timing;
+
+import java.io.IOException;
+
+/**
+ * Utility methods to check if the response times of the target depend on the delay injected in the
+ * requests, used by the time based injection scan rules.
+ *
+ * <p>Instead of relying on a single (long) delayed request, a small number of requests is sent with
+ * different delays, interleaved with requests without delay, which are compared with the baseline
+ * response time. The response times are then required to follow the injected delays, using a
+ * linear regression, which tolerates the latency of the network while rejecting servers that are
+ * just slow or overloaded. The check stops as soon as a response shows that it does not depend on
+ * the delay, so in most cases (that is, not vulnerable) just one request is sent.
+ *
+ * @since 50.0.0
+ */
+public final class TimingUtils {
+
+    /** The default maximum deviation of the correlation from a perfect correlation ({@code 1}). */
+    public static final double DEFAULT_CORRELATION_ERROR_RANGE = 0.1;
+
+    /**
+     * The default maximum deviation of the slope from the expected slope ({@code 1}), that is, one
+     * second more of response time for each second of delay.
+     */
+    public static final double DEFAULT_SLOPE_ERROR_RANGE = 0.3;
+
+    private static final int MIN_POINTS = 3;
+
+    private TimingUtils() {}
+
+    /** Sends a request with the given delay injected, returning how long the response took. */
+    @FunctionalInterface
+    public interface RequestSender {
+
+        /**
+         * Sends a request, injecting the given delay.
+         *
+         * @param delay the delay to inject, in seconds, {@code 0} for no delay.
+         * @return the time the response took, in seconds.
+         * @throws IOException if an error occurred while sending the request.
+         */
+        double send(double delay) throws IOException;
+    }
+
+    /**
+     * Gets the delays to check a payload, starting with the given delay, which allows to discard
+     * (most) non vulnerable targets with a single request, followed by requests without delay and
+     * escalating verification delays, that are at most one second.
+     *
+     * <p>For example, for a delay of 15 seconds: {@code 15, 0, 1, 0, 2}; and for a delay of 0.3
+     * seconds: {@code 0.3, 0, 0.3, 0, 0.6}.
+     *
+     * @param delay the (first) delay, in seconds.
+     * @return the delays.
+     * @throws IllegalArgumentException if the delay is not positive.
+     */
+    public static double[] getDelays(double delay) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("The delay must be positive.");
+        }
+        double unit = Math.min(delay, 1);
+        return new double[] {delay, 0, unit, 0, unit * 2};
+    }
+
+    /**
+     * Checks if the response times depend on the delays injected, using the default error ranges.
+     *
+     * @param delays the delays to inject, in seconds.
+     * @param baseline the time, in seconds, the response without delay took.
+     * @param secondsLimit the maximum time, in seconds, to spend sending the requests.
+     * @param requestSender the sender of the requests.
+     * @return {@code true} if the response times depend on the delays, {@code false} otherwise.
+     * @throws IOException if an error occurred while sending the requests.
+     * @see #checkTimingDependence(double[], double, double, RequestSender, double, double)
+     */
+    public static boolean checkTimingDependence(
+            double[] delays, double baseline, double secondsLimit, RequestSender requestSender)
+            throws IOException {
+        return checkTimingDependence(
+                delays,
+                baseline,
+                secondsLimit,
+                requestSender,
+                DEFAULT_CORRELATION_ERROR_RANGE,
+                DEFAULT_SLOPE_ERROR_RANGE);
+    }
+
+    /**
+     * Checks if the response times depend on the delays injected.
+     *
+     * <p>The requests are sent in the order of the delays, and the check stops, as negative, as
+     * soon as:
+     *
+     * <ul>
+     *   <li>a delayed response takes less time than its delay, or than the baseline plus the
+     *       delay (within the slope error range);
+     *   <li>a response without delay takes as much time as the baseline plus the shortest delay.
+     * </ul>
+     *
+     * The baseline is lowered by the responses without delay that are faster, so that a slow
+     * baseline does not reject the shorter verification delays. No more requests are sent once the
+     * time limit is reached. Lastly, the response times are required to correlate with the delays,
+     * with a slope of (at least) one.
+     *
+     * @param delays the delays to inject, in seconds, for example, from {@link
+     *     #getDelays(double)}.
+     * @param baseline the time, in seconds, the response without delay took, for example, of the
+     *     original message.
+     * @param secondsLimit the maximum time, in seconds, to spend sending the requests.
+     * @param requestSender the sender of the requests.
+     * @param correlationErrorRange the maximum deviation of the correlation from {@code 1}.
+     * @param slopeErrorRange the maximum deviation of the slope below {@code 1}, a greater slope
+     *     is accepted as the delay might be injected more than once (e.g. once per row).
+     * @return {@code true} if the response times depend on the delays, {@code false} otherwise.
+     * @throws IOException if an error occurred while sending the requests.
+     * @throws IllegalArgumentException if less than three delays are given.
+     */
+    public static boolean checkTimingDependence(
+            double[] delays,
+            double baseline,
+            double secondsLimit,
+            RequestSender requestSender,
+            double correlationErrorRange,
+            double slopeErrorRange)
+            throws IOException {
+        if (delays.length < MIN_POINTS) {
+            throw new IllegalArgumentException(
+                    "At least " + MIN_POINTS + " delays are required.");
+        }
+
+        double minDelay = Double.MAX_VALUE;
+        for (double delay : delays) {
+            if (delay > 0 && delay < minDelay) {
+                minDelay = delay;
+            }
+        }
+
+        OnlineSimpleLinearRegression regression = new OnlineSimpleLinearRegression();
+        double currentBaseline = baseline;
+        double secondsLeft = secondsLimit;
+        for (double delay : delays) {
+            if (secondsLeft <= 0) {
+                break;
+            }
+            double time = requestSender.send(delay);
+            secondsLeft -= time;
+            if (delay > 0) {
+                if (time < delay || time - currentBaseline < delay * (1 - slopeErrorRange)) {
+                    return false;
+                }
+            } else {
+                if (time - currentBaseline >= minDelay) {
+                    return false;
+                }
+                currentBaseline = Math.min(currentBaseline, time);
+            }
+            regression.addPoint(delay, time);
+        }
+
+        return regression.getCount() >= MIN_POINTS
+                && regression.getCorrelation() >= 1 - correlationErrorRange
+                && regression.getSlope() >= 1 - slopeErrorRange;
+    }
+}
@@ -19,13 +19,87 @@
  */
 package org.zaproxy.zap.extension.ascanrules;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.function.ToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
 import org.parosproxy.paros.core.scanner.AbstractPlugin;
+import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.zap.testutils.ActiveScannerTestUtils;
 
 abstract class ActiveScannerTest<T extends AbstractPlugin> extends ActiveScannerTestUtils<T> {
 
+    /** The simulated time, in milliseconds, of the responses without delay. */
+    protected static final int BASE_RESPONSE_TIME = 5;
+
     @Override
     protected void setUpMessages() {
         mockMessages(new ExtensionAscanRules());
     }
+
+    @AfterEach
+    void resetResponseTime() {
+        ResponseTimes.setFunction(null);
+    }
+
+    /**
+     * Sets the function that gets the time, in milliseconds, the response to a message took, as
+     * used by the time based scan rules.
+     *
+     * @param responseTime the function that gets the response time.
+     * @see #simulatedResponseTime(String, Pattern, int)
+     */
+    protected static void setResponseTime(ToIntFunction<HttpMessage> responseTime) {
+        ResponseTimes.setFunction(responseTime);
+    }
+
+    /**
+     * Creates a function that simulates the response times of a target vulnerable to a time based
+     * attack, without actually delaying the responses.
+     *
+     * <p>The requests whose query parameter value matches the given pattern take the delay
+     * captured by the pattern, the others take just {@link #BASE_RESPONSE_TIME}.
+     *
+     * @param paramName the name of the query parameter attacked.
+     * @param delayPattern the pattern of the attack, with the delay in the first group.
+     * @param millisPerUnit the number of milliseconds of each unit of the delay.
+     * @return the function that gets the response time of a message, in milliseconds.
+     */
+    protected static ToIntFunction<HttpMessage> simulatedResponseTime(
+            String paramName, Pattern delayPattern, int millisPerUnit) {
+        return msg -> {
+            Matcher matcher = delayPattern.matcher(getParamValue(msg, paramName));
+            if (matcher.matches()) {
+                return Integer.parseInt(matcher.group(1)) * millisPerUnit + BASE_RESPONSE_TIME;
+            }
+            return BASE_RESPONSE_TIME;
+        };
+    }
+
+    /**
+     * Gets the (decoded) value of the given query parameter of the request of the given message.
+     *
+     * @param msg the message.
+     * @param paramName the name of the query parameter.
+     * @return the value, or an empty string if the parameter is not present.
+     */
+    protected static String getParamValue(HttpMessage msg, String paramName) {
+        String query = msg.getRequestHeader().getURI().getEscapedQuery();
+        if (query == null) {
+            return "";
+        }
+        for (String param : query.split("&")) {
+            int idx = param.indexOf('=');
+            if (idx != -1 && paramName.equals(decode(param.substring(0, idx)))) {
+                return decode(param.substring(idx + 1));
+            }
+        }
+        return "";
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
 }
@@ -38,6 +38,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import org.apache.commons.configuration.Configuration;
 import org.junit.jupiter.api.Test;
@@ -217,6 +218,27 @@ class CommandInjectionScanRuleUnitTest extends ActiveScannerTest<CommandInjectio
         }
     }
 
+    @Test
+    void shouldRaiseAlertIfResponseTimesFollowSleepTimes() throws Exception {
+        // Given
+        Pattern sleepPattern = Pattern.compile("a;sleep (\\d+);");
+        nano.addHandler(
+                new NanoServerHandler("/") {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return newFixedLengthResponse("<html><body></body></html>");
+                    }
+                });
+        rule.setConfig(configWithSleepRule("1"));
+        rule.init(getHttpMessage("/?p=a"), parent);
+        setResponseTime(simulatedResponseTime("p", sleepPattern, 1000));
+        // When
+        rule.scan();
+        // Then
+        assertThat(alertsRaised, hasSize(1));
+        assertThat(alertsRaised.get(0).getAttack(), is(equalTo("a;sleep 1;")));
+    }
+
     private static Configuration configWithSleepRule(String value) {
         Configuration config = new ZapXmlConfiguration();
         config.setProperty(RuleConfigParam.RULE_COMMON_SLEEP_TIME, value);
@@ -27,6 +27,7 @@ import static org.hamcrest.Matchers.is;
 import fi.iki.elonen.NanoHTTPD.IHTTPSession;
 import fi.iki.elonen.NanoHTTPD.Response;
 import java.util.Map;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.Test;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
@@ -38,6 +39,8 @@ import org.zaproxy.zap.testutils.NanoServerHandler;
 /** Unit test for {@link SqlInjectionMySqlScanRule}. */
 class SqlInjectionMySqlScanRuleUnitTest extends ActiveScannerTest<SqlInjectionMySqlScanRule> {
 
+    private static final Pattern SLEEP_PATTERN = Pattern.compile("test' / sleep\\((\\d+)\\) / '");
+
     @Override
     protected SqlInjectionMySqlScanRule createScanner() {
         return new SqlInjectionMySqlScanRule();
@@ -64,26 +67,14 @@ class SqlInjectionMySqlScanRuleUnitTest extends ActiveScannerTest<SqlInjectionMy
     }
 
     @Test
-    void shouldAlertIfSleepTimesGetLonger() throws Exception {
+    void shouldAlertIfResponseTimesFollowSleepTimes() throws Exception {
         String test = "/shouldReportSqlTimingIssue/";
 
         this.nano.addHandler(
                 new NanoServerHandler(test) {
-                    private int time = 100;
-
                     @Override
                     protected Response serve(IHTTPSession session) {
-                        String name = getFirstParamValue(session, "name");
-                        String response = "<html><body></body></html>";
-                        if (name != null && name.contains(" sleep(")) {
-                            try {
-                                Thread.sleep(time);
-                            } catch (InterruptedException e) {
-                                // Ignore
-                            }
-                            time += 1000;
-                        }
-                        return newFixedLengthResponse(response);
+                        return newFixedLengthResponse("<html><body></body></html>");
                     }
                 });
 
@@ -91,6 +82,7 @@ class SqlInjectionMySqlScanRuleUnitTest extends ActiveScannerTest<SqlInjectionMy
 
         this.rule.init(msg, this.parent);
         this.rule.setSleepInSeconds(1);
+        setResponseTime(simulatedResponseTime("name", SLEEP_PATTERN, 1000));
 
         this.rule.scan();
 
@@ -132,6 +124,31 @@ class SqlInjectionMySqlScanRuleUnitTest extends ActiveScannerTest<SqlInjectionMy
         assertThat(alertsRaised.size(), equalTo(0));
     }
 
+    @Test
+    void shouldNotAlertIfResponseTimesDoNotFollowSleepTimes() throws Exception {
+        String test = "/shouldNotReportConstantTimingIssue/";
+
+        this.nano.addHandler(
+                new NanoServerHandler(test) {
+
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return newFixedLengthResponse("<html><body></body></html>");
+                    }
+                });
+
+        HttpMessage msg = this.getHttpMessage(test + "?name=test");
+
+        this.rule.init(msg, this.parent);
+        this.rule.setSleepInSeconds(1);
+        setResponseTime(
+                m -> getParamValue(m, "name").contains(" sleep(") ? 1000 : BASE_RESPONSE_TIME);
+
+        this.rule.scan();
+
+        assertThat(alertsRaised.size(), equalTo(0));
+    }
+
     @Test
     void shouldReturnExpectedMappings() {
         // Given / When
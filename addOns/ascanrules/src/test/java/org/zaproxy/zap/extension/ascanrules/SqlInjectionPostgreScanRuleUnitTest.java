@@ -27,6 +27,7 @@ import static org.hamcrest.Matchers.is;
 import fi.iki.elonen.NanoHTTPD.IHTTPSession;
 import fi.iki.elonen.NanoHTTPD.Response;
 import java.util.Map;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.Test;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
@@ -38,6 +39,9 @@ import org.zaproxy.zap.testutils.NanoServerHandler;
 /** Unit test for {@link SqlInjectionPostgreScanRule}. */
 class SqlInjectionPostgreScanRuleUnitTest extends ActiveScannerTest<SqlInjectionPostgreScanRule> {
 
+    private static final Pattern SLEEP_PATTERN =
+            Pattern.compile("case when cast\\(pg_sleep\\((\\d+)\\) as varchar\\) > '' then 0 else 1 end -- ");
+
     @Override
     protected SqlInjectionPostgreScanRule createScanner() {
         return new SqlInjectionPostgreScanRule();
@@ -64,26 +68,14 @@ class SqlInjectionPostgreScanRuleUnitTest extends ActiveScannerTest<SqlInjection
     }
 
     @Test
-    void shouldAlertIfSleepTimesGetLonger() throws Exception {
+    void shouldAlertIfResponseTimesFollowSleepTimes() throws Exception {
         String test = "/shouldReportSqlTimingIssue/";
 
         this.nano.addHandler(
                 new NanoServerHandler(test) {
-                    private int time = 100;
-
                     @Override
                     protected Response serve(IHTTPSession session) {
-                        String name = getFirstParamValue(session, "name");
-                        String response = "<html><body></body></html>";
-                        if (name != null && name.contains("pg_sleep(")) {
-                            try {
-                                Thread.sleep(time);
-                            } catch (InterruptedException e) {
-                                // Ignore
-                            }
-                            time += 1000;
-                        }
-                        return newFixedLengthResponse(response);
+                        return newFixedLengthResponse("<html><body></body></html>");
                     }
                 });
 
@@ -91,6 +83,7 @@ class SqlInjectionPostgreScanRuleUnitTest extends ActiveScannerTest<SqlInjection
 
         this.rule.init(msg, this.parent);
         this.rule.setSleepInSeconds(1);
+        setResponseTime(simulatedResponseTime("name", SLEEP_PATTERN, 1000));
 
         this.rule.scan();
 
@@ -0,0 +1,143 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascanrules.httputils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.htmlparser.jericho.Source;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.testutils.TestUtils;
+
+/**
+ * Benchmark of {@link HtmlContextAnalyser} with large pages, with and without the reflection of
+ * the payload.
+ *
+ * <p>Not run by default, to run it set the environment variable {@code ZAP_ASCANRULES_BENCHMARK}
+ * to {@code true}, for example:
+ *
+ * <pre>
+ * ZAP_ASCANRULES_BENCHMARK=true ./gradlew :addOns:ascanrules:cleanTest :addOns:ascanrules:test \
+ *     --tests '*HtmlContextAnalyserBenchmarkUnitTest'
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "ZAP_ASCANRULES_BENCHMARK", matches = "true")
+class HtmlContextAnalyserBenchmarkUnitTest extends TestUtils {
+
+    private static final Logger LOGGER =
+            LogManager.getLogger(HtmlContextAnalyserBenchmarkUnitTest.class);
+
+    private static final int KILOBYTE = 1024;
+
+    private static final int PROBES = 20;
+
+    private static final int WARM_UP_RUNS = 3;
+
+    private static final String PAYLOAD = "\"><scrIpt>alert(1);</scRipt>";
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1024})
+    void analyseLargePages(int kilobytes) throws Exception {
+        // Given
+        Random random = new Random(kilobytes);
+        String prefix = createRows(random, kilobytes * KILOBYTE / 2);
+        String suffix = createRows(random, kilobytes * KILOBYTE / 2);
+        HttpMessage reflected = createMessage(prefix, PAYLOAD, suffix);
+        HttpMessage notReflected = createMessage(prefix, "&quot;&gt;", suffix);
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            analyse(reflected);
+            analyse(notReflected);
+            parse(reflected);
+        }
+        // When
+        long start = System.nanoTime();
+        List<HtmlContext> contexts = analyse(reflected);
+        long reflectedEnd = System.nanoTime();
+        analyse(notReflected);
+        long notReflectedEnd = System.nanoTime();
+        parse(reflected);
+        long parseEnd = System.nanoTime();
+        // Then
+        assertThat(contexts, hasSize(1));
+        assertThat(contexts.get(0).getParentTag(), is(equalTo("td")));
+        LOGGER.info(
+                "{} KB x {} probes: reflected {} ms (full parse only {} ms), not reflected {} ms",
+                kilobytes,
+                PROBES,
+                toMillis(start, reflectedEnd),
+                toMillis(notReflectedEnd, parseEnd),
+                toMillis(reflectedEnd, notReflectedEnd));
+    }
+
+    private static long toMillis(long start, long end) {
+        return TimeUnit.NANOSECONDS.toMillis(end - start);
+    }
+
+    private static List<HtmlContext> analyse(HttpMessage msg) {
+        List<HtmlContext> contexts = null;
+        for (int i = 0; i < PROBES; i++) {
+            contexts = new HtmlContextAnalyser(msg).getHtmlContexts(PAYLOAD, null, 0);
+        }
+        return contexts;
+    }
+
+    private static void parse(HttpMessage msg) {
+        for (int i = 0; i < PROBES; i++) {
+            new Source(msg.getResponseBody().toString()).fullSequentialParse();
+        }
+    }
+
+    private static HttpMessage createMessage(String prefix, String value, String suffix)
+            throws Exception {
+        HttpMessage msg = new HttpMessage();
+        msg.setRequestHeader("GET /search?q=x HTTP/1.1");
+        msg.setResponseBody(
+                "<html><body><table>"
+                        + prefix
+                        + "<tr><td>"
+                        + value
+                        + "</td></tr>"
+                        + suffix
+                        + "</table></body></html>");
+        return msg;
+    }
+
+    private static String createRows(Random random, int length) {
+        StringBuilder rows = new StringBuilder(length + 100);
+        while (rows.length() < length) {
+            rows.append("<tr><td class=\"item\"><a href=\"/item?id=")
+                    .append(random.nextInt(100_000))
+                    .append("\">Item ")
+                    .append(random.nextLong())
+                    .append("</a></td></tr>\n");
+        }
+        return rows.toString();
+    }
+}
@@ -77,6 +77,30 @@ public class HtmlContextAnalyserUnitTest extends TestUtils {
         assertThat(attrMap.get("assert"), is(equalTo("")));
     }
 
+    @Test
+    void shouldDetectTargetInHtmlComment() throws Exception {
+        msg = new HttpMessage();
+        msg.setRequestHeader("GET /index.html HTTP/1.1");
+        msg.setResponseBody("<html><body><!-- 0W45pz4p --><p>0W45pz4p</p></body></html>");
+        HtmlContextAnalyser analyser = new HtmlContextAnalyser(msg);
+        List<HtmlContext> contexts = analyser.getHtmlContexts("0W45pz4p", null, 0);
+        assertThat(contexts.size(), is(equalTo(2)));
+        assertThat(contexts.get(0).isHtmlComment(), is(equalTo(true)));
+        assertThat(contexts.get(1).isHtmlComment(), is(equalTo(false)));
+        assertThat(contexts.get(1).getParentTag(), is(equalTo("p")));
+    }
+
+    @Test
+    void shouldDetectTargetRightAfterHtmlCommentStart() throws Exception {
+        msg = new HttpMessage();
+        msg.setRequestHeader("GET /index.html HTTP/1.1");
+        msg.setResponseBody("<!--0W45pz4p-->");
+        HtmlContextAnalyser analyser = new HtmlContextAnalyser(msg);
+        List<HtmlContext> contexts = analyser.getHtmlContexts("0W45pz4p", null, 0);
+        assertThat(contexts.size(), is(equalTo(1)));
+        assertThat(contexts.get(0).isHtmlComment(), is(equalTo(true)));
+    }
+
     @Test
     void shouldGetParsedAttributes() {
         String attr = " onclick = \"alert(100)\" accesskey = \"x\" n=\"\"";
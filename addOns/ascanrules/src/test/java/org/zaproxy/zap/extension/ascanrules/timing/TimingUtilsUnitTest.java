@@ -0,0 +1,347 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascanrules.timing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Unit test for {@link TimingUtils}. */
+class TimingUtilsUnitTest {
+
+    private static final int TRIALS = 1000;
+    private static final double BASE_LATENCY = 0.1;
+    private static final double HIGH_LATENCY = 1.5;
+    private static final double JITTER = 0.1;
+
+    @Test
+    void shouldGetDelaysStartingWithGivenDelay() {
+        // Given / When
+        double[] delays = TimingUtils.getDelays(15);
+        // Then
+        assertThat(delays, is(equalTo(new double[] {15, 0, 1, 0, 2})));
+    }
+
+    @Test
+    void shouldGetDelaysNoGreaterThanGivenDelay() {
+        // Given / When
+        double[] delays = TimingUtils.getDelays(0.3);
+        // Then
+        assertThat(delays, is(equalTo(new double[] {0.3, 0, 0.3, 0, 0.6})));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -1})
+    void shouldFailToGetDelaysForNonPositiveDelay(double delay) {
+        assertThrows(IllegalArgumentException.class, () -> TimingUtils.getDelays(delay));
+    }
+
+    @Test
+    void shouldFailToCheckWithLessThanThreeDelays() {
+        // Given
+        double[] delays = {1, 0};
+        // When / Then
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> TimingUtils.checkTimingDependence(delays, 0, 10, delay -> delay));
+    }
+
+    @Test
+    void shouldBeTimingDependentIfResponseTimesFollowDelays() throws IOException {
+        // Given
+        List<Double> sent = new ArrayList<>();
+        TimingUtils.RequestSender sender =
+                delay -> {
+                    sent.add(delay);
+                    return delay + BASE_LATENCY;
+                };
+        // When
+        boolean dependent =
+                TimingUtils.checkTimingDependence(
+                        TimingUtils.getDelays(5), BASE_LATENCY, 15, sender);
+        // Then
+        assertThat(dependent, is(equalTo(true)));
+        assertThat(sent, contains(5.0, 0.0, 1.0, 0.0, 2.0));
+    }
+
+    @Test
+    void shouldBeTimingDependentIfDelayIsInjectedMoreThanOnce() throws IOException {
+        // Given
+        TimingUtils.RequestSender sender = delay -> delay * 3 + BASE_LATENCY;
+        // When
+        boolean dependent =
+                TimingUtils.checkTimingDependence(
+                        TimingUtils.getDelays(1), BASE_LATENCY, 30, sender);
+        // Then
+        assertThat(dependent, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldStopAfterFirstRequestIfNotDelayed() throws IOException {
+        // Given
+        List<Double> sent = new ArrayList<>();
+        TimingUtils.RequestSender sender =
+                delay -> {
+                    sent.add(delay);
+                    return BASE_LATENCY;
+                };
+        // When
+        boolean dependent =
+                TimingUtils.checkTimingDependence(
+                        TimingUtils.getDelays(5), BASE_LATENCY, 15, sender);
+        // Then
+        assertThat(dependent, is(equalTo(false)));
+        assertThat(sent, contains(5.0));
+    }
+
+    @Test
+    void shouldStopIfRequestWithoutDelayIsSlow() throws IOException {
+        // Given
+        List<Double> sent = new ArrayList<>();
+        TimingUtils.RequestSender sender =
+                delay -> {
+                    sent.add(delay);
+                    return 5 + BASE_LATENCY;
+                };
+        // When
+        boolean dependent =
+                TimingUtils.checkTimingDependence(
+                        TimingUtils.getDelays(5), BASE_LATENCY, 30, sender);
+        // Then
+        assertThat(dependent, is(equalTo(false)));
+        assertThat(sent, contains(5.0, 0.0));
+    }
+
+    @Test
+    void shouldBeTimingDependentIfResponseTimesFollowDelaysWithHighLatency() throws IOException {
+        // Given
+        List<Double> sent = new ArrayList<>();
+        TimingUtils.RequestSender sender =
+                delay -> {
+                    sent.add(delay);
+                    return delay + HIGH_LATENCY;
+                };
+        // When
+        boolean dependent =
+                TimingUtils.checkTimingDependence(
+                        TimingUtils.getDelays(5), HIGH_LATENCY, 30, sender);
+        // Then
+        assertThat(dependent, is(equalTo(true)));
+        assertThat(sent, contains(5.0, 0.0, 1.0, 0.0, 2.0));
+    }
+
+    @Test
+    void shouldStopIfDelayedResponseIsNotSlowerThanBaselineByDelay() throws IOException {
+        // Given
+        List<Double> sent = new ArrayList<>();
+        TimingUtils.RequestSender sender =
+                delay -> {
+                    sent.add(delay);
+                    return delay > 0 ? 0.5 + HIGH_LATENCY : HIGH_LATENCY;
+                };
+        // When
+        boolean dependent =
+                TimingUtils.checkTimingDependence(
+                        TimingUtils.getDelays(1), HIGH_LATENCY, 30, sender);
+        // Then
+        assertThat(dependent, is(equalTo(false)));
+        assertThat(sent, contains(1.0));
+    }
+
+    @Test
+    void shouldLowerBaselineWithFasterResponsesWithoutDelay() throws IOException {
+        // Given
+        double slowBaseline = 1;
+        TimingUtils.RequestSender sender = delay -> delay + BASE_LATENCY;
+        // When
+        boolean dependent =
+                TimingUtils.checkTimingDependence(
+                        TimingUtils.getDelays(15), slowBaseline, 30, sender);
+        // Then
+        assertThat(dependent, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotBeTimingDependentIfResponseTimesDoNotCorrelate() throws IOException {
+        // Given
+        double[] times = {5.1, 0.1, 4, 0.1, 2.1};
+        int[] request = {0};
+        TimingUtils.RequestSender sender = delay -> times[request[0]++];
+        // When
+        boolean dependent =
+                TimingUtils.checkTimingDependence(
+                        TimingUtils.getDelays(5), BASE_LATENCY, 30, sender);
+        // Then
+        assertThat(dependent, is(equalTo(false)));
+        assertThat(request[0], is(equalTo(5)));
+    }
+
+    @Test
+    void shouldNotSendMoreRequestsOnceTimeLimitIsReached() throws IOException {
+        // Given
+        List<Double> sent = new ArrayList<>();
+        TimingUtils.RequestSender sender =
+                delay -> {
+                    sent.add(delay);
+                    return delay + BASE_LATENCY;
+                };
+        // When
+        boolean dependent =
+                TimingUtils.checkTimingDependence(
+                        TimingUtils.getDelays(5), BASE_LATENCY, 6, sender);
+        // Then
+        assertThat(dependent, is(equalTo(true)));
+        assertThat(sent, contains(5.0, 0.0, 1.0));
+    }
+
+    @Test
+    void shouldDetectSimulatedVulnerableTargetWithFewRequests() throws IOException {
+        // Given
+        Random random = new Random(1);
+        SimulatedTarget target = new SimulatedTarget(random, BASE_LATENCY, true);
+        int found = 0;
+        // When
+        for (int i = 0; i < TRIALS; i++) {
+            if (TimingUtils.checkTimingDependence(
+                    TimingUtils.getDelays(5), BASE_LATENCY, 15, target)) {
+                found++;
+            }
+        }
+        // Then
+        assertThat((double) found / TRIALS, is(greaterThanOrEqualTo(0.99)));
+        assertThat((double) target.getRequests() / found, is(lessThanOrEqualTo(5.1)));
+    }
+
+    @Test
+    void shouldDetectSimulatedVulnerableTargetWithHighLatency() throws IOException {
+        // Given
+        Random random = new Random(1);
+        SimulatedTarget target = new SimulatedTarget(random, HIGH_LATENCY, true);
+        int found = 0;
+        // When
+        for (int i = 0; i < TRIALS; i++) {
+            if (TimingUtils.checkTimingDependence(
+                    TimingUtils.getDelays(5), HIGH_LATENCY, 20, target)) {
+                found++;
+            }
+        }
+        // Then
+        assertThat((double) found / TRIALS, is(greaterThanOrEqualTo(0.99)));
+    }
+
+    @Test
+    void shouldNotDetectSimulatedNonVulnerableTargetWithHighLatency() throws IOException {
+        // Given
+        Random random = new Random(1);
+        SimulatedTarget target = new SimulatedTarget(random, HIGH_LATENCY, false);
+        int found = 0;
+        // When
+        for (int i = 0; i < TRIALS; i++) {
+            if (TimingUtils.checkTimingDependence(
+                    TimingUtils.getDelays(1), HIGH_LATENCY, 5, target)) {
+                found++;
+            }
+        }
+        // Then
+        assertThat(found, is(equalTo(0)));
+        assertThat((double) target.getRequests() / TRIALS, is(lessThanOrEqualTo(1.05)));
+    }
+
+    @Test
+    void shouldNotDetectSimulatedNonVulnerableTarget() throws IOException {
+        // Given
+        Random random = new Random(1);
+        SimulatedTarget target = new SimulatedTarget(random, BASE_LATENCY, false);
+        int found = 0;
+        // When
+        for (int i = 0; i < TRIALS; i++) {
+            if (TimingUtils.checkTimingDependence(
+                    TimingUtils.getDelays(1), BASE_LATENCY, 5, target)) {
+                found++;
+            }
+        }
+        // Then
+        assertThat(found, is(equalTo(0)));
+        assertThat((double) target.getRequests() / TRIALS, is(lessThanOrEqualTo(1.05)));
+    }
+
+    @Test
+    void shouldNotDetectSimulatedOverloadedTarget() throws IOException {
+        // Given
+        Random random = new Random(1);
+        int found = 0;
+        // When
+        for (int i = 0; i < TRIALS; i++) {
+            double[] time = {BASE_LATENCY};
+            TimingUtils.RequestSender sender =
+                    delay -> {
+                        time[0] += random.nextDouble() * 5;
+                        return time[0];
+                    };
+            if (TimingUtils.checkTimingDependence(
+                    TimingUtils.getDelays(5), BASE_LATENCY, 30, sender)) {
+                found++;
+            }
+        }
+        // Then
+        assertThat(found, is(equalTo(0)));
+    }
+
+    /**
+     * A target with a base latency and exponentially distributed jitter, that (optionally) delays
+     * the responses as requested.
+     */
+    private static class SimulatedTarget implements TimingUtils.RequestSender {
+
+        private final Random random;
+        private final double baseLatency;
+        private final boolean vulnerable;
+        private int requests;
+
+        SimulatedTarget(Random random, double baseLatency, boolean vulnerable) {
+            this.random = random;
+            this.baseLatency = baseLatency;
+            this.vulnerable = vulnerable;
+        }
+
+        @Override
+        public double send(double delay) {
+            requests++;
+            double latency = baseLatency - Math.log(1 - random.nextDouble()) * JITTER;
+            return vulnerable ? delay + latency : latency;
+        }
+
+        int getRequests() {
+            return requests;
+        }
+    }
+}
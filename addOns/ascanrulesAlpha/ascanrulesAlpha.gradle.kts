@@ -11,7 +11,7 @@ zapAddOn {
         dependencies {
             addOns {
                 register("commonlib") {
-                    version.set(">= 1.9.0 & < 2.0.0")
+                    version.set(">= 1.12.0 & < 2.0.0")
                 }
                 register("oast") {
                     version.set(">= 0.7.0")
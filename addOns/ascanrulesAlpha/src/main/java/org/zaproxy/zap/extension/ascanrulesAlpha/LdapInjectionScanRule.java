@@ -37,7 +37,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.core.scanner.NameValuePair;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
-import org.zaproxy.addon.commonlib.DiceMatcher;
+import org.zaproxy.addon.commonlib.ResponseFingerprint;
 
 /**
  * The LdapInjectionScanRule scan rule identifies LDAP injection vulnerabilities with LDAP based
@@ -241,10 +241,12 @@ public class LdapInjectionScanRule extends AbstractAppParamPlugin {
             // if its not stable (enough), there is not much point in continuing
             HttpMessage repeatMsg = getNewMsg();
             sendAndReceive(repeatMsg);
+            // the original output is compared with several others, fingerprint it just once
+            ResponseFingerprint originalFingerprint =
+                    new ResponseFingerprint(originalmsg.getResponseBody().toString());
             int repeatMatch =
-                    DiceMatcher.getMatchPercentage(
-                            originalmsg.getResponseBody().toString(),
-                            repeatMsg.getResponseBody().toString());
+                    originalFingerprint.getDiceMatchPercentage(
+                            new ResponseFingerprint(repeatMsg.getResponseBody().toString()));
             log.debug("Got percentage for repeat: {}", repeatMatch);
             if (repeatMatch < matchThreshold) {
                 // the URL is not stable, based on the threshold level set. bale.
@@ -281,10 +283,11 @@ public class LdapInjectionScanRule extends AbstractAppParamPlugin {
             this.setParameter(randomParamMsg2, paramname, randomparameterAttack);
             sendAndReceive(randomParamMsg2);
 
+            ResponseFingerprint randomFingerprint =
+                    new ResponseFingerprint(randomParamMsg1.getResponseBody().toString());
             int randomVersusRandomMatch =
-                    DiceMatcher.getMatchPercentage(
-                            randomParamMsg1.getResponseBody().toString(),
-                            randomParamMsg2.getResponseBody().toString());
+                    randomFingerprint.getDiceMatchPercentage(
+                            new ResponseFingerprint(randomParamMsg2.getResponseBody().toString()));
             log.debug(
                     "Got percentage match for a random parameter (against another identical request): {}",
                     randomVersusRandomMatch);
@@ -298,9 +301,7 @@ public class LdapInjectionScanRule extends AbstractAppParamPlugin {
 
             // now check the random against the original, to make sure the output is different
             int randomVersusOriginalMatch =
-                    DiceMatcher.getMatchPercentage(
-                            randomParamMsg1.getResponseBody().toString(),
-                            originalmsg.getResponseBody().toString());
+                    randomFingerprint.getDiceMatchPercentage(originalFingerprint);
             log.debug(
                     "Got percentage match for a random parameter against the original parameter: {}%, compared to a threshold of %{}",
                     randomVersusOriginalMatch, matchThreshold);
@@ -342,9 +343,8 @@ public class LdapInjectionScanRule extends AbstractAppParamPlugin {
                 sendAndReceive(appendTrueMsg);
 
                 int appendTrueVersusOriginalMatch =
-                        DiceMatcher.getMatchPercentage(
-                                appendTrueMsg.getResponseBody().toString(),
-                                originalmsg.getResponseBody().toString());
+                        new ResponseFingerprint(appendTrueMsg.getResponseBody().toString())
+                                .getDiceMatchPercentage(originalFingerprint);
                 log.debug(
                         "Got percentage for append TRUE expression [{}] versus original: {}",
                         appendTrueAttack,
@@ -442,9 +442,8 @@ public class LdapInjectionScanRule extends AbstractAppParamPlugin {
                 sendAndReceive(hopefullyTrueMsg);
 
                 int hopefullyTrueVersusOriginalMatch =
-                        DiceMatcher.getMatchPercentage(
-                                hopefullyTrueMsg.getResponseBody().toString(),
-                                originalmsg.getResponseBody().toString());
+                        new ResponseFingerprint(hopefullyTrueMsg.getResponseBody().toString())
+                                .getDiceMatchPercentage(originalFingerprint);
                 log.debug(
                         "Got percentage for hopefully TRUE expression [{}] versus original: {}",
                         hopefullyTrueAttack,
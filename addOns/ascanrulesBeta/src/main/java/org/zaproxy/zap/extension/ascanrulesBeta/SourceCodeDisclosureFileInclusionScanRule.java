@@ -32,7 +32,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.core.scanner.NameValuePair;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
-import org.zaproxy.addon.commonlib.DiceMatcher;
+import org.zaproxy.addon.commonlib.ResponseFingerprint;
 import org.zaproxy.zap.model.Tech;
 import org.zaproxy.zap.model.Vulnerabilities;
 import org.zaproxy.zap.model.Vulnerability;
@@ -245,10 +245,13 @@ public class SourceCodeDisclosureFileInclusionScanRule extends AbstractAppParamP
             setParameter(randomfileattackmsg, paramname, NON_EXISTANT_FILENAME);
             sendAndReceive(randomfileattackmsg, false); // do not follow redirects
 
+            // the random output is compared with the output of each file name, fingerprint it
+            // just once
+            ResponseFingerprint randomFingerprint =
+                    new ResponseFingerprint(randomfileattackmsg.getResponseBody().toString());
             int originalversusrandommatchpercentage =
-                    DiceMatcher.getMatchPercentage(
-                            originalmsg.getResponseBody().toString(),
-                            randomfileattackmsg.getResponseBody().toString());
+                    new ResponseFingerprint(originalmsg.getResponseBody().toString())
+                            .getDiceMatchPercentage(randomFingerprint);
             if (originalversusrandommatchpercentage > this.thresholdPercentage) {
                 // the output for the "random" file does not sufficiently differ. bale out.
                 log.debug(
@@ -309,9 +312,9 @@ public class SourceCodeDisclosureFileInclusionScanRule extends AbstractAppParamP
                     sendAndReceive(sourceattackmsg, false); // do not follow redirects
 
                     int randomversussourcefilenamematchpercentage =
-                            DiceMatcher.getMatchPercentage(
-                                    randomfileattackmsg.getResponseBody().toString(),
-                                    sourceattackmsg.getResponseBody().toString());
+                            randomFingerprint.getDiceMatchPercentage(
+                                    new ResponseFingerprint(
+                                            sourceattackmsg.getResponseBody().toString()));
                     if (randomversussourcefilenamematchpercentage > this.thresholdPercentage) {
                         // the output for the "source" file does not sufficiently differ from the
                         // random file name. bale out.
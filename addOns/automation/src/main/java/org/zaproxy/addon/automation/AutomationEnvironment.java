@@ -398,6 +398,7 @@ public class AutomationEnvironment {
         private boolean failOnError = true;
         private boolean failOnWarning;
         private boolean progressToStdout = true;
+        private Integer maxParallelJobs;
 
         public Parameters() {}
 
@@ -431,5 +432,13 @@ public class AutomationEnvironment {
         public void setProgressToStdout(boolean progressToStdout) {
             this.progressToStdout = progressToStdout;
         }
+
+        public Integer getMaxParallelJobs() {
+            return maxParallelJobs;
+        }
+
+        public void setMaxParallelJobs(Integer maxParallelJobs) {
+            this.maxParallelJobs = maxParallelJobs;
+        }
     }
 }
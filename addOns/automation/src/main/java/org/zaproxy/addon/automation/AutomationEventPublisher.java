@@ -52,6 +52,9 @@ public class AutomationEventPublisher implements EventPublisher {
 
     public static final String JOB_FINISHED = "job.finished";
 
+    /** Indicates the progress of a job, in the {@link #PROGRESS} parameter (0 to 100). */
+    public static final String JOB_PROGRESS = "job.progress";
+
     public static final String JOB_ADDED = "job.added";
 
     public static final String JOB_CHANGED = "job.changed";
@@ -67,6 +70,7 @@ public class AutomationEventPublisher implements EventPublisher {
     public static final String JOB_TYPE = "jobType";
     public static final String PLAN_ID = "planId";
     public static final String MESSAGE = "message";
+    public static final String PROGRESS = "progress";
 
     @Override
     public String getPublisherName() {
@@ -90,6 +94,7 @@ public class AutomationEventPublisher implements EventPublisher {
                             PLAN_SAVED,
                             JOB_STARTED,
                             JOB_FINISHED,
+                            JOB_PROGRESS,
                             JOB_ADDED,
                             JOB_CHANGED,
                             JOB_REMOVED,
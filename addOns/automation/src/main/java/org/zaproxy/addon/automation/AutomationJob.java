@@ -57,6 +57,7 @@ public abstract class AutomationJob implements Comparable<AutomationJob> {
     private Status status = Status.NOT_STARTED;
     private AutomationEnvironment env;
     private final List<AbstractAutomationTest> tests = new ArrayList<>();
+    private List<String> dependsOn;
     private Map<?, ?> jobData;
     private AutomationPlan plan;
 
@@ -388,6 +389,37 @@ public abstract class AutomationJob implements Comparable<AutomationJob> {
                 .anyMatch(type::equals);
     }
 
+    /**
+     * Sets the names of the jobs this job depends on, from the {@code dependsOn} element of the
+     * job data.
+     *
+     * @param dependsOnObj the job names, might be {@code null}.
+     * @param progress the progress to report errors to.
+     * @since 0.20.0
+     */
+    protected void addDependencies(Object dependsOnObj, AutomationProgress progress) {
+        if (dependsOnObj == null) {
+            return;
+        }
+        if (!(dependsOnObj instanceof ArrayList<?>)) {
+            progress.error(
+                    Constant.messages.getString(
+                            "automation.error.job.dependson", getName(), dependsOnObj));
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        for (Object nameObj : (ArrayList<?>) dependsOnObj) {
+            if (!(nameObj instanceof String)) {
+                progress.error(
+                        Constant.messages.getString(
+                                "automation.error.job.dependson", getName(), nameObj));
+                continue;
+            }
+            names.add((String) nameObj);
+        }
+        setDependsOn(names);
+    }
+
     protected void addTests(Object testsObj, AutomationProgress progress) {
         if (testsObj == null) {
             return;
@@ -517,6 +549,30 @@ public abstract class AutomationJob implements Comparable<AutomationJob> {
         return tests;
     }
 
+    /**
+     * Gets the names of the jobs that need to finish before this job can start.
+     *
+     * @return the names of the jobs, or {@code null} if the job does not declare dependencies.
+     * @since 0.20.0
+     */
+    public List<String> getDependsOn() {
+        return dependsOn;
+    }
+
+    /**
+     * Sets the names of the jobs that need to finish before this job can start.
+     *
+     * <p>If any of the jobs of a plan declares dependencies the jobs are run concurrently, as soon
+     * as their dependencies have finished. Jobs that do not declare dependencies depend on the
+     * previous job of the plan, an empty list means that the job does not depend on any job.
+     *
+     * @param dependsOn the names of the jobs, might be {@code null}.
+     * @since 0.20.0
+     */
+    public void setDependsOn(List<String> dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private <T> T stringToType(String str, T t) {
         if (String.class.equals(t)) {
@@ -120,6 +120,7 @@ public class AutomationPlan {
                         job.setPlan(this);
                         jobs.add(job);
 
+                        job.addDependencies(jobData.get("dependsOn"), progress);
                         job.addTests(jobData.get("tests"), progress);
                     } catch (AutomationJobException e) {
                         LOG.debug(e.getMessage(), e);
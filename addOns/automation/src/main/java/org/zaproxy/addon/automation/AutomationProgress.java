@@ -21,6 +21,7 @@ package org.zaproxy.addon.automation;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,13 +37,15 @@ public class AutomationProgress {
     private boolean outputToStdout = false;
     private Map<String, JobResultData> jobResultDataMap = new HashMap<>();
     private Map<AutomationJob, JobResults> jobResults = new HashMap<>();
+    private Map<AutomationJob, Long> jobDurations = new HashMap<>();
+    private List<AutomationJob> criticalPath = new ArrayList<>();
     private int errorMark;
     private int warningMark;
     private int infoMark;
 
     public AutomationProgress() {}
 
-    public void error(String error) {
+    public synchronized void error(String error) {
         this.errors.add(error);
         this.allMessages.add(error);
         if (outputToStdout) {
@@ -52,7 +55,7 @@ public class AutomationProgress {
                 AutomationEventPublisher.PLAN_ERROR_MESSAGE, error);
     }
 
-    public void warn(String warning) {
+    public synchronized void warn(String warning) {
         this.warnings.add(warning);
         this.allMessages.add(warning);
         if (outputToStdout) {
@@ -66,7 +69,7 @@ public class AutomationProgress {
         infoImpl(info, true);
     }
 
-    private void infoImpl(String info, boolean toStdout) {
+    private synchronized void infoImpl(String info, boolean toStdout) {
         this.infos.add(info);
         this.allMessages.add(info);
         if (toStdout && outputToStdout) {
@@ -112,34 +115,50 @@ public class AutomationProgress {
         this.outputToStdout = outputToStdout;
     }
 
-    public void addJobResultData(JobResultData data) {
+    public synchronized void addJobResultData(JobResultData data) {
         this.jobResultDataMap.put(data.getKey(), data);
     }
 
-    public void addJobResultData(List<JobResultData> list) {
+    public synchronized void addJobResultData(List<JobResultData> list) {
         for (JobResultData data : list) {
             this.jobResultDataMap.put(data.getKey(), data);
         }
     }
 
-    public JobResultData getJobResultData(String key) {
+    public synchronized JobResultData getJobResultData(String key) {
         return this.jobResultDataMap.get(key);
     }
 
-    public Collection<JobResultData> getAllJobResultData() {
-        return this.jobResultDataMap.values();
+    public synchronized Collection<JobResultData> getAllJobResultData() {
+        return new ArrayList<>(this.jobResultDataMap.values());
     }
 
-    void addRunJob(AutomationJob job) {
-        this.runJobs.add(job);
+    /**
+     * Creates the progress of a job run concurrently with other jobs.
+     *
+     * <p>The errors, warnings and infos added to the returned progress, from any thread, are
+     * attributed to the job and also added to this progress, everything else is done by this
+     * progress.
+     *
+     * @return the progress of the job.
+     */
+    AutomationProgress createJobProgress() {
+        return new JobProgress(this);
+    }
 
+    synchronized void addRunJob(AutomationJob job) {
         // Record any new errors, warnings or infos which will have been generated by this job
-        this.jobResults.put(
+        addRunJob(
                 job,
                 new JobResults(
                         new ArrayList<>(errors.subList(errorMark, errors.size())),
                         new ArrayList<>(warnings.subList(warningMark, warnings.size())),
                         new ArrayList<>(infos.subList(infoMark, infos.size()))));
+    }
+
+    private synchronized void addRunJob(AutomationJob job, JobResults results) {
+        this.runJobs.add(job);
+        this.jobResults.put(job, results);
 
         errorMark = errors.size();
         warningMark = warnings.size();
@@ -150,7 +169,47 @@ public class AutomationProgress {
         return this.runJobs;
     }
 
-    public JobResults getJobResults(AutomationJob job) {
+    synchronized void addJobDuration(AutomationJob job, long durationMillis) {
+        this.jobDurations.put(job, durationMillis);
+    }
+
+    /**
+     * Gets the wall time that the given job took to run.
+     *
+     * @param job the job.
+     * @return the duration in milliseconds, or {@code -1} if the job was not run.
+     * @since 0.20.0
+     */
+    public synchronized long getJobDuration(AutomationJob job) {
+        return this.jobDurations.getOrDefault(job, -1L);
+    }
+
+    synchronized void setCriticalPath(List<AutomationJob> criticalPath) {
+        this.criticalPath = criticalPath;
+    }
+
+    /**
+     * Gets the critical path of the last run, that is, the chain of dependent jobs that took the
+     * longest time to run. When the jobs are run in sequence it contains all the jobs run.
+     *
+     * @return the jobs in the critical path, in the order they were run, never {@code null}.
+     * @since 0.20.0
+     */
+    public synchronized List<AutomationJob> getCriticalPath() {
+        return new ArrayList<>(this.criticalPath);
+    }
+
+    /**
+     * Gets the sum of the durations of the jobs in the critical path.
+     *
+     * @return the duration in milliseconds.
+     * @since 0.20.0
+     */
+    public synchronized long getCriticalPathDuration() {
+        return this.criticalPath.stream().mapToLong(j -> jobDurations.getOrDefault(j, 0L)).sum();
+    }
+
+    public synchronized JobResults getJobResults(AutomationJob job) {
         JobResults res = this.jobResults.get(job);
         if (res == null) {
             return new JobResults(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
@@ -158,7 +217,7 @@ public class AutomationProgress {
         return res;
     }
 
-    public List<String> getErrors(AutomationJob job) {
+    public synchronized List<String> getErrors(AutomationJob job) {
         JobResults results = this.jobResults.get(job);
         if (results != null) {
             return results.getErrors();
@@ -166,7 +225,7 @@ public class AutomationProgress {
         return new ArrayList<>();
     }
 
-    public List<String> getWarnings(AutomationJob job) {
+    public synchronized List<String> getWarnings(AutomationJob job) {
         JobResults results = this.jobResults.get(job);
         if (results != null) {
             return results.getWarnings();
@@ -174,7 +233,7 @@ public class AutomationProgress {
         return new ArrayList<>();
     }
 
-    public List<String> getInfos(AutomationJob job) {
+    public synchronized List<String> getInfos(AutomationJob job) {
         JobResults results = this.jobResults.get(job);
         if (results != null) {
             return results.getInfos();
@@ -190,6 +249,174 @@ public class AutomationProgress {
         return map;
     }
 
+    /**
+     * The progress of a job run concurrently with other jobs, it records the messages of the job
+     * and delegates everything to the progress of the plan.
+     */
+    private static class JobProgress extends AutomationProgress {
+
+        private final AutomationProgress planProgress;
+        private final JobResults results;
+
+        JobProgress(AutomationProgress planProgress) {
+            this.planProgress = planProgress;
+            this.results =
+                    planProgress.new JobResults(
+                            Collections.synchronizedList(new ArrayList<>()),
+                            Collections.synchronizedList(new ArrayList<>()),
+                            Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        @Override
+        public void error(String error) {
+            results.errors.add(error);
+            planProgress.error(error);
+        }
+
+        @Override
+        public void warn(String warning) {
+            results.warnings.add(warning);
+            planProgress.warn(warning);
+        }
+
+        @Override
+        public void info(String info) {
+            results.infos.add(info);
+            planProgress.info(info);
+        }
+
+        @Override
+        public void infoNoStdout(String info) {
+            results.infos.add(info);
+            planProgress.infoNoStdout(info);
+        }
+
+        @Override
+        public List<String> getErrors() {
+            return planProgress.getErrors();
+        }
+
+        @Override
+        public List<String> getWarnings() {
+            return planProgress.getWarnings();
+        }
+
+        @Override
+        public List<String> getInfos() {
+            return planProgress.getInfos();
+        }
+
+        @Override
+        public List<String> getAllMessages() {
+            return planProgress.getAllMessages();
+        }
+
+        @Override
+        public boolean hasErrors() {
+            return planProgress.hasErrors();
+        }
+
+        @Override
+        public boolean hasWarnings() {
+            return planProgress.hasWarnings();
+        }
+
+        @Override
+        public boolean isOutputToStdout() {
+            return planProgress.isOutputToStdout();
+        }
+
+        @Override
+        public void setOutputToStdout(boolean outputToStdout) {
+            planProgress.setOutputToStdout(outputToStdout);
+        }
+
+        @Override
+        public void addJobResultData(JobResultData data) {
+            planProgress.addJobResultData(data);
+        }
+
+        @Override
+        public void addJobResultData(List<JobResultData> list) {
+            planProgress.addJobResultData(list);
+        }
+
+        @Override
+        public JobResultData getJobResultData(String key) {
+            return planProgress.getJobResultData(key);
+        }
+
+        @Override
+        public Collection<JobResultData> getAllJobResultData() {
+            return planProgress.getAllJobResultData();
+        }
+
+        @Override
+        AutomationProgress createJobProgress() {
+            return planProgress.createJobProgress();
+        }
+
+        @Override
+        void addRunJob(AutomationJob job) {
+            planProgress.addRunJob(job, results);
+        }
+
+        @Override
+        public List<AutomationJob> getRunJobs() {
+            return planProgress.getRunJobs();
+        }
+
+        @Override
+        void addJobDuration(AutomationJob job, long durationMillis) {
+            planProgress.addJobDuration(job, durationMillis);
+        }
+
+        @Override
+        public long getJobDuration(AutomationJob job) {
+            return planProgress.getJobDuration(job);
+        }
+
+        @Override
+        void setCriticalPath(List<AutomationJob> criticalPath) {
+            planProgress.setCriticalPath(criticalPath);
+        }
+
+        @Override
+        public List<AutomationJob> getCriticalPath() {
+            return planProgress.getCriticalPath();
+        }
+
+        @Override
+        public long getCriticalPathDuration() {
+            return planProgress.getCriticalPathDuration();
+        }
+
+        @Override
+        public JobResults getJobResults(AutomationJob job) {
+            return planProgress.getJobResults(job);
+        }
+
+        @Override
+        public List<String> getErrors(AutomationJob job) {
+            return planProgress.getErrors(job);
+        }
+
+        @Override
+        public List<String> getWarnings(AutomationJob job) {
+            return planProgress.getWarnings(job);
+        }
+
+        @Override
+        public List<String> getInfos(AutomationJob job) {
+            return planProgress.getInfos(job);
+        }
+
+        @Override
+        public Map<String, String> toMap() {
+            return planProgress.toMap();
+        }
+    }
+
     public class JobResults {
 
         private List<String> errors;
@@ -288,30 +288,67 @@ public class ExtensionAutomation extends ExtensionAdaptor implements CommandLine
             return progress;
         }
 
-        for (AutomationJob job : jobsToRun) {
-            job.applyParameters(progress);
-            progress.info(Constant.messages.getString("automation.info.jobstart", job.getType()));
-            job.setStatus(AutomationJob.Status.RUNNING);
-            AutomationEventPublisher.publishEvent(AutomationEventPublisher.JOB_STARTED, job, null);
-            job.runJob(env, progress);
-            Stats.incCounter(TOTAL_JOBS_RUN_STATS);
-            Stats.incCounter(JOBS_RUN_STATS_PREFIX + job.getType() + JOBS_RUN_STATS_POSTFIX);
-            job.logTestsToProgress(progress);
-            job.setStatus(AutomationJob.Status.COMPLETED);
-            AutomationEventPublisher.publishEvent(
-                    AutomationEventPublisher.JOB_FINISHED,
-                    job,
-                    job.getPlan().getProgress().getJobResults(job).toMap());
-            progress.info(Constant.messages.getString("automation.info.jobend", job.getType()));
-            progress.addRunJob(job);
-            if (env.isTimeToQuit()) {
-                break;
+        if (JobScheduler.hasDependencies(jobsToRun)) {
+            JobScheduler scheduler = new JobScheduler(jobsToRun, progress);
+            if (scheduler.resolveDependencies()) {
+                scheduler.run(
+                        env,
+                        getMaxParallelJobs(env),
+                        (job, jobProgress) -> runJob(job, env, jobProgress));
+                List<AutomationJob> criticalPath = scheduler.getCriticalPath();
+                progress.setCriticalPath(criticalPath);
+                progress.info(
+                        Constant.messages.getString(
+                                "automation.info.criticalpath",
+                                criticalPath.stream()
+                                        .map(AutomationJob::getName)
+                                        .collect(Collectors.joining(" > ")),
+                                progress.getCriticalPathDuration()));
             }
+        } else {
+            List<AutomationJob> jobsRun = new ArrayList<>();
+            for (AutomationJob job : jobsToRun) {
+                runJob(job, env, progress);
+                jobsRun.add(job);
+                if (env.isTimeToQuit()) {
+                    break;
+                }
+            }
+            progress.setCriticalPath(jobsRun);
         }
         setPlanFinished(plan);
         return progress;
     }
 
+    private static int getMaxParallelJobs(AutomationEnvironment env) {
+        Integer maxParallelJobs = env.getData().getParameters().getMaxParallelJobs();
+        if (maxParallelJobs == null || maxParallelJobs < 1) {
+            return JobScheduler.DEFAULT_MAX_PARALLEL_JOBS;
+        }
+        return maxParallelJobs;
+    }
+
+    private static void runJob(
+            AutomationJob job, AutomationEnvironment env, AutomationProgress progress) {
+        long start = System.currentTimeMillis();
+        job.applyParameters(progress);
+        progress.info(Constant.messages.getString("automation.info.jobstart", job.getType()));
+        job.setStatus(AutomationJob.Status.RUNNING);
+        AutomationEventPublisher.publishEvent(AutomationEventPublisher.JOB_STARTED, job, null);
+        job.runJob(env, progress);
+        Stats.incCounter(TOTAL_JOBS_RUN_STATS);
+        Stats.incCounter(JOBS_RUN_STATS_PREFIX + job.getType() + JOBS_RUN_STATS_POSTFIX);
+        job.logTestsToProgress(progress);
+        job.setStatus(AutomationJob.Status.COMPLETED);
+        AutomationEventPublisher.publishEvent(
+                AutomationEventPublisher.JOB_FINISHED,
+                job,
+                job.getPlan().getProgress().getJobResults(job).toMap());
+        progress.info(Constant.messages.getString("automation.info.jobend", job.getType()));
+        progress.addJobDuration(job, System.currentTimeMillis() - start);
+        progress.addRunJob(job);
+    }
+
     public void runPlanAsync(AutomationPlan plan) {
         new Thread(() -> this.runPlan(plan, true), "ZAP-Automation").start();
     }
@@ -367,6 +404,7 @@ public class ExtensionAutomation extends ExtensionAdaptor implements CommandLine
                 job.verifyParameters(progress);
                 jobsToRun.add(job);
 
+                job.addDependencies(jobData.get("dependsOn"), progress);
                 job.addTests(jobData.get("tests"), progress);
             } else {
                 progress.error(
@@ -0,0 +1,346 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.automation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.Constant;
+
+/**
+ * Runs the jobs of a plan concurrently, respecting the dependencies declared between them.
+ *
+ * <p>A job is started as soon as all the jobs it depends on have finished, with at most the given
+ * number of jobs running at the same time. Jobs that do not declare dependencies depend on the
+ * previous job of the plan.
+ *
+ * <p>Each job is run with its own progress, so that its messages are attributed to it even if
+ * added from other threads. The jobs that depend on a failed job are not run, which is reported
+ * as a warning.
+ */
+class JobScheduler {
+
+    static final int DEFAULT_MAX_PARALLEL_JOBS = 4;
+
+    private static final Logger LOGGER = LogManager.getLogger(JobScheduler.class);
+
+    private final List<AutomationJob> jobs;
+    private final AutomationProgress progress;
+    private final Map<AutomationJob, List<AutomationJob>> dependencies;
+    private final Map<AutomationJob, List<AutomationJob>> dependents;
+    private List<AutomationJob> order;
+
+    JobScheduler(List<AutomationJob> jobs, AutomationProgress progress) {
+        this.jobs = jobs;
+        this.progress = progress;
+        this.dependencies = new IdentityHashMap<>();
+        this.dependents = new IdentityHashMap<>();
+    }
+
+    /**
+     * Tells whether or not any of the given jobs declares dependencies, in which case the jobs
+     * should be run with a {@code JobScheduler}.
+     *
+     * @param jobs the jobs of the plan.
+     * @return {@code true} if any of the jobs declares dependencies, {@code false} otherwise.
+     */
+    static boolean hasDependencies(List<AutomationJob> jobs) {
+        return jobs.stream().anyMatch(j -> j.getDependsOn() != null);
+    }
+
+    /**
+     * Resolves the dependencies of the jobs, reporting unknown jobs and cycles as errors.
+     *
+     * @return {@code true} if the jobs can be run, {@code false} otherwise.
+     */
+    boolean resolveDependencies() {
+        Map<String, List<AutomationJob>> jobsByName = new HashMap<>();
+        for (AutomationJob job : jobs) {
+            jobsByName.computeIfAbsent(job.getName(), k -> new ArrayList<>()).add(job);
+            dependencies.put(job, new ArrayList<>());
+            dependents.put(job, new ArrayList<>());
+        }
+
+        boolean valid = true;
+        AutomationJob previous = null;
+        for (AutomationJob job : jobs) {
+            List<AutomationJob> jobDependencies = dependencies.get(job);
+            if (job.getDependsOn() == null) {
+                if (previous != null) {
+                    jobDependencies.add(previous);
+                }
+            } else {
+                for (String name : job.getDependsOn()) {
+                    List<AutomationJob> named = jobsByName.get(name);
+                    if (named == null) {
+                        progress.error(
+                                Constant.messages.getString(
+                                        "automation.error.job.dependson.unknown",
+                                        job.getName(),
+                                        name));
+                        valid = false;
+                        continue;
+                    }
+                    named.stream()
+                            .filter(j -> j != job && !jobDependencies.contains(j))
+                            .forEach(jobDependencies::add);
+                }
+            }
+            jobDependencies.forEach(d -> dependents.get(d).add(job));
+            previous = job;
+        }
+        if (!valid) {
+            return false;
+        }
+
+        order = topologicalOrder();
+        if (order.size() != jobs.size()) {
+            progress.error(
+                    Constant.messages.getString(
+                            "automation.error.job.dependson.cycle",
+                            jobs.stream()
+                                    .filter(j -> !order.contains(j))
+                                    .map(AutomationJob::getName)
+                                    .collect(Collectors.joining(", "))));
+            return false;
+        }
+        return true;
+    }
+
+    private List<AutomationJob> topologicalOrder() {
+        Map<AutomationJob, Integer> pending = new IdentityHashMap<>();
+        Deque<AutomationJob> ready = new ArrayDeque<>();
+        for (AutomationJob job : jobs) {
+            int count = dependencies.get(job).size();
+            pending.put(job, count);
+            if (count == 0) {
+                ready.add(job);
+            }
+        }
+        List<AutomationJob> sorted = new ArrayList<>(jobs.size());
+        while (!ready.isEmpty()) {
+            AutomationJob job = ready.poll();
+            sorted.add(job);
+            for (AutomationJob dependent : dependents.get(job)) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Runs the jobs, previously resolved with {@link #resolveDependencies()}.
+     *
+     * <p>No more jobs are started once the environment reports that it's time to quit, the jobs
+     * already running are allowed to finish.
+     *
+     * @param env the environment of the plan.
+     * @param maxParallelJobs the maximum number of jobs running at the same time.
+     * @param runner the runner of a single job, with the progress of the job.
+     */
+    void run(
+            AutomationEnvironment env,
+            int maxParallelJobs,
+            BiConsumer<AutomationJob, AutomationProgress> runner) {
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        Math.max(1, Math.min(maxParallelJobs, jobs.size())),
+                        new JobSchedulerThreadFactory("ZAP-Automation-Job-"));
+        CompletionService<AutomationJob> completionService =
+                new ExecutorCompletionService<>(executor);
+        Map<AutomationJob, Integer> pending = new IdentityHashMap<>();
+        jobs.forEach(j -> pending.put(j, dependencies.get(j).size()));
+        Set<AutomationJob> failed = Collections.synchronizedSet(newJobSet());
+        Set<AutomationJob> skipped = newJobSet();
+
+        int running = 0;
+        try {
+            for (AutomationJob job : jobs) {
+                if (pending.get(job) == 0) {
+                    submit(completionService, job, runner, failed);
+                    running++;
+                }
+            }
+
+            while (running > 0) {
+                AutomationJob job;
+                try {
+                    job = completionService.take().get();
+                } catch (ExecutionException e) {
+                    LOGGER.error(e.getMessage(), e);
+                    continue;
+                } finally {
+                    running--;
+                }
+
+                if (env.isTimeToQuit()) {
+                    continue;
+                }
+                if (failed.contains(job)) {
+                    skipDependents(job, skipped);
+                    continue;
+                }
+                for (AutomationJob dependent : dependents.get(job)) {
+                    if (pending.merge(dependent, -1, Integer::sum) == 0
+                            && !skipped.contains(dependent)) {
+                        submit(completionService, dependent, runner, failed);
+                        running++;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void submit(
+            CompletionService<AutomationJob> completionService,
+            AutomationJob job,
+            BiConsumer<AutomationJob, AutomationProgress> runner,
+            Set<AutomationJob> failed) {
+        completionService.submit(
+                () -> {
+                    AutomationProgress jobProgress = progress.createJobProgress();
+                    try {
+                        runner.accept(job, jobProgress);
+                    } catch (RuntimeException e) {
+                        LOGGER.error(e.getMessage(), e);
+                        jobProgress.error(
+                                Constant.messages.getString(
+                                        "automation.error.job.internal",
+                                        job.getType(),
+                                        e.getMessage()));
+                        jobProgress.addRunJob(job);
+                        failed.add(job);
+                    }
+                    return job;
+                });
+    }
+
+    /**
+     * Skips the jobs that depend, directly or not, on the given failed job, warning about each
+     * one.
+     */
+    private void skipDependents(AutomationJob failedJob, Set<AutomationJob> skipped) {
+        Deque<AutomationJob> jobsToSkip = new ArrayDeque<>(dependents.get(failedJob));
+        while (!jobsToSkip.isEmpty()) {
+            AutomationJob job = jobsToSkip.poll();
+            if (skipped.add(job)) {
+                progress.warn(
+                        Constant.messages.getString(
+                                "automation.error.job.dependson.failed",
+                                job.getName(),
+                                failedJob.getName()));
+                jobsToSkip.addAll(dependents.get(job));
+            }
+        }
+    }
+
+    private static Set<AutomationJob> newJobSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Gets the critical path of the jobs run, the chain of dependent jobs with the longest total
+     * duration.
+     *
+     * @return the jobs in the critical path, in the order they were run.
+     */
+    List<AutomationJob> getCriticalPath() {
+        if (order == null || order.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<AutomationJob, Long> finish = new LinkedHashMap<>();
+        Map<AutomationJob, AutomationJob> predecessors = new IdentityHashMap<>();
+        AutomationJob last = null;
+        for (AutomationJob job : order) {
+            long duration = progress.getJobDuration(job);
+            if (duration < 0) {
+                continue;
+            }
+            long start = 0;
+            for (AutomationJob dependency : dependencies.get(job)) {
+                Long dependencyFinish = finish.get(dependency);
+                if (dependencyFinish != null && dependencyFinish >= start) {
+                    start = dependencyFinish;
+                    predecessors.put(job, dependency);
+                }
+            }
+            finish.put(job, start + duration);
+            if (last == null || finish.get(job) > finish.get(last)) {
+                last = job;
+            }
+        }
+
+        List<AutomationJob> path = new ArrayList<>();
+        for (AutomationJob job = last; job != null; job = predecessors.get(job)) {
+            path.add(job);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static class JobSchedulerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber;
+        private final String namePrefix;
+        private final ThreadGroup group;
+
+        JobSchedulerThreadFactory(String namePrefix) {
+            threadNumber = new AtomicInteger(1);
+            this.namePrefix = namePrefix;
+            group = Thread.currentThread().getThreadGroup();
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(group, r, namePrefix + threadNumber.getAndIncrement(), 0);
+            if (t.isDaemon()) {
+                t.setDaemon(false);
+            }
+            if (t.getPriority() != Thread.NORM_PRIORITY) {
+                t.setPriority(Thread.NORM_PRIORITY);
+            }
+            return t;
+        }
+    }
+}
@@ -60,6 +60,7 @@ public class ActiveScanJobDialog extends StandardFieldsDialog {
     private static final String POLICY_PARAM = "automation.dialog.ascan.policy";
     private static final String MAX_RULE_DURATION_PARAM = "automation.dialog.ascan.maxruleduration";
     private static final String MAX_SCAN_DURATION_PARAM = "automation.dialog.ascan.maxscanduration";
+    private static final String BUDGET_MODE_PARAM = "automation.dialog.ascan.budgetmode";
     private static final String FIELD_ADVANCED = "automation.dialog.ascan.advanced";
 
     private static final String DEFAULT_THRESHOLD_PARAM =
@@ -114,6 +115,8 @@ public class ActiveScanJobDialog extends StandardFieldsDialog {
                 0,
                 Integer.MAX_VALUE,
                 JobUtils.unBox(JobUtils.unBox(job.getParameters().getMaxScanDurationInMins())));
+        this.addCheckBoxField(
+                0, BUDGET_MODE_PARAM, JobUtils.unBox(job.getParameters().getBudgetMode()));
         this.addCheckBoxField(0, FIELD_ADVANCED, advOptionsSet());
         this.addFieldListener(FIELD_ADVANCED, e -> setAdvancedTabs(getBoolValue(FIELD_ADVANCED)));
 
@@ -220,6 +223,7 @@ public class ActiveScanJobDialog extends StandardFieldsDialog {
         this.job
                 .getParameters()
                 .setMaxScanDurationInMins(this.getIntValue(MAX_SCAN_DURATION_PARAM));
+        this.job.getParameters().setBudgetMode(this.getBoolValue(BUDGET_MODE_PARAM));
 
         this.job
                 .getData()
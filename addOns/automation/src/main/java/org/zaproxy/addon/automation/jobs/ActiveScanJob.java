@@ -19,7 +19,9 @@
  */
 package org.zaproxy.addon.automation.jobs;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,12 +29,16 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.lang.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.core.scanner.HostProcess;
 import org.parosproxy.paros.core.scanner.Plugin;
 import org.parosproxy.paros.core.scanner.Plugin.AlertThreshold;
 import org.parosproxy.paros.core.scanner.Plugin.AttackStrength;
 import org.parosproxy.paros.core.scanner.PluginFactory;
+import org.parosproxy.paros.core.scanner.PluginStats;
 import org.zaproxy.addon.automation.AutomationData;
 import org.zaproxy.addon.automation.AutomationEnvironment;
 import org.zaproxy.addon.automation.AutomationJob;
@@ -48,11 +54,16 @@ import org.zaproxy.zap.users.User;
 
 public class ActiveScanJob extends AutomationJob {
 
+    private static final Logger LOG = LogManager.getLogger(ActiveScanJob.class);
+
     public static final String JOB_NAME = "activeScan";
     private static final String OPTIONS_METHOD_NAME = "getScannerParam";
 
     private static final String PARAM_CONTEXT = "context";
     private static final String PARAM_POLICY = "policy";
+    private static final String PARAM_BUDGET_MODE = "budgetMode";
+
+    private static ActiveScanRuleCosts ruleCosts;
 
     private static final String RULES_ELEMENT_NAME = "rules";
 
@@ -76,6 +87,13 @@ public class ActiveScanJob extends AutomationJob {
         return extAScan;
     }
 
+    private static synchronized ActiveScanRuleCosts getRuleCosts() {
+        if (ruleCosts == null) {
+            ruleCosts = new ActiveScanRuleCosts(ActiveScanRuleCosts.getDefaultFile());
+        }
+        return ruleCosts;
+    }
+
     @Override
     public void verifyParameters(AutomationProgress progress) {
         Map<?, ?> jobData = this.getJobData();
@@ -163,7 +181,7 @@ public class ActiveScanJob extends AutomationJob {
                 this.parameters,
                 JobUtils.getJobOptions(this, progress),
                 this.getName(),
-                new String[] {PARAM_POLICY, PARAM_CONTEXT},
+                new String[] {PARAM_POLICY, PARAM_CONTEXT, PARAM_BUDGET_MODE},
                 progress,
                 this.getPlan().getEnv());
     }
@@ -221,43 +239,144 @@ public class ActiveScanJob extends AutomationJob {
             contextSpecificObjects.add(scanPolicy);
         }
 
-        int scanId = this.getExtAScan().startScan(target, user, contextSpecificObjects.toArray());
-
-        long endTime = Long.MAX_VALUE;
-        if (JobUtils.unBox(this.getParameters().getMaxScanDurationInMins()) > 0) {
-            // The active scan should stop, if it doesnt we will stop it (after a few seconds
-            // leeway)
-            endTime =
-                    System.currentTimeMillis()
-                            + TimeUnit.MINUTES.toMillis(
-                                    this.getParameters().getMaxScanDurationInMins())
-                            + TimeUnit.SECONDS.toMillis(5);
-        }
-
-        // Wait for the active scan to finish
         ActiveScan scan;
         boolean forceStop = false;
-
-        while (true) {
-            this.sleep(500);
-            scan = this.getExtAScan().getScan(scanId);
-            if (scan.isStopped()) {
-                break;
+        int scanId;
+
+        try (ScanEventMonitor scanMonitor =
+                new ScanEventMonitor(this, ScanEventMonitor.ACTIVE_SCAN_PUBLISHER_NAME)) {
+            scanId = this.getExtAScan().startScan(target, user, contextSpecificObjects.toArray());
+            scanMonitor.setScanId(scanId);
+
+            long endTime = Long.MAX_VALUE;
+            long budgetEndTime = Long.MAX_VALUE;
+            if (JobUtils.unBox(this.getParameters().getMaxScanDurationInMins()) > 0) {
+                // The active scan should stop, if it doesnt we will stop it (after a few seconds
+                // leeway)
+                endTime =
+                        System.currentTimeMillis()
+                                + TimeUnit.MINUTES.toMillis(
+                                        this.getParameters().getMaxScanDurationInMins())
+                                + TimeUnit.SECONDS.toMillis(5);
+                if (JobUtils.unBox(this.getParameters().getBudgetMode())) {
+                    budgetEndTime = endTime - TimeUnit.SECONDS.toMillis(5);
+                }
             }
-            if (!this.runMonitorTests(progress) || System.currentTimeMillis() > endTime) {
-                forceStop = true;
-                break;
+
+            // Wait for the active scan to finish, the monitor wakes up as soon as it does
+            while (true) {
+                scanMonitor.waitForScan(500);
+                scan = this.getExtAScan().getScan(scanId);
+                if (scan.isStopped()) {
+                    break;
+                }
+                if (!this.runMonitorTests(progress) || System.currentTimeMillis() > endTime) {
+                    forceStop = true;
+                    break;
+                }
+                if (budgetEndTime != Long.MAX_VALUE) {
+                    skipLowYieldRules(scan, budgetEndTime, progress);
+                }
             }
         }
         if (forceStop) {
             this.getExtAScan().stopScan(scanId);
             progress.info(Constant.messages.getString("automation.info.jobstopped", getType()));
         }
+        if (JobUtils.unBox(this.getParameters().getBudgetMode())) {
+            recordRuleCosts(this.getExtAScan().getScan(scanId));
+        }
         progress.addJobResultData(createJobResultData(scanId));
 
         getExtAScan().setPanelSwitch(true);
     }
 
+    /**
+     * Skips the running rules that have lower yield, if the rules still to finish are not expected
+     * to do so before the end of the scan.
+     */
+    private void skipLowYieldRules(ActiveScan scan, long endTime, AutomationProgress progress) {
+        long now = System.currentTimeMillis();
+        for (HostProcess hp : scan.getHostProcesses()) {
+            Map<Integer, Plugin> runningPlugins = new HashMap<>();
+            Map<Integer, Long> rules = new HashMap<>();
+            Map<Integer, AttackStrength> strengths = new HashMap<>();
+            for (Plugin plugin : hp.getRunning()) {
+                if (!hp.isSkipped(plugin) && plugin.getTimeStarted() != null) {
+                    runningPlugins.put(plugin.getId(), plugin);
+                    rules.put(plugin.getId(), now - plugin.getTimeStarted().getTime());
+                    strengths.put(plugin.getId(), plugin.getAttackStrength());
+                }
+            }
+            if (runningPlugins.isEmpty()) {
+                continue;
+            }
+            for (Plugin plugin : hp.getPending()) {
+                rules.put(plugin.getId(), 0L);
+                strengths.put(plugin.getId(), plugin.getAttackStrength());
+            }
+
+            for (int ruleId :
+                    getRuleCosts()
+                            .selectRulesToSkip(
+                                    hp.getHostAndPort(), rules, strengths, endTime - now)) {
+                Plugin plugin = runningPlugins.get(ruleId);
+                if (plugin == null) {
+                    // Not yet running, it will be checked again once it is.
+                    continue;
+                }
+                hp.pluginSkipped(
+                        plugin,
+                        Constant.messages.getString("automation.info.ascan.budget.reason"));
+                progress.info(
+                        Constant.messages.getString(
+                                "automation.info.ascan.budget.skipped",
+                                this.getName(),
+                                ruleId,
+                                hp.getHostAndPort()));
+            }
+        }
+    }
+
+    /**
+     * Records the costs of the rules that completed, per attack strength, the ones skipped are not
+     * recorded as they did not run fully.
+     */
+    private static void recordRuleCosts(ActiveScan scan) {
+        if (scan == null) {
+            return;
+        }
+        boolean recorded = false;
+        for (HostProcess hp : scan.getHostProcesses()) {
+            for (Plugin plugin : hp.getCompleted()) {
+                PluginStats stats = hp.getPluginStats(plugin.getId());
+                if (stats == null
+                        || hp.isSkipped(plugin)
+                        || plugin.getTimeStarted() == null
+                        || plugin.getTimeFinished() == null) {
+                    continue;
+                }
+                getRuleCosts()
+                        .record(
+                                hp.getHostAndPort(),
+                                plugin.getId(),
+                                plugin.getAttackStrength(),
+                                stats.getMessageCount(),
+                                plugin.getTimeFinished().getTime()
+                                        - plugin.getTimeStarted().getTime(),
+                                stats.getAlertCount());
+                recorded = true;
+            }
+        }
+        if (recorded) {
+            try {
+                getRuleCosts().save();
+            } catch (IOException e) {
+                LOG.warn("Failed to save the active scan rule costs: {}", e.getMessage());
+            }
+        }
+    }
+
     @Override
     public List<JobResultData> getJobResultData() {
         ActiveScan lastScan = this.getExtAScan().getLastScan();
@@ -526,6 +645,7 @@ public class ActiveScanJob extends AutomationJob {
         private String policy;
         private Integer maxRuleDurationInMins;
         private Integer maxScanDurationInMins;
+        private Boolean budgetMode;
         private Boolean addQueryParam;
         private String defaultPolicy;
         private Integer delayInMs;
@@ -576,6 +696,14 @@ public class ActiveScanJob extends AutomationJob {
             this.maxScanDurationInMins = maxScanDurationInMins;
         }
 
+        public Boolean getBudgetMode() {
+            return budgetMode;
+        }
+
+        public void setBudgetMode(Boolean budgetMode) {
+            this.budgetMode = budgetMode;
+        }
+
         public Boolean getAddQueryParam() {
             return addQueryParam;
         }
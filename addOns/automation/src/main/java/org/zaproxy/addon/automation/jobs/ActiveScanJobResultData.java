@@ -28,6 +28,7 @@ import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.core.scanner.HostProcess;
 import org.parosproxy.paros.core.scanner.Plugin;
+import org.parosproxy.paros.core.scanner.PluginStats;
 import org.parosproxy.paros.db.DatabaseException;
 import org.parosproxy.paros.db.RecordAlert;
 import org.parosproxy.paros.model.Model;
@@ -53,7 +54,12 @@ public class ActiveScanJobResultData extends JobResultData {
                                 plugin.getId(),
                                 k -> new RuleData(plugin.getId(), plugin.getName()));
                 data.incTimeTakenMs(
-                        plugin.getTimeStarted().getTime() - plugin.getTimeFinished().getTime());
+                        plugin.getTimeFinished().getTime() - plugin.getTimeStarted().getTime());
+                PluginStats stats = hp.getPluginStats(plugin.getId());
+                if (stats != null) {
+                    data.incRequestCount(stats.getMessageCount());
+                    data.incAlertCount(stats.getAlertCount());
+                }
                 data.setStrength(plugin.getAttackStrength());
                 data.setThreshold(plugin.getAlertThreshold());
             }
@@ -98,6 +104,8 @@ public class ActiveScanJobResultData extends JobResultData {
         private final int id;
         private final String name;
         private long timeTakenMs;
+        private long requestCount;
+        private long alertCount;
         private Plugin.AlertThreshold threshold;
         private Plugin.AttackStrength strength;
 
@@ -110,6 +118,14 @@ public class ActiveScanJobResultData extends JobResultData {
             this.timeTakenMs += time;
         }
 
+        public void incRequestCount(long count) {
+            this.requestCount += count;
+        }
+
+        public void incAlertCount(long count) {
+            this.alertCount += count;
+        }
+
         public Plugin.AlertThreshold getThreshold() {
             return threshold;
         }
@@ -137,5 +153,13 @@ public class ActiveScanJobResultData extends JobResultData {
         public long getTimeTakenMs() {
             return timeTakenMs;
         }
+
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        public long getAlertCount() {
+            return alertCount;
+        }
     }
 }
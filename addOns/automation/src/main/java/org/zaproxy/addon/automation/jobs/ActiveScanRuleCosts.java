@@ -0,0 +1,313 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.automation.jobs;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.Constant;
+import org.parosproxy.paros.core.scanner.Plugin.AttackStrength;
+
+/**
+ * The costs of the active scan rules, the requests sent, the time taken and the alerts raised,
+ * accumulated over the scans of each site, per attack strength of the rules.
+ *
+ * <p>The costs are used to estimate how long the rules take to run and their yield, the alerts
+ * raised per request sent, which allows to skip the rules with lower yield when the time of the
+ * scan is running out.
+ *
+ * <p>Instances of this class are thread-safe.
+ */
+public class ActiveScanRuleCosts {
+
+    private static final Logger LOG = LogManager.getLogger(ActiveScanRuleCosts.class);
+
+    private static final TypeReference<Map<String, Map<String, RuleCost>>> COSTS_TYPE =
+            new TypeReference<Map<String, Map<String, RuleCost>>>() {};
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    // The site to the key of the rule (its ID and strength) to the cost.
+    private final Map<String, Map<String, RuleCost>> costs;
+
+    /**
+     * Constructs an {@code ActiveScanRuleCosts} with the costs saved in the given file, if any.
+     *
+     * @param file the file to load and save the costs.
+     */
+    public ActiveScanRuleCosts(Path file) {
+        this.file = file;
+        this.objectMapper = new ObjectMapper(new YAMLFactory());
+        this.costs = load();
+    }
+
+    /**
+     * Gets the default file of the costs, in the ZAP home directory.
+     *
+     * @return the path to the file.
+     */
+    public static Path getDefaultFile() {
+        return Paths.get(Constant.getZapHome(), "automation", "ascan-rule-costs.yaml");
+    }
+
+    private Map<String, Map<String, RuleCost>> load() {
+        if (Files.isRegularFile(file)) {
+            try {
+                Map<String, Map<String, RuleCost>> loaded =
+                        objectMapper.readValue(file.toFile(), COSTS_TYPE);
+                if (loaded != null) {
+                    return new TreeMap<>(loaded);
+                }
+            } catch (IOException e) {
+                LOG.warn("Failed to read the active scan rule costs {}: {}", file, e.getMessage());
+            }
+        }
+        return new TreeMap<>();
+    }
+
+    private static String createRuleKey(int ruleId, AttackStrength strength) {
+        return ruleId + "-" + strength.name();
+    }
+
+    /**
+     * Records a run of a rule against the given site.
+     *
+     * @param site the site scanned, for example, {@code example.com:443}.
+     * @param ruleId the ID of the rule.
+     * @param strength the attack strength of the rule.
+     * @param requests the number of requests sent by the rule.
+     * @param timeMs the time taken by the rule, in milliseconds.
+     * @param alerts the number of alerts raised by the rule.
+     */
+    public synchronized void record(
+            String site,
+            int ruleId,
+            AttackStrength strength,
+            long requests,
+            long timeMs,
+            long alerts) {
+        RuleCost cost =
+                costs.computeIfAbsent(site, k -> new TreeMap<>())
+                        .computeIfAbsent(createRuleKey(ruleId, strength), k -> new RuleCost());
+        cost.runs++;
+        cost.requests += requests;
+        cost.timeMs += Math.max(0, timeMs);
+        cost.alerts += alerts;
+    }
+
+    /**
+     * Gets the cost of the given rule, with the given strength, for the given site. If the rule
+     * never ran with that strength against the site the cost of all the sites is returned instead.
+     *
+     * @param site the site.
+     * @param ruleId the ID of the rule.
+     * @param strength the attack strength of the rule.
+     * @return the cost, or {@code null} if the rule never ran with the given strength.
+     */
+    public synchronized RuleCost getCost(String site, int ruleId, AttackStrength strength) {
+        String ruleKey = createRuleKey(ruleId, strength);
+        Map<String, RuleCost> siteCosts = costs.get(site);
+        if (siteCosts != null && siteCosts.containsKey(ruleKey)) {
+            return siteCosts.get(ruleKey).copy();
+        }
+
+        RuleCost total = null;
+        for (Map<String, RuleCost> otherSiteCosts : costs.values()) {
+            RuleCost cost = otherSiteCosts.get(ruleKey);
+            if (cost != null) {
+                if (total == null) {
+                    total = new RuleCost();
+                }
+                total.add(cost);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Selects the rules that should be skipped for the rest of the given rules to be expected to
+     * finish in the remaining time. The rules with lower yield are selected first, the rules that
+     * never ran are never selected as their cost is not known.
+     *
+     * @param site the site being scanned.
+     * @param rules the rules still to finish, the ID of the rule to the time it has been running,
+     *     in milliseconds, {@code 0} if not yet started.
+     * @param strengths the attack strengths of the rules, the ID of the rule to its strength.
+     * @param remainingMs the time remaining, in milliseconds.
+     * @return the IDs of the rules to skip, never {@code null}.
+     */
+    public List<Integer> selectRulesToSkip(
+            String site,
+            Map<Integer, Long> rules,
+            Map<Integer, AttackStrength> strengths,
+            long remainingMs) {
+        List<RuleEstimate> estimates = new ArrayList<>(rules.size());
+        long expectedMs = 0;
+        for (Map.Entry<Integer, Long> rule : rules.entrySet()) {
+            AttackStrength strength = strengths.get(rule.getKey());
+            RuleCost cost = strength != null ? getCost(site, rule.getKey(), strength) : null;
+            if (cost == null) {
+                continue;
+            }
+            RuleEstimate estimate =
+                    new RuleEstimate(
+                            rule.getKey(),
+                            cost.getYield(),
+                            Math.max(0, cost.getAverageTimeMs() - rule.getValue()));
+            estimates.add(estimate);
+            expectedMs += estimate.remainingMs;
+        }
+
+        List<Integer> rulesToSkip = new ArrayList<>();
+        if (expectedMs <= remainingMs) {
+            return rulesToSkip;
+        }
+
+        estimates.sort(
+                Comparator.comparingDouble((RuleEstimate e) -> e.yield)
+                        .thenComparing(e -> e.remainingMs, Comparator.reverseOrder()));
+        for (RuleEstimate estimate : estimates) {
+            if (expectedMs <= remainingMs) {
+                break;
+            }
+            if (estimate.remainingMs == 0) {
+                continue;
+            }
+            rulesToSkip.add(estimate.ruleId);
+            expectedMs -= estimate.remainingMs;
+        }
+        return rulesToSkip;
+    }
+
+    /**
+     * Saves the costs to the file.
+     *
+     * @throws IOException if an error occurred while saving the costs.
+     */
+    public void save() throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        synchronized (this) {
+            objectMapper.writeValue(tempFile.toFile(), costs);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static class RuleEstimate {
+
+        private final int ruleId;
+        private final double yield;
+        private final long remainingMs;
+
+        RuleEstimate(int ruleId, double yield, long remainingMs) {
+            this.ruleId = ruleId;
+            this.yield = yield;
+            this.remainingMs = remainingMs;
+        }
+    }
+
+    /** The accumulated cost of a rule. */
+    public static class RuleCost {
+
+        private long runs;
+        private long requests;
+        private long timeMs;
+        private long alerts;
+
+        public long getRuns() {
+            return runs;
+        }
+
+        public void setRuns(long runs) {
+            this.runs = runs;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public void setRequests(long requests) {
+            this.requests = requests;
+        }
+
+        public long getTimeMs() {
+            return timeMs;
+        }
+
+        public void setTimeMs(long timeMs) {
+            this.timeMs = timeMs;
+        }
+
+        public long getAlerts() {
+            return alerts;
+        }
+
+        public void setAlerts(long alerts) {
+            this.alerts = alerts;
+        }
+
+        /**
+         * Gets the average time taken by a run of the rule.
+         *
+         * @return the time, in milliseconds.
+         */
+        @JsonIgnore
+        public long getAverageTimeMs() {
+            return runs == 0 ? 0 : timeMs / runs;
+        }
+
+        /**
+         * Gets the yield of the rule, the alerts raised per request sent. The rules that sent few
+         * requests are given the benefit of the doubt, as if they had raised one more alert.
+         *
+         * @return the yield.
+         */
+        @JsonIgnore
+        public double getYield() {
+            return (alerts + 1.0) / (requests + 1.0);
+        }
+
+        private void add(RuleCost other) {
+            runs += other.runs;
+            requests += other.requests;
+            timeMs += other.timeMs;
+            alerts += other.alerts;
+        }
+
+        private RuleCost copy() {
+            RuleCost copy = new RuleCost();
+            copy.add(this);
+            return copy;
+        }
+    }
+}
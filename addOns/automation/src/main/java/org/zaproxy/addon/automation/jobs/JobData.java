@@ -54,6 +54,11 @@ public abstract class JobData extends AutomationData {
         this.job.setName(name);
     }
 
+    public List<String> getDependsOn() {
+        // Null if not set, so that no element is included in the YAML
+        return this.job.getDependsOn();
+    }
+
     public List<AutomationData> getTests() {
         List<AbstractAutomationTest> tests = this.job.getTests();
         if (tests.isEmpty()) {
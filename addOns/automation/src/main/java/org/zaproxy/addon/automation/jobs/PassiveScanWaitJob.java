@@ -40,6 +40,9 @@ public class PassiveScanWaitJob extends AutomationJob {
 
     private static final String PARAM_MAX_DURATION = "maxDuration";
 
+    private static final long MIN_POLL_INTERVAL_MS = 25;
+    private static final long MAX_POLL_INTERVAL_MS = 500;
+
     private Data data;
     private Parameters parameters = new Parameters();
 
@@ -57,15 +60,19 @@ public class PassiveScanWaitJob extends AutomationJob {
             endTime = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(maxDuration);
         }
 
+        // The passive scanner does not notify when it's done, poll more often at the start to
+        // avoid waiting longer than needed for small queues.
+        long pollInterval = MIN_POLL_INTERVAL_MS;
         while (extPScan.getRecordsToScan() > 0) {
             if (System.currentTimeMillis() > endTime) {
                 break;
             }
             try {
-                Thread.sleep(500);
+                Thread.sleep(pollInterval);
             } catch (InterruptedException e) {
                 // Ignore
             }
+            pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL_MS);
         }
         progress.addJobResultData(this.getJobResultData());
     }
@@ -0,0 +1,169 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.automation.jobs;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.zaproxy.addon.automation.AutomationEventPublisher;
+import org.zaproxy.addon.automation.AutomationJob;
+import org.zaproxy.zap.ZAP;
+import org.zaproxy.zap.eventBus.Event;
+import org.zaproxy.zap.eventBus.EventConsumer;
+import org.zaproxy.zap.model.ScanEventPublisher;
+
+/**
+ * Monitors the events of a scan publisher, allowing a job to wake up as soon as the scan it
+ * started finishes, instead of waiting a full polling interval.
+ *
+ * <p>The scan progress events are republished as {@link AutomationEventPublisher#JOB_PROGRESS}
+ * events for the job.
+ *
+ * <p>The monitor should be created before starting the scan, so that no events are missed, and
+ * closed once the job no longer needs it.
+ *
+ * @since 0.20.0
+ */
+public class ScanEventMonitor implements EventConsumer, AutoCloseable {
+
+    /** The name of the publisher of the active scan events, provided by ZAP core. */
+    public static final String ACTIVE_SCAN_PUBLISHER_NAME =
+            "org.zaproxy.zap.extension.ascan.ActiveScanEventPublisher";
+
+    private static final Logger LOGGER = LogManager.getLogger(ScanEventMonitor.class);
+
+    /** The interval used while the scan reported as finished is not yet stopped. */
+    private static final long FINISHED_WAIT_INTERVAL_MS = 20;
+
+    private final AutomationJob job;
+    private final Set<Integer> finishedScans;
+    private final Object lock;
+    private volatile int scanId;
+
+    /**
+     * Constructs a {@code ScanEventMonitor} for the given job, consuming the events of the given
+     * publisher.
+     *
+     * @param job the job waiting for the scan.
+     * @param publisherName the name of the scan event publisher.
+     */
+    public ScanEventMonitor(AutomationJob job, String publisherName) {
+        this.job = job;
+        this.finishedScans = ConcurrentHashMap.newKeySet();
+        this.lock = new Object();
+        this.scanId = -1;
+
+        ZAP.getEventBus().registerConsumer(this, publisherName);
+    }
+
+    /**
+     * Sets the ID of the scan being monitored.
+     *
+     * @param scanId the ID of the scan.
+     */
+    public void setScanId(int scanId) {
+        this.scanId = scanId;
+    }
+
+    /**
+     * Tells whether or not the monitored scan was reported as finished (completed or stopped).
+     *
+     * @return {@code true} if the scan finished, {@code false} otherwise.
+     */
+    public boolean isScanFinished() {
+        return finishedScans.contains(scanId);
+    }
+
+    /**
+     * Waits until the monitored scan finishes or the given time elapses, whichever happens first.
+     *
+     * @param maxWaitMillis the maximum time to wait, in milliseconds.
+     * @return {@code true} if the scan finished, {@code false} otherwise.
+     */
+    public boolean waitForScan(long maxWaitMillis) {
+        synchronized (lock) {
+            try {
+                if (isScanFinished()) {
+                    // Give time for the scan to update its state.
+                    lock.wait(Math.min(maxWaitMillis, FINISHED_WAIT_INTERVAL_MS));
+                } else {
+                    lock.wait(maxWaitMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return isScanFinished();
+    }
+
+    @Override
+    public void eventReceived(Event event) {
+        Map<String, String> params = event.getParameters();
+        if (params == null) {
+            return;
+        }
+        int eventScanId;
+        try {
+            eventScanId = Integer.parseInt(params.get(ScanEventPublisher.SCAN_ID));
+        } catch (NumberFormatException e) {
+            return;
+        }
+
+        switch (event.getEventType()) {
+            case ScanEventPublisher.SCAN_COMPLETED_EVENT:
+            case ScanEventPublisher.SCAN_STOPPED_EVENT:
+                finishedScans.add(eventScanId);
+                if (eventScanId == scanId) {
+                    synchronized (lock) {
+                        lock.notifyAll();
+                    }
+                }
+                break;
+            case ScanEventPublisher.SCAN_PROGRESS_EVENT:
+                if (eventScanId == scanId) {
+                    publishProgress(params.get(ScanEventPublisher.SCAN_PROGRESS));
+                }
+                break;
+            default:
+        }
+    }
+
+    private void publishProgress(String progress) {
+        if (job.getPlan() == null || progress == null) {
+            return;
+        }
+        try {
+            Map<String, String> map = new HashMap<>();
+            map.put(AutomationEventPublisher.PROGRESS, progress);
+            AutomationEventPublisher.publishEvent(
+                    AutomationEventPublisher.JOB_PROGRESS, job, map);
+        } catch (Exception e) {
+            LOGGER.debug("Failed to publish the progress of job {}", job.getName(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        ZAP.getEventBus().unregisterConsumer(this);
+    }
+}
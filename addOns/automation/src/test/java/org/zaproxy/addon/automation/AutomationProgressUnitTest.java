@@ -20,10 +20,12 @@
 package org.zaproxy.addon.automation;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 
+import java.util.Arrays;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -239,6 +241,49 @@ class AutomationProgressUnitTest extends TestUtils {
         assertThat(progress.getInfos(job1).size(), is(0));
     }
 
+    @Test
+    void shouldAttributeMessagesOfJobProgressToJob() {
+        // Given
+        AutomationJob job1 = mock(AutomationJob.class);
+        progress.info("other job");
+        AutomationProgress jobProgress = progress.createJobProgress();
+
+        // When
+        jobProgress.error("job1error");
+        jobProgress.warn("job1warn");
+        jobProgress.info("job1info");
+        progress.info("not job1");
+        jobProgress.addRunJob(job1);
+
+        // Then
+        assertThat(progress.getInfos().size(), is(3));
+        assertThat(progress.getErrors(job1), contains("job1error"));
+        assertThat(progress.getWarnings(job1), contains("job1warn"));
+        assertThat(progress.getInfos(job1), contains("job1info"));
+        assertThat(progress.getRunJobs(), contains(job1));
+        assertThat(jobProgress.hasErrors(), is(true));
+    }
+
+    @Test
+    void shouldReturnJobDurationsAndCriticalPath() {
+        // Given
+        AutomationJob job1 = mock(AutomationJob.class);
+        AutomationJob job2 = mock(AutomationJob.class);
+        AutomationJob job3 = mock(AutomationJob.class);
+
+        // When
+        progress.addJobDuration(job1, 10);
+        progress.addJobDuration(job2, 20);
+        progress.setCriticalPath(Arrays.asList(job1, job2));
+
+        // Then
+        assertThat(progress.getJobDuration(job1), is(10L));
+        assertThat(progress.getJobDuration(job2), is(20L));
+        assertThat(progress.getJobDuration(job3), is(-1L));
+        assertThat(progress.getCriticalPath(), contains(job1, job2));
+        assertThat(progress.getCriticalPathDuration(), is(30L));
+    }
+
     @Test
     void shouldPrintToStdoutOnInfoWhenOutputStdoutIsTrue() {
         // Given
@@ -0,0 +1,293 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.automation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.Constant;
+import org.zaproxy.zap.utils.I18N;
+
+/** Unit test for {@link JobScheduler}. */
+class JobSchedulerUnitTest {
+
+    private AutomationProgress progress;
+    private AutomationEnvironment env;
+
+    @BeforeEach
+    void setUp() {
+        Constant.messages = new I18N(Locale.ENGLISH);
+        progress = new AutomationProgress();
+        env = mock(AutomationEnvironment.class);
+    }
+
+    @Test
+    void shouldNotHaveDependenciesIfNoneDeclared() {
+        // Given
+        List<AutomationJob> jobs = Arrays.asList(job("a", null), job("b", null));
+
+        // When
+        boolean dependencies = JobScheduler.hasDependencies(jobs);
+
+        // Then
+        assertThat(dependencies, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldHaveDependenciesIfAnyDeclared() {
+        // Given
+        List<AutomationJob> jobs = Arrays.asList(job("a", null), job("b", list()));
+
+        // When
+        boolean dependencies = JobScheduler.hasDependencies(jobs);
+
+        // Then
+        assertThat(dependencies, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldRunIndependentJobsConcurrently() {
+        // Given
+        List<AutomationJob> jobs = Arrays.asList(job("a", list()), job("b", list()));
+        JobScheduler scheduler = new JobScheduler(jobs, progress);
+        CountDownLatch latch = new CountDownLatch(2);
+        AtomicBoolean concurrent = new AtomicBoolean(true);
+
+        // When
+        scheduler.resolveDependencies();
+        scheduler.run(
+                env,
+                2,
+                (job, jobProgress) -> {
+                    latch.countDown();
+                    try {
+                        if (!latch.await(5, TimeUnit.SECONDS)) {
+                            concurrent.set(false);
+                        }
+                    } catch (InterruptedException e) {
+                        concurrent.set(false);
+                    }
+                });
+
+        // Then
+        assertThat(concurrent.get(), is(equalTo(true)));
+        assertThat(progress.hasErrors(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldRunJobsAfterTheirDependencies() {
+        // Given
+        AutomationJob a = job("a", list());
+        AutomationJob b = job("b", list());
+        AutomationJob c = job("c", list("a", "b"));
+        AutomationJob d = job("d", null);
+        JobScheduler scheduler = new JobScheduler(Arrays.asList(a, b, c, d), progress);
+        List<String> run = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        boolean resolved = scheduler.resolveDependencies();
+        scheduler.run(env, 4, (job, jobProgress) -> run.add(job.getName()));
+
+        // Then
+        assertThat(resolved, is(equalTo(true)));
+        assertThat(run.subList(0, 2), containsInAnyOrder("a", "b"));
+        assertThat(run.subList(2, 4), contains("c", "d"));
+    }
+
+    @Test
+    void shouldReportUnknownDependency() {
+        // Given
+        JobScheduler scheduler =
+                new JobScheduler(Arrays.asList(job("a", list()), job("b", list("x"))), progress);
+
+        // When
+        boolean resolved = scheduler.resolveDependencies();
+
+        // Then
+        assertThat(resolved, is(equalTo(false)));
+        assertThat(progress.getErrors(), contains("!automation.error.job.dependson.unknown!"));
+    }
+
+    @Test
+    void shouldReportCyclicDependencies() {
+        // Given
+        JobScheduler scheduler =
+                new JobScheduler(
+                        Arrays.asList(job("a", list("b")), job("b", list("a")), job("c", list())),
+                        progress);
+
+        // When
+        boolean resolved = scheduler.resolveDependencies();
+
+        // Then
+        assertThat(resolved, is(equalTo(false)));
+        assertThat(progress.getErrors(), contains("!automation.error.job.dependson.cycle!"));
+    }
+
+    @Test
+    void shouldNotStartMoreJobsWhenTimeToQuit() {
+        // Given
+        JobScheduler scheduler =
+                new JobScheduler(Arrays.asList(job("a", list()), job("b", null)), progress);
+        given(env.isTimeToQuit()).willReturn(true);
+        List<String> run = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        scheduler.resolveDependencies();
+        scheduler.run(env, 4, (job, jobProgress) -> run.add(job.getName()));
+
+        // Then
+        assertThat(run, contains("a"));
+    }
+
+    @Test
+    void shouldNotRunDependentsOfFailedJob() {
+        // Given
+        JobScheduler scheduler =
+                new JobScheduler(
+                        Arrays.asList(job("a", list()), job("b", list("a")), job("c", list())),
+                        progress);
+        List<String> run = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        scheduler.resolveDependencies();
+        scheduler.run(
+                env,
+                1,
+                (job, jobProgress) -> {
+                    run.add(job.getName());
+                    if ("a".equals(job.getName())) {
+                        throw new RuntimeException();
+                    }
+                });
+
+        // Then
+        assertThat(run, contains("a", "c"));
+        assertThat(progress.getErrors(), contains("!automation.error.job.internal!"));
+    }
+
+    @Test
+    void shouldWarnOfAllJobsNotRunBecauseOfFailedJob() {
+        // Given
+        AutomationJob a = job("a", list());
+        AutomationJob b = job("b", list("a"));
+        AutomationJob c = job("c", list("b"));
+        JobScheduler scheduler = new JobScheduler(Arrays.asList(a, b, c), progress);
+
+        // When
+        scheduler.resolveDependencies();
+        scheduler.run(
+                env,
+                1,
+                (job, jobProgress) -> {
+                    throw new RuntimeException();
+                });
+
+        // Then
+        assertThat(
+                progress.getWarnings(),
+                contains(
+                        "!automation.error.job.dependson.failed!",
+                        "!automation.error.job.dependson.failed!"));
+        assertThat(progress.getErrors(a), contains("!automation.error.job.internal!"));
+        assertThat(progress.getRunJobs(), contains(a));
+    }
+
+    @Test
+    void shouldAttributeMessagesOfJobsFromAnyThread() {
+        // Given
+        AutomationJob a = job("a", list());
+        AutomationJob b = job("b", list());
+        JobScheduler scheduler = new JobScheduler(Arrays.asList(a, b), progress);
+
+        // When
+        scheduler.resolveDependencies();
+        scheduler.run(
+                env,
+                2,
+                (job, jobProgress) -> {
+                    Thread thread = new Thread(() -> jobProgress.info("info " + job.getName()));
+                    thread.start();
+                    try {
+                        thread.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    jobProgress.warn("warn " + job.getName());
+                    jobProgress.addRunJob(job);
+                });
+
+        // Then
+        assertThat(progress.getInfos(a), contains("info a"));
+        assertThat(progress.getWarnings(a), contains("warn a"));
+        assertThat(progress.getInfos(b), contains("info b"));
+        assertThat(progress.getWarnings(b), contains("warn b"));
+        assertThat(progress.getInfos(), containsInAnyOrder("info a", "info b"));
+    }
+
+    @Test
+    void shouldComputeCriticalPathFromJobDurations() {
+        // Given
+        AutomationJob a = job("a", list());
+        AutomationJob b = job("b", list());
+        AutomationJob c = job("c", list("a", "b"));
+        AutomationJob d = job("d", list("a"));
+        JobScheduler scheduler = new JobScheduler(Arrays.asList(a, b, c, d), progress);
+        progress.addJobDuration(a, 10);
+        progress.addJobDuration(b, 50);
+        progress.addJobDuration(c, 5);
+        progress.addJobDuration(d, 20);
+
+        // When
+        scheduler.resolveDependencies();
+        List<AutomationJob> criticalPath = scheduler.getCriticalPath();
+
+        // Then
+        assertThat(criticalPath, contains(b, c));
+    }
+
+    private static AutomationJob job(String name, List<String> dependsOn) {
+        AutomationJob job = mock(AutomationJob.class, withSettings().lenient());
+        given(job.getName()).willReturn(name);
+        given(job.getType()).willReturn(name);
+        given(job.getDependsOn()).willReturn(dependsOn);
+        return job;
+    }
+
+    private static List<String> list(String... names) {
+        return Arrays.asList(names);
+    }
+}
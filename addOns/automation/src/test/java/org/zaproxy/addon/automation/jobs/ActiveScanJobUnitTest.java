@@ -155,6 +155,26 @@ class ActiveScanJobUnitTest {
         assertThat(progress.hasWarnings(), is(equalTo(false)));
     }
 
+    @Test
+    void shouldApplyBudgetModeParam() {
+        // Given
+        String yamlStr = "parameters:\n" + "  maxScanDurationInMins: 12\n" + "  budgetMode: true";
+        AutomationProgress progress = new AutomationProgress();
+        Yaml yaml = new Yaml();
+        Object data = yaml.load(yamlStr);
+
+        ActiveScanJob job = new ActiveScanJob();
+        job.setJobData(((LinkedHashMap<?, ?>) data));
+
+        // When
+        job.verifyParameters(progress);
+
+        // Then
+        assertThat(job.getParameters().getBudgetMode(), is(equalTo(true)));
+        assertThat(progress.hasErrors(), is(equalTo(false)));
+        assertThat(progress.hasWarnings(), is(equalTo(false)));
+    }
+
     @Test
     void shouldFailWithUnknownConfigParam() {
         // Given
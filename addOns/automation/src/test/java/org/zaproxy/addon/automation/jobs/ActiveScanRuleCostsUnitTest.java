@@ -0,0 +1,204 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.automation.jobs;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.parosproxy.paros.core.scanner.Plugin.AttackStrength.HIGH;
+import static org.parosproxy.paros.core.scanner.Plugin.AttackStrength.INSANE;
+import static org.parosproxy.paros.core.scanner.Plugin.AttackStrength.LOW;
+import static org.parosproxy.paros.core.scanner.Plugin.AttackStrength.MEDIUM;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parosproxy.paros.core.scanner.Plugin.AttackStrength;
+import org.zaproxy.addon.automation.jobs.ActiveScanRuleCosts.RuleCost;
+
+/** Unit test for {@link ActiveScanRuleCosts}. */
+class ActiveScanRuleCostsUnitTest {
+
+    private static final String SITE = "example.com:443";
+
+    @TempDir Path dir;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("automation").resolve("ascan-rule-costs.yaml");
+    }
+
+    @Test
+    void shouldGetCostsSavedPreviously() throws Exception {
+        // Given
+        ActiveScanRuleCosts costs = new ActiveScanRuleCosts(file);
+        costs.record(SITE, 40018, MEDIUM, 100, 2000, 1);
+        costs.record(SITE, 40018, MEDIUM, 300, 4000, 0);
+        costs.save();
+
+        // When
+        RuleCost cost = new ActiveScanRuleCosts(file).getCost(SITE, 40018, MEDIUM);
+
+        // Then
+        assertThat(cost.getRuns(), is(equalTo(2L)));
+        assertThat(cost.getRequests(), is(equalTo(400L)));
+        assertThat(cost.getTimeMs(), is(equalTo(6000L)));
+        assertThat(cost.getAlerts(), is(equalTo(1L)));
+        assertThat(cost.getAverageTimeMs(), is(equalTo(3000L)));
+    }
+
+    @Test
+    void shouldUseCostsOfAllSitesIfRuleNeverRanAgainstSite() {
+        // Given
+        ActiveScanRuleCosts costs = new ActiveScanRuleCosts(file);
+        costs.record("a.example.com:80", 6, MEDIUM, 10, 100, 1);
+        costs.record("b.example.com:80", 6, MEDIUM, 30, 300, 0);
+
+        // When
+        RuleCost cost = costs.getCost(SITE, 6, MEDIUM);
+
+        // Then
+        assertThat(cost.getRuns(), is(equalTo(2L)));
+        assertThat(cost.getRequests(), is(equalTo(40L)));
+        assertThat(cost.getAverageTimeMs(), is(equalTo(200L)));
+        assertThat(costs.getCost(SITE, 7, MEDIUM), is(nullValue()));
+    }
+
+    @Test
+    void shouldStartWithoutCostsIfFileNotValid() throws Exception {
+        // Given
+        Files.createDirectories(file.getParent());
+        Files.write(file, "- not: [valid".getBytes());
+
+        // When
+        ActiveScanRuleCosts costs = new ActiveScanRuleCosts(file);
+
+        // Then
+        assertThat(costs.getCost(SITE, 6, MEDIUM), is(nullValue()));
+    }
+
+    @Test
+    void shouldNotSkipRulesIfExpectedToFinishInTime() {
+        // Given
+        ActiveScanRuleCosts costs = new ActiveScanRuleCosts(file);
+        costs.record(SITE, 1, MEDIUM, 100, 1000, 0);
+        costs.record(SITE, 2, MEDIUM, 100, 1000, 5);
+
+        // When
+        List<Integer> rulesToSkip =
+                costs.selectRulesToSkip(SITE, rules(1, 500L, 2, 0L), strengths(1, 2), 1500);
+
+        // Then
+        assertThat(rulesToSkip, is(empty()));
+    }
+
+    @Test
+    void shouldSkipRulesWithLowerYieldFirst() {
+        // Given
+        ActiveScanRuleCosts costs = new ActiveScanRuleCosts(file);
+        costs.record(SITE, 1, MEDIUM, 1000, 1000, 0);
+        costs.record(SITE, 2, MEDIUM, 100, 1000, 5);
+        costs.record(SITE, 3, MEDIUM, 500, 1000, 0);
+
+        // When
+        List<Integer> rulesToSkip =
+                costs.selectRulesToSkip(
+                        SITE, rules(1, 0L, 2, 0L, 3, 0L), strengths(1, 2, 3), 1500);
+
+        // Then
+        assertThat(rulesToSkip, contains(1, 3));
+    }
+
+    @Test
+    void shouldNotSkipRulesThatNeverRan() {
+        // Given
+        ActiveScanRuleCosts costs = new ActiveScanRuleCosts(file);
+        costs.record(SITE, 1, MEDIUM, 10, 1000, 0);
+
+        // When
+        List<Integer> rulesToSkip =
+                costs.selectRulesToSkip(SITE, rules(1, 0L, 2, 0L), strengths(1, 2), 0);
+
+        // Then
+        assertThat(rulesToSkip, contains(1));
+    }
+
+    @Test
+    void shouldKeepCostsPerStrength() {
+        // Given
+        ActiveScanRuleCosts costs = new ActiveScanRuleCosts(file);
+        costs.record(SITE, 6, LOW, 10, 100, 0);
+        costs.record(SITE, 6, HIGH, 1000, 10000, 1);
+
+        // When
+        RuleCost cost = costs.getCost(SITE, 6, LOW);
+
+        // Then
+        assertThat(cost.getRuns(), is(equalTo(1L)));
+        assertThat(cost.getRequests(), is(equalTo(10L)));
+        assertThat(cost.getAverageTimeMs(), is(equalTo(100L)));
+        assertThat(costs.getCost(SITE, 6, MEDIUM), is(nullValue()));
+    }
+
+    @Test
+    void shouldUseCostsOfSameStrengthToSkipRules() {
+        // Given
+        ActiveScanRuleCosts costs = new ActiveScanRuleCosts(file);
+        costs.record(SITE, 1, LOW, 10, 100, 0);
+        costs.record(SITE, 1, INSANE, 10000, 100000, 0);
+        costs.record(SITE, 2, LOW, 10, 1000, 5);
+        Map<Integer, AttackStrength> strengths = new HashMap<>();
+        strengths.put(1, LOW);
+        strengths.put(2, LOW);
+
+        // When
+        List<Integer> rulesToSkip =
+                costs.selectRulesToSkip(SITE, rules(1, 0L, 2, 0L), strengths, 1500);
+
+        // Then
+        assertThat(rulesToSkip, is(empty()));
+    }
+
+    private static Map<Integer, AttackStrength> strengths(int... ids) {
+        Map<Integer, AttackStrength> strengths = new HashMap<>();
+        for (int id : ids) {
+            strengths.put(id, MEDIUM);
+        }
+        return strengths;
+    }
+
+    private static Map<Integer, Long> rules(Object... idsAndElapsed) {
+        Map<Integer, Long> rules = new LinkedHashMap<>();
+        for (int i = 0; i < idsAndElapsed.length; i += 2) {
+            rules.put((Integer) idsAndElapsed[i], (Long) idsAndElapsed[i + 1]);
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.automation.jobs;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.zaproxy.zap.eventBus.Event;
+import org.zaproxy.zap.eventBus.EventPublisher;
+import org.zaproxy.zap.model.ScanEventPublisher;
+
+/** Unit test for {@link ScanEventMonitor}. */
+class ScanEventMonitorUnitTest {
+
+    private EventPublisher publisher;
+    private ScanEventMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        publisher = mock(EventPublisher.class);
+        monitor = new ScanEventMonitor(new DelayJob(), "test.publisher");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        monitor.close();
+    }
+
+    @Test
+    void shouldNotBeFinishedWithoutEvents() {
+        // Given
+        monitor.setScanId(1);
+
+        // When
+        boolean finished = monitor.waitForScan(10);
+
+        // Then
+        assertThat(finished, is(equalTo(false)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                ScanEventPublisher.SCAN_COMPLETED_EVENT,
+                ScanEventPublisher.SCAN_STOPPED_EVENT
+            })
+    void shouldBeFinishedOnCompletedOrStoppedEvent(String eventType) {
+        // Given
+        monitor.setScanId(1);
+
+        // When
+        monitor.eventReceived(createEvent(eventType, 1));
+
+        // Then
+        assertThat(monitor.isScanFinished(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldIgnoreEventsOfOtherScans() {
+        // Given
+        monitor.setScanId(1);
+
+        // When
+        monitor.eventReceived(createEvent(ScanEventPublisher.SCAN_COMPLETED_EVENT, 2));
+
+        // Then
+        assertThat(monitor.isScanFinished(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldBeFinishedIfEventReceivedBeforeScanIdSet() {
+        // Given
+        monitor.eventReceived(createEvent(ScanEventPublisher.SCAN_COMPLETED_EVENT, 1));
+
+        // When
+        monitor.setScanId(1);
+
+        // Then
+        assertThat(monitor.isScanFinished(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldWakeUpWhenScanFinishes() throws Exception {
+        // Given
+        monitor.setScanId(1);
+        Thread notifier =
+                new Thread(
+                        () -> {
+                            try {
+                                Thread.sleep(50);
+                            } catch (InterruptedException e) {
+                                // Ignore
+                            }
+                            monitor.eventReceived(
+                                    createEvent(ScanEventPublisher.SCAN_COMPLETED_EVENT, 1));
+                        });
+        long start = System.nanoTime();
+        notifier.start();
+
+        // When
+        boolean finished = monitor.waitForScan(TimeUnit.SECONDS.toMillis(10));
+
+        // Then
+        notifier.join();
+        assertThat(finished, is(equalTo(true)));
+        assertThat(System.nanoTime() - start, is(lessThan(TimeUnit.SECONDS.toNanos(5))));
+    }
+
+    @Test
+    void shouldIgnoreProgressEventsWithoutPlan() {
+        // Given
+        monitor.setScanId(1);
+        Map<String, String> params = new HashMap<>();
+        params.put(ScanEventPublisher.SCAN_ID, "1");
+        params.put(ScanEventPublisher.SCAN_PROGRESS, "50");
+        Event event = new Event(publisher, ScanEventPublisher.SCAN_PROGRESS_EVENT, null, params);
+
+        // When
+        monitor.eventReceived(event);
+
+        // Then
+        assertThat(monitor.isScanFinished(), is(equalTo(false)));
+    }
+
+    private Event createEvent(String type, int scanId) {
+        Map<String, String> params = new HashMap<>();
+        params.put(ScanEventPublisher.SCAN_ID, Integer.toString(scanId));
+        return new Event(publisher, type, null, params);
+    }
+}
@@ -21,6 +21,9 @@
 package com.sittinglittleduck.DirBuster;
 
 import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /** Used to store information about a base case. */
 public class BaseCase {
@@ -53,6 +56,13 @@ public class BaseCase {
      */
     private String regex;
 
+    // ZAP: the regex compiled once, instead of for each response
+    private final Pattern regexPattern;
+
+    // ZAP: the fingerprints of the responses known to be the base case, to classify the responses
+    // with a hash lookup
+    private final Set<Fingerprint> baseCaseFingerprints = ConcurrentHashMap.newKeySet();
+
     /** Creates a new instance of BaseCase */
     public BaseCase(
             URL baseCaseURL,
@@ -71,6 +81,11 @@ public class BaseCase {
         this.fileExt = fileExt;
         this.useRegexInstead = useRegexInstead;
         this.regex = regex;
+        this.regexPattern = regex != null ? Pattern.compile(regex) : null;
+
+        if (useContentAnalysisMode()) {
+            addBaseCaseResponse(returnCode, baseCase);
+        }
     }
 
     public String getBaseCase() {
@@ -124,4 +139,76 @@ public class BaseCase {
     public boolean isUseRegexInstead() {
         return useRegexInstead;
     }
+
+    /**
+     * Gets the compiled regex.
+     *
+     * @return the pattern, or {@code null} if there's no regex.
+     */
+    public Pattern getRegexPattern() {
+        return regexPattern;
+    }
+
+    /**
+     * Adds a (cleaned) response that is known to be the base case, for example, when the base case
+     * is not consistent.
+     *
+     * @param code the status code of the response.
+     * @param response the cleaned response.
+     */
+    public void addBaseCaseResponse(int code, String response) {
+        baseCaseFingerprints.add(new Fingerprint(code, response));
+    }
+
+    /**
+     * Tells whether or not the given (cleaned) response is the same as the base case, ignoring the
+     * case.
+     *
+     * @param code the status code of the response.
+     * @param response the cleaned response.
+     * @return {@code true} if the response is the base case, {@code false} otherwise.
+     */
+    public boolean isBaseCaseResponse(int code, String response) {
+        return baseCaseFingerprints.contains(new Fingerprint(code, response));
+    }
+
+    /**
+     * The status, length and (case insensitive) content hash of a response, the probability of two
+     * different responses having the same fingerprint is negligible.
+     */
+    private static final class Fingerprint {
+
+        private final int code;
+        private final int length;
+        private final long hash;
+
+        Fingerprint(int code, String response) {
+            this.code = code;
+            this.length = response.length();
+            long value = 0xcbf29ce484222325L;
+            for (int i = 0; i < length; i++) {
+                // Same as String.equalsIgnoreCase
+                char c = Character.toLowerCase(Character.toUpperCase(response.charAt(i)));
+                value = (value ^ c) * 0x100000001b3L;
+            }
+            this.hash = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash) * 31 + code;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint other = (Fingerprint) obj;
+            return code == other.code && length == other.length && hash == other.hash;
+        }
+    }
 }
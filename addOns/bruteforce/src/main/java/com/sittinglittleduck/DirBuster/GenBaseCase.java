@@ -70,6 +70,16 @@ public class GenBaseCase {
         boolean useRegexInstead = false;
         String regex = null;
 
+        // ZAP: Normalise the extension before looking for an existing base case, the same as when
+        // it's added, otherwise the base case would be requested again for each item of the dir.
+        if (!isDir) {
+            if (manager.isBlankExt()) {
+                fileExtention = "";
+            } else if (!fileExtention.startsWith(".")) {
+                fileExtention = "." + fileExtention;
+            }
+        }
+
         BaseCase tempBaseCase = manager.getBaseCase(url, isDir, fileExtention);
 
         if (tempBaseCase != null) {
@@ -86,16 +96,10 @@ public class GenBaseCase {
         if (isDir) {
             failurl = new URL(url + failString + "/");
         } else {
-            if (manager.isBlankExt()) {
-                fileExtention = "";
-                failurl = new URL(url + failString + fileExtention);
-            } else {
-                if (!fileExtention.startsWith(".")) {
-                    fileExtention = "." + fileExtention;
-                }
-                failurl = new URL(url + failString + fileExtention);
-            }
+            failurl = new URL(url + failString + fileExtention);
         }
+        // ZAP: the other responses of an inconsistent base case
+        Vector<String> otherBaseResponces = new Vector<>(2);
 
         LOG.debug("Getting: {}", failurl);
 
@@ -162,6 +166,11 @@ public class GenBaseCase {
                             }
                         }
                     }
+
+                    if (!useRegexInstead) {
+                        otherBaseResponces.addElement(baseResponce2);
+                        otherBaseResponces.addElement(baseResponce3);
+                    }
                 } else {
                     /*
                      * We have a big problem as now we have different responce codes for the same request
@@ -183,6 +192,9 @@ public class GenBaseCase {
                         fileExtention,
                         useRegexInstead,
                         regex);
+        for (String otherBaseResponce : otherBaseResponces) {
+            baseCase.addBaseCaseResponse(failcode, otherBaseResponce);
+        }
 
         // add the new base case to the manager list
         manager.addBaseCase(baseCase);
@@ -23,14 +23,24 @@ import com.sittinglittleduck.DirBuster.workGenerators.BruteForceURLFuzz;
 import com.sittinglittleduck.DirBuster.workGenerators.BruteForceWorkGenerator;
 import com.sittinglittleduck.DirBuster.workGenerators.WorkerGenerator;
 import com.sittinglittleduck.DirBuster.workGenerators.WorkerGeneratorURLFuzz;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Timer;
 import java.util.Vector;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.prefs.Preferences;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -58,9 +68,10 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     private int port;
     private String startPoint;
     private boolean doDirs, doFiles;
-    private int totalDone = 0;
-    private Vector<Worker> workers = new Vector<>(100, 10);
-    private Vector<HTMLparse> parseWorkers = new Vector<>(100, 10);
+    private final AtomicInteger totalDone = new AtomicInteger();
+    // ZAP: Changed to copy on write lists, they are iterated often but rarely changed.
+    private final List<Worker> workers = new CopyOnWriteArrayList<>();
+    private final List<HTMLparse> parseWorkers = new CopyOnWriteArrayList<>();
     private String[] charSet;
     private int maxLen, minLen;
     boolean pureBrute = false;
@@ -78,18 +89,21 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     private boolean blankExt = false;
     // store of all extention that are to be tested
     private Vector<ExtToCheck> extToUse = new Vector<>(10, 5);
-    private Vector<BaseCase> producedBasesCases = new Vector<>(10, 10);
+    // ZAP: Changed to a map keyed by the URL, type and extension of the base case.
+    private final Map<String, BaseCase> producedBasesCases = new ConcurrentHashMap<>();
     // used to store all the links that have parsed, will not contain a list a all items, processed
     // as this will consume to much memory.  There for there is a chance of some duplication.
-    private Vector<String> processedLinks = new Vector<>(100, 100);
+    // ZAP: Changed to a concurrent set of the (normalised) links, to check them in constant time
+    // without locking, that forgets the oldest links once it has too many.
+    private final ProcessedLinks processedLinks;
     // not all base case requests are processed so this will ensure the stats stay correct
     private int baseCaseCounterCorrection = 0;
     // used to store the value of items that will have been skipped
     private int workAmountCorrection = 0;
     // total number of links pasrsed from the HTML that have been added to the work queue
-    private int parsedLinksProcessed = 0;
+    private final AtomicInteger parsedLinksProcessed = new AtomicInteger();
     // total number of basecases produced
-    private int numberOfBaseCasesProduced = 0;
+    private final AtomicInteger numberOfBaseCasesProduced = new AtomicInteger();
     // exts that are not to be added to the work queue if found by the HTML parser
     public Vector<String> extsToMiss = new Vector<>(10, 10);
     // Vector to store all the html elements that are to be parsed.
@@ -139,9 +153,9 @@ public class Manager implements ProcessChecker.ProcessUpdate {
      */
     private Vector<String> failCaseRegexes = new Vector<>(10, 10);
     /*
-     * Vector to store results when we are running in headless mode
+     * Queue to store results when we are running in headless mode
      */
-    Vector<HeadlessResult> headlessResult = new Vector<>(100, 100);
+    final Collection<HeadlessResult> headlessResult = new ConcurrentLinkedQueue<>();
 
     /*
      * stores of information used to transer data to the gui when started with console args
@@ -162,8 +176,16 @@ public class Manager implements ProcessChecker.ProcessUpdate {
 
     private final SimpleHttpClient httpClient;
 
+    // ZAP: The progress of the list based scan, which can be saved to resume the scan later.
+    private ScanCheckpoint checkpoint = new ScanCheckpoint();
+
     // ZAP: Changed to public to allow it to be extended
     public Manager(SimpleHttpClient httpClient) {
+        this(httpClient, new ProcessedLinks());
+    }
+
+    Manager(SimpleHttpClient httpClient, ProcessedLinks processedLinks) {
+        this.processedLinks = processedLinks;
         elementsToParse.addElement(new HTMLelementToParse("a", "href"));
         elementsToParse.addElement(new HTMLelementToParse("img", "src"));
         elementsToParse.addElement(new HTMLelementToParse("form", "action"));
@@ -195,7 +217,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
             boolean recursive,
             boolean blankExt,
             Vector<ExtToCheck> extToUse) {
-        totalDone = 0;
+        totalDone.set(0);
         this.startPoint = startPoint;
         this.inputFile = inputFile;
         this.firstPartOfURL = protocol + "://" + host + ":" + port;
@@ -227,7 +249,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         workGen = new WorkerGenerator(this);
     }
 
-    public Vector<HeadlessResult> getHeadlessResult() {
+    public Collection<HeadlessResult> getHeadlessResult() {
         return headlessResult;
     }
 
@@ -246,7 +268,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
             boolean doFiles,
             boolean recursive,
             boolean blankExt) {
-        totalDone = 0;
+        totalDone.set(0);
         this.startPoint = startPoint;
         this.firstPartOfURL = protocol + "://" + host + ":" + port;
         this.extention = extention;
@@ -290,7 +312,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
             int ThreadNumber,
             String urlFuzzStart,
             String urlFuzzEnd) {
-        totalDone = 0;
+        totalDone.set(0);
         this.inputFile = inputFile;
         this.firstPartOfURL = protocol + "://" + host + ":" + port;
         this.protocol = protocol;
@@ -331,7 +353,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         /*
          * test details
          */
-        totalDone = 0;
+        totalDone.set(0);
         this.firstPartOfURL = protocol + "://" + host + ":" + port;
         this.protocol = protocol;
         this.host = host;
@@ -356,19 +378,26 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     private void createTheThreads() {
         // workers = new Worker[workerCount];
 
-        workers.removeAllElements();
-        parseWorkers.removeAllElements();
+        List<Worker> newWorkers = new ArrayList<>(workerCount);
+        List<HTMLparse> newParseWorkers = new ArrayList<>(workerCount);
 
         for (int i = 0; i < workerCount; i++) {
-            workers.addElement(new Worker(i, this));
+            newWorkers.add(new Worker(i, this));
             // workers[i] = new Worker(this, i);
             // tpes.execute(workers[i]);
         }
 
         // create the htmlparse threads
         for (int i = 0; i < workerCount; i++) {
-            parseWorkers.addElement(new HTMLparse(this));
+            newParseWorkers.add(new HTMLparse(this));
         }
+
+        // ZAP: Replace all at once, each change copies the lists.
+        workers.clear();
+        workers.addAll(newWorkers);
+        parseWorkers.clear();
+        parseWorkers.addAll(newParseWorkers);
+
         // work queue
         workQueue = new ArrayBlockingQueue<>(workerCount * 3);
 
@@ -384,7 +413,15 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         try {
             Vector<ExtToCheck> tempext = extToUse;
             // extToUse.clone().
-            dirQueue.put(new DirToCheck(startPoint, tempext));
+            // ZAP: Or the dirs not fully processed by the scan being resumed.
+            Collection<String> dirs = checkpoint.getDirs();
+            if (dirs.isEmpty()) {
+                dirQueue.put(new DirToCheck(startPoint, tempext));
+            } else {
+                for (String dir : dirs) {
+                    dirQueue.put(new DirToCheck(dir, tempext));
+                }
+            }
         } catch (InterruptedException e) {
             LOG.debug(e);
         }
@@ -396,8 +433,8 @@ public class Manager implements ProcessChecker.ProcessUpdate {
 
             totalDirsFound = 0;
             producedBasesCases.clear();
-            numberOfBaseCasesProduced = 0;
-            parsedLinksProcessed = 0;
+            numberOfBaseCasesProduced.set(0);
+            parsedLinksProcessed.set(0);
             processedLinks.clear();
 
             task = new ProcessChecker(this);
@@ -427,10 +464,10 @@ public class Manager implements ProcessChecker.ProcessUpdate {
 
             // add the worker and parseWorker threads
             for (int i = 0; i < workers.size(); i++) {
-                Thread workerThread = new Thread((workers.elementAt(i)));
+                Thread workerThread = new Thread((workers.get(i)));
                 workerThread.setName("DirBuster-Worker");
                 workerThread.start();
-                parseWorkers.elementAt(i).start();
+                parseWorkers.get(i).start();
             }
 
         } catch (Exception e) {
@@ -568,8 +605,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
             // add to list of items that have already processed
             addParsedLink(url.getPath());
 
-            headlessResult.addElement(
-                    new HeadlessResult(url.getFile(), statusCode, HeadlessResult.DIR));
+            headlessResult.add(new HeadlessResult(url.getFile(), statusCode, HeadlessResult.DIR));
         } catch (InterruptedException e) {
             LOG.debug(e);
             return;
@@ -597,12 +633,11 @@ public class Manager implements ProcessChecker.ProcessUpdate {
 
         addParsedLink(url.getPath());
 
-        headlessResult.addElement(
-                new HeadlessResult(url.getFile(), statusCode, HeadlessResult.FILE));
+        headlessResult.add(new HeadlessResult(url.getFile(), statusCode, HeadlessResult.FILE));
     }
 
     public synchronized void foundError(URL url, String reason) {
-        headlessResult.addElement(
+        headlessResult.add(
                 new HeadlessResult(url.getFile() + ":" + reason, -1, HeadlessResult.ERROR));
         LOG.warn("{} - {}", url, reason);
     }
@@ -622,12 +657,12 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     @Override
     public void isAlive() {}
 
-    public synchronized void workDone() {
-        totalDone++;
+    public void workDone() {
+        totalDone.incrementAndGet();
     }
 
-    public synchronized int getTotalDone() {
-        return totalDone;
+    public int getTotalDone() {
+        return totalDone.get();
     }
 
     public String getProtocol() {
@@ -651,18 +686,18 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     }
 
     public void pause() {
-        for (int a = 0; a < workers.size(); a++) {
-            synchronized (workers.elementAt(a)) {
-                workers.elementAt(a).pause();
+        for (Worker worker : workers) {
+            synchronized (worker) {
+                worker.pause();
             }
         }
     }
 
     public void unPause() {
-        for (int a = 0; a < workers.size(); a++) {
-            synchronized (workers.elementAt(a)) {
-                workers.elementAt(a).unPause();
-                workers.elementAt(a).notify();
+        for (Worker worker : workers) {
+            synchronized (worker) {
+                worker.unPause();
+                worker.notify();
             }
         }
     }
@@ -694,8 +729,8 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         // reset counters
         totalDirsFound = 0;
         producedBasesCases.clear();
-        numberOfBaseCasesProduced = 0;
-        parsedLinksProcessed = 0;
+        numberOfBaseCasesProduced.set(0);
+        parsedLinksProcessed.set(0);
         processedLinks.clear();
         workAmountCorrection = 0;
 
@@ -714,17 +749,17 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         }
 
         // stop all the workers;
-        for (int a = 0; a < workers.size(); a++) {
-            synchronized (workers.elementAt(a)) {
-                workers.elementAt(a).stopThread();
+        for (Worker worker : workers) {
+            synchronized (worker) {
+                worker.stopThread();
             }
         }
 
         // stops all the parsers
-        for (int a = 0; a < this.parseWorkers.size(); a++) {
-            synchronized (parseWorkers.elementAt(a)) {
-                parseWorkers.elementAt(a).stopWorking();
-                parseWorkers.elementAt(a).notify();
+        for (HTMLparse parseWorker : parseWorkers) {
+            synchronized (parseWorker) {
+                parseWorker.stopWorking();
+                parseWorker.notify();
             }
         }
 
@@ -754,7 +789,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         return workerCount;
     }
 
-    public Vector<Worker> getWorkers() {
+    public List<Worker> getWorkers() {
         return workers;
     }
 
@@ -773,9 +808,10 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         int currentNumber = workers.size();
         for (int i = 0; i < number; i++) {
             int threadid = currentNumber + i;
-            workers.addElement(new Worker(threadid, this));
+            Worker worker = new Worker(threadid, this);
+            workers.add(worker);
 
-            new Thread(workers.elementAt(threadid)).start();
+            new Thread(worker).start();
         }
         workerCount = currentNumber + number;
     }
@@ -791,7 +827,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         }
 
         for (int a = currentNumber - 1; a >= (currentNumber - number); a--) {
-            workers.elementAt(a).stopThread();
+            workers.get(a).stopThread();
             workers.remove(a);
         }
         workerCount = currentNumber - number;
@@ -866,23 +902,9 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         return extToUse;
     }
 
-    public synchronized BaseCase getBaseCase(String base, boolean isDir, String fileExt) {
-
+    public BaseCase getBaseCase(String base, boolean isDir, String fileExt) {
         try {
-            for (int a = 0; a < producedBasesCases.size(); a++) {
-                BaseCase tempBaseCase = producedBasesCases.elementAt(a);
-
-                if (tempBaseCase.getBaseCaseURL().equals(new URL(base))
-                        && tempBaseCase.isDir() == isDir) {
-                    if (!isDir) {
-                        if (tempBaseCase.getFileExt().equals(fileExt)) {
-                            return tempBaseCase;
-                        }
-                    } else {
-                        return tempBaseCase;
-                    }
-                }
-            }
+            return producedBasesCases.get(createBaseCaseKey(new URL(base), isDir, fileExt));
         } catch (MalformedURLException ex) {
             // do nothing I dont care
         }
@@ -890,43 +912,59 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         return null;
     }
 
-    public synchronized void addBaseCase(BaseCase baseCase) {
-        if (!producedBasesCases.contains(baseCase)) {
-            producedBasesCases.addElement(baseCase);
+    public void addBaseCase(BaseCase baseCase) {
+        producedBasesCases.putIfAbsent(
+                createBaseCaseKey(
+                        baseCase.getBaseCaseURL(), baseCase.isDir(), baseCase.getFileExt()),
+                baseCase);
+    }
+
+    private static String createBaseCaseKey(URL url, boolean isDir, String fileExt) {
+        if (isDir) {
+            return "D " + url.toExternalForm();
         }
+        return "F " + fileExt + " " + url.toExternalForm();
     }
 
-    public synchronized boolean hasLinkBeenDone(String link) {
+    public boolean hasLinkBeenDone(String link) {
+        return processedLinks.contains(createLinkKey(link));
+    }
 
-        if (processedLinks.contains(link)) {
-            return true;
+    /*
+     * ZAP: The link, case folded as done by equalsIgnoreCase if in case insensitive mode.
+     */
+    private static String createLinkKey(String link) {
+        if (!Config.caseInsensativeMode) {
+            return link;
         }
-
-        return false;
+        char[] chars = link.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
     }
 
     public int getBaseCaseCounterCorrection() {
         return baseCaseCounterCorrection;
     }
 
-    public synchronized int getParsedLinksProcessed() {
-        return parsedLinksProcessed;
+    public int getParsedLinksProcessed() {
+        return parsedLinksProcessed.get();
     }
 
-    public synchronized boolean addParsedLink(String link) {
+    public boolean addParsedLink(String link) {
         // System.out.println("SBSB addParsedLink " + link);
+        /*
+         * ZAP: Check and add atomically, otherwise concurrent parsers could process the same link.
+         */
+        if (!processedLinks.add(createLinkKey(link))) {
+            return false;
+        }
+
         /*
          * case insenataive mode
          */
         if (Config.caseInsensativeMode) {
-
-            for (int a = 0; a < processedLinks.size(); a++) {
-                if (link.equalsIgnoreCase(processedLinks.elementAt(a))) {
-                    return false;
-                }
-            }
-            processedLinks.addElement(link);
-
             if (onlyUnderStartPoint
                     && !link.toLowerCase(Locale.ENGLISH)
                             .startsWith(startPoint.toLowerCase(Locale.ENGLISH))) {
@@ -938,10 +976,6 @@ public class Manager implements ProcessChecker.ProcessUpdate {
          * case sensative mode
          */
         {
-            if (!processedLinks.contains(link)) {
-                processedLinks.addElement(link);
-            }
-
             if (onlyUnderStartPoint && !link.startsWith(startPoint)) {
                 addParsedLinksProcessed();
                 return false;
@@ -951,12 +985,12 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         return true;
     }
 
-    public synchronized void addParsedLinksProcessed() {
-        parsedLinksProcessed++;
+    public void addParsedLinksProcessed() {
+        parsedLinksProcessed.incrementAndGet();
     }
 
-    public synchronized int getNumberOfBaseCasesProduced() {
-        return numberOfBaseCasesProduced;
+    public int getNumberOfBaseCasesProduced() {
+        return numberOfBaseCasesProduced.get();
     }
 
     // increments the correction counter
@@ -968,11 +1002,11 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         return elementsToParse;
     }
 
-    public synchronized void addNumberOfBaseCasesProduced() {
-        numberOfBaseCasesProduced++;
+    public void addNumberOfBaseCasesProduced() {
+        numberOfBaseCasesProduced.incrementAndGet();
     }
 
-    public Vector<HTMLparse> getParseWorkers() {
+    public List<HTMLparse> getParseWorkers() {
         return parseWorkers;
     }
 
@@ -1047,8 +1081,8 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     }
 
     public boolean areWorkersAlive() {
-        for (int a = 0; a < workers.size(); a++) {
-            if (workers.elementAt(a).isWorking()) {
+        for (Worker worker : workers) {
+            if (worker.isWorking()) {
                 // there is a worker still working so break
                 return true;
             }
@@ -1155,4 +1189,34 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     public SimpleHttpClient getHttpClient() {
         return httpClient;
     }
+
+    public ScanCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Sets the progress of a previous scan, to resume it. Should be called before setting up the
+     * manager.
+     *
+     * @param checkpoint the progress of the previous scan.
+     */
+    public void setCheckpoint(ScanCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Saves the progress of the list based scan, to be resumed later.
+     *
+     * @param file the file to save to.
+     * @throws IOException if an error occurred while saving the file.
+     */
+    public void saveCheckpoint(Path file) throws IOException {
+        List<String> queuedDirs = new ArrayList<>();
+        if (dirQueue != null) {
+            for (DirToCheck dir : dirQueue) {
+                queuedDirs.add(dir.getName());
+            }
+        }
+        checkpoint.save(file, queuedDirs);
+    }
 }
@@ -19,8 +19,8 @@
  */
 package com.sittinglittleduck.DirBuster;
 
+import java.util.List;
 import java.util.TimerTask;
-import java.util.Vector;
 
 public class ProcessEnd extends TimerTask {
 
@@ -43,11 +43,11 @@ public class ProcessEnd extends TimerTask {
                 && manager.parseQueue.isEmpty()) {
             // test to see if all the workers are done
             boolean allWorkersFinished = true;
-            Vector<Worker> workers = manager.getWorkers();
-            Vector<HTMLparse> parsers = manager.getParseWorkers();
+            List<Worker> workers = manager.getWorkers();
+            List<HTMLparse> parsers = manager.getParseWorkers();
 
             for (int a = 0; a < workers.size(); a++) {
-                if (workers.elementAt(a).isWorking()) {
+                if (workers.get(a).isWorking()) {
                     // there is a worker still working so break
                     allWorkersFinished = false;
                     break;
@@ -55,7 +55,7 @@ public class ProcessEnd extends TimerTask {
             }
 
             for (int a = 0; a < parsers.size(); a++) {
-                if (parsers.elementAt(a).isWorking()) {
+                if (parsers.get(a).isWorking()) {
                     allWorkersFinished = false;
                     break;
                 }
@@ -71,11 +71,11 @@ public class ProcessEnd extends TimerTask {
             if (manager.urlFuzz || manager.pureBrutefuzz) {
                 if (manager.isURLFuzzGenFinished()) {
                     boolean allWorkersFinished = true;
-                    Vector<Worker> workers = manager.getWorkers();
-                    Vector<HTMLparse> parsers = manager.getParseWorkers();
+                    List<Worker> workers = manager.getWorkers();
+                    List<HTMLparse> parsers = manager.getParseWorkers();
 
                     for (int a = 0; a < workers.size(); a++) {
-                        if (workers.elementAt(a).isWorking()) {
+                        if (workers.get(a).isWorking()) {
                             // there is a worker still working so break
                             allWorkersFinished = false;
                             break;
@@ -83,7 +83,7 @@ public class ProcessEnd extends TimerTask {
                     }
 
                     for (int a = 0; a < parsers.size(); a++) {
-                        if (parsers.elementAt(a).isWorking()) {
+                        if (parsers.get(a).isWorking()) {
                             allWorkersFinished = false;
                             break;
                         }
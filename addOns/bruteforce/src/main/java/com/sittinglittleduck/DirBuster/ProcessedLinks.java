@@ -0,0 +1,106 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The links already processed, up to a maximum number of links.
+ *
+ * <p>Once the maximum is reached the oldest links are forgotten, so a link found again much later
+ * might be processed more than once, but no link is ever skipped without having been processed.
+ *
+ * <p>Instances of this class are thread-safe.
+ */
+class ProcessedLinks {
+
+    /** The default maximum number of links kept, about 50 MB with links of 100 characters. */
+    static final int DEFAULT_MAX_LINKS = 200_000;
+
+    private final int maxLinks;
+    private final Set<String> links;
+    private final Queue<String> order;
+    private final AtomicInteger size;
+
+    ProcessedLinks() {
+        this(DEFAULT_MAX_LINKS);
+    }
+
+    ProcessedLinks(int maxLinks) {
+        if (maxLinks <= 0) {
+            throw new IllegalArgumentException("Parameter maxLinks must be greater than zero.");
+        }
+        this.maxLinks = maxLinks;
+        this.links = ConcurrentHashMap.newKeySet();
+        this.order = new ConcurrentLinkedQueue<>();
+        this.size = new AtomicInteger();
+    }
+
+    /**
+     * Adds the given link, if not already present.
+     *
+     * @param link the link.
+     * @return {@code true} if the link was added, {@code false} if already present.
+     */
+    boolean add(String link) {
+        if (!links.add(link)) {
+            return false;
+        }
+        order.add(link);
+        if (size.incrementAndGet() > maxLinks) {
+            String oldest = order.poll();
+            if (oldest != null) {
+                links.remove(oldest);
+                size.decrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether or not the given link is present.
+     *
+     * @param link the link.
+     * @return {@code true} if present, {@code false} otherwise.
+     */
+    boolean contains(String link) {
+        return links.contains(link);
+    }
+
+    /**
+     * Gets the number of links present.
+     *
+     * @return the number of links.
+     */
+    int size() {
+        return size.get();
+    }
+
+    /** Removes all the links. */
+    void clear() {
+        order.clear();
+        links.clear();
+        size.set(0);
+    }
+}
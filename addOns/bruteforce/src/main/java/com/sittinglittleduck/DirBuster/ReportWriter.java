@@ -22,6 +22,7 @@ package com.sittinglittleduck.DirBuster;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Vector;
 import org.apache.logging.log4j.LogManager;
@@ -43,7 +44,7 @@ public class ReportWriter {
      * writes the report when we are in headless mode.
      */
     public void writeReportHeadless() {
-        Vector<HeadlessResult> data = manager.getHeadlessResult();
+        Collection<HeadlessResult> data = manager.getHeadlessResult();
 
         Vector<HeadlessResult> dirs = new Vector<>(100, 10);
         Vector<HeadlessResult> files = new Vector<>(100, 10);
@@ -52,13 +53,13 @@ public class ReportWriter {
         Vector<String> dirCodes = new Vector<>(100, 10);
         Vector<String> fileCodes = new Vector<>(100, 10);
 
-        for (int a = 0; a < data.size(); a++) {
-            if (data.elementAt(a).getType() == HeadlessResult.FILE) {
-                files.addElement(data.elementAt(a));
-            } else if (data.elementAt(a).getType() == HeadlessResult.DIR) {
-                dirs.addElement(data.elementAt(a));
-            } else if (data.elementAt(a).getType() == HeadlessResult.ERROR) {
-                errors.addElement(data.elementAt(a));
+        for (HeadlessResult result : data) {
+            if (result.getType() == HeadlessResult.FILE) {
+                files.addElement(result);
+            } else if (result.getType() == HeadlessResult.DIR) {
+                dirs.addElement(result);
+            } else if (result.getType() == HeadlessResult.ERROR) {
+                errors.addElement(result);
             }
         }
 
@@ -0,0 +1,214 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * The progress of a list based scan, which directories are still to be processed and from which
+ * position of the word list.
+ *
+ * <p>The position of a directory is the number of work units generated for it, in the order of
+ * generation: first the directories and then the files of each extension. A work unit is kept in
+ * flight until it is processed, the position of a directory saved is the one of its oldest work
+ * unit still in flight, so no work is lost when the scan is resumed.
+ *
+ * <p>Instances of this class are thread-safe.
+ */
+public class ScanCheckpoint {
+
+    private static final String HEADER = "# DirBuster checkpoint v1";
+
+    private final Map<String, DirProgress> dirs = new LinkedHashMap<>();
+
+    /**
+     * Gets the position to start generating the work for the given directory, and starts tracking
+     * its progress.
+     *
+     * @param dir the directory.
+     * @return the position to start from, {@code 0} if the directory was not processed before.
+     */
+    public synchronized long startDir(String dir) {
+        return dirs.computeIfAbsent(dir, DirProgress::new).start;
+    }
+
+    /**
+     * Notifies that the work unit at the given position of the directory was generated.
+     *
+     * @param dir the directory.
+     * @param position the position of the work unit.
+     */
+    public void generated(String dir, long position) {
+        DirProgress progress = getProgress(dir);
+        if (progress != null) {
+            progress.inFlight.add(position);
+            progress.next = position + 1;
+        }
+    }
+
+    /**
+     * Notifies that all the work of the directory was generated.
+     *
+     * @param dir the directory.
+     */
+    public synchronized void dirGenerated(String dir) {
+        DirProgress progress = dirs.get(dir);
+        if (progress != null) {
+            progress.generated = true;
+            removeIfDone(progress);
+        }
+    }
+
+    /**
+     * Notifies that the given work unit was processed.
+     *
+     * @param work the work unit.
+     */
+    public void done(WorkUnit work) {
+        if (work.getDir() == null) {
+            return;
+        }
+        DirProgress progress = getProgress(work.getDir());
+        if (progress != null) {
+            progress.inFlight.remove(work.getPosition());
+            if (progress.generated && progress.inFlight.isEmpty()) {
+                synchronized (this) {
+                    removeIfDone(progress);
+                }
+            }
+        }
+    }
+
+    private synchronized DirProgress getProgress(String dir) {
+        return dirs.get(dir);
+    }
+
+    private void removeIfDone(DirProgress progress) {
+        if (progress.generated && progress.inFlight.isEmpty()) {
+            dirs.remove(progress.dir, progress);
+        }
+    }
+
+    /**
+     * Gets the directories that were not fully processed, in the order they were started.
+     *
+     * @return the directories.
+     */
+    public synchronized Collection<String> getDirs() {
+        return new ArrayList<>(dirs.keySet());
+    }
+
+    /**
+     * Saves the progress to the given file, along with the directories not yet started.
+     *
+     * @param file the file to save to.
+     * @param queuedDirs the directories not yet started.
+     * @throws IOException if an error occurred while saving the file.
+     */
+    public void save(Path file, Collection<String> queuedDirs) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            synchronized (this) {
+                for (DirProgress progress : dirs.values()) {
+                    write(writer, progress.dir, progress.getResumePosition());
+                }
+                for (String dir : queuedDirs) {
+                    if (!dirs.containsKey(dir)) {
+                        write(writer, dir, 0);
+                    }
+                }
+            }
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void write(BufferedWriter writer, String dir, long position)
+            throws IOException {
+        writer.write(Long.toString(position));
+        writer.write(' ');
+        writer.write(dir);
+        writer.newLine();
+    }
+
+    /**
+     * Loads the progress saved in the given file.
+     *
+     * @param file the file with the progress.
+     * @return the progress, or {@code null} if the file does not exist or is not valid.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public static ScanCheckpoint load(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        ScanCheckpoint checkpoint = new ScanCheckpoint();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                return null;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int idx = line.indexOf(' ');
+                if (idx == -1) {
+                    return null;
+                }
+                String dir = line.substring(idx + 1);
+                DirProgress progress = checkpoint.dirs.computeIfAbsent(dir, DirProgress::new);
+                progress.start = Long.parseLong(line.substring(0, idx));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return checkpoint.dirs.isEmpty() ? null : checkpoint;
+    }
+
+    private static class DirProgress {
+
+        private final String dir;
+        private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        private long start;
+        private volatile long next;
+        private volatile boolean generated;
+
+        DirProgress(String dir) {
+            this.dir = dir;
+        }
+
+        long getResumePosition() {
+            Long oldest = inFlight.ceiling(Long.MIN_VALUE);
+            return oldest != null ? oldest : Math.max(start, next);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A list of words read from a file, one per line.
+ *
+ * <p>The file is memory mapped once and the positions of the entries indexed, the lines that are
+ * empty or start with {@code #} are not entries. The word lists are shared by all the generators
+ * that use the same file, as long as the file is not changed, and are no longer kept once released
+ * by all of them.
+ *
+ * <p>Instances of this class are thread-safe.
+ */
+public final class WordList {
+
+    private static final Map<Path, WordList> WORD_LISTS = new HashMap<>();
+
+    private final Path path;
+    private final long size;
+    private final FileTime lastModified;
+    private final ByteBuffer buffer;
+    private final Charset charset;
+    private final int[] starts;
+    private final int[] ends;
+
+    // Guarded by WORD_LISTS.
+    private int users;
+
+    private WordList(Path file) throws IOException {
+        path = file;
+        size = Files.size(file);
+        lastModified = Files.getLastModifiedTime(file);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("The file is too large: " + file);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        // The same as the readers previously used.
+        charset = Charset.defaultCharset();
+
+        int[] entryStarts = new int[1024];
+        int[] entryEnds = new int[1024];
+        int count = 0;
+        int length = buffer.limit();
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && buffer.get(end) != '\n' && buffer.get(end) != '\r') {
+                end++;
+            }
+            if (end > start && buffer.get(start) != '#') {
+                if (count == entryStarts.length) {
+                    entryStarts = Arrays.copyOf(entryStarts, count * 2);
+                    entryEnds = Arrays.copyOf(entryEnds, count * 2);
+                }
+                entryStarts[count] = start;
+                entryEnds[count] = end;
+                count++;
+            }
+            if (end + 1 < length && buffer.get(end) == '\r' && buffer.get(end + 1) == '\n') {
+                end++;
+            }
+            start = end + 1;
+        }
+        starts = Arrays.copyOf(entryStarts, count);
+        ends = Arrays.copyOf(entryEnds, count);
+    }
+
+    /**
+     * Acquires the word list of the given file, mapping and indexing it if not already done or if
+     * the file was changed.
+     *
+     * <p>The word list must be {@link #release() released} once no longer needed.
+     *
+     * @param file the path to the file.
+     * @return the word list.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public static WordList acquire(String file) throws IOException {
+        Path path = Paths.get(file).toAbsolutePath().normalize();
+        synchronized (WORD_LISTS) {
+            WordList wordList = WORD_LISTS.get(path);
+            if (wordList == null
+                    || wordList.size != Files.size(path)
+                    || !wordList.lastModified.equals(Files.getLastModifiedTime(path))) {
+                wordList = new WordList(path);
+                WORD_LISTS.put(path, wordList);
+            }
+            wordList.users++;
+            return wordList;
+        }
+    }
+
+    /**
+     * Releases this word list, acquired previously. The mapping of the file is no longer kept
+     * once released by all the users.
+     */
+    public void release() {
+        synchronized (WORD_LISTS) {
+            if (users == 0) {
+                return;
+            }
+            users--;
+            if (users == 0) {
+                WORD_LISTS.remove(path, this);
+            }
+        }
+    }
+
+    /** Removes all the word lists, they are mapped and indexed again when next used. */
+    public static void clear() {
+        synchronized (WORD_LISTS) {
+            WORD_LISTS.clear();
+        }
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Gets the entry at the given index.
+     *
+     * @param index the index of the entry.
+     * @return the entry, never {@code null}.
+     * @throws IndexOutOfBoundsException if the index is not valid.
+     */
+    public String get(int index) {
+        ByteBuffer entry = buffer.duplicate();
+        entry.limit(ends[index]).position(starts[index]);
+        return charset.decode(entry).toString();
+    }
+}
@@ -37,6 +37,11 @@ public class WorkUnit {
 
     // the item used to produce the check
     private String itemToCheck;
+
+    // ZAP: the directory and the position in its word list, to track the progress of the scan
+    private String dir;
+    private long position;
+
     /** Creates a new instance of WorkUnit */
     public WorkUnit(
             URL url, boolean isDir, HttpMethod method, BaseCase baseCaseObj, String itemToCheck) {
@@ -76,4 +81,24 @@ public class WorkUnit {
     public String getItemToCheck() {
         return itemToCheck;
     }
+
+    /**
+     * Sets the directory and the position of this work unit in the word list.
+     *
+     * @param dir the directory being processed.
+     * @param position the position of the work unit.
+     * @see ScanCheckpoint
+     */
+    public void setPosition(String dir, long position) {
+        this.dir = dir;
+        this.position = position;
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public long getPosition() {
+        return position;
+    }
 }
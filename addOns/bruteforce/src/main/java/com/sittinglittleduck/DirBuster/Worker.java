@@ -45,6 +45,10 @@ public class Worker implements Runnable {
     /* Logger object for the class */
     private static final Logger LOG = LogManager.getLogger(Worker.class);
 
+    // TODO move this option to the Adv options
+    private static final Pattern FILE_NOT_FOUND_PATTERN =
+            Pattern.compile("file not found", Pattern.CASE_INSENSITIVE);
+
     /**
      * Creates a new instance of Worker
      *
@@ -134,9 +138,7 @@ public class Worker implements Runnable {
                  * use the custom regex check instead
                  */
                 else if (work.getBaseCaseObj().isUseRegexInstead()) {
-                    Pattern regexFindFile = Pattern.compile(work.getBaseCaseObj().getRegex());
-
-                    Matcher m = regexFindFile.matcher(rawResponse);
+                    Matcher m = work.getBaseCaseObj().getRegexPattern().matcher(rawResponse);
 
                     if (m.find()) {
                         // do nothing as we have a 404
@@ -190,12 +192,14 @@ public class Worker implements Runnable {
                     }
                 }
 
+                manager.getCheckpoint().done(work);
                 manager.workDone();
                 Thread.sleep(20);
 
             } catch (IOException e) {
 
                 manager.foundError(url, e.getClass().getSimpleName() + " " + e.getMessage());
+                manager.getCheckpoint().done(work);
                 manager.workDone();
             } catch (InterruptedException e) {
                 // manager.foundError(url, "InterruptedException " + e.getMessage());
@@ -203,6 +207,7 @@ public class Worker implements Runnable {
                 return;
             } catch (IllegalArgumentException e) {
                 manager.foundError(url, "IllegalArgumentException " + e.getMessage());
+                manager.getCheckpoint().done(work);
                 manager.workDone();
             }
         }
@@ -236,20 +241,16 @@ public class Worker implements Runnable {
     private void verifyResponseForValidRequests(int code, String response, String rawResponse) {
         LOG.debug("Worker[{}]: Base Case Check {}", threadId, url);
 
-        // TODO move this option to the Adv options
         // if the response does not match the base case
-        Pattern regexFindFile = Pattern.compile(".*file not found.*", Pattern.CASE_INSENSITIVE);
-
-        Matcher m = regexFindFile.matcher(response);
-
-        // need to clean the base case of the item we are looking for
-        String basecase =
-                FilterResponce.removeItemCheckedFor(
-                        work.getBaseCaseObj().getBaseCase(), work.getItemToCheck());
+        Matcher m = FILE_NOT_FOUND_PATTERN.matcher(response);
 
         if (m.find()) {
             LOG.debug("Worker[{}]: 404 for: {}", threadId, url);
-        } else if (!response.equalsIgnoreCase(basecase)) {
+        } else if (!work.getBaseCaseObj().isBaseCaseResponse(code, response)) {
+            // need to clean the base case of the item we are looking for
+            String basecase =
+                    FilterResponce.removeItemCheckedFor(
+                            work.getBaseCaseObj().getBaseCase(), work.getItemToCheck());
             notifyItemFound(code, response, rawResponse, basecase);
         }
     }
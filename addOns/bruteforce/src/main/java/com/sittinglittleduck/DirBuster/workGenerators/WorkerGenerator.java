@@ -27,15 +27,14 @@ import com.sittinglittleduck.DirBuster.ExtToCheck;
 import com.sittinglittleduck.DirBuster.GenBaseCase;
 import com.sittinglittleduck.DirBuster.HttpStatus;
 import com.sittinglittleduck.DirBuster.Manager;
+import com.sittinglittleduck.DirBuster.ScanCheckpoint;
 import com.sittinglittleduck.DirBuster.SimpleHttpClient.HttpMethod;
+import com.sittinglittleduck.DirBuster.WordList;
 import com.sittinglittleduck.DirBuster.WorkUnit;
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.NoSuchFileException;
 import java.util.Vector;
 import java.util.concurrent.BlockingQueue;
 import org.apache.logging.log4j.LogManager;
@@ -54,6 +53,7 @@ public class WorkerGenerator implements Runnable {
     private String started;
     private boolean stopMe = false;
     private boolean skipCurrent = false;
+    private WordList wordList;
 
     /* Logger Object for the class */
     private static final Logger LOG = LogManager.getLogger(WorkerGenerator.class);
@@ -82,28 +82,36 @@ public class WorkerGenerator implements Runnable {
     /** Thread run method */
     @Override
     public void run() {
+        try {
+            generate();
+        } finally {
+            // ZAP: Release the list, no longer needed once all the work is generated (or stopped)
+            if (wordList != null) {
+                wordList.release();
+                wordList = null;
+            }
+        }
+    }
+
+    private void generate() {
         String currentDir = "/";
         String line;
         Vector<ExtToCheck> extToCheck = new Vector<>(10, 5);
         boolean recursive = true;
         int passTotal = 0;
+        ScanCheckpoint checkpoint = manager.getCheckpoint();
 
         // --------------------------------------------------
+        // ZAP: Map and index the list once, instead of reading it for each dir and extension
         try {
 
             // find the total number of requests to be made, per pass
             // based on the fact there is a single entry per line
-            BufferedReader d =
-                    new BufferedReader(new InputStreamReader(new FileInputStream(inputFile)));
-            passTotal = 0;
-            while ((line = d.readLine()) != null) {
-                if (!line.startsWith("#")) {
-                    passTotal++;
-                }
-            }
+            wordList = WordList.acquire(inputFile);
+            passTotal = wordList.size();
 
             manager.setTotalPass(passTotal);
-        } catch (FileNotFoundException ex) {
+        } catch (NoSuchFileException ex) {
             LOG.error("File '{}' not found!", inputFile, ex);
         } catch (IOException ex) {
             LOG.error(ex);
@@ -167,6 +175,10 @@ public class WorkerGenerator implements Runnable {
             }
             started = currentDir;
 
+            // ZAP: the position in the list of the dir, to resume from a previous scan
+            long startPosition = checkpoint.startDir(currentDir);
+            long position = 0;
+
             // generate the list of dirs
             if (manager.getDoDirs()) {
                 // find the fail case for the dir
@@ -187,99 +199,98 @@ public class WorkerGenerator implements Runnable {
                 }
 
                 // generate work links
-                try {
-                    // readin dir names
-                    BufferedReader d =
-                            new BufferedReader(
-                                    new InputStreamReader(new FileInputStream(inputFile)));
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Generating dir list for {}", firstPart);
+                }
 
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Generating dir list for {}", firstPart);
+                URL currentURL;
+
+                // add the first item while doing dir's
+                if (counter == 0) {
+                    try {
+                        String method;
+                        if (manager.getAuto()
+                                && !baseCaseObj.useContentAnalysisMode()
+                                && !baseCaseObj.isUseRegexInstead()) {
+                            method = "HEAD";
+                        } else {
+                            method = "GET";
+                        }
+                        currentURL = new URL(firstPart + currentDir);
+                        // System.out.println("first part = " + firstPart);
+                        // System.out.println("current dir = " + currentDir);
+                        workQueue.put(
+                                new WorkUnit(
+                                        currentURL, true, HttpMethod.GET, baseCaseObj, null));
+                        LOG.debug("1 adding dir to work list {} {}", method, currentDir);
+                    } catch (MalformedURLException ex) {
+                        LOG.debug("Bad URL", ex);
+                    } catch (InterruptedException ex) {
+                        LOG.debug(ex);
+                    }
+                } // end of dealing with first item
+                int dirsProcessed = 0;
+
+                // add the rest of the dirs
+                for (int i = 0; i < passTotal; i++, position++) {
+                    // code to skip the current work load
+                    if (skipCurrent) {
+                        // add the totalnumber per pass - the amount process this pass to the
+                        // work correction total
+                        manager.addToWorkCorrection(passTotal - dirsProcessed);
+                        position += passTotal - i;
+                        break;
                     }
 
-                    URL currentURL;
+                    // ZAP: skip the items already processed in a previous scan
+                    if (position < startPosition) {
+                        manager.addToWorkCorrection(1);
+                        dirsProcessed++;
+                        continue;
+                    }
 
-                    // add the first item while doing dir's
-                    if (counter == 0) {
-                        try {
-                            String method;
-                            if (manager.getAuto()
-                                    && !baseCaseObj.useContentAnalysisMode()
-                                    && !baseCaseObj.isUseRegexInstead()) {
-                                method = "HEAD";
-                            } else {
-                                method = "GET";
-                            }
-                            currentURL = new URL(firstPart + currentDir);
-                            // System.out.println("first part = " + firstPart);
-                            // System.out.println("current dir = " + currentDir);
-                            workQueue.put(
-                                    new WorkUnit(
-                                            currentURL, true, HttpMethod.GET, baseCaseObj, null));
-                            LOG.debug("1 adding dir to work list {} {}", method, currentDir);
-                        } catch (MalformedURLException ex) {
-                            LOG.debug("Bad URL", ex);
-                        } catch (InterruptedException ex) {
-                            LOG.debug(ex);
-                        }
-                    } // end of dealing with first item
-                    int dirsProcessed = 0;
-
-                    // add the rest of the dirs
-                    while ((line = d.readLine()) != null) {
-                        // code to skip the current work load
-                        if (skipCurrent) {
-                            // add the totalnumber per pass - the amount process this pass to the
-                            // work correction total
-                            manager.addToWorkCorrection(passTotal - dirsProcessed);
-                            break;
+                    // the lines that are empty or start with a # are not in the list
+                    line = wordList.get(i);
+                    line = line.trim();
+                    line = makeItemsafe(line);
+                    try {
+                        HttpMethod method;
+                        if (manager.getAuto()
+                                && !baseCaseObj.useContentAnalysisMode()
+                                && !baseCaseObj.isUseRegexInstead()) {
+                            method = HttpMethod.HEAD;
+                        } else {
+                            method = HttpMethod.GET;
                         }
 
-                        // if the line is not empty or starts with a #
-                        if (!line.equalsIgnoreCase("") && !line.startsWith("#")) {
-                            line = line.trim();
-                            line = makeItemsafe(line);
-                            try {
-                                HttpMethod method;
-                                if (manager.getAuto()
-                                        && !baseCaseObj.useContentAnalysisMode()
-                                        && !baseCaseObj.isUseRegexInstead()) {
-                                    method = HttpMethod.HEAD;
-                                } else {
-                                    method = HttpMethod.GET;
-                                }
-
-                                currentURL = new URL(firstPart + currentDir + line + "/");
-                                // BaseCase baseCaseObj = new BaseCase(currentURL, failcode, true,
-                                // failurl, baseResponce);
-                                // if the base case is null then we need to switch to content
-                                // anylsis mode
-
-                                // System.out.println("Gen about to add to queue");
-                                workQueue.put(
-                                        new WorkUnit(currentURL, true, method, baseCaseObj, line));
-                                // System.out.println("Gen finshed adding to queue");
-                                LOG.debug("2 adding dir to work list {} {}", method, currentURL);
-                            } catch (MalformedURLException e) {
-                                // TODO deal with bad line
-                                // e.printStackTrace();
-                                // do nothing if it's malformed, I dont care about them!
-                            } catch (InterruptedException e) {
-                                LOG.debug(e);
-                            }
+                        currentURL = new URL(firstPart + currentDir + line + "/");
+                        // BaseCase baseCaseObj = new BaseCase(currentURL, failcode, true,
+                        // failurl, baseResponce);
+                        // if the base case is null then we need to switch to content
+                        // anylsis mode
+
+                        // System.out.println("Gen about to add to queue");
+                        WorkUnit workUnit =
+                                new WorkUnit(currentURL, true, method, baseCaseObj, line);
+                        workUnit.setPosition(currentDir, position);
+                        checkpoint.generated(currentDir, position);
+                        workQueue.put(workUnit);
+                        // System.out.println("Gen finshed adding to queue");
+                        LOG.debug("2 adding dir to work list {} {}", method, currentURL);
+                    } catch (MalformedURLException e) {
+                        // TODO deal with bad line
+                        // e.printStackTrace();
+                        // do nothing if it's malformed, I dont care about them!
+                    } catch (InterruptedException e) {
+                        LOG.debug(e);
+                    }
 
-                            // if there is a call to stop the work gen then stop!
-                            if (stopMe) {
-                                return;
-                            }
-                            dirsProcessed++;
-                        }
-                    } // end of while
-                } catch (FileNotFoundException e) {
-                    LOG.error("File '{}' not found!", inputFile, e);
-                } catch (IOException e) {
-                    LOG.error(e);
-                }
+                    // if there is a call to stop the work gen then stop!
+                    if (stopMe) {
+                        return;
+                    }
+                    dirsProcessed++;
+                } // end of for
             }
 
             // generate the list of files
@@ -316,75 +327,78 @@ public class WorkerGenerator implements Runnable {
                             return;
                         }
 
-                        try {
-                            BufferedReader d =
-                                    new BufferedReader(
-                                            new InputStreamReader(new FileInputStream(inputFile)));
-                            // if(failcode != 200)
-                            // {
-                            int filesProcessed = 0;
-
-                            while ((line = d.readLine()) != null) {
-                                // code to skip the current work load
-                                if (skipCurrent) {
-                                    manager.addToWorkCorrection(passTotal - filesProcessed);
-                                    break;
+                        // if(failcode != 200)
+                        // {
+                        int filesProcessed = 0;
+
+                        for (int i = 0; i < passTotal; i++, position++) {
+                            // code to skip the current work load
+                            if (skipCurrent) {
+                                manager.addToWorkCorrection(passTotal - filesProcessed);
+                                position += passTotal - i;
+                                break;
+                            }
+
+                            // ZAP: skip the items already processed in a previous scan
+                            if (position < startPosition) {
+                                manager.addToWorkCorrection(1);
+                                filesProcessed++;
+                                continue;
+                            }
+
+                            // the lines that are empty or start with a # are not in the list
+                            line = wordList.get(i);
+                            line = line.trim();
+                            line = makeItemsafe(line);
+                            try {
+                                HttpMethod method;
+                                if (manager.getAuto()
+                                        && !baseCaseObj.useContentAnalysisMode()
+                                        && !baseCaseObj.isUseRegexInstead()) {
+                                    method = HttpMethod.HEAD;
+                                } else {
+                                    method = HttpMethod.GET;
                                 }
-                                // dont process is the line empty for starts with a #
-                                if (!line.equalsIgnoreCase("") && !line.startsWith("#")) {
-                                    line = line.trim();
-                                    line = makeItemsafe(line);
-                                    try {
-                                        HttpMethod method;
-                                        if (manager.getAuto()
-                                                && !baseCaseObj.useContentAnalysisMode()
-                                                && !baseCaseObj.isUseRegexInstead()) {
-                                            method = HttpMethod.HEAD;
-                                        } else {
-                                            method = HttpMethod.GET;
-                                        }
-
-                                        URL currentURL =
-                                                new URL(
-                                                        firstPart
-                                                                + currentDir
-                                                                + line
-                                                                + fileExtention);
-                                        // BaseCase baseCaseObj = new BaseCase(currentURL, true,
-                                        // failurl, baseResponce);
-                                        workQueue.put(
-                                                new WorkUnit(
-                                                        currentURL,
-                                                        false,
-                                                        method,
-                                                        baseCaseObj,
-                                                        line));
-                                        LOG.debug(
-                                                "adding file to work list {} {}",
+
+                                URL currentURL =
+                                        new URL(
+                                                firstPart
+                                                        + currentDir
+                                                        + line
+                                                        + fileExtention);
+                                // BaseCase baseCaseObj = new BaseCase(currentURL, true,
+                                // failurl, baseResponce);
+                                WorkUnit workUnit =
+                                        new WorkUnit(
+                                                currentURL,
+                                                false,
                                                 method,
-                                                currentURL);
-                                    } catch (MalformedURLException e) {
-                                        // e.printStackTrace();
-                                        // again do nothing as I dont care
-                                    } catch (InterruptedException e) {
-                                        LOG.debug(e);
-                                    }
-
-                                    if (stopMe) {
-                                        return;
-                                    }
-                                    filesProcessed++;
-                                }
-                            } // end of while
-                            // }
-                        } catch (FileNotFoundException e) {
-                            LOG.error("File '{}' not found!", inputFile, e);
-                        } catch (IOException e) {
-                            LOG.error(e);
-                        }
+                                                baseCaseObj,
+                                                line);
+                                workUnit.setPosition(currentDir, position);
+                                checkpoint.generated(currentDir, position);
+                                workQueue.put(workUnit);
+                                LOG.debug(
+                                        "adding file to work list {} {}",
+                                        method,
+                                        currentURL);
+                            } catch (MalformedURLException e) {
+                                // e.printStackTrace();
+                                // again do nothing as I dont care
+                            } catch (InterruptedException e) {
+                                LOG.debug(e);
+                            }
+
+                            if (stopMe) {
+                                return;
+                            }
+                            filesProcessed++;
+                        } // end of for
+                        // }
                     }
                 } // end of file ext loop
             } // end of if files
+            checkpoint.dirGenerated(currentDir);
             finished = started;
 
             counter++;
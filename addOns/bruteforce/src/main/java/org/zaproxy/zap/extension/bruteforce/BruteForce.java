@@ -22,11 +22,18 @@ package org.zaproxy.zap.extension.bruteforce;
 import com.sittinglittleduck.DirBuster.BaseCase;
 import com.sittinglittleduck.DirBuster.ExtToCheck;
 import com.sittinglittleduck.DirBuster.HttpResponse;
+import com.sittinglittleduck.DirBuster.ScanCheckpoint;
 import com.sittinglittleduck.DirBuster.SimpleHttpClient;
 import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -36,6 +43,7 @@ import javax.swing.SwingUtilities;
 import org.apache.commons.httpclient.URI;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.model.SiteNode;
@@ -66,6 +74,10 @@ public class BruteForce extends Thread implements BruteForceListenner {
 
     private boolean onlyUnderDirectory;
 
+    private boolean resumeScan;
+    private boolean keepProgress;
+    private Path checkpointFile;
+
     private static Logger log = LogManager.getLogger(BruteForce.class);
 
     public BruteForce(
@@ -79,6 +91,7 @@ public class BruteForce extends Thread implements BruteForceListenner {
         this.listenner = listenner;
         this.threads = bruteForceParam.getThreadPerScan();
         this.recursive = bruteForceParam.getRecursive();
+        this.resumeScan = bruteForceParam.isResumeScans();
 
         this.onlyUnderDirectory = false;
 
@@ -151,6 +164,12 @@ public class BruteForce extends Thread implements BruteForceListenner {
             final String fileAbsolutePath = file.getAbsolutePath();
 
             log.debug("BruteForce: file: {} recursive={}", fileAbsolutePath, recursive);
+
+            if (resumeScan) {
+                checkpointFile = createCheckpointFile(targetURL, startPoint);
+                loadCheckpoint();
+            }
+
             manager.setupManager(
                     startPoint,
                     fileAbsolutePath,
@@ -175,12 +194,16 @@ public class BruteForce extends Thread implements BruteForceListenner {
             while (!manager.hasFinished()) {
                 if (stopScan) {
                     isPaused = false;
+                    if (keepProgress) {
+                        saveCheckpoint();
+                    }
                     manager.youAreFinished();
                 }
                 if (pauseScan) {
                     manager.pause();
                     pauseScan = false;
                     isPaused = true;
+                    saveCheckpoint();
                 }
                 if (unpauseScan) {
                     manager.unPause();
@@ -199,6 +222,10 @@ public class BruteForce extends Thread implements BruteForceListenner {
                 } catch (InterruptedException e) {
                 }
             }
+            if (!keepProgress) {
+                // Completed or explicitly stopped, nothing to resume.
+                deleteCheckpoint();
+            }
         } catch (MalformedURLException ex) {
             log.error("Failed brute forcing site {}", target.getURI(), ex);
         }
@@ -214,6 +241,79 @@ public class BruteForce extends Thread implements BruteForceListenner {
         stopScan = true;
     }
 
+    /**
+     * Stops the scan, saving its progress to be resumed later, if enabled in the options.
+     *
+     * @see BruteForceParam#isResumeScans()
+     */
+    public void stopScanKeepingProgress() {
+        keepProgress = true;
+        stopScan = true;
+    }
+
+    /**
+     * Creates the path to the file with the progress of the scan, unique to the target, start
+     * point, file (and its contents) and options of the scan.
+     */
+    private Path createCheckpointFile(URL targetURL, String startPoint) {
+        StringBuilder key = new StringBuilder();
+        key.append(targetURL).append('\n');
+        key.append(startPoint).append('\n');
+        key.append(file.getAbsolutePath()).append('\n');
+        key.append(file.length()).append(' ').append(file.lastModified()).append('\n');
+        key.append(extensions).append('\n');
+        key.append(recursive).append(' ').append(onlyUnderDirectory);
+
+        StringBuilder name = new StringBuilder();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte b : digest.digest(key.toString().getBytes(StandardCharsets.UTF_8))) {
+                name.append(String.format("%02x", b));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            log.warn("Unable to create the checkpoint file name:", e);
+            return null;
+        }
+        return Paths.get(Constant.getZapHome(), "bruteforce", "checkpoints", name + ".txt");
+    }
+
+    private void loadCheckpoint() {
+        if (checkpointFile == null) {
+            return;
+        }
+        try {
+            ScanCheckpoint checkpoint = ScanCheckpoint.load(checkpointFile);
+            if (checkpoint != null) {
+                log.info("BruteForce: resuming previous scan of {}", target.getURI());
+                manager.setCheckpoint(checkpoint);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read the checkpoint {}", checkpointFile, e);
+        }
+    }
+
+    private void saveCheckpoint() {
+        if (checkpointFile == null) {
+            return;
+        }
+        try {
+            manager.saveCheckpoint(checkpointFile);
+        } catch (IOException e) {
+            log.warn("Failed to save the checkpoint {}", checkpointFile, e);
+        }
+    }
+
+    private void deleteCheckpoint() {
+        if (checkpointFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(checkpointFile);
+        } catch (IOException e) {
+            log.warn("Failed to delete the checkpoint {}", checkpointFile, e);
+        }
+    }
+
     public boolean isStopped() {
         return stopScan;
     }
@@ -40,6 +40,7 @@ public class BruteForceParam extends AbstractParam {
     private static final String FILE_EXTENSIONS = "bruteforce.fileextensions";
     private static final String EXTENSIONS_TO_MISS = "bruteforce.extensionsToMiss";
     private static final String FAIL_CASE_STRING = "bruteforce.failCaseString";
+    private static final String RESUME_SCANS = "bruteforce.resumeScans";
 
     public static final int DEFAULT_THREAD_PER_SCAN = 10;
     public static final int MAXIMUM_THREADS_PER_SCAN = 200;
@@ -49,6 +50,7 @@ public class BruteForceParam extends AbstractParam {
     public static final String EMPTY_STRING = "";
     public static final String DEFAULT_EXTENSIONS_TO_MISS = "jpg, gif, jpeg, ico, tiff, png, bmp";
     public static final String DEFAULT_FAIL_CASE_STRING = Config.failCaseString;
+    public static final boolean DEFAULT_RESUME_SCANS = false;
 
     private int threadPerScan = DEFAULT_THREAD_PER_SCAN;
     private boolean recursive = DEFAULT_RECURSIVE;
@@ -59,6 +61,7 @@ public class BruteForceParam extends AbstractParam {
     private String fileExtensions = EMPTY_STRING;
     private String extensionsToMiss = DEFAULT_EXTENSIONS_TO_MISS;
     private String failCaseString = DEFAULT_FAIL_CASE_STRING;
+    private boolean resumeScans = DEFAULT_RESUME_SCANS;
 
     public BruteForceParam() {}
 
@@ -77,6 +80,7 @@ public class BruteForceParam extends AbstractParam {
             this.extensionsToMiss =
                     getConfig().getString(EXTENSIONS_TO_MISS, DEFAULT_EXTENSIONS_TO_MISS);
             this.failCaseString = getConfig().getString(FAIL_CASE_STRING, DEFAULT_FAIL_CASE_STRING);
+            this.resumeScans = getConfig().getBoolean(RESUME_SCANS, DEFAULT_RESUME_SCANS);
         } catch (Exception e) {
         }
 
@@ -240,4 +244,25 @@ public class BruteForceParam extends AbstractParam {
         this.failCaseString = failCaseString;
         getConfig().setProperty(FAIL_CASE_STRING, failCaseString);
     }
+
+    /**
+     * Tells whether or not the progress of the scans should be saved when ZAP is closed or a scan
+     * is paused, to resume them when started again.
+     *
+     * @return {@code true} if the scans should be resumed, {@code false} otherwise.
+     */
+    public boolean isResumeScans() {
+        return resumeScans;
+    }
+
+    /**
+     * Sets whether or not the progress of the scans should be saved when ZAP is closed or a scan
+     * is paused, to resume them when started again.
+     *
+     * @param resumeScans {@code true} if the scans should be resumed, {@code false} otherwise.
+     */
+    public void setResumeScans(boolean resumeScans) {
+        this.resumeScans = resumeScans;
+        getConfig().setProperty(RESUME_SCANS, resumeScans);
+    }
 }
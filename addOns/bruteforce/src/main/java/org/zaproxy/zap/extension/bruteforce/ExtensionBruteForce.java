@@ -20,6 +20,7 @@
 package org.zaproxy.zap.extension.bruteforce;
 
 import com.sittinglittleduck.DirBuster.BaseCase;
+import com.sittinglittleduck.DirBuster.WordList;
 import java.awt.EventQueue;
 import java.io.File;
 import java.io.FilenameFilter;
@@ -115,11 +116,18 @@ public class ExtensionBruteForce extends ExtensionAdaptor
         }
     }
 
+    @Override
+    public void stop() {
+        // Allow the scans to save their progress, to be resumed later.
+        stopAllScans(true);
+    }
+
     @Override
     public void unload() {
         if (hasView()) {
             getBruteForcePanel().unload();
         }
+        WordList.clear();
 
         super.unload();
     }
@@ -304,8 +312,16 @@ public class ExtensionBruteForce extends ExtensionAdaptor
     }
 
     public void stopAllScans() {
+        stopAllScans(false);
+    }
+
+    private void stopAllScans(boolean keepProgress) {
         for (BruteForce scanner : bruteForceMap.values()) {
-            scanner.stopScan();
+            if (keepProgress) {
+                scanner.stopScanKeepingProgress();
+            } else {
+                scanner.stopScan();
+            }
             scanner.clearModel();
         }
         // Allow 2 secs for the threads to stop - if we wait 'for ever' then we can get deadlocks
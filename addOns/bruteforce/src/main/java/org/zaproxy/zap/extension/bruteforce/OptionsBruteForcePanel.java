@@ -50,6 +50,7 @@ public class OptionsBruteForcePanel extends AbstractParamPanel {
     private static final long serialVersionUID = 1L;
     private JPanel panelPortScan = null;
     private JCheckBox checkBoxRecursive = null;
+    private JCheckBox checkBoxResumeScans = null;
     private JComboBox<ForcedBrowseFile> defaultFileList = null;
     private JButton addFileButton = null;
     private JCheckBox checkBoxBrowseFilesWithoutExtension = null;
@@ -107,6 +108,7 @@ public class OptionsBruteForcePanel extends AbstractParamPanel {
             GridBagConstraints gridBagConstraintsFailCaseStringLabel = new GridBagConstraints();
             GridBagConstraints gridBagConstraintsFailCaseString = new GridBagConstraints();
             GridBagConstraints gridBagConstraintsRecursiveCheckBox = new GridBagConstraints();
+            GridBagConstraints gridBagConstraintsResumeScansCheckBox = new GridBagConstraints();
 
             panelPortScan.setLayout(new GridBagLayout());
             panelPortScan.setSize(114, 132);
@@ -153,6 +155,16 @@ public class OptionsBruteForcePanel extends AbstractParamPanel {
             gridBagConstraintsRecursiveCheckBox.insets = new Insets(2, 2, 2, 2);
             gridBagConstraintsRecursiveCheckBox.gridwidth = 2;
 
+            gridBagConstraintsResumeScansCheckBox.gridx = 0;
+            gridBagConstraintsResumeScansCheckBox.gridy = ++rowNumber;
+            gridBagConstraintsResumeScansCheckBox.weightx = 1.0;
+            gridBagConstraintsResumeScansCheckBox.fill = GridBagConstraints.HORIZONTAL;
+            gridBagConstraintsResumeScansCheckBox.ipadx = 0;
+            gridBagConstraintsResumeScansCheckBox.ipady = 0;
+            gridBagConstraintsResumeScansCheckBox.anchor = GridBagConstraints.NORTHWEST;
+            gridBagConstraintsResumeScansCheckBox.insets = new Insets(2, 2, 2, 2);
+            gridBagConstraintsResumeScansCheckBox.gridwidth = 2;
+
             gridBagConstraintsDefaultFileLable.gridx = 0;
             gridBagConstraintsDefaultFileLable.gridy = ++rowNumber;
             gridBagConstraintsDefaultFileLable.weightx = 1.0;
@@ -288,6 +300,7 @@ public class OptionsBruteForcePanel extends AbstractParamPanel {
             panelPortScan.add(getThreadsLabel(), gridBagConstraintsThreadsLable);
             panelPortScan.add(getSliderThreadsPerScan(), gridBagConstraintsThreadsSlider);
             panelPortScan.add(getCheckBoxRecursive(), gridBagConstraintsRecursiveCheckBox);
+            panelPortScan.add(getCheckBoxResumeScans(), gridBagConstraintsResumeScansCheckBox);
             panelPortScan.add(jLabelDefaultFile, gridBagConstraintsDefaultFileLable);
             panelPortScan.add(getDefaultFileList(), gridBagConstraintsDefaultFlieList);
             panelPortScan.add(jLabelAddFile, gridBagConstraintsAddFileLable);
@@ -350,6 +363,16 @@ public class OptionsBruteForcePanel extends AbstractParamPanel {
         return checkBoxRecursive;
     }
 
+    private JCheckBox getCheckBoxResumeScans() {
+        if (checkBoxResumeScans == null) {
+            checkBoxResumeScans = new JCheckBox();
+            checkBoxResumeScans.setText(
+                    Constant.messages.getString(MESSAGE_PREFIX + "label.resumeScans"));
+            checkBoxResumeScans.setSelected(BruteForceParam.DEFAULT_RESUME_SCANS);
+        }
+        return checkBoxResumeScans;
+    }
+
     @Override
     public void initParam(Object obj) {
         OptionsParam options = (OptionsParam) obj;
@@ -357,6 +380,7 @@ public class OptionsBruteForcePanel extends AbstractParamPanel {
         if (param == null) {
             getSliderThreadsPerScan().setValue(BruteForceParam.DEFAULT_THREAD_PER_SCAN);
             getCheckBoxRecursive().setSelected(BruteForceParam.DEFAULT_RECURSIVE);
+            getCheckBoxResumeScans().setSelected(BruteForceParam.DEFAULT_RESUME_SCANS);
             getCheckBoxBrowseFiles().setSelected(BruteForceParam.DEFAULT_BROWSE_FILES);
             getcheckBoxBrowseFilesWithoutExtension()
                     .setSelected(BruteForceParam.DEFAULT_BROWSE_FILES_WITHOUT_EXTENSION);
@@ -366,6 +390,7 @@ public class OptionsBruteForcePanel extends AbstractParamPanel {
         } else {
             getSliderThreadsPerScan().setValue(param.getThreadPerScan());
             getCheckBoxRecursive().setSelected(param.getRecursive());
+            getCheckBoxResumeScans().setSelected(param.isResumeScans());
             getDefaultFileList().setSelectedItem(param.getDefaultFile());
             getCheckBoxBrowseFiles().setSelected(param.isBrowseFiles());
             getcheckBoxBrowseFilesWithoutExtension()
@@ -400,6 +425,7 @@ public class OptionsBruteForcePanel extends AbstractParamPanel {
         }
         param.setThreadPerScan(getSliderThreadsPerScan().getValue());
         param.setRecursive(getCheckBoxRecursive().isSelected());
+        param.setResumeScans(getCheckBoxResumeScans().isSelected());
 
         ForcedBrowseFile selectedDefaultFile =
                 (ForcedBrowseFile) getDefaultFileList().getSelectedItem();
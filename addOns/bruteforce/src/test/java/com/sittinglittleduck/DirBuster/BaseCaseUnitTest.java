@@ -0,0 +1,195 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.net.URL;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Unit test for {@link BaseCase}. */
+class BaseCaseUnitTest {
+
+    private static final String BASE_CASE =
+            "<html><body><h1>Page not available</h1><p>Try again later.</p></body></html>";
+
+    @Test
+    void shouldCompileRegex() throws Exception {
+        // Given
+        String regex = "Page (not|never) available";
+        BaseCase baseCase = createBaseCase(BASE_CASE, regex);
+        // When
+        Pattern pattern = baseCase.getRegexPattern();
+        // Then
+        assertThat(pattern.pattern(), is(equalTo(regex)));
+        assertThat(pattern.matcher(BASE_CASE).find(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldCompileRegexOnce() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE, "not available");
+        Pattern pattern = baseCase.getRegexPattern();
+        // When
+        Pattern otherPattern = baseCase.getRegexPattern();
+        // Then
+        assertThat(otherPattern, is(sameInstance(pattern)));
+    }
+
+    @Test
+    void shouldNotHaveRegexPatternIfNoRegex() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        // When
+        Pattern pattern = baseCase.getRegexPattern();
+        // Then
+        assertThat(pattern, is(nullValue()));
+    }
+
+    @Test
+    void shouldBeBaseCaseResponseIfSameAsBaseCase() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        // When
+        boolean baseCaseResponse = baseCase.isBaseCaseResponse(HttpStatus.OK, BASE_CASE);
+        // Then
+        assertThat(baseCaseResponse, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldBeBaseCaseResponseIfSameAsBaseCaseIgnoringCase() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        // When
+        boolean baseCaseResponse =
+                baseCase.isBaseCaseResponse(HttpStatus.OK, BASE_CASE.toUpperCase());
+        // Then
+        assertThat(baseCaseResponse, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotBeBaseCaseResponseIfDifferentContent() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        // When
+        boolean baseCaseResponse =
+                baseCase.isBaseCaseResponse(HttpStatus.OK, BASE_CASE.replace("later", "never"));
+        // Then
+        assertThat(baseCaseResponse, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldNotBeBaseCaseResponseIfDifferentLength() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        // When
+        boolean baseCaseResponse = baseCase.isBaseCaseResponse(HttpStatus.OK, BASE_CASE + " ");
+        // Then
+        assertThat(baseCaseResponse, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldNotBeBaseCaseResponseIfDifferentStatusCode() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        // When
+        boolean baseCaseResponse = baseCase.isBaseCaseResponse(HttpStatus.NOT_FOUND, BASE_CASE);
+        // Then
+        assertThat(baseCaseResponse, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldBeBaseCaseResponseIfAdded() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        String otherResponse = BASE_CASE.replace("later", "tomorrow");
+        baseCase.addBaseCaseResponse(HttpStatus.OK, otherResponse);
+        // When
+        boolean baseCaseResponse = baseCase.isBaseCaseResponse(HttpStatus.OK, otherResponse);
+        // Then
+        assertThat(baseCaseResponse, is(equalTo(true)));
+        assertThat(baseCase.isBaseCaseResponse(HttpStatus.OK, BASE_CASE), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotBeBaseCaseResponseIfNotUsingContentAnalysis() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE, "not available");
+        // When
+        boolean baseCaseResponse = baseCase.isBaseCaseResponse(HttpStatus.OK, BASE_CASE);
+        // Then
+        assertThat(baseCase.useContentAnalysisMode(), is(equalTo(false)));
+        assertThat(baseCaseResponse, is(equalTo(false)));
+    }
+
+    static Stream<Arguments> responsePairs() {
+        return Stream.of(
+                Arguments.of("Not Found", "not found"),
+                Arguments.of("Not Found", "Not Found."),
+                Arguments.of("Not Found", "Not Fonud"),
+                Arguments.of("", ""),
+                Arguments.of("i", "I"),
+                Arguments.of("\u0131", "I"),
+                Arguments.of("\u0130", "i"),
+                Arguments.of("\u01C5", "\u01C6"),
+                Arguments.of("stra\u00DFe", "STRASSE"),
+                Arguments.of("\u00E9t\u00E9", "\u00C9T\u00C9"),
+                Arguments.of("\u00E9t\u00E9", "ete"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("responsePairs")
+    void shouldMatchBaseCaseResponseAsEqualsIgnoreCase(String base, String response)
+            throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase("Base");
+        baseCase.addBaseCaseResponse(HttpStatus.OK, base);
+        // When
+        boolean baseCaseResponse = baseCase.isBaseCaseResponse(HttpStatus.OK, response);
+        // Then
+        assertThat(baseCaseResponse, is(equalTo(base.equalsIgnoreCase(response))));
+    }
+
+    private static BaseCase createBaseCase(String response) throws Exception {
+        return createBaseCase(response, null);
+    }
+
+    private static BaseCase createBaseCase(String response, String regex) throws Exception {
+        URL url = new URL("http://example.com/dir/");
+        return new BaseCase(
+                url,
+                HttpStatus.OK,
+                false,
+                new URL(url, "thereIsNoWayThat-You-CanBeThere.html"),
+                response,
+                "html",
+                regex != null,
+                regex);
+    }
+}
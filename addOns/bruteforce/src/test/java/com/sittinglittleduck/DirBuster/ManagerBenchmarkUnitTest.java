@@ -0,0 +1,99 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Benchmark of the links found by the parsers of the {@link Manager}.
+ *
+ * <p>Not run by default, to run it set the environment variable {@code ZAP_BRUTEFORCE_BENCHMARK}
+ * to {@code true}, for example:
+ *
+ * <pre>
+ * ZAP_BRUTEFORCE_BENCHMARK=true ./gradlew :addOns:bruteforce:cleanTest :addOns:bruteforce:test \
+ *     --tests '*ManagerBenchmarkUnitTest'
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "ZAP_BRUTEFORCE_BENCHMARK", matches = "true")
+class ManagerBenchmarkUnitTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(ManagerBenchmarkUnitTest.class);
+
+    private static final int LINKS = 500_000;
+
+    private static final int PARSERS = 4;
+
+    @Test
+    void addParsedLinks() throws Exception {
+        // Given
+        Manager manager = new Manager(null);
+        manager.setOnlyUnderStartPoint(false);
+        AtomicInteger added = new AtomicInteger();
+        Thread[] parsers = new Thread[PARSERS];
+        for (int p = 0; p < PARSERS; p++) {
+            int parser = p;
+            parsers[p] =
+                    new Thread(
+                            () -> {
+                                // Each link is found by two parsers, as the same links are in
+                                // many pages.
+                                for (int i = parser; i < LINKS * 2; i += PARSERS) {
+                                    String link = createLink(i / 2);
+                                    if (!manager.hasLinkBeenDone(link)
+                                            && manager.addParsedLink(link)) {
+                                        added.incrementAndGet();
+                                    }
+                                }
+                            });
+        }
+        // When
+        long start = System.nanoTime();
+        for (Thread parser : parsers) {
+            parser.start();
+        }
+        for (Thread parser : parsers) {
+            parser.join();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // Then
+        // Links forgotten might be added again, but none is skipped.
+        assertThat(added.get(), greaterThanOrEqualTo(LINKS));
+        LOGGER.info(
+                "{} links found by {} parsers, {} added: {} ms, {} links/s",
+                LINKS * 2,
+                PARSERS,
+                added.get(),
+                elapsed,
+                LINKS * 2 * 1000L / Math.max(1, elapsed));
+    }
+
+    private static String createLink(int i) {
+        return "/dir" + (i % 1_000) + "/sub" + (i / 1_000) + "/file" + i + ".html";
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link Manager}. */
+class ManagerUnitTest {
+
+    private Manager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new Manager(null);
+        manager.setOnlyUnderStartPoint(false);
+    }
+
+    @AfterEach
+    void cleanup() {
+        Config.caseInsensativeMode = false;
+    }
+
+    @Test
+    void shouldAddParsedLinkNotYetDone() {
+        // Given
+        String link = "/dir/file.html";
+        // When
+        boolean added = manager.addParsedLink(link);
+        // Then
+        assertThat(added, equalTo(true));
+        assertThat(manager.hasLinkBeenDone(link), equalTo(true));
+    }
+
+    @Test
+    void shouldNotHaveLinkBeenDoneIfNotAdded() {
+        // Given
+        manager.addParsedLink("/dir/file.html");
+        // When
+        boolean done = manager.hasLinkBeenDone("/dir/other.html");
+        // Then
+        assertThat(done, equalTo(false));
+    }
+
+    @Test
+    void shouldNotAddSameParsedLinkTwice() {
+        // Given
+        String link = "/dir/file.html";
+        manager.addParsedLink(link);
+        // When
+        boolean added = manager.addParsedLink(link);
+        // Then
+        assertThat(added, equalTo(false));
+    }
+
+    @Test
+    void shouldAddParsedLinksWithDifferentCaseInCaseSensitiveMode() {
+        // Given
+        Config.caseInsensativeMode = false;
+        manager.addParsedLink("/dir/file.html");
+        // When
+        boolean added = manager.addParsedLink("/DIR/File.html");
+        // Then
+        assertThat(added, equalTo(true));
+        assertThat(manager.hasLinkBeenDone("/Dir/FILE.html"), equalTo(false));
+    }
+
+    @Test
+    void shouldNotAddParsedLinksWithDifferentCaseInCaseInsensitiveMode() {
+        // Given
+        Config.caseInsensativeMode = true;
+        manager.addParsedLink("/dir/file.html");
+        // When
+        boolean added = manager.addParsedLink("/DIR/File.html");
+        // Then
+        assertThat(added, equalTo(false));
+        assertThat(manager.hasLinkBeenDone("/Dir/FILE.html"), equalTo(true));
+    }
+}
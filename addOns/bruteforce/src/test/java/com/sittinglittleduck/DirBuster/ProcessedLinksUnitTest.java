@@ -0,0 +1,131 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link ProcessedLinks}. */
+class ProcessedLinksUnitTest {
+
+    @Test
+    void shouldNotAllowNonPositiveMaxLinks() {
+        // Given
+        int maxLinks = 0;
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new ProcessedLinks(maxLinks));
+    }
+
+    @Test
+    void shouldAddLinkNotPresent() {
+        // Given
+        ProcessedLinks links = new ProcessedLinks(2);
+        // When
+        boolean added = links.add("/a");
+        // Then
+        assertThat(added, equalTo(true));
+        assertThat(links.contains("/a"), equalTo(true));
+        assertThat(links.size(), equalTo(1));
+    }
+
+    @Test
+    void shouldNotAddLinkAlreadyPresent() {
+        // Given
+        ProcessedLinks links = new ProcessedLinks(2);
+        links.add("/a");
+        // When
+        boolean added = links.add("/a");
+        // Then
+        assertThat(added, equalTo(false));
+        assertThat(links.size(), equalTo(1));
+    }
+
+    @Test
+    void shouldForgetOldestLinksWhenMaxReached() {
+        // Given
+        ProcessedLinks links = new ProcessedLinks(2);
+        links.add("/a");
+        links.add("/b");
+        // When
+        boolean added = links.add("/c");
+        // Then
+        assertThat(added, equalTo(true));
+        assertThat(links.size(), equalTo(2));
+        assertThat(links.contains("/a"), equalTo(false));
+        assertThat(links.contains("/b"), equalTo(true));
+        assertThat(links.contains("/c"), equalTo(true));
+    }
+
+    @Test
+    void shouldAddAgainLinkForgotten() {
+        // Given
+        ProcessedLinks links = new ProcessedLinks(1);
+        links.add("/a");
+        links.add("/b");
+        // When
+        boolean added = links.add("/a");
+        // Then
+        assertThat(added, equalTo(true));
+        assertThat(links.contains("/b"), equalTo(false));
+    }
+
+    @Test
+    void shouldClearLinks() {
+        // Given
+        ProcessedLinks links = new ProcessedLinks(2);
+        links.add("/a");
+        links.add("/b");
+        // When
+        links.clear();
+        // Then
+        assertThat(links.size(), equalTo(0));
+        assertThat(links.contains("/a"), equalTo(false));
+        assertThat(links.add("/a"), equalTo(true));
+    }
+
+    @Test
+    void shouldKeepAtMostMaxLinksWhenAddedConcurrently() throws Exception {
+        // Given
+        ProcessedLinks links = new ProcessedLinks(1_000);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] =
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < 10_000; i++) {
+                                    links.add("/" + thread + "/" + i);
+                                }
+                            });
+        }
+        // When
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Then
+        assertThat(links.size(), equalTo(1_000));
+    }
+}
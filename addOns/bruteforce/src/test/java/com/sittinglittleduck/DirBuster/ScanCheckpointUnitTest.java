@@ -0,0 +1,235 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.sittinglittleduck.DirBuster.SimpleHttpClient.HttpMethod;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link ScanCheckpoint}. */
+class ScanCheckpointUnitTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldStartNewDirFromBeginning() {
+        // Given
+        ScanCheckpoint checkpoint = new ScanCheckpoint();
+        // When
+        long position = checkpoint.startDir("/");
+        // Then
+        assertThat(position, is(equalTo(0L)));
+        assertThat(checkpoint.getDirs(), contains("/"));
+    }
+
+    @Test
+    void shouldRemoveDirOnceGeneratedAndDone() {
+        // Given
+        ScanCheckpoint checkpoint = new ScanCheckpoint();
+        checkpoint.startDir("/");
+        checkpoint.generated("/", 0);
+        checkpoint.generated("/", 1);
+        checkpoint.dirGenerated("/");
+        // When
+        checkpoint.done(workUnit("/", 1));
+        checkpoint.done(workUnit("/", 0));
+        // Then
+        assertThat(checkpoint.getDirs(), is(empty()));
+    }
+
+    @Test
+    void shouldKeepDirWhileWorkInFlight() {
+        // Given
+        ScanCheckpoint checkpoint = new ScanCheckpoint();
+        checkpoint.startDir("/");
+        checkpoint.generated("/", 0);
+        checkpoint.generated("/", 1);
+        checkpoint.dirGenerated("/");
+        // When
+        checkpoint.done(workUnit("/", 0));
+        // Then
+        assertThat(checkpoint.getDirs(), contains("/"));
+    }
+
+    @Test
+    void shouldIgnoreWorkWithoutDir() {
+        // Given
+        ScanCheckpoint checkpoint = new ScanCheckpoint();
+        checkpoint.startDir("/");
+        checkpoint.generated("/", 0);
+        checkpoint.dirGenerated("/");
+        // When
+        checkpoint.done(workUnit(null, 0));
+        // Then
+        assertThat(checkpoint.getDirs(), contains("/"));
+    }
+
+    @Test
+    void shouldSaveOldestPositionInFlight() throws Exception {
+        // Given
+        ScanCheckpoint checkpoint = new ScanCheckpoint();
+        checkpoint.startDir("/");
+        checkpoint.generated("/", 0);
+        checkpoint.generated("/", 1);
+        checkpoint.generated("/", 2);
+        checkpoint.done(workUnit("/", 0));
+        checkpoint.done(workUnit("/", 2));
+        Path file = dir.resolve("checkpoint.txt");
+        // When
+        checkpoint.save(file, Collections.emptyList());
+        // Then
+        assertThat(
+                Files.readAllLines(file, StandardCharsets.UTF_8),
+                contains("# DirBuster checkpoint v1", "1 /"));
+    }
+
+    @Test
+    void shouldSaveNextPositionIfNoneInFlight() throws Exception {
+        // Given
+        ScanCheckpoint checkpoint = new ScanCheckpoint();
+        checkpoint.startDir("/");
+        checkpoint.generated("/", 0);
+        checkpoint.generated("/", 1);
+        checkpoint.done(workUnit("/", 0));
+        checkpoint.done(workUnit("/", 1));
+        Path file = dir.resolve("checkpoint.txt");
+        // When
+        checkpoint.save(file, Collections.emptyList());
+        // Then
+        assertThat(
+                Files.readAllLines(file, StandardCharsets.UTF_8),
+                contains("# DirBuster checkpoint v1", "2 /"));
+    }
+
+    @Test
+    void shouldSaveQueuedDirsNotStarted() throws Exception {
+        // Given
+        ScanCheckpoint checkpoint = new ScanCheckpoint();
+        checkpoint.startDir("/");
+        checkpoint.generated("/", 0);
+        Path file = dir.resolve("checkpoints/checkpoint.txt");
+        // When
+        checkpoint.save(file, Arrays.asList("/", "/admin/", "/dir with spaces/"));
+        // Then
+        assertThat(
+                Files.readAllLines(file, StandardCharsets.UTF_8),
+                contains("# DirBuster checkpoint v1", "0 /", "0 /admin/", "0 /dir with spaces/"));
+    }
+
+    @Test
+    void shouldLoadSavedProgress() throws Exception {
+        // Given
+        ScanCheckpoint checkpoint = new ScanCheckpoint();
+        checkpoint.startDir("/");
+        checkpoint.generated("/", 0);
+        checkpoint.generated("/", 1);
+        checkpoint.done(workUnit("/", 0));
+        Path file = dir.resolve("checkpoint.txt");
+        checkpoint.save(file, Arrays.asList("/admin/"));
+        // When
+        ScanCheckpoint loaded = ScanCheckpoint.load(file);
+        // Then
+        assertThat(loaded, is(notNullValue()));
+        assertThat(loaded.getDirs(), contains("/", "/admin/"));
+        assertThat(loaded.startDir("/"), is(equalTo(1L)));
+        assertThat(loaded.startDir("/admin/"), is(equalTo(0L)));
+    }
+
+    @Test
+    void shouldNotLoadIfFileDoesNotExist() throws Exception {
+        // Given
+        Path file = dir.resolve("missing.txt");
+        // When
+        ScanCheckpoint loaded = ScanCheckpoint.load(file);
+        // Then
+        assertThat(loaded, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotLoadIfHeaderNotValid() throws Exception {
+        // Given
+        Path file = createFile("# Other\n1 /\n");
+        // When
+        ScanCheckpoint loaded = ScanCheckpoint.load(file);
+        // Then
+        assertThat(loaded, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotLoadIfPositionNotValid() throws Exception {
+        // Given
+        Path file = createFile("# DirBuster checkpoint v1\nX /\n");
+        // When
+        ScanCheckpoint loaded = ScanCheckpoint.load(file);
+        // Then
+        assertThat(loaded, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotLoadIfLineNotValid() throws Exception {
+        // Given
+        Path file = createFile("# DirBuster checkpoint v1\n1\n");
+        // When
+        ScanCheckpoint loaded = ScanCheckpoint.load(file);
+        // Then
+        assertThat(loaded, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotLoadIfNoDirs() throws Exception {
+        // Given
+        Path file = createFile("# DirBuster checkpoint v1\n");
+        // When
+        ScanCheckpoint loaded = ScanCheckpoint.load(file);
+        // Then
+        assertThat(loaded, is(nullValue()));
+    }
+
+    private Path createFile(String contents) throws Exception {
+        Path file = dir.resolve("checkpoint.txt");
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static WorkUnit workUnit(String dir, long position) {
+        try {
+            WorkUnit workUnit =
+                    new WorkUnit(new URL("http://example.com/"), true, HttpMethod.GET, null, null);
+            workUnit.setPosition(dir, position);
+            return workUnit;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
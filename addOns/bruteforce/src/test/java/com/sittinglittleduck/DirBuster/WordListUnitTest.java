@@ -0,0 +1,158 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link WordList}. */
+class WordListUnitTest {
+
+    @TempDir Path dir;
+
+    @AfterEach
+    void cleanup() {
+        WordList.clear();
+    }
+
+    @Test
+    void shouldIndexEntriesIgnoringEmptyAndCommentLines() throws Exception {
+        // Given
+        String file = createFile("# Comment\nadmin\n\nimages\r\n#other\r\n\r\nlogin");
+        // When
+        WordList wordList = WordList.acquire(file);
+        // Then
+        assertThat(wordList.size(), equalTo(3));
+        assertThat(wordList.get(0), equalTo("admin"));
+        assertThat(wordList.get(1), equalTo("images"));
+        assertThat(wordList.get(2), equalTo("login"));
+    }
+
+    @Test
+    void shouldHaveNoEntriesIfFileEmpty() throws Exception {
+        // Given
+        String file = createFile("");
+        // When
+        WordList wordList = WordList.acquire(file);
+        // Then
+        assertThat(wordList.size(), equalTo(0));
+    }
+
+    @Test
+    void shouldThrowIfEntryIndexNotValid() throws Exception {
+        // Given
+        WordList wordList = WordList.acquire(createFile("admin\n"));
+        // When / Then
+        assertThrows(IndexOutOfBoundsException.class, () -> wordList.get(1));
+    }
+
+    @Test
+    void shouldThrowIfFileDoesNotExist() {
+        // Given
+        String file = dir.resolve("missing.txt").toString();
+        // When / Then
+        assertThrows(NoSuchFileException.class, () -> WordList.acquire(file));
+    }
+
+    @Test
+    void shouldShareWordListOfSameFile() throws Exception {
+        // Given
+        String file = createFile("admin\n");
+        WordList wordList = WordList.acquire(file);
+        // When
+        WordList otherWordList = WordList.acquire(file);
+        // Then
+        assertThat(otherWordList, sameInstance(wordList));
+    }
+
+    @Test
+    void shouldKeepWordListWhileStillUsed() throws Exception {
+        // Given
+        String file = createFile("admin\n");
+        WordList wordList = WordList.acquire(file);
+        WordList.acquire(file);
+        // When
+        wordList.release();
+        // Then
+        assertThat(WordList.acquire(file), sameInstance(wordList));
+    }
+
+    @Test
+    void shouldNotKeepWordListOnceReleasedByAllUsers() throws Exception {
+        // Given
+        String file = createFile("admin\n");
+        WordList wordList = WordList.acquire(file);
+        WordList.acquire(file);
+        // When
+        wordList.release();
+        wordList.release();
+        // Then
+        assertThat(WordList.acquire(file), not(sameInstance(wordList)));
+    }
+
+    @Test
+    void shouldNotKeepWordListOnceReleasedEvenIfReleasedMoreTimes() throws Exception {
+        // Given
+        String file = createFile("admin\n");
+        WordList wordList = WordList.acquire(file);
+        wordList.release();
+        wordList.release();
+        WordList otherWordList = WordList.acquire(file);
+        // When
+        wordList.release();
+        // Then
+        assertThat(WordList.acquire(file), sameInstance(otherWordList));
+    }
+
+    @Test
+    void shouldReadFileAgainIfChanged() throws Exception {
+        // Given
+        String file = createFile("admin\n");
+        WordList wordList = WordList.acquire(file);
+        Files.write(Paths.get(file), "admin\nlogin\n".getBytes(StandardCharsets.US_ASCII));
+        Files.setLastModifiedTime(Paths.get(file), FileTime.fromMillis(0));
+        // When
+        WordList otherWordList = WordList.acquire(file);
+        // Then
+        assertThat(otherWordList, not(sameInstance(wordList)));
+        assertThat(otherWordList.size(), equalTo(2));
+        assertThat(wordList.size(), equalTo(1));
+    }
+
+    private String createFile(String contents) throws IOException {
+        Path file = dir.resolve("list.txt");
+        Files.write(file, contents.getBytes(StandardCharsets.US_ASCII));
+        return file.toString();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.sittinglittleduck.DirBuster.SimpleHttpClient.HttpMethod;
+import java.net.URL;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link Worker}. */
+class WorkerUnitTest {
+
+    private static final String BASE_CASE =
+            "<html><body><h1>Page not available</h1><p>Try again later.</p></body></html>";
+
+    private static final String HEADER = "HTTP/1.1 200 OK\r\nContent-Type: text/html\r\n\r\n";
+
+    private Manager manager;
+    private SimpleHttpClient httpClient;
+    private URL url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Config.parseHTML = false;
+
+        httpClient = mock(SimpleHttpClient.class);
+        manager = mock(Manager.class);
+        manager.workQueue = new LinkedBlockingQueue<>();
+        given(manager.hasWorkLeft()).willReturn(true, false);
+        given(manager.getHttpClient()).willReturn(httpClient);
+        given(manager.getCheckpoint()).willReturn(new ScanCheckpoint());
+
+        url = new URL("http://example.com/dir/admin.html");
+    }
+
+    @AfterEach
+    void cleanup() {
+        Config.parseHTML = true;
+    }
+
+    @Test
+    void shouldNotNotifyResponseSameAsBaseCase() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        respondWith(HttpStatus.OK, BASE_CASE);
+        // When
+        runWorker(false, baseCase);
+        // Then
+        verifyNothingFound();
+    }
+
+    @Test
+    void shouldNotNotifyResponseSameAsBaseCaseIgnoringCase() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        respondWith(HttpStatus.OK, BASE_CASE.toUpperCase());
+        // When
+        runWorker(false, baseCase);
+        // Then
+        verifyNothingFound();
+    }
+
+    @Test
+    void shouldNotNotifyResponseSameAsOtherResponseOfBaseCase() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        String otherResponse = BASE_CASE.replace("later", "tomorrow");
+        baseCase.addBaseCaseResponse(HttpStatus.OK, otherResponse);
+        respondWith(HttpStatus.OK, otherResponse);
+        // When
+        runWorker(false, baseCase);
+        // Then
+        verifyNothingFound();
+    }
+
+    @Test
+    void shouldNotNotifyResponseWithFileNotFound() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        respondWith(HttpStatus.OK, "<html><body>\nError: File Not Found\n</body></html>");
+        // When
+        runWorker(false, baseCase);
+        // Then
+        verifyNothingFound();
+    }
+
+    @Test
+    void shouldNotifyFileIfResponseDifferentFromBaseCase() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        String response = "<html><body><h1>Admin</h1></body></html>";
+        respondWith(HttpStatus.OK, response);
+        // When
+        runWorker(false, baseCase);
+        // Then
+        verify(manager)
+                .foundFile(
+                        eq(url),
+                        eq(HttpStatus.OK),
+                        eq(response),
+                        eq(BASE_CASE),
+                        eq(HEADER + response),
+                        eq(baseCase));
+        verify(manager, never())
+                .foundDir(any(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldNotifyDirIfResponseDifferentFromBaseCase() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE);
+        String response = "<html><body><h1>Index of /dir/admin/</h1></body></html>";
+        respondWith(HttpStatus.OK, response);
+        // When
+        runWorker(true, baseCase);
+        // Then
+        verify(manager)
+                .foundDir(
+                        eq(url),
+                        eq(HttpStatus.OK),
+                        eq(response),
+                        eq(BASE_CASE),
+                        eq(HEADER + response),
+                        eq(baseCase));
+        verify(manager, never())
+                .foundFile(any(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldNotNotifyResponseMatchingRegex() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE, "Page (not|never) available");
+        respondWith(HttpStatus.OK, BASE_CASE.replace("not", "never"));
+        // When
+        runWorker(false, baseCase);
+        // Then
+        verifyNothingFound();
+    }
+
+    @Test
+    void shouldNotifyResponseNotMatchingRegex() throws Exception {
+        // Given
+        BaseCase baseCase = createBaseCase(BASE_CASE, "Page (not|never) available");
+        String response = "<html><body><h1>Admin</h1></body></html>";
+        respondWith(HttpStatus.OK, response);
+        // When
+        runWorker(false, baseCase);
+        // Then
+        verify(manager)
+                .foundFile(
+                        eq(url),
+                        eq(HttpStatus.OK),
+                        eq(response),
+                        eq(BASE_CASE),
+                        eq(HEADER + response),
+                        eq(baseCase));
+    }
+
+    private void respondWith(int statusCode, String body) throws Exception {
+        HttpResponse response = mock(HttpResponse.class);
+        given(response.getStatusCode()).willReturn(statusCode);
+        given(response.getContentType()).willReturn("text/html");
+        given(response.getResponseHeader()).willReturn(HEADER);
+        given(response.getResponseBody()).willReturn(body);
+        given(httpClient.send(HttpMethod.GET, url.toString())).willReturn(response);
+    }
+
+    private void runWorker(boolean dir, BaseCase baseCase) throws Exception {
+        manager.workQueue.put(new WorkUnit(url, dir, HttpMethod.GET, baseCase, "admin"));
+        new Worker(1, manager).run();
+    }
+
+    private void verifyNothingFound() {
+        verify(manager, never())
+                .foundFile(any(), anyInt(), any(), any(), any(), any());
+        verify(manager, never())
+                .foundDir(any(), anyInt(), any(), any(), any(), any());
+    }
+
+    private static BaseCase createBaseCase(String response) throws Exception {
+        return createBaseCase(response, null);
+    }
+
+    private static BaseCase createBaseCase(String response, String regex) throws Exception {
+        URL url = new URL("http://example.com/dir/");
+        return new BaseCase(
+                url,
+                HttpStatus.OK,
+                false,
+                new URL(url, "thereIsNoWayThat-You-CanBeThere.html"),
+                response,
+                "html",
+                regex != null,
+                regex);
+    }
+}
@@ -50,27 +50,28 @@ public final class DiceMatcher {
 
         if (a == null || b == null) return 0;
 
-        String s = a.replaceAll("\\s+", " ");
-        String t = b.replaceAll("\\s+", " ");
+        String s = normaliseWhitespace(a);
+        String t = normaliseWhitespace(b);
 
         // Quick check to catch equal strings:
         if (s.equals(t)) return 100;
         // avoid exception for single character searches
         if (s.length() < 2 || t.length() < 2) return 0;
 
-        final int[] sPairs = getBigrams(s);
-        final int[] tPairs = getBigrams(t);
-
-        // Sort the bigram arrays:
-        Arrays.sort(sPairs);
-        Arrays.sort(tPairs);
+        return getMatchPercentage(getSortedBigrams(s), getSortedBigrams(t));
+    }
 
+    /**
+     * Gets the match percentage of the given sorted bigrams, as returned by {@link
+     * #getSortedBigrams(String)}.
+     */
+    static int getMatchPercentage(int[] sPairs, int[] tPairs) {
         // Count the matches:
         int matches = 0;
         int i = 0;
         int j = 0;
-        int n = s.length() - 1;
-        int m = t.length() - 1;
+        int n = sPairs.length;
+        int m = tPairs.length;
         while (i < n && j < m) {
             if (sPairs[i] == tPairs[j]) {
                 matches += 2;
@@ -82,6 +83,49 @@ public final class DiceMatcher {
         return (int) Math.floor((double) matches * 100 / (n + m));
     }
 
+    /**
+     * Replaces each sequence of whitespace characters with a single space, same as {@code
+     * str.replaceAll("\\s+", " ")} but without compiling and running a regular expression.
+     */
+    static String normaliseWhitespace(String str) {
+        StringBuilder sb = null;
+        boolean inWhitespace = false;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (isWhitespace(c)) {
+                if (sb == null) {
+                    if (c == ' ' && (i + 1 == str.length() || !isWhitespace(str.charAt(i + 1)))) {
+                        // A single space is kept as is.
+                        continue;
+                    }
+                    sb = new StringBuilder(str.length()).append(str, 0, i);
+                }
+                if (!inWhitespace) {
+                    sb.append(' ');
+                    inWhitespace = true;
+                }
+            } else {
+                if (sb != null) {
+                    sb.append(c);
+                }
+                inWhitespace = false;
+            }
+        }
+        return sb == null ? str : sb.toString();
+    }
+
+    private static boolean isWhitespace(char c) {
+        // Same characters as the regular expression class \s
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /** Gets the sorted bigrams of the given string, which must have at least two characters. */
+    static int[] getSortedBigrams(String str) {
+        int[] pairs = getBigrams(str);
+        Arrays.sort(pairs);
+        return pairs;
+    }
+
     private static int[] getBigrams(String str) {
         final int n = str.length() - 1;
         final int[] pairs = new int[n];
@@ -0,0 +1,378 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A fingerprint of a text, usually a response body, that allows to compare it with others
+ * cheaply.
+ *
+ * <p>The (expensive) processing of the text is done once per fingerprint, so a baseline
+ * fingerprint can be kept and compared with the fingerprints of many other responses:
+ *
+ * <ul>
+ *   <li>{@link #getDiceMatchPercentage(ResponseFingerprint)} - the exact result of {@link
+ *       DiceMatcher#getMatchPercentage(String, String)}, using the precomputed bigrams;
+ *   <li>{@link #getJaccardSimilarity(ResponseFingerprint)} - an estimate of the similarity of the
+ *       word shingles, using a MinHash sketch;
+ *   <li>{@link #getSimHashSimilarity(ResponseFingerprint)} - the similarity of the SimHash of the
+ *       words, which tolerates small changes in the text;
+ *   <li>{@link #getStructureSimilarity(ResponseFingerprint)} - the similarity of the SimHash of
+ *       the sequence of HTML/XML tags.
+ * </ul>
+ *
+ * <p>Only the values needed for the Dice comparison are computed when the fingerprint is created,
+ * the sketches of the words and tags are computed on first use, so one-off Dice comparisons do not
+ * pay for them.
+ *
+ * <p>Instances of this class are immutable and thread-safe.
+ *
+ * @since 1.12.0
+ */
+public final class ResponseFingerprint {
+
+    private static final int SHINGLE_SIZE = 3;
+    private static final int MIN_HASH_SIZE = 64;
+    private static final long[] MIN_HASH_SEEDS = createSeeds(MIN_HASH_SIZE);
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String text;
+    private final String normalisedText;
+    private final int[] bigrams;
+
+    private volatile WordSketches wordSketches;
+    private volatile TagSketch tagSketch;
+
+    /**
+     * Constructs a {@code ResponseFingerprint} of the given text.
+     *
+     * @param text the text, {@code null} is treated as an empty string.
+     */
+    public ResponseFingerprint(String text) {
+        this.text = text == null ? "" : text;
+        normalisedText = DiceMatcher.normaliseWhitespace(this.text);
+        bigrams =
+                normalisedText.length() < 2
+                        ? new int[0]
+                        : DiceMatcher.getSortedBigrams(normalisedText);
+    }
+
+    /**
+     * Gets the number of words of the text, that is, the sequences of non-whitespace characters.
+     *
+     * @return the number of words.
+     */
+    public int getWordCount() {
+        return getWordSketches().count;
+    }
+
+    /**
+     * Gets the number of lines of the text.
+     *
+     * @return the number of lines, {@code 0} if the text is empty.
+     */
+    public int getLineCount() {
+        return countLines(text);
+    }
+
+    /**
+     * Gets the number of HTML/XML tags found in the text.
+     *
+     * @return the number of tags.
+     */
+    public int getTagCount() {
+        return getTagSketch().count;
+    }
+
+    /**
+     * Gets the match percentage between this and the given fingerprint, the same value as {@link
+     * DiceMatcher#getMatchPercentage(String, String)} for the texts of the fingerprints.
+     *
+     * @param other the other fingerprint.
+     * @return the match percentage, between {@code 0} and {@code 100}.
+     */
+    public int getDiceMatchPercentage(ResponseFingerprint other) {
+        if (normalisedText.equals(other.normalisedText)) {
+            return 100;
+        }
+        if (bigrams.length == 0 || other.bigrams.length == 0) {
+            return 0;
+        }
+        return DiceMatcher.getMatchPercentage(bigrams, other.bigrams);
+    }
+
+    /**
+     * Gets an estimate of the Jaccard similarity between the (case insensitive) word shingles of
+     * this and the given fingerprint.
+     *
+     * @param other the other fingerprint.
+     * @return the similarity, between {@code 0} (very different) and {@code 1} (very similar).
+     */
+    public float getJaccardSimilarity(ResponseFingerprint other) {
+        WordSketches words = getWordSketches();
+        WordSketches otherWords = other.getWordSketches();
+        if (words.count == 0 || otherWords.count == 0) {
+            return words.count == otherWords.count ? 1f : 0f;
+        }
+        int equal = 0;
+        for (int i = 0; i < MIN_HASH_SIZE; i++) {
+            if (words.minHash[i] == otherWords.minHash[i]) {
+                equal++;
+            }
+        }
+        return (float) equal / MIN_HASH_SIZE;
+    }
+
+    /**
+     * Gets the similarity between the SimHash of the (case insensitive) words of this and the
+     * given fingerprint.
+     *
+     * @param other the other fingerprint.
+     * @return the similarity, between {@code 0} (very different) and {@code 1} (very similar).
+     */
+    public float getSimHashSimilarity(ResponseFingerprint other) {
+        WordSketches words = getWordSketches();
+        WordSketches otherWords = other.getWordSketches();
+        if (words.count == 0 || otherWords.count == 0) {
+            return words.count == otherWords.count ? 1f : 0f;
+        }
+        return hashSimilarity(words.simHash, otherWords.simHash);
+    }
+
+    /**
+     * Gets the similarity between the structure (the sequence of HTML/XML tags) of this and the
+     * given fingerprint.
+     *
+     * @param other the other fingerprint.
+     * @return the similarity, between {@code 0} (very different) and {@code 1} (very similar).
+     */
+    public float getStructureSimilarity(ResponseFingerprint other) {
+        TagSketch tags = getTagSketch();
+        TagSketch otherTags = other.getTagSketch();
+        if (tags.count == 0 || otherTags.count == 0) {
+            return tags.count == otherTags.count ? 1f : 0f;
+        }
+        return hashSimilarity(tags.simHash, otherTags.simHash);
+    }
+
+    /**
+     * Gets the sketches of the words, creating them if not yet created.
+     *
+     * <p>Racy but benign, the sketches might be created more than once by concurrent threads, all
+     * equal.
+     */
+    private WordSketches getWordSketches() {
+        WordSketches sketches = wordSketches;
+        if (sketches == null) {
+            sketches = new WordSketches(hashWords(normalisedText.toLowerCase(Locale.ROOT)));
+            wordSketches = sketches;
+        }
+        return sketches;
+    }
+
+    /** Gets the sketch of the tags, creating it if not yet created, like the word sketches. */
+    private TagSketch getTagSketch() {
+        TagSketch sketch = tagSketch;
+        if (sketch == null) {
+            sketch = new TagSketch(hashTags(text));
+            tagSketch = sketch;
+        }
+        return sketch;
+    }
+
+    /** The MinHash and SimHash sketches of the words of the text. */
+    private static final class WordSketches {
+
+        private final int count;
+        private final long[] minHash;
+        private final long simHash;
+
+        WordSketches(long[] words) {
+            count = words.length;
+            minHash = createMinHash(words);
+            simHash = createSimHash(words);
+        }
+    }
+
+    /** The SimHash sketch of the sequence of tags of the text. */
+    private static final class TagSketch {
+
+        private final int count;
+        private final long simHash;
+
+        TagSketch(long[] tags) {
+            count = tags.length;
+            simHash = createSimHash(shingle(tags, 2));
+        }
+    }
+
+    private static float hashSimilarity(long hash1, long hash2) {
+        return 1f - (float) Long.bitCount(hash1 ^ hash2) / Long.SIZE;
+    }
+
+    private static int countLines(String text) {
+        if (text.isEmpty()) {
+            return 0;
+        }
+        int lines = 1;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 == length || text.charAt(i + 1) != '\n'))) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static long[] hashWords(String text) {
+        long[] hashes = new long[16];
+        int count = 0;
+        long hash = FNV_OFFSET_BASIS;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ' ') {
+                if (inWord) {
+                    hashes = add(hashes, count++, hash);
+                    hash = FNV_OFFSET_BASIS;
+                    inWord = false;
+                }
+            } else {
+                hash = (hash ^ c) * FNV_PRIME;
+                inWord = true;
+            }
+        }
+        if (inWord) {
+            hashes = add(hashes, count++, hash);
+        }
+        return Arrays.copyOf(hashes, count);
+    }
+
+    private static long[] hashTags(String text) {
+        long[] hashes = new long[16];
+        int count = 0;
+        int length = text.length();
+        for (int i = 0; i < length - 1; i++) {
+            if (text.charAt(i) != '<') {
+                continue;
+            }
+            int start = i + 1;
+            if (text.charAt(start) == '/') {
+                start++;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(text.charAt(end))) {
+                end++;
+            }
+            if (end == start || !Character.isLetter(text.charAt(start))) {
+                continue;
+            }
+            long hash = FNV_OFFSET_BASIS;
+            for (int j = i + 1; j < end; j++) {
+                hash = (hash ^ Character.toLowerCase(text.charAt(j))) * FNV_PRIME;
+            }
+            hashes = add(hashes, count++, hash);
+            i = end - 1;
+        }
+        return Arrays.copyOf(hashes, count);
+    }
+
+    private static long[] add(long[] array, int index, long value) {
+        long[] target = array;
+        if (index == array.length) {
+            target = Arrays.copyOf(array, array.length * 2);
+        }
+        target[index] = value;
+        return target;
+    }
+
+    private static long[] shingle(long[] tokens, int size) {
+        if (tokens.length < size) {
+            return tokens;
+        }
+        long[] shingles = new long[tokens.length - size + 1];
+        for (int i = 0; i < shingles.length; i++) {
+            long hash = tokens[i];
+            for (int j = 1; j < size; j++) {
+                hash = hash * 31 + tokens[i + j];
+            }
+            shingles[i] = hash;
+        }
+        return shingles;
+    }
+
+    private static long[] createMinHash(long[] tokens) {
+        long[] shingles = shingle(tokens, SHINGLE_SIZE);
+        long[] sketch = new long[MIN_HASH_SIZE];
+        Arrays.fill(sketch, Long.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < MIN_HASH_SIZE; i++) {
+                long hash = mix(shingle ^ MIN_HASH_SEEDS[i]);
+                if (hash < sketch[i]) {
+                    sketch[i] = hash;
+                }
+            }
+        }
+        return sketch;
+    }
+
+    private static long createSimHash(long[] features) {
+        if (features.length == 0) {
+            return 0;
+        }
+        int[] votes = new int[Long.SIZE];
+        for (long feature : features) {
+            long hash = mix(feature);
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                votes[bit] += ((hash >>> bit) & 1) == 1 ? 1 : -1;
+            }
+        }
+        long simHash = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (votes[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return simHash;
+    }
+
+    private static long[] createSeeds(int size) {
+        long[] seeds = new long[size];
+        long seed = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < size; i++) {
+            seed += 0x9e3779b97f4a7c15L;
+            seeds[i] = mix(seed);
+        }
+        return seeds;
+    }
+
+    /** The finaliser of the SplitMix64 generator, spreads the bits of the given value. */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
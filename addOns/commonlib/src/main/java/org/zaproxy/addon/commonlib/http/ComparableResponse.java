@@ -83,6 +83,13 @@ public class ComparableResponse {
     private Map<String, Integer> allPaths;
     private int numPaths;
 
+    // Values derived from the response, computed once as the same response is usually compared
+    // with many others.
+    private int wordCount = -1;
+    private int lineCount = -1;
+    private int[] relevantKeywordsCount;
+    private String escapedValueSent;
+
     // Use variables instead of constants to be able to tune it depending on the differences on
     // normal request replay.
     private float statusCodeWeight = STATUS_CODE_WEIGHT;
@@ -239,15 +246,16 @@ public class ComparableResponse {
             ComparableResponse response1, ComparableResponse response2) {
         float nRelevantKeywordsR1 = 0;
         float nRelevantKeywordsR2 = 0;
-        for (String keyword : RELEVANT_KEYWORDS) {
+        int[] keywordsCountR1 = response1.getRelevantKeywordsCount();
+        int[] keywordsCountR2 = response2.getRelevantKeywordsCount();
+        for (int i = 0; i < RELEVANT_KEYWORDS.size(); i++) {
+            String keyword = RELEVANT_KEYWORDS.get(i);
             if (keyword.equalsIgnoreCase(response1.getValueSent())
                     || keyword.equalsIgnoreCase(response2.getValueSent())) {
                 continue;
             }
-            nRelevantKeywordsR1 +=
-                    StringUtils.countMatches(response1.body.toLowerCase(), keyword.toLowerCase());
-            nRelevantKeywordsR2 +=
-                    StringUtils.countMatches(response2.body.toLowerCase(), keyword.toLowerCase());
+            nRelevantKeywordsR1 += keywordsCountR1[i];
+            nRelevantKeywordsR2 += keywordsCountR2[i];
         }
 
         if (nRelevantKeywordsR1 > nRelevantKeywordsR2) {
@@ -271,13 +279,15 @@ public class ComparableResponse {
             ComparableResponse response1, ComparableResponse response2) {
         String req1Value = response1.getValueSent();
         String req2Value = response2.getValueSent();
+        String escapedReq1Value = response1.getEscapedValueSent();
+        String escapedReq2Value = response2.getEscapedValueSent();
         String bodyResp1 = response1.body;
         String bodyResp2 = response2.body;
 
         int nReflectionsPayload1in1 = StringUtils.countMatches(bodyResp1, req1Value);
-        nReflectionsPayload1in1 += StringUtils.countMatches(bodyResp1, escapeHtml(req1Value));
+        nReflectionsPayload1in1 += StringUtils.countMatches(bodyResp1, escapedReq1Value);
         int nReflectionsPayload2in2 = StringUtils.countMatches(bodyResp2, req2Value);
-        nReflectionsPayload2in2 += StringUtils.countMatches(bodyResp2, escapeHtml(req2Value));
+        nReflectionsPayload2in2 += StringUtils.countMatches(bodyResp2, escapedReq2Value);
 
         // In case one payload is a substring of the other it will appear but it is not fixed
         // so we need to remove the payload from the body to know the ones that are independent
@@ -285,15 +295,15 @@ public class ComparableResponse {
             bodyResp2 = bodyResp2.replace(req2Value, "");
         }
         int nReflectionsPayload1in2 = StringUtils.countMatches(bodyResp2, req1Value);
-        if (!escapeHtml(req1Value).equals(req1Value)) {
-            nReflectionsPayload1in2 += StringUtils.countMatches(bodyResp2, escapeHtml(req1Value));
+        if (!escapedReq1Value.equals(req1Value)) {
+            nReflectionsPayload1in2 += StringUtils.countMatches(bodyResp2, escapedReq1Value);
         }
         if (req1Value.contains(req2Value)) {
             bodyResp1 = bodyResp1.replace(req1Value, "");
         }
         int nReflectionsPayload2in1 = StringUtils.countMatches(bodyResp1, req2Value);
-        if (!escapeHtml(req2Value).equals(req2Value)) {
-            nReflectionsPayload2in1 += StringUtils.countMatches(bodyResp1, escapeHtml(req2Value));
+        if (!escapedReq2Value.equals(req2Value)) {
+            nReflectionsPayload2in1 += StringUtils.countMatches(bodyResp1, escapedReq2Value);
         }
         float nNonPersistentReflectionsPayload1 =
                 (float) 1 + Math.abs(nReflectionsPayload1in1 - nReflectionsPayload1in2);
@@ -318,8 +328,8 @@ public class ComparableResponse {
      */
     public static float wordCountHeuristic(
             ComparableResponse response1, ComparableResponse response2) {
-        float nWords1 = WORD_SPLIT_PATTERN.split(response1.body).length;
-        float nWords2 = WORD_SPLIT_PATTERN.split(response2.body).length;
+        float nWords1 = response1.getWordCount();
+        float nWords2 = response2.getWordCount();
 
         if (nWords1 > nWords2) {
             return nWords2 / nWords1;
@@ -339,8 +349,8 @@ public class ComparableResponse {
      */
     public static float lineCountHeuristic(
             ComparableResponse response1, ComparableResponse response2) {
-        float nLinesR1 = CRLF_SPLIT_PATTERN.split(response1.body).length;
-        float nLinesR2 = CRLF_SPLIT_PATTERN.split(response2.body).length;
+        float nLinesR1 = response1.getLineCount();
+        float nLinesR2 = response2.getLineCount();
 
         if (nLinesR1 > nLinesR2) {
             return nLinesR2 / nLinesR1;
@@ -448,6 +458,39 @@ public class ComparableResponse {
         return 0;
     }
 
+    private synchronized int getWordCount() {
+        if (wordCount == -1) {
+            wordCount = WORD_SPLIT_PATTERN.split(body).length;
+        }
+        return wordCount;
+    }
+
+    private synchronized int getLineCount() {
+        if (lineCount == -1) {
+            lineCount = CRLF_SPLIT_PATTERN.split(body).length;
+        }
+        return lineCount;
+    }
+
+    private synchronized int[] getRelevantKeywordsCount() {
+        if (relevantKeywordsCount == null) {
+            String lowerCaseBody = body.toLowerCase();
+            relevantKeywordsCount = new int[RELEVANT_KEYWORDS.size()];
+            for (int i = 0; i < relevantKeywordsCount.length; i++) {
+                relevantKeywordsCount[i] =
+                        StringUtils.countMatches(lowerCaseBody, RELEVANT_KEYWORDS.get(i));
+            }
+        }
+        return relevantKeywordsCount;
+    }
+
+    private synchronized String getEscapedValueSent() {
+        if (escapedValueSent == null) {
+            escapedValueSent = escapeHtml(valueSent);
+        }
+        return escapedValueSent;
+    }
+
     /** @return all The Possible Paths. */
     private Map<String, Integer> getAllPaths() {
         synchronized (this) {
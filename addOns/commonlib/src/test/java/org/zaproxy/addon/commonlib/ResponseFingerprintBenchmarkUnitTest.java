@@ -0,0 +1,164 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Benchmark of {@link ResponseFingerprint} against {@link DiceMatcher}, for one-off comparisons
+ * and for comparisons with a baseline response.
+ *
+ * <p>Not run by default, to run it set the environment variable {@code ZAP_COMMONLIB_BENCHMARK}
+ * to {@code true}, for example:
+ *
+ * <pre>
+ * ZAP_COMMONLIB_BENCHMARK=true ./gradlew :addOns:commonlib:cleanTest :addOns:commonlib:test \
+ *     --tests '*ResponseFingerprintBenchmarkUnitTest'
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "ZAP_COMMONLIB_BENCHMARK", matches = "true")
+class ResponseFingerprintBenchmarkUnitTest {
+
+    private static final Logger LOGGER =
+            LogManager.getLogger(ResponseFingerprintBenchmarkUnitTest.class);
+
+    private static final int KILOBYTE = 1024;
+
+    private static final int RESPONSES = 20;
+
+    private static final int WARM_UP_RUNS = 3;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1024})
+    void compareResponses(int kilobytes) {
+        // Given
+        Random random = new Random(kilobytes);
+        String baseline = createPage(random, kilobytes * KILOBYTE);
+        List<String> responses = new ArrayList<>(RESPONSES);
+        for (int i = 0; i < RESPONSES; i++) {
+            responses.add(mutate(random, baseline));
+        }
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            diceMatcher(baseline, responses);
+            oneOffFingerprints(baseline, responses);
+            baselineFingerprint(baseline, responses);
+            fullFingerprints(baseline, responses);
+        }
+        // When
+        long start = System.nanoTime();
+        int[] expected = diceMatcher(baseline, responses);
+        long diceMatcher = System.nanoTime();
+        int[] oneOff = oneOffFingerprints(baseline, responses);
+        long oneOffFingerprints = System.nanoTime();
+        int[] reused = baselineFingerprint(baseline, responses);
+        long baselineFingerprint = System.nanoTime();
+        fullFingerprints(baseline, responses);
+        long fullFingerprints = System.nanoTime();
+        // Then
+        assertThat(oneOff, is(equalTo(expected)));
+        assertThat(reused, is(equalTo(expected)));
+        LOGGER.info(
+                "{} KB x {} responses: DiceMatcher {} ms, one-off fingerprints {} ms,"
+                        + " baseline fingerprint {} ms, all sketches {} ms",
+                kilobytes,
+                RESPONSES,
+                toMillis(start, diceMatcher),
+                toMillis(diceMatcher, oneOffFingerprints),
+                toMillis(oneOffFingerprints, baselineFingerprint),
+                toMillis(baselineFingerprint, fullFingerprints));
+    }
+
+    private static long toMillis(long start, long end) {
+        return TimeUnit.NANOSECONDS.toMillis(end - start);
+    }
+
+    private static int[] diceMatcher(String baseline, List<String> responses) {
+        int[] results = new int[responses.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = DiceMatcher.getMatchPercentage(baseline, responses.get(i));
+        }
+        return results;
+    }
+
+    private static int[] oneOffFingerprints(String baseline, List<String> responses) {
+        int[] results = new int[responses.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] =
+                    new ResponseFingerprint(baseline)
+                            .getDiceMatchPercentage(new ResponseFingerprint(responses.get(i)));
+        }
+        return results;
+    }
+
+    private static int[] baselineFingerprint(String baseline, List<String> responses) {
+        ResponseFingerprint fingerprint = new ResponseFingerprint(baseline);
+        int[] results = new int[responses.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] =
+                    fingerprint.getDiceMatchPercentage(new ResponseFingerprint(responses.get(i)));
+        }
+        return results;
+    }
+
+    private static void fullFingerprints(String baseline, List<String> responses) {
+        ResponseFingerprint fingerprint = new ResponseFingerprint(baseline);
+        for (String response : responses) {
+            ResponseFingerprint other = new ResponseFingerprint(response);
+            fingerprint.getDiceMatchPercentage(other);
+            fingerprint.getJaccardSimilarity(other);
+            fingerprint.getSimHashSimilarity(other);
+            fingerprint.getStructureSimilarity(other);
+        }
+    }
+
+    private static String createPage(Random random, int length) {
+        StringBuilder page = new StringBuilder(length + 100);
+        page.append("<html>\n<body>\n<ul>\n");
+        while (page.length() < length) {
+            page.append("<li><a href=\"/item?id=")
+                    .append(random.nextInt(100_000))
+                    .append("\">Lorem ipsum dolor sit amet ")
+                    .append(random.nextLong())
+                    .append("</a></li>\n");
+        }
+        return page.append("</ul>\n</body>\n</html>").toString();
+    }
+
+    private static String mutate(Random random, String page) {
+        StringBuilder mutated = new StringBuilder(page);
+        for (int i = 0; i < 10; i++) {
+            int pos = random.nextInt(mutated.length());
+            mutated.insert(pos, random.nextInt());
+        }
+        return mutated.toString();
+    }
+}
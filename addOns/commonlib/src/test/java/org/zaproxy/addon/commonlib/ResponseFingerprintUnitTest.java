@@ -0,0 +1,146 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Unit test for {@link ResponseFingerprint}. */
+class ResponseFingerprintUnitTest {
+
+    private static final String PAGE =
+            "<html>\n<head><title>Products</title></head>\n<body>\n"
+                    + "<h1>Products</h1>\n<ul>\n"
+                    + "<li>Lorem ipsum dolor sit amet, consectetur adipiscing elit.</li>\n"
+                    + "<li>Phasellus eget sapien sit amet tortor finibus feugiat.</li>\n"
+                    + "<li>Duis orci ligula, tempor eget ultrices ac, mattis vitae leo.</li>\n"
+                    + "<li>Nam eget neque et quam rutrum feugiat eget eget felis.</li>\n"
+                    + "<li>Mauris ipsum urna, fringilla ut volutpat vitae, fringilla a elit.</li>\n"
+                    + "</ul>\n<p>Showing 5 products for: shoes</p>\n</body>\n</html>";
+
+    private static final String SIMILAR_PAGE = PAGE.replace("shoes", "boots");
+
+    private static final String DIFFERENT_PAGE =
+            "<html>\n<body>\n<div class=\"error\">\n"
+                    + "<pre>java.sql.SQLException: Unexpected token at line 1</pre>\n"
+                    + "</div>\n</body>\n</html>";
+
+    static Stream<Arguments> textPairs() {
+        return Stream.of(
+                Arguments.of(PAGE, PAGE),
+                Arguments.of(PAGE, SIMILAR_PAGE),
+                Arguments.of(PAGE, DIFFERENT_PAGE),
+                Arguments.of("a  b\t\tc", "a b c"),
+                Arguments.of("ab", "abc"),
+                Arguments.of("a", PAGE),
+                Arguments.of("", ""));
+    }
+
+    @ParameterizedTest
+    @MethodSource("textPairs")
+    void shouldGiveSameDicePercentageAsDiceMatcher(String text1, String text2) {
+        // Given
+        ResponseFingerprint fingerprint1 = new ResponseFingerprint(text1);
+        ResponseFingerprint fingerprint2 = new ResponseFingerprint(text2);
+
+        // When
+        int percentage = fingerprint1.getDiceMatchPercentage(fingerprint2);
+
+        // Then
+        assertThat(percentage, is(equalTo(DiceMatcher.getMatchPercentage(text1, text2))));
+    }
+
+    @Test
+    void shouldBeFullySimilarToItself() {
+        // Given
+        ResponseFingerprint fingerprint = new ResponseFingerprint(PAGE);
+        ResponseFingerprint same = new ResponseFingerprint(PAGE);
+
+        // When / Then
+        assertThat(fingerprint.getJaccardSimilarity(same), is(equalTo(1f)));
+        assertThat(fingerprint.getSimHashSimilarity(same), is(equalTo(1f)));
+        assertThat(fingerprint.getStructureSimilarity(same), is(equalTo(1f)));
+    }
+
+    @Test
+    void shouldBeMoreSimilarToSimilarThanToDifferentText() {
+        // Given
+        ResponseFingerprint fingerprint = new ResponseFingerprint(PAGE);
+        ResponseFingerprint similar = new ResponseFingerprint(SIMILAR_PAGE);
+        ResponseFingerprint different = new ResponseFingerprint(DIFFERENT_PAGE);
+
+        // When / Then
+        assertThat(fingerprint.getJaccardSimilarity(similar), is(greaterThan(0.7f)));
+        assertThat(fingerprint.getJaccardSimilarity(different), is(lessThan(0.2f)));
+        assertThat(
+                fingerprint.getSimHashSimilarity(similar),
+                is(greaterThan(fingerprint.getSimHashSimilarity(different))));
+        assertThat(fingerprint.getStructureSimilarity(similar), is(equalTo(1f)));
+        assertThat(
+                fingerprint.getStructureSimilarity(different),
+                is(lessThan(fingerprint.getStructureSimilarity(similar))));
+    }
+
+    @Test
+    void shouldIgnoreCaseAndWhitespaceForWordSimilarity() {
+        // Given
+        ResponseFingerprint fingerprint = new ResponseFingerprint("Lorem ipsum dolor sit amet");
+        ResponseFingerprint other = new ResponseFingerprint("lorem  IPSUM\ndolor\tsit amet ");
+
+        // When / Then
+        assertThat(fingerprint.getJaccardSimilarity(other), is(equalTo(1f)));
+        assertThat(fingerprint.getSimHashSimilarity(other), is(equalTo(1f)));
+    }
+
+    @Test
+    void shouldCountWordsLinesAndTags() {
+        // Given / When
+        ResponseFingerprint fingerprint =
+                new ResponseFingerprint("<p>Hello\r\nWorld</p>\r<br/>\n 1 < 2");
+
+        // Then
+        assertThat(fingerprint.getWordCount(), is(equalTo(6)));
+        assertThat(fingerprint.getLineCount(), is(equalTo(4)));
+        assertThat(fingerprint.getTagCount(), is(equalTo(3)));
+    }
+
+    @Test
+    void shouldTreatNullAsEmptyText() {
+        // Given
+        ResponseFingerprint fingerprint = new ResponseFingerprint(null);
+        ResponseFingerprint empty = new ResponseFingerprint("");
+
+        // When / Then
+        assertThat(fingerprint.getWordCount(), is(equalTo(0)));
+        assertThat(fingerprint.getLineCount(), is(equalTo(0)));
+        assertThat(fingerprint.getDiceMatchPercentage(empty), is(equalTo(100)));
+        assertThat(fingerprint.getJaccardSimilarity(empty), is(equalTo(1f)));
+        assertThat(fingerprint.getJaccardSimilarity(new ResponseFingerprint(PAGE)), is(0f));
+    }
+}
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Properties;
 import javax.jdo.Constants;
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.Transaction;
@@ -115,6 +116,62 @@ public abstract class Database implements Closeable {
         }
     }
 
+    /**
+     * Gets the entity with the given ID.
+     *
+     * @param clazz the class of the entity.
+     * @param id the ID of the entity.
+     * @return the entity, or {@code null} if it does not exist.
+     * @since 0.2.0
+     */
+    public <T> T getById(Class<T> clazz, Object id) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("Class cannot be null.");
+        }
+        PersistenceManager pm = pmf.getPersistenceManager();
+        Transaction tx = pm.currentTransaction();
+        try {
+            tx.begin();
+            T result = pm.getObjectById(clazz, id);
+            tx.commit();
+            return result;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            pm.close();
+        }
+    }
+
+    /**
+     * Deletes the entity with the given ID, if it exists.
+     *
+     * @param clazz the class of the entity.
+     * @param id the ID of the entity.
+     * @since 0.2.0
+     */
+    public void deleteById(Class<?> clazz, Object id) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("Class cannot be null.");
+        }
+        PersistenceManager pm = pmf.getPersistenceManager();
+        Transaction tx = pm.currentTransaction();
+        try {
+            tx.begin();
+            pm.deletePersistent(pm.getObjectById(clazz, id));
+            tx.commit();
+        } catch (JDOObjectNotFoundException e) {
+            // Nothing to delete.
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            pm.close();
+        }
+    }
+
     protected void migrate() {
         Flyway flyway =
                 Flyway.configure(classLoader)
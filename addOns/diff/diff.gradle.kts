@@ -15,6 +15,7 @@ zapAddOn {
 
 dependencies {
     implementation("com.googlecode.java-diff-utils:diffutils:1.3.0")
+    testImplementation(project(":testutils"))
 }
 
 spotless {
@@ -19,7 +19,7 @@
  */
 package org.zaproxy.zap.extension.diff;
 
-import java.awt.Color;
+import java.awt.FontMetrics;
 import java.awt.Frame;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
@@ -30,22 +30,18 @@ import java.awt.event.AdjustmentEvent;
 import java.awt.event.AdjustmentListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowEvent;
+import java.util.function.IntFunction;
 import javax.swing.AbstractAction;
+import javax.swing.AbstractListModel;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
-import javax.swing.JTextArea;
 import javax.swing.KeyStroke;
-import javax.swing.text.BadLocationException;
-import javax.swing.text.DefaultHighlighter;
-import javax.swing.text.Highlighter;
-import javax.swing.text.Highlighter.HighlightPainter;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.extension.AbstractDialog;
 import org.parosproxy.paros.model.Model;
@@ -55,11 +51,10 @@ import org.zaproxy.zap.view.LayoutHelper;
 public class DiffDialog extends AbstractDialog implements AdjustmentListener {
 
     private static final long serialVersionUID = 1L;
-    private static final Logger logger = LogManager.getLogger(DiffDialog.class);
 
     private JPanel jPanel = null;
-    private JTextArea txtDisplayLeft = null;
-    private JTextArea txtDisplayRight = null;
+    private JList<DiffLine> listDisplayLeft = null;
+    private JList<DiffLine> listDisplayRight = null;
     private JPanel footer = null;
 
     private JSplitPane jSplitPane = null;
@@ -68,6 +63,7 @@ public class DiffDialog extends AbstractDialog implements AdjustmentListener {
     private JLabel leftHeader = null;
     private JLabel rightHeader = null;
     private JCheckBox syncCheckbox = null;
+    private JLabel statusLabel = null;
 
     /** @throws HeadlessException */
     public DiffDialog() throws HeadlessException {
@@ -153,7 +149,7 @@ public class DiffDialog extends AbstractDialog implements AdjustmentListener {
 
             footer.add(
                     getSyncCheckbox(), LayoutHelper.getGBC(0, 0, 1, 0.0D, new Insets(2, 10, 2, 2)));
-            footer.add(new JLabel(), LayoutHelper.getGBC(1, 0, 1, 1.0D)); // Spacer
+            footer.add(getStatusLabel(), LayoutHelper.getGBC(1, 0, 1, 1.0D));
             footer.add(close, LayoutHelper.getGBC(2, 0, 1, 0.0D, new Insets(2, 2, 2, 10)));
         }
         return footer;
@@ -167,86 +163,81 @@ public class DiffDialog extends AbstractDialog implements AdjustmentListener {
         return syncCheckbox;
     }
 
-    public void setLeftHeader(String header) {
-        this.leftHeader.setText(header);
-        this.leftHeader.setToolTipText(header);
+    private JLabel getStatusLabel() {
+        if (statusLabel == null) {
+            statusLabel = new JLabel();
+        }
+        return statusLabel;
     }
 
-    public void setRightHeader(String header) {
-        this.rightHeader.setText(header);
-        this.rightHeader.setToolTipText(header);
+    /**
+     * Sets whether or not the differences are being computed, shown in the footer.
+     *
+     * @param computing {@code true} if being computed, {@code false} otherwise.
+     */
+    void setComputing(boolean computing) {
+        getStatusLabel()
+                .setText(computing ? Constant.messages.getString("diff.diff.computing") : "");
     }
 
-    private JTextArea getTxtDisplayLeft() {
-        if (txtDisplayLeft == null) {
-            txtDisplayLeft = new JTextArea();
-            txtDisplayLeft.setEditable(false);
-            txtDisplayLeft.setFont(FontUtils.getFont("Dialog"));
-        }
-        return txtDisplayLeft;
+    /**
+     * Sets the rows of the diff, rendered only when shown, and shows that the computation is done.
+     *
+     * @param rows the rows.
+     */
+    void setRows(DiffRows rows) {
+        String lineNumber = rows.size() + " : ";
+        setRows(
+                getListDisplayLeft(),
+                new DiffLinesModel(rows.size(), rows::getLeftLine),
+                lineNumber + rows.getLongestLeftLine().getText());
+        setRows(
+                getListDisplayRight(),
+                new DiffLinesModel(rows.size(), rows::getRightLine),
+                lineNumber + rows.getLongestRightLine().getText());
+        setComputing(false);
     }
 
-    private JTextArea getTxtDisplayRight() {
-        if (txtDisplayRight == null) {
-            txtDisplayRight = new JTextArea();
-            txtDisplayRight.setEditable(false);
-            txtDisplayRight.setFont(FontUtils.getFont("Dialog"));
-        }
-        return txtDisplayRight;
+    private static void setRows(JList<DiffLine> list, DiffLinesModel model, String longestText) {
+        // Fixed sizes, otherwise all the rows would be rendered to know the size of the list.
+        FontMetrics fontMetrics = list.getFontMetrics(list.getFont());
+        list.setFixedCellWidth(DiffLineRenderer.getWidth(fontMetrics, longestText));
+        list.setModel(model);
+        list.ensureIndexIsVisible(0);
     }
 
-    protected void highlightLeftText(int start, int end) {
-        this.highlightText(this.getTxtDisplayLeft(), start, end);
+    public void setLeftHeader(String header) {
+        this.leftHeader.setText(header);
+        this.leftHeader.setToolTipText(header);
     }
 
-    protected void highlightRightText(int start, int end) {
-        this.highlightText(this.getTxtDisplayRight(), start, end);
+    public void setRightHeader(String header) {
+        this.rightHeader.setText(header);
+        this.rightHeader.setToolTipText(header);
     }
 
-    private void highlightText(JTextArea area, int start, int end) {
-        Highlighter hilite = area.getHighlighter();
-        HighlightPainter painter = new DefaultHighlighter.DefaultHighlightPainter(Color.YELLOW);
-        try {
-            hilite.addHighlight(start, end, painter);
-        } catch (BadLocationException e) {
-            logger.error(e.getMessage(), e);
+    private JList<DiffLine> getListDisplayLeft() {
+        if (listDisplayLeft == null) {
+            listDisplayLeft = createListDisplay();
         }
+        return listDisplayLeft;
     }
 
-    protected int appendLeftText(String text, boolean highlight) {
-        return this.appendText(this.getTxtDisplayLeft(), text, highlight);
+    private JList<DiffLine> getListDisplayRight() {
+        if (listDisplayRight == null) {
+            listDisplayRight = createListDisplay();
+        }
+        return listDisplayRight;
     }
 
-    protected int appendRightText(String text, boolean highlight) {
-        return this.appendText(this.getTxtDisplayRight(), text, highlight);
+    private static JList<DiffLine> createListDisplay() {
+        JList<DiffLine> list = new JList<>();
+        list.setFont(FontUtils.getFont("Dialog"));
+        list.setCellRenderer(new DiffLineRenderer());
+        list.setFixedCellHeight(list.getFontMetrics(list.getFont()).getHeight());
+        return list;
     }
 
-    private int appendText(JTextArea area, String text, boolean highlight) {
-
-        int start = area.getDocument().getLength();
-
-        if (text == null || text.length() == 0) {
-            return start;
-        }
-
-        int end = start + text.length();
-
-        try {
-
-            area.getDocument().insertString(start, text, null);
-
-            if (highlight) {
-                Highlighter hilite = area.getHighlighter();
-                HighlightPainter painter =
-                        new DefaultHighlighter.DefaultHighlightPainter(Color.YELLOW);
-                hilite.addHighlight(start, end - 1, painter);
-            }
-
-        } catch (BadLocationException e) {
-            logger.error(e.getMessage(), e);
-        }
-        return end;
-    }
     /**
      * This method initializes jScrollPane
      *
@@ -260,7 +251,7 @@ public class DiffDialog extends AbstractDialog implements AdjustmentListener {
                     javax.swing.JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
             jScrollPaneLeft.setVerticalScrollBarPolicy(
                     javax.swing.JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-            jScrollPaneLeft.setViewportView(getTxtDisplayLeft());
+            jScrollPaneLeft.setViewportView(getListDisplayLeft());
             jScrollPaneLeft.getHorizontalScrollBar().addAdjustmentListener(this);
             jScrollPaneLeft.getVerticalScrollBar().addAdjustmentListener(this);
 
@@ -269,7 +260,7 @@ public class DiffDialog extends AbstractDialog implements AdjustmentListener {
                     javax.swing.JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
             jScrollPaneRight.setVerticalScrollBarPolicy(
                     javax.swing.JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-            jScrollPaneRight.setViewportView(getTxtDisplayRight());
+            jScrollPaneRight.setViewportView(getListDisplayRight());
             jScrollPaneRight.getHorizontalScrollBar().addAdjustmentListener(this);
             jScrollPaneRight.getVerticalScrollBar().addAdjustmentListener(this);
 
@@ -340,7 +331,31 @@ public class DiffDialog extends AbstractDialog implements AdjustmentListener {
     }
 
     public void clearPanels() {
-        this.getTxtDisplayLeft().setText("");
-        this.getTxtDisplayRight().setText("");
+        this.getListDisplayLeft().setModel(new DiffLinesModel(0, i -> DiffLine.EMPTY));
+        this.getListDisplayRight().setModel(new DiffLinesModel(0, i -> DiffLine.EMPTY));
+    }
+
+    /** A model of the lines of one side of the diff, rendered when requested by the list. */
+    private static class DiffLinesModel extends AbstractListModel<DiffLine> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int size;
+        private final transient IntFunction<DiffLine> lines;
+
+        DiffLinesModel(int size, IntFunction<DiffLine> lines) {
+            this.size = size;
+            this.lines = lines;
+        }
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public DiffLine getElementAt(int index) {
+            return lines.apply(index);
+        }
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import java.util.Collections;
+import java.util.List;
+
+/** A line of one side of a diff, as shown, with the ranges of its text that are highlighted. */
+class DiffLine {
+
+    static final DiffLine EMPTY = new DiffLine("", Collections.emptyList());
+
+    private final String text;
+    private final List<int[]> highlights;
+
+    /**
+     * Constructs a {@code DiffLine} with the given text and highlights.
+     *
+     * @param text the text of the line.
+     * @param highlights the ranges highlighted, start (inclusive) and end (exclusive) indexes.
+     */
+    DiffLine(String text, List<int[]> highlights) {
+        this.text = text;
+        this.highlights = highlights;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    List<int[]> getHighlights() {
+        return highlights;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import javax.swing.JComponent;
+import javax.swing.JList;
+import javax.swing.ListCellRenderer;
+
+/**
+ * A {@link ListCellRenderer} that paints a {@link DiffLine}, its text over the highlighted ranges.
+ *
+ * <p>Paints just the line, the rows of the diff are rendered only when shown.
+ */
+class DiffLineRenderer extends JComponent implements ListCellRenderer<DiffLine> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Color HIGHLIGHT_COLOR = Color.YELLOW;
+
+    private static final int INSET = 2;
+
+    private transient DiffLine line = DiffLine.EMPTY;
+    private boolean selected;
+
+    DiffLineRenderer() {
+        setOpaque(true);
+    }
+
+    /**
+     * Gets the width needed to paint the given text, with the given font metrics.
+     *
+     * @param fontMetrics the font metrics.
+     * @param text the text.
+     * @return the width.
+     */
+    static int getWidth(FontMetrics fontMetrics, String text) {
+        return fontMetrics.stringWidth(toPaintedText(text)) + INSET * 2;
+    }
+
+    @Override
+    public Component getListCellRendererComponent(
+            JList<? extends DiffLine> list,
+            DiffLine value,
+            int index,
+            boolean isSelected,
+            boolean cellHasFocus) {
+        line = value != null ? value : DiffLine.EMPTY;
+        selected = isSelected;
+        setFont(list.getFont());
+        setBackground(isSelected ? list.getSelectionBackground() : list.getBackground());
+        setForeground(isSelected ? list.getSelectionForeground() : list.getForeground());
+        return this;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+
+        String text = toPaintedText(line.getText());
+        if (text.isEmpty()) {
+            return;
+        }
+        FontMetrics fontMetrics = g.getFontMetrics(getFont());
+        if (!selected) {
+            g.setColor(HIGHLIGHT_COLOR);
+            for (int[] highlight : line.getHighlights()) {
+                int start = Math.min(highlight[0], text.length());
+                int end = Math.min(highlight[1], text.length());
+                if (start >= end) {
+                    continue;
+                }
+                int x = INSET + fontMetrics.stringWidth(text.substring(0, start));
+                int width = fontMetrics.stringWidth(text.substring(start, end));
+                g.fillRect(x, 0, width, getHeight());
+            }
+        }
+        g.setFont(getFont());
+        g.setColor(getForeground());
+        g.drawString(text, INSET, fontMetrics.getAscent());
+    }
+
+    /** Replaces the tabs with a space, which keeps the positions of the highlights. */
+    private static String toPaintedText(String text) {
+        return text.replace('\t', ' ');
+    }
+}
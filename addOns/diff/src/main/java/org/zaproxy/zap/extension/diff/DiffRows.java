@@ -0,0 +1,244 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import difflib.DiffRow;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import org.zaproxy.zap.extension.diff.diff_match_patch.Diff;
+import org.zaproxy.zap.extension.diff.diff_match_patch.Operation;
+
+/**
+ * The rows of a diff, computed in the background and rendered lazily into {@link DiffLine}s, only
+ * the rows shown by the {@link DiffDialog}.
+ *
+ * <p>The differences within the changed lines are computed when the line is first rendered, and
+ * kept for the most recently rendered lines.
+ *
+ * <p>Not thread-safe, the lines are rendered in the EDT.
+ */
+class DiffRows {
+
+    /** The maximum length of the changed lines whose differences are highlighted. */
+    private static final int MAX_INLINE_DIFF_LENGTH = 10_000;
+
+    /** The number of rows processed between checks for cancellation. */
+    private static final int CANCELLATION_CHECK_INTERVAL = 4096;
+
+    /** The number of changed lines whose differences are kept. */
+    private static final int INLINE_DIFFS_CACHE_SIZE = 1_000;
+
+    private static final int NO_LINE_NUMBER = -1;
+
+    private static final String LINE_NUMBER_SEPARATOR = " : ";
+
+    private final List<DiffRow> rows;
+    private final int[] leftLineNumbers;
+    private final int[] rightLineNumbers;
+    private final int longestLeftRow;
+    private final int longestRightRow;
+    private final diff_match_patch dmp;
+    private final Map<Integer, List<Diff>> inlineDiffs;
+
+    /**
+     * Constructs a {@code DiffRows} with the given rows.
+     *
+     * @param rows the rows of the diff.
+     * @param cancelled tells whether or not the computation was cancelled.
+     * @throws CancellationException if cancelled.
+     */
+    @SuppressWarnings("serial")
+    DiffRows(List<DiffRow> rows, BooleanSupplier cancelled) {
+        this.rows = rows;
+        this.leftLineNumbers = new int[rows.size()];
+        this.rightLineNumbers = new int[rows.size()];
+
+        int leftLine = 0;
+        int rightLine = 0;
+        int leftLongest = -1;
+        int rightLongest = -1;
+        for (int i = 0; i < rows.size(); i++) {
+            if (i % CANCELLATION_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            DiffRow row = rows.get(i);
+            boolean left;
+            boolean right;
+            switch (row.getTag()) {
+                case CHANGE:
+                    left = !row.getOldLine().isEmpty();
+                    right = !row.getNewLine().isEmpty();
+                    break;
+                case DELETE:
+                    left = true;
+                    right = false;
+                    break;
+                case INSERT:
+                    left = false;
+                    right = true;
+                    break;
+                case EQUAL:
+                default:
+                    left = true;
+                    right = true;
+            }
+            leftLineNumbers[i] = left ? leftLine++ : NO_LINE_NUMBER;
+            rightLineNumbers[i] = right ? rightLine++ : NO_LINE_NUMBER;
+
+            if (leftLongest == -1
+                    || row.getOldLine().length() > rows.get(leftLongest).getOldLine().length()) {
+                leftLongest = i;
+            }
+            if (rightLongest == -1
+                    || row.getNewLine().length() > rows.get(rightLongest).getNewLine().length()) {
+                rightLongest = i;
+            }
+        }
+        this.longestLeftRow = leftLongest;
+        this.longestRightRow = rightLongest;
+
+        this.dmp = new diff_match_patch();
+        this.inlineDiffs =
+                new LinkedHashMap<Integer, List<Diff>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Integer, List<Diff>> eldest) {
+                        return size() > INLINE_DIFFS_CACHE_SIZE;
+                    }
+                };
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the number of rows.
+     */
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * Gets the line of the left side (original) of the given row.
+     *
+     * @param index the index of the row.
+     * @return the line.
+     */
+    DiffLine getLeftLine(int index) {
+        return getLine(index, true);
+    }
+
+    /**
+     * Gets the line of the right side (revised) of the given row.
+     *
+     * @param index the index of the row.
+     * @return the line.
+     */
+    DiffLine getRightLine(int index) {
+        return getLine(index, false);
+    }
+
+    /**
+     * Gets the longest line of the left side, to know the width of the lines.
+     *
+     * @return the longest line, or {@link DiffLine#EMPTY} if no rows.
+     */
+    DiffLine getLongestLeftLine() {
+        return longestLeftRow == -1 ? DiffLine.EMPTY : getLeftLine(longestLeftRow);
+    }
+
+    /**
+     * Gets the longest line of the right side, to know the width of the lines.
+     *
+     * @return the longest line, or {@link DiffLine#EMPTY} if no rows.
+     */
+    DiffLine getLongestRightLine() {
+        return longestRightRow == -1 ? DiffLine.EMPTY : getRightLine(longestRightRow);
+    }
+
+    private DiffLine getLine(int index, boolean left) {
+        DiffRow row = rows.get(index);
+        int lineNumber = left ? leftLineNumbers[index] : rightLineNumbers[index];
+        if (lineNumber == NO_LINE_NUMBER && row.getTag() != DiffRow.Tag.CHANGE) {
+            return DiffLine.EMPTY;
+        }
+
+        String prefix = lineNumber == NO_LINE_NUMBER ? "" : lineNumber + LINE_NUMBER_SEPARATOR;
+        String line = left ? row.getOldLine() : row.getNewLine();
+        switch (row.getTag()) {
+            case EQUAL:
+                return new DiffLine(prefix + line, Collections.emptyList());
+            case DELETE:
+            case INSERT:
+                String text = prefix + line;
+                return new DiffLine(
+                        text, Collections.singletonList(new int[] {0, text.length()}));
+            case CHANGE:
+            default:
+                return createChangedLine(index, prefix, left);
+        }
+    }
+
+    private DiffLine createChangedLine(int index, String prefix, boolean left) {
+        Operation changed = left ? Operation.DELETE : Operation.INSERT;
+        StringBuilder text = new StringBuilder(prefix);
+        List<int[]> highlights = new ArrayList<>();
+        if (!prefix.isEmpty()) {
+            highlights.add(new int[] {0, prefix.length() - 1});
+        }
+        for (Diff diff : getInlineDiffs(index)) {
+            if (diff.operation == Operation.EQUAL) {
+                text.append(diff.text);
+            } else if (diff.operation == changed) {
+                int start = text.length();
+                text.append(diff.text);
+                highlights.add(new int[] {start, text.length()});
+            }
+        }
+        return new DiffLine(text.toString(), highlights);
+    }
+
+    private List<Diff> getInlineDiffs(int index) {
+        return inlineDiffs.computeIfAbsent(
+                index,
+                k -> {
+                    DiffRow row = rows.get(k);
+                    return diffLine(row.getOldLine(), row.getNewLine());
+                });
+    }
+
+    /**
+     * Computes the differences of the given changed lines, or none, to highlight them whole, if
+     * too long.
+     */
+    private List<Diff> diffLine(String line1, String line2) {
+        if (line1.length() > MAX_INLINE_DIFF_LENGTH || line2.length() > MAX_INLINE_DIFF_LENGTH) {
+            LinkedList<Diff> diffs = new LinkedList<>();
+            diffs.add(new Diff(Operation.DELETE, line1));
+            diffs.add(new Diff(Operation.INSERT, line2));
+            return diffs;
+        }
+        return dmp.diff_main(line1, line2);
+    }
+}
@@ -20,21 +20,38 @@
 package org.zaproxy.zap.extension.diff;
 
 import difflib.DiffRow;
+import difflib.DiffUtils;
+import difflib.Patch;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import javax.swing.SwingWorker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.extension.ExtensionAdaptor;
 import org.parosproxy.paros.extension.ExtensionHook;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.zap.extension.diff.ZapDiffRowGenerator.Builder;
-import org.zaproxy.zap.extension.diff.diff_match_patch.Diff;
 
 public class ExtensionDiff extends ExtensionAdaptor {
 
+    private static final Logger LOGGER = LogManager.getLogger(ExtensionDiff.class);
+
+    /** The number of lines from which the histogram diff is used. */
+    private static final int HISTOGRAM_DIFF_MIN_LINES = 5_000;
+
+    /** The number of characters from which the histogram diff is used. */
+    private static final long HISTOGRAM_DIFF_MIN_LENGTH = 1_000_000;
+
     private PopupMenuDiff popupMenuDiffRequests = null;
     private PopupMenuDiff popupMenuDiffResponses = null;
     private DiffDialog diffDialog = null;
+    private DiffWorker diffWorker;
 
     /** */
     public ExtensionDiff() {
@@ -49,6 +66,7 @@ public class ExtensionDiff extends ExtensionAdaptor {
 
     @Override
     public void unload() {
+        cancelDiff();
         if (hasView()) {
             if (diffDialog != null) {
                 diffDialog.dispose();
@@ -86,7 +104,7 @@ public class ExtensionDiff extends ExtensionAdaptor {
         return popupMenuDiffResponses;
     }
 
-    private void stringToList(String str, List<String> list) {
+    private static void stringToList(String str, List<String> list) {
         for (String s : str.split("\n")) {
             list.add(s);
         }
@@ -95,20 +113,20 @@ public class ExtensionDiff extends ExtensionAdaptor {
     private DiffDialog getDiffDialog() {
         if (diffDialog == null) {
             diffDialog = new DiffDialog(getView().getMainFrame(), false);
+            diffDialog.addComponentListener(
+                    new ComponentAdapter() {
+
+                        @Override
+                        public void componentHidden(ComponentEvent e) {
+                            cancelDiff();
+                        }
+                    });
         }
         return diffDialog;
     }
 
     public void showDiffDialog(HttpMessage msg1, HttpMessage msg2, boolean request)
             throws Exception {
-        /*
-         * This _is_ fairly nasty ;)
-         * This method uses 2 different classes/projects to work out the diffs.
-         * It uses diffutils to get the differing lines, and then diff_match_patch to identify the
-         * diffs in the pairs of lines.
-         * Be delighted if anyone can implement a cleaner option ;)
-         */
-
         if (msg1 == null || msg2 == null) {
             return;
         }
@@ -117,7 +135,66 @@ public class ExtensionDiff extends ExtensionAdaptor {
             return;
         }
         diffDialog.clearPanels();
+        diffDialog.setLeftHeader(msg1.getRequestHeader().getURI().toString());
+        diffDialog.setRightHeader(msg2.getRequestHeader().getURI().toString());
+        diffDialog.setComputing(true);
+
+        // The differences are computed in the background, the dialog is shown meanwhile and
+        // closing it cancels the computation
+        cancelDiff();
+        diffWorker = new DiffWorker(diffDialog, msg1, msg2, request);
+        diffWorker.execute();
+
+        diffDialog.setVisible(true);
+
+        // TODO scroll to first diff - initial attempts to do this have failed..
+    }
+
+    private void cancelDiff() {
+        if (diffWorker != null) {
+            diffWorker.cancel(false);
+            diffWorker = null;
+        }
+    }
+
+    /**
+     * Tells whether or not the given lines should be compared with the histogram algorithm, that
+     * is, if they are large.
+     */
+    private static boolean isLarge(List<String> lines1, List<String> lines2) {
+        if (lines1.size() + lines2.size() > HISTOGRAM_DIFF_MIN_LINES) {
+            return true;
+        }
+        long length = 0;
+        for (String line : lines1) {
+            length += line.length();
+        }
+        for (String line : lines2) {
+            length += line.length();
+        }
+        return length > HISTOGRAM_DIFF_MIN_LENGTH;
+    }
 
+    /**
+     * Computes the differences of the given messages.
+     *
+     * @param msg1 the first message.
+     * @param msg2 the second message.
+     * @param request {@code true} to compare the requests, {@code false} for the responses.
+     * @param cancelled tells whether or not the computation was cancelled.
+     * @return the rows to show.
+     * @throws CancellationException if cancelled.
+     */
+    private static DiffRows computeDiff(
+            HttpMessage msg1, HttpMessage msg2, boolean request, BooleanSupplier cancelled) {
+        /*
+         * This _is_ fairly nasty ;)
+         * This method uses 2 different classes/projects to work out the diffs.
+         * It uses diffutils (or the histogram diff, for large messages) to get the differing
+         * lines, and then diff_match_patch to identify the diffs in the pairs of lines, when
+         * the rows are shown.
+         * Be delighted if anyone can implement a cleaner option ;)
+         */
         List<String> msgList1 = new ArrayList<>();
         List<String> msgList2 = new ArrayList<>();
 
@@ -136,97 +213,49 @@ public class ExtensionDiff extends ExtensionAdaptor {
         Builder builder = new ZapDiffRowGenerator.Builder();
         ZapDiffRowGenerator drg = builder.build();
 
-        List<DiffRow> res = drg.generateDiffRows(msgList1, msgList2);
-        int leftLine = 0;
-        int rightLine = 0;
-        for (DiffRow dr : res) {
-            diff_match_patch dmp = new diff_match_patch();
-
-            switch (dr.getTag()) {
-                case CHANGE:
-                    if (dr.getOldLine().length() > 0) {
-                        diffDialog.appendLeftText(leftLine + " : ", true);
-                    }
-                    if (dr.getNewLine().length() > 0) {
-                        diffDialog.appendRightText(rightLine + " : ", true);
-                    }
-
-                    /*
-                     * Apply the highlighters after adding all the text.
-                     * Bit nasty, but otherwise when you insert test if moves the end of the highlighter
-                     * so everything is highlighted.
-                     */
-
-                    List<int[]> leftHighlighters = new ArrayList<>();
-                    List<int[]> rightHighlighters = new ArrayList<>();
-
-                    LinkedList<Diff> diffs = dmp.diff_main(dr.getOldLine(), dr.getNewLine());
-                    for (Diff diff : diffs) {
-                        int end = 0;
-                        switch (diff.operation) {
-                            case EQUAL:
-                                diffDialog.appendLeftText(diff.text, false);
-                                diffDialog.appendRightText(diff.text, false);
-                                break;
-                            case DELETE:
-                                end = diffDialog.appendLeftText(diff.text, false);
-                                leftHighlighters.add(new int[] {end - diff.text.length(), end});
-                                break;
-                            case INSERT:
-                                end = diffDialog.appendRightText(diff.text, false);
-                                rightHighlighters.add(new int[] {end - diff.text.length(), end});
-                                break;
-                        }
-                    }
-
-                    // These spaces prevent the next lines from moving any highlights at the end of
-                    // the line
-                    diffDialog.appendLeftText(" ", false);
-                    diffDialog.appendRightText(" ", false);
-
-                    for (int[] hl : leftHighlighters) {
-                        diffDialog.highlightLeftText(hl[0], hl[1]);
-                    }
-                    for (int[] hl : rightHighlighters) {
-                        diffDialog.highlightRightText(hl[0], hl[1]);
-                    }
-
-                    if (dr.getOldLine().length() > 0) {
-                        leftLine++;
-                    }
-                    if (dr.getNewLine().length() > 0) {
-                        rightLine++;
-                    }
-                    break;
-                case EQUAL:
-                    diffDialog.appendLeftText(leftLine + " : ", false);
-                    diffDialog.appendRightText(rightLine + " : ", false);
-
-                    diffDialog.appendLeftText(dr.getOldLine(), (dr.getTag() != DiffRow.Tag.EQUAL));
-                    diffDialog.appendRightText(dr.getNewLine(), (dr.getTag() != DiffRow.Tag.EQUAL));
-                    leftLine++;
-                    rightLine++;
-                    break;
-                case DELETE:
-                    diffDialog.appendLeftText(leftLine + " : ", (dr.getTag() != DiffRow.Tag.EQUAL));
-                    diffDialog.appendLeftText(dr.getOldLine(), (dr.getTag() != DiffRow.Tag.EQUAL));
-                    leftLine++;
-                    break;
-                case INSERT:
-                    diffDialog.appendRightText(
-                            rightLine + " : ", (dr.getTag() != DiffRow.Tag.EQUAL));
-                    diffDialog.appendRightText(dr.getNewLine(), (dr.getTag() != DiffRow.Tag.EQUAL));
-                    rightLine++;
-                    break;
-            }
-            diffDialog.appendLeftText("\n", false);
-            diffDialog.appendRightText("\n", false);
+        Patch<String> patch;
+        if (isLarge(msgList1, msgList2)) {
+            patch = new HistogramDiff(cancelled).diff(msgList1, msgList2);
+        } else {
+            patch = DiffUtils.diff(msgList1, msgList2);
         }
-        diffDialog.setLeftHeader(msg1.getRequestHeader().getURI().toString());
-        diffDialog.setRightHeader(msg2.getRequestHeader().getURI().toString());
+        List<DiffRow> rows = drg.generateDiffRows(msgList1, msgList2, patch, cancelled);
+        return new DiffRows(rows, cancelled);
+    }
 
-        diffDialog.setVisible(true);
+    /** Computes the differences in the background and shows them in the dialog, when done. */
+    private static class DiffWorker extends SwingWorker<DiffRows, Void> {
 
-        // TODO scroll to first diff - initial attempts to do this have failed..
+        private final DiffDialog diffDialog;
+        private final HttpMessage msg1;
+        private final HttpMessage msg2;
+        private final boolean request;
+
+        DiffWorker(DiffDialog diffDialog, HttpMessage msg1, HttpMessage msg2, boolean request) {
+            this.diffDialog = diffDialog;
+            this.msg1 = msg1;
+            this.msg2 = msg2;
+            this.request = request;
+        }
+
+        @Override
+        protected DiffRows doInBackground() {
+            return computeDiff(msg1, msg2, request, this::isCancelled);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                diffDialog.setRows(get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOGGER.error("Failed to compute the differences: {}", e.getMessage(), e);
+                diffDialog.setComputing(false);
+            }
+        }
     }
 }
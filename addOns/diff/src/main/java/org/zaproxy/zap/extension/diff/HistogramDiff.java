@@ -0,0 +1,286 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import difflib.ChangeDelta;
+import difflib.Chunk;
+import difflib.DeleteDelta;
+import difflib.Delta;
+import difflib.DiffUtils;
+import difflib.InsertDelta;
+import difflib.Patch;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A line diff using the histogram algorithm, suitable for large contents.
+ *
+ * <p>The lines are compared by their (interned) IDs. The common prefix and suffix are skipped, then
+ * the longest run of common lines containing the least frequent line is used to split the contents
+ * in two, which are compared the same way, until no common lines remain. The regions whose common
+ * lines are all too frequent are compared with {@link DiffUtils} if small enough, otherwise they
+ * are considered changed.
+ *
+ * <p>The time taken is usually linear in the number of lines, unlike the Myers algorithm which is
+ * quadratic in the worst case.
+ */
+class HistogramDiff {
+
+    /** The maximum number of occurrences of a line in a region to be used to split it. */
+    private static final int MAX_CHAIN_LENGTH = 64;
+
+    /** The maximum number of lines of a region to be compared with {@code DiffUtils}. */
+    private static final int MAX_FALLBACK_LINES = 1_000;
+
+    /** The number of lines processed between checks for cancellation. */
+    private static final int CANCELLATION_CHECK_INTERVAL = 4_096;
+
+    private final BooleanSupplier cancelled;
+
+    private int[] a;
+    private int[] b;
+    private List<String> original;
+    private List<String> revised;
+    private int linesProcessed;
+
+    /**
+     * Constructs a {@code HistogramDiff} with the given cancellation state.
+     *
+     * @param cancelled tells whether or not the diff was cancelled.
+     */
+    HistogramDiff(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Computes the differences between the given lines.
+     *
+     * @param original the original lines.
+     * @param revised the revised lines.
+     * @return the patch with the differences.
+     * @throws CancellationException if cancelled.
+     */
+    Patch<String> diff(List<String> original, List<String> revised) {
+        this.original = original;
+        this.revised = revised;
+        Map<String, Integer> ids = new HashMap<>();
+        a = toIds(original, ids);
+        b = toIds(revised, ids);
+
+        Patch<String> patch = new Patch<>();
+        for (int[] edit : computeEdits()) {
+            addDelta(patch, edit[0], edit[1], edit[2], edit[3]);
+        }
+        return patch;
+    }
+
+    private int[] toIds(List<String> lines, Map<String, Integer> ids) {
+        int[] lineIds = new int[lines.size()];
+        for (int i = 0; i < lineIds.length; i++) {
+            checkCancelled(1);
+            Integer id = ids.putIfAbsent(lines.get(i), ids.size());
+            lineIds[i] = id != null ? id : ids.size() - 1;
+        }
+        return lineIds;
+    }
+
+    /**
+     * Computes the edits, each with the start and end of the original lines followed by the start
+     * and end of the revised lines, in order.
+     */
+    private List<int[]> computeEdits() {
+        List<int[]> edits = new ArrayList<>();
+        // The regions are processed in order, the right region is pushed before the left one
+        Deque<int[]> regions = new ArrayDeque<>();
+        regions.push(new int[] {0, a.length, 0, b.length});
+        while (!regions.isEmpty()) {
+            int[] region = regions.pop();
+            int aStart = region[0];
+            int aEnd = region[1];
+            int bStart = region[2];
+            int bEnd = region[3];
+
+            while (aStart < aEnd && bStart < bEnd && a[aStart] == b[bStart]) {
+                aStart++;
+                bStart++;
+            }
+            while (aStart < aEnd && bStart < bEnd && a[aEnd - 1] == b[bEnd - 1]) {
+                aEnd--;
+                bEnd--;
+            }
+            if (aStart == aEnd || bStart == bEnd) {
+                addEdit(edits, aStart, aEnd, bStart, bEnd);
+                continue;
+            }
+
+            int[] split = findSplit(aStart, aEnd, bStart, bEnd);
+            if (split != null) {
+                regions.push(new int[] {split[1], aEnd, split[3], bEnd});
+                regions.push(new int[] {aStart, split[0], bStart, split[2]});
+            } else if (aEnd - aStart + bEnd - bStart <= MAX_FALLBACK_LINES) {
+                addFallbackEdits(edits, aStart, aEnd, bStart, bEnd);
+            } else {
+                addEdit(edits, aStart, aEnd, bStart, bEnd);
+            }
+        }
+        return edits;
+    }
+
+    /**
+     * Finds the longest run of common lines containing the least frequent line in the original
+     * region.
+     *
+     * @return the start and end of the run in the original lines followed by the start and end in
+     *     the revised lines, or {@code null} if all the common lines are too frequent.
+     */
+    private int[] findSplit(int aStart, int aEnd, int bStart, int bEnd) {
+        int length = aEnd - aStart;
+        int tableSize = Integer.highestOneBit(Math.max(length, 1) * 2 - 1) << 1;
+        int mask = tableSize - 1;
+        // The ID, last position and count of the lines of the region, in an open addressing table
+        int[] tableIds = new int[tableSize];
+        int[] tableLast = new int[tableSize];
+        int[] tableCounts = new int[tableSize];
+        // The previous position of the same line, for each position of the region
+        int[] previous = new int[length];
+        int[] slots = new int[length];
+
+        for (int i = aStart; i < aEnd; i++) {
+            int slot = findSlot(tableIds, tableCounts, mask, a[i]);
+            if (tableCounts[slot] == 0) {
+                tableIds[slot] = a[i];
+                previous[i - aStart] = -1;
+            } else {
+                previous[i - aStart] = tableLast[slot];
+            }
+            tableLast[slot] = i;
+            tableCounts[slot]++;
+            slots[i - aStart] = slot;
+        }
+        checkCancelled(length);
+
+        int[] best = null;
+        int bestCount = MAX_CHAIN_LENGTH + 1;
+        int bestLength = 0;
+        int bPos = bStart;
+        while (bPos < bEnd) {
+            checkCancelled(1);
+            int slot = findSlot(tableIds, tableCounts, mask, b[bPos]);
+            int count = tableCounts[slot];
+            if (count == 0 || count > bestCount) {
+                bPos++;
+                continue;
+            }
+
+            int nextBPos = bPos + 1;
+            for (int aPos = tableLast[slot]; aPos >= aStart; aPos = previous[aPos - aStart]) {
+                int as = aPos;
+                int bs = bPos;
+                int ae = aPos + 1;
+                int be = bPos + 1;
+                int runCount = count;
+                while (as > aStart && bs > bStart && a[as - 1] == b[bs - 1]) {
+                    as--;
+                    bs--;
+                    runCount = Math.min(runCount, tableCounts[slots[as - aStart]]);
+                }
+                while (ae < aEnd && be < bEnd && a[ae] == b[be]) {
+                    runCount = Math.min(runCount, tableCounts[slots[ae - aStart]]);
+                    ae++;
+                    be++;
+                }
+                if (runCount < bestCount || (runCount == bestCount && ae - as > bestLength)) {
+                    best = new int[] {as, ae, bs, be};
+                    bestCount = runCount;
+                    bestLength = ae - as;
+                }
+                nextBPos = Math.max(nextBPos, be);
+            }
+            bPos = nextBPos;
+        }
+        return best;
+    }
+
+    private static int findSlot(int[] tableIds, int[] tableCounts, int mask, int id) {
+        int slot = ((id * 0x9E3779B9) >>> 1) & mask;
+        while (tableCounts[slot] != 0 && tableIds[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void addFallbackEdits(List<int[]> edits, int aStart, int aEnd, int bStart, int bEnd) {
+        Patch<String> patch =
+                DiffUtils.diff(original.subList(aStart, aEnd), revised.subList(bStart, bEnd));
+        for (Delta<String> delta : patch.getDeltas()) {
+            Chunk<String> orig = delta.getOriginal();
+            Chunk<String> rev = delta.getRevised();
+            addEdit(
+                    edits,
+                    aStart + orig.getPosition(),
+                    aStart + orig.getPosition() + orig.size(),
+                    bStart + rev.getPosition(),
+                    bStart + rev.getPosition() + rev.size());
+        }
+    }
+
+    private static void addEdit(List<int[]> edits, int aStart, int aEnd, int bStart, int bEnd) {
+        if (aStart == aEnd && bStart == bEnd) {
+            return;
+        }
+        if (!edits.isEmpty()) {
+            int[] last = edits.get(edits.size() - 1);
+            if (last[1] == aStart && last[3] == bStart) {
+                last[1] = aEnd;
+                last[3] = bEnd;
+                return;
+            }
+        }
+        edits.add(new int[] {aStart, aEnd, bStart, bEnd});
+    }
+
+    private void addDelta(Patch<String> patch, int aStart, int aEnd, int bStart, int bEnd) {
+        Chunk<String> orig = new Chunk<>(aStart, original.subList(aStart, aEnd));
+        Chunk<String> rev = new Chunk<>(bStart, revised.subList(bStart, bEnd));
+        if (aStart == aEnd) {
+            patch.addDelta(new InsertDelta<>(orig, rev));
+        } else if (bStart == bEnd) {
+            patch.addDelta(new DeleteDelta<>(orig, rev));
+        } else {
+            patch.addDelta(new ChangeDelta<>(orig, rev));
+        }
+    }
+
+    private void checkCancelled(int lines) {
+        linesProcessed += lines;
+        if (linesProcessed >= CANCELLATION_CHECK_INTERVAL) {
+            linesProcessed = 0;
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+        }
+    }
+}
@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 
 import difflib.ChangeDelta;
 import difflib.Chunk;
@@ -59,6 +61,9 @@ import difflib.Patch;
 * @author <a href="dm.naumenko@gmail.com">Dmitry Naumenko</a>
 */
 public class ZapDiffRowGenerator {
+ // ZAP: The number of rows generated between checks for cancellation.
+ private static final int CANCELLATION_CHECK_INTERVAL = 4096;
+
  private final boolean showInlineDiffs;
  private final boolean ignoreWhiteSpaces;
  private final boolean ignoreBlankLines;
@@ -231,6 +236,22 @@ public class ZapDiffRowGenerator {
   * @return the DiffRows between original and revised texts
   */
  public List<DiffRow> generateDiffRows(List<String> original, List<String> revised, Patch<String> patch) {
+     return generateDiffRows(original, revised, patch, () -> false);
+ }
+
+ /**
+  * ZAP: Generates the DiffRows describing the difference between original and revised texts using
+  * the given patch, checking periodically whether or not the generation was cancelled.
+  *
+  * @param original the original text
+  * @param revised the revised text
+  * @param patch the given patch
+  * @param cancelled tells whether or not the generation was cancelled
+  * @return the DiffRows between original and revised texts
+  * @throws CancellationException if cancelled
+  */
+ public List<DiffRow> generateDiffRows(List<String> original, List<String> revised, Patch<String> patch,
+         BooleanSupplier cancelled) {
      // normalize the lines (expand tabs, escape html entities)
 	 // ZAP: Dont normalise the strings
      //original = StringUtills.normalize(original);
@@ -260,14 +281,14 @@ public class ZapDiffRowGenerator {
 
          // catch the equal prefix for each chunk
          for (String line : original.subList(endPos, orig.getPosition())) {
-             diffRows.add(new DiffRow(Tag.EQUAL, line, line));
+             addRow(diffRows, cancelled, new DiffRow(Tag.EQUAL, line, line));
          }
 
          // Inserted DiffRow
          if (delta.getClass().equals(InsertDelta.class)) {
              endPos = orig.last() + 1;
              for (String line : rev.getLines()) {
-                 diffRows.add(new DiffRow(Tag.INSERT, "", line));
+                 addRow(diffRows, cancelled, new DiffRow(Tag.INSERT, "", line));
              }
              continue;
          }
@@ -276,7 +297,7 @@ public class ZapDiffRowGenerator {
          if (delta.getClass().equals(DeleteDelta.class)) {
              endPos = orig.last() + 1;
              for (String line : orig.getLines()) {
-                 diffRows.add(new DiffRow(Tag.DELETE, line, ""));
+                 addRow(diffRows, cancelled, new DiffRow(Tag.DELETE, line, ""));
              }
              continue;
          }
@@ -287,17 +308,17 @@ public class ZapDiffRowGenerator {
          // the changed size is match
          if (orig.size() == rev.size()) {
              for (int j = 0; j < orig.size(); j++) {
-                 diffRows.add(new DiffRow(Tag.CHANGE, orig.getLines().get(j),
+                 addRow(diffRows, cancelled, new DiffRow(Tag.CHANGE, orig.getLines().get(j),
                          rev.getLines().get(j)));
              }
          } else if (orig.size() > rev.size()) {
              for (int j = 0; j < orig.size(); j++) {
-                 diffRows.add(new DiffRow(Tag.CHANGE, orig.getLines().get(j), rev
+                 addRow(diffRows, cancelled, new DiffRow(Tag.CHANGE, orig.getLines().get(j), rev
                          .getLines().size() > j ? rev.getLines().get(j) : ""));
              }
          } else {
              for (int j = 0; j < rev.size(); j++) {
-                 diffRows.add(new DiffRow(Tag.CHANGE, orig.getLines().size() > j ? orig
+                 addRow(diffRows, cancelled, new DiffRow(Tag.CHANGE, orig.getLines().size() > j ? orig
                          .getLines().get(j) : "", rev.getLines().get(j)));
              }
          }
@@ -306,11 +327,21 @@ public class ZapDiffRowGenerator {
 
      // Copy the final matching chunk if any.
      for (String line : original.subList(endPos, original.size())) {
-         diffRows.add(new DiffRow(Tag.EQUAL, line, line));
+         addRow(diffRows, cancelled, new DiffRow(Tag.EQUAL, line, line));
      }
      return diffRows;
  }
 
+ /**
+  * ZAP: Adds the given row, checking periodically whether or not the generation was cancelled.
+  */
+ private static void addRow(List<DiffRow> diffRows, BooleanSupplier cancelled, DiffRow row) {
+     if (diffRows.size() % CANCELLATION_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+         throw new CancellationException();
+     }
+     diffRows.add(row);
+ }
+
  /**
   * Add the inline diffs for given delta
   * @param delta the given delta
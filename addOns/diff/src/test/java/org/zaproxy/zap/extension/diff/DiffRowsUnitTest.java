@@ -0,0 +1,231 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import difflib.DiffRow;
+import difflib.DiffRow.Tag;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link DiffRows}. */
+class DiffRowsUnitTest {
+
+    @Test
+    void shouldHaveNoLinesIfNoRows() {
+        // Given
+        DiffRows diffRows = new DiffRows(Collections.emptyList(), () -> false);
+        // When
+        int size = diffRows.size();
+        // Then
+        assertThat(size, is(equalTo(0)));
+        assertThat(diffRows.getLongestLeftLine(), is(sameInstance(DiffLine.EMPTY)));
+        assertThat(diffRows.getLongestRightLine(), is(sameInstance(DiffLine.EMPTY)));
+    }
+
+    @Test
+    void shouldNotHighlightEqualLines() {
+        // Given
+        DiffRows diffRows = diffRows(new DiffRow(Tag.EQUAL, "a", "a"));
+        // When
+        DiffLine left = diffRows.getLeftLine(0);
+        DiffLine right = diffRows.getRightLine(0);
+        // Then
+        assertThat(left.getText(), is(equalTo("0 : a")));
+        assertThat(left.getHighlights(), hasSize(0));
+        assertThat(right.getText(), is(equalTo("0 : a")));
+        assertThat(right.getHighlights(), hasSize(0));
+    }
+
+    @Test
+    void shouldHighlightWholeDeletedLineAndHaveNoRightLine() {
+        // Given
+        DiffRows diffRows = diffRows(new DiffRow(Tag.DELETE, "a", ""));
+        // When
+        DiffLine left = diffRows.getLeftLine(0);
+        DiffLine right = diffRows.getRightLine(0);
+        // Then
+        assertThat(left.getText(), is(equalTo("0 : a")));
+        assertHighlights(left, 0, 5);
+        assertThat(right, is(sameInstance(DiffLine.EMPTY)));
+    }
+
+    @Test
+    void shouldHighlightWholeInsertedLineAndHaveNoLeftLine() {
+        // Given
+        DiffRows diffRows = diffRows(new DiffRow(Tag.INSERT, "", "b"));
+        // When
+        DiffLine left = diffRows.getLeftLine(0);
+        DiffLine right = diffRows.getRightLine(0);
+        // Then
+        assertThat(left, is(sameInstance(DiffLine.EMPTY)));
+        assertThat(right.getText(), is(equalTo("0 : b")));
+        assertHighlights(right, 0, 5);
+    }
+
+    @Test
+    void shouldHighlightLineNumberAndChangesOfChangedLines() {
+        // Given
+        DiffRows diffRows = diffRows(new DiffRow(Tag.CHANGE, "abc", "axc"));
+        // When
+        DiffLine left = diffRows.getLeftLine(0);
+        DiffLine right = diffRows.getRightLine(0);
+        // Then
+        assertThat(left.getText(), is(equalTo("0 : abc")));
+        assertHighlights(left, 0, 3, 5, 6);
+        assertThat(right.getText(), is(equalTo("0 : axc")));
+        assertHighlights(right, 0, 3, 5, 6);
+    }
+
+    @Test
+    void shouldHighlightWholeChangedLinesIfTooLong() {
+        // Given
+        String original = repeat('a', 10_001);
+        String revised = repeat('a', 10_000) + "b";
+        DiffRows diffRows = diffRows(new DiffRow(Tag.CHANGE, original, revised));
+        // When
+        DiffLine left = diffRows.getLeftLine(0);
+        DiffLine right = diffRows.getRightLine(0);
+        // Then
+        assertThat(left.getText(), is(equalTo("0 : " + original)));
+        assertHighlights(left, 0, 3, 4, 10_005);
+        assertThat(right.getText(), is(equalTo("0 : " + revised)));
+        assertHighlights(right, 0, 3, 4, 10_005);
+    }
+
+    @Test
+    void shouldNotNumberEmptySideOfChangedLines() {
+        // Given
+        DiffRows diffRows =
+                diffRows(
+                        new DiffRow(Tag.CHANGE, "a", "b"),
+                        new DiffRow(Tag.CHANGE, "", "c"),
+                        new DiffRow(Tag.EQUAL, "d", "d"));
+        // When
+        DiffLine left = diffRows.getLeftLine(1);
+        DiffLine right = diffRows.getRightLine(1);
+        // Then
+        assertThat(left.getText(), is(equalTo("")));
+        assertThat(left.getHighlights(), hasSize(0));
+        assertThat(right.getText(), is(equalTo("1 : c")));
+        assertThat(diffRows.getLeftLine(2).getText(), is(equalTo("1 : d")));
+        assertThat(diffRows.getRightLine(2).getText(), is(equalTo("2 : d")));
+    }
+
+    @Test
+    void shouldNumberLinesOfEachSide() {
+        // Given
+        DiffRows diffRows =
+                diffRows(
+                        new DiffRow(Tag.EQUAL, "a", "a"),
+                        new DiffRow(Tag.DELETE, "b", ""),
+                        new DiffRow(Tag.INSERT, "", "c"),
+                        new DiffRow(Tag.INSERT, "", "d"),
+                        new DiffRow(Tag.EQUAL, "e", "e"));
+        // When
+        DiffLine left = diffRows.getLeftLine(4);
+        DiffLine right = diffRows.getRightLine(4);
+        // Then
+        assertThat(diffRows.size(), is(equalTo(5)));
+        assertThat(left.getText(), is(equalTo("2 : e")));
+        assertThat(right.getText(), is(equalTo("3 : e")));
+    }
+
+    @Test
+    void shouldGetLongestLineOfEachSide() {
+        // Given
+        DiffRows diffRows =
+                diffRows(
+                        new DiffRow(Tag.EQUAL, "a", "a"),
+                        new DiffRow(Tag.DELETE, "bbbb", ""),
+                        new DiffRow(Tag.INSERT, "", "cc"),
+                        new DiffRow(Tag.EQUAL, "ddd", "ddd"));
+        // When
+        DiffLine left = diffRows.getLongestLeftLine();
+        DiffLine right = diffRows.getLongestRightLine();
+        // Then
+        assertThat(left.getText(), is(equalTo("1 : bbbb")));
+        assertThat(right.getText(), is(equalTo("2 : ddd")));
+    }
+
+    @Test
+    void shouldThrowIfCancelled() {
+        // Given
+        List<DiffRow> rows = Arrays.asList(new DiffRow(Tag.EQUAL, "a", "a"));
+        // When / Then
+        assertThrows(CancellationException.class, () -> new DiffRows(rows, () -> true));
+    }
+
+    @Test
+    void shouldGenerateRowsAndThrowIfCancelled() {
+        // Given
+        List<String> original = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            original.add("line " + i);
+        }
+        List<String> revised = new ArrayList<>(original);
+        revised.set(5_000, "changed");
+        ZapDiffRowGenerator generator = new ZapDiffRowGenerator.Builder().build();
+        // When
+        List<DiffRow> rows =
+                generator.generateDiffRows(
+                        original, revised, new HistogramDiff(() -> false).diff(original, revised));
+        // Then
+        assertThat(rows, hasSize(10_000));
+        assertThat(rows.get(5_000).getTag(), is(equalTo(Tag.CHANGE)));
+        assertThrows(
+                CancellationException.class,
+                () ->
+                        generator.generateDiffRows(
+                                original,
+                                revised,
+                                new HistogramDiff(() -> false).diff(original, revised),
+                                () -> true));
+    }
+
+    private static DiffRows diffRows(DiffRow... rows) {
+        return new DiffRows(Arrays.asList(rows), () -> false);
+    }
+
+    private static void assertHighlights(DiffLine line, int... ranges) {
+        List<int[]> highlights = line.getHighlights();
+        assertThat(highlights, hasSize(ranges.length / 2));
+        for (int i = 0; i < highlights.size(); i++) {
+            assertThat(highlights.get(i)[0], is(equalTo(ranges[i * 2])));
+            assertThat(highlights.get(i)[1], is(equalTo(ranges[i * 2 + 1])));
+        }
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import difflib.Patch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Benchmark of {@link HistogramDiff} and {@link DiffRows} with large HTML like contents.
+ *
+ * <p>Not run by default, to run it set the environment variable {@code ZAP_DIFF_BENCHMARK} to
+ * {@code true}, for example:
+ *
+ * <pre>
+ * ZAP_DIFF_BENCHMARK=true ./gradlew :addOns:diff:cleanTest :addOns:diff:test \
+ *     --tests '*HistogramDiffBenchmarkUnitTest'
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "ZAP_DIFF_BENCHMARK", matches = "true")
+class HistogramDiffBenchmarkUnitTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(HistogramDiffBenchmarkUnitTest.class);
+
+    private static final int MEGABYTE = 1024 * 1024;
+
+    private static final int WARM_UP_RUNS = 3;
+
+    private static final int RUNS = 5;
+
+    private static final int VISIBLE_ROWS = 100;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void diffLargeContents(int megabytes) throws Exception {
+        // Given
+        Random random = new Random(megabytes);
+        List<String> original = createHtmlLines(random, megabytes * MEGABYTE);
+        List<String> revised = mutate(random, original, original.size() / 1_000);
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            diff(original, revised);
+        }
+        // When
+        long start = System.nanoTime();
+        Patch<String> patch = null;
+        for (int i = 0; i < RUNS; i++) {
+            patch = diff(original, revised);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / RUNS;
+        // Then
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+        LOGGER.info(
+                "{} MB, {} lines, {} deltas: {} ms",
+                megabytes,
+                original.size(),
+                patch.getDeltas().size(),
+                elapsed);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void createRowsOfLargeContents(int megabytes) throws Exception {
+        // Given
+        Random random = new Random(megabytes);
+        List<String> original = createHtmlLines(random, megabytes * MEGABYTE);
+        List<String> revised = mutate(random, original, original.size() / 1_000);
+        Patch<String> patch = diff(original, revised);
+        ZapDiffRowGenerator generator = new ZapDiffRowGenerator.Builder().build();
+        // When
+        long start = System.nanoTime();
+        DiffRows rows =
+                new DiffRows(
+                        generator.generateDiffRows(original, revised, patch, () -> false),
+                        () -> false);
+        long created = System.nanoTime();
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            rows.getLeftLine(i);
+            rows.getRightLine(i);
+        }
+        long rendered = System.nanoTime();
+        // Then
+        assertThat(rows.size(), is(greaterThanOrEqualTo(original.size())));
+        LOGGER.info(
+                "{} MB, {} rows: created in {} ms, first {} rendered in {} ms",
+                megabytes,
+                rows.size(),
+                TimeUnit.NANOSECONDS.toMillis(created - start),
+                VISIBLE_ROWS,
+                TimeUnit.NANOSECONDS.toMillis(rendered - created));
+    }
+
+    private static Patch<String> diff(List<String> original, List<String> revised) {
+        return new HistogramDiff(() -> false).diff(original, revised);
+    }
+
+    private static List<String> createHtmlLines(Random random, int length) {
+        List<String> lines = new ArrayList<>();
+        int total = 0;
+        while (total < length) {
+            String line = createHtmlLine(random);
+            lines.add(line);
+            total += line.length() + 1;
+        }
+        return lines;
+    }
+
+    private static String createHtmlLine(Random random) {
+        switch (random.nextInt(8)) {
+            case 0:
+                return "<div class=\"row\">";
+            case 1:
+                return "</div>";
+            case 2:
+                return "";
+            case 3:
+                return "<td>" + random.nextInt(1_000) + "</td>";
+            case 4:
+                return "<a href=\"/item?id=" + random.nextInt() + "\">Item</a>";
+            default:
+                return "<p>Lorem ipsum dolor sit amet, consectetur adipiscing elit "
+                        + random.nextLong()
+                        + "</p>";
+        }
+    }
+
+    private static List<String> mutate(Random random, List<String> lines, int changes) {
+        List<String> mutated = new ArrayList<>(lines);
+        for (int i = 0; i < changes; i++) {
+            int pos = random.nextInt(mutated.size());
+            switch (random.nextInt(3)) {
+                case 0:
+                    mutated.add(pos, createHtmlLine(random));
+                    break;
+                case 1:
+                    mutated.remove(pos);
+                    break;
+                default:
+                    mutated.set(pos, createHtmlLine(random));
+            }
+        }
+        return mutated;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import difflib.Delta;
+import difflib.Patch;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Unit test for {@link HistogramDiff}. */
+class HistogramDiffUnitTest {
+
+    private HistogramDiff histogramDiff;
+
+    @BeforeEach
+    void setUp() {
+        histogramDiff = new HistogramDiff(() -> false);
+    }
+
+    @Test
+    void shouldNotHaveDeltasForSameLines() throws Exception {
+        // Given
+        List<String> original = Arrays.asList("a", "b", "c");
+        List<String> revised = Arrays.asList("a", "b", "c");
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.getDeltas(), hasSize(0));
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    @Test
+    void shouldOnlyHaveDeltaBetweenCommonPrefixAndSuffix() throws Exception {
+        // Given
+        List<String> original = Arrays.asList("a", "b", "c", "d", "e");
+        List<String> revised = Arrays.asList("a", "b", "x", "y", "d", "e");
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.getDeltas(), hasSize(1));
+        Delta<String> delta = patch.getDeltas().get(0);
+        assertThat(delta.getType(), is(equalTo(Delta.TYPE.CHANGE)));
+        assertThat(delta.getOriginal().getPosition(), is(equalTo(2)));
+        assertThat(delta.getOriginal().getLines(), is(equalTo(Arrays.asList("c"))));
+        assertThat(delta.getRevised().getPosition(), is(equalTo(2)));
+        assertThat(delta.getRevised().getLines(), is(equalTo(Arrays.asList("x", "y"))));
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    @Test
+    void shouldHaveInsertDeltaForAddedLines() throws Exception {
+        // Given
+        List<String> original = Arrays.asList("a", "b");
+        List<String> revised = Arrays.asList("a", "x", "b", "y");
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.getDeltas(), hasSize(2));
+        assertThat(patch.getDeltas().get(0).getType(), is(equalTo(Delta.TYPE.INSERT)));
+        assertThat(patch.getDeltas().get(1).getType(), is(equalTo(Delta.TYPE.INSERT)));
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    @Test
+    void shouldHaveDeleteDeltaForRemovedLines() throws Exception {
+        // Given
+        List<String> original = Arrays.asList("a", "x", "b", "y");
+        List<String> revised = Arrays.asList("a", "b");
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.getDeltas(), hasSize(2));
+        assertThat(patch.getDeltas().get(0).getType(), is(equalTo(Delta.TYPE.DELETE)));
+        assertThat(patch.getDeltas().get(1).getType(), is(equalTo(Delta.TYPE.DELETE)));
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    @Test
+    void shouldDiffEmptyLines() throws Exception {
+        // Given
+        List<String> original = Collections.emptyList();
+        List<String> revised = Arrays.asList("a", "b");
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.getDeltas(), hasSize(1));
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    @Test
+    void shouldDiffRepeatedLines() throws Exception {
+        // Given
+        List<String> original =
+                Arrays.asList("{", "a", "}", "{", "b", "}", "{", "c", "}", "", "{", "d", "}");
+        List<String> revised =
+                Arrays.asList("{", "a", "}", "{", "c", "}", "", "{", "b", "}", "{", "e", "}");
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    @Test
+    void shouldFallbackToDiffUtilsIfAllCommonLinesAreTooFrequent() throws Exception {
+        // Given
+        List<String> original = alternatingLines(200);
+        List<String> revised = new ArrayList<>(original);
+        Collections.reverse(revised);
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.getDeltas().size(), is(greaterThan(1)));
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    @Test
+    void shouldConsiderChangedLargeRegionWithTooFrequentCommonLines() throws Exception {
+        // Given
+        List<String> original = alternatingLines(2_000);
+        List<String> revised = new ArrayList<>(original);
+        Collections.reverse(revised);
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.getDeltas(), hasSize(1));
+        assertThat(patch.getDeltas().get(0).getType(), is(equalTo(Delta.TYPE.CHANGE)));
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10})
+    void shouldProducePatchThatAppliesToOriginal(long seed) throws Exception {
+        // Given
+        Random random = new Random(seed);
+        List<String> original = randomLines(random, 5_000);
+        List<String> revised = mutate(random, original);
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    @Test
+    void shouldThrowIfCancelled() {
+        // Given
+        histogramDiff = new HistogramDiff(() -> true);
+        List<String> original = randomLines(new Random(1), 10_000);
+        List<String> revised = randomLines(new Random(2), 10_000);
+        // When / Then
+        assertThrows(CancellationException.class, () -> histogramDiff.diff(original, revised));
+    }
+
+    @Test
+    void shouldCheckCancellationPeriodically() {
+        // Given
+        AtomicInteger checks = new AtomicInteger();
+        histogramDiff = new HistogramDiff(() -> checks.incrementAndGet() > 3);
+        List<String> original = randomLines(new Random(1), 10_000);
+        List<String> revised = randomLines(new Random(2), 10_000);
+        // When
+        assertThrows(CancellationException.class, () -> histogramDiff.diff(original, revised));
+        // Then
+        assertThat(checks.get(), is(equalTo(4)));
+    }
+
+    @Test
+    void shouldNotCheckCancellationForSmallContents() throws Exception {
+        // Given
+        histogramDiff = new HistogramDiff(() -> true);
+        List<String> original = Arrays.asList("a", "b", "c");
+        List<String> revised = Arrays.asList("a", "c", "d");
+        // When
+        Patch<String> patch = histogramDiff.diff(original, revised);
+        // Then
+        assertThat(patch.applyTo(original), is(equalTo(revised)));
+    }
+
+    private static List<String> alternatingLines(int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(i % 2 == 0 ? "x" : "y");
+        }
+        return lines;
+    }
+
+    private static List<String> randomLines(Random random, int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(randomLine(random));
+        }
+        return lines;
+    }
+
+    private static String randomLine(Random random) {
+        // Mostly repeated lines, as in HTML, with some unique ones
+        if (random.nextInt(4) == 0) {
+            return "line " + random.nextInt(100_000);
+        }
+        return "line " + random.nextInt(20);
+    }
+
+    private static List<String> mutate(Random random, List<String> lines) {
+        List<String> mutated = new ArrayList<>(lines);
+        for (int i = 0; i < 200; i++) {
+            int pos = random.nextInt(mutated.size());
+            switch (random.nextInt(3)) {
+                case 0:
+                    mutated.add(pos, randomLine(random));
+                    break;
+                case 1:
+                    mutated.remove(pos);
+                    break;
+                default:
+                    mutated.set(pos, randomLine(random));
+            }
+        }
+        return mutated;
+    }
+}
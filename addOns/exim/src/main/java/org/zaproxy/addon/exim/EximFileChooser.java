@@ -22,17 +22,39 @@ package org.zaproxy.addon.exim;
 import java.io.File;
 import javax.swing.filechooser.FileFilter;
 import org.parosproxy.paros.model.Model;
+import org.zaproxy.addon.exim.har.HarExporter;
 import org.zaproxy.zap.view.widgets.WritableFileChooser;
 
 public class EximFileChooser extends WritableFileChooser {
 
     private static final long serialVersionUID = 495386048962640141L;
     private final String fileExtension;
+    private final boolean gzipAllowed;
 
     public EximFileChooser(String fileExtension, String fileDescription) {
+        this(fileExtension, fileDescription, false);
+    }
+
+    /**
+     * Constructs an {@code EximFileChooser} with the given file extension and description.
+     *
+     * @param fileExtension the extension of the files.
+     * @param fileDescription the description of the files.
+     * @param gzipAllowed {@code true} if the files can also be compressed with gzip, that is, with
+     *     the extension followed by {@value HarExporter#GZIP_FILE_EXTENSION}, {@code false}
+     *     otherwise.
+     */
+    public EximFileChooser(String fileExtension, String fileDescription, boolean gzipAllowed) {
         super(Model.getSingleton().getOptionsParam().getUserDirectory());
         this.fileExtension = fileExtension;
-        setFileFilter(new EximFileFilter(fileExtension, fileDescription));
+        this.gzipAllowed = gzipAllowed;
+        setFileFilter(new EximFileFilter(fileDescription));
+    }
+
+    private boolean hasFileExtension(String fileName) {
+        return fileName.endsWith(fileExtension)
+                || (gzipAllowed
+                        && fileName.endsWith(fileExtension + HarExporter.GZIP_FILE_EXTENSION));
     }
 
     @Override
@@ -40,7 +62,7 @@ public class EximFileChooser extends WritableFileChooser {
         File file = getSelectedFile();
         if (file != null) {
             String fileName = file.getAbsolutePath();
-            if (!fileName.endsWith(fileExtension)) {
+            if (!hasFileExtension(fileName)) {
                 fileName += fileExtension;
                 setSelectedFile(new File(fileName));
             }
@@ -49,19 +71,17 @@ public class EximFileChooser extends WritableFileChooser {
         super.approveSelection();
     }
 
-    private static class EximFileFilter extends FileFilter {
+    private class EximFileFilter extends FileFilter {
 
-        private final String fileExtension;
         private final String fileDescription;
 
-        EximFileFilter(String fileExtension, String fileDescription) {
-            this.fileExtension = fileExtension;
+        EximFileFilter(String fileDescription) {
             this.fileDescription = fileDescription;
         }
 
         @Override
         public boolean accept(File file) {
-            return file.isDirectory() || (file.isFile() && file.getName().endsWith(fileExtension));
+            return file.isDirectory() || (file.isFile() && hasFileExtension(file.getName()));
         }
 
         @Override
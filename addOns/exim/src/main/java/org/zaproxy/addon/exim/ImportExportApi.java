@@ -19,11 +19,11 @@
  */
 package org.zaproxy.addon.exim;
 
-import edu.umass.cs.benchlab.har.HarEntries;
-import edu.umass.cs.benchlab.har.HarLog;
 import java.awt.EventQueue;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -42,6 +42,7 @@ import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpSender;
+import org.zaproxy.addon.exim.har.HarExporter;
 import org.zaproxy.addon.exim.har.HarImporter;
 import org.zaproxy.addon.exim.log.LogsImporter;
 import org.zaproxy.addon.exim.urls.UrlsImporter;
@@ -144,38 +145,31 @@ public class ImportExportApi extends ApiImplementor {
         if (OTHER_EXPORT_HAR_BY_ID.equals(name) || OTHER_EXPORT_HAR.equals(name)) {
             byte[] responseBody;
             try {
-                final HarEntries entries = new HarEntries();
-                if (OTHER_EXPORT_HAR_BY_ID.equals(name)) {
-                    TableHistory tableHistory = Model.getSingleton().getDb().getTableHistory();
-                    for (Integer id : getIds(params)) {
-                        RecordHistory recordHistory = getRecordHistory(tableHistory, id);
-                        addHarEntry(entries, recordHistory);
+                ByteArrayOutputStream os = new ByteArrayOutputStream();
+                try (HarExporter exporter = new HarExporter(os, true)) {
+                    if (OTHER_EXPORT_HAR_BY_ID.equals(name)) {
+                        TableHistory tableHistory =
+                                Model.getSingleton().getDb().getTableHistory();
+                        for (Integer id : getIds(params)) {
+                            exporter.addRecord(getRecordHistory(tableHistory, id));
+                        }
+                    } else {
+                        processHttpMessages(
+                                this.getParam(params, PARAM_BASE_URL, (String) null),
+                                this.getParam(params, PARAM_START, -1),
+                                this.getParam(params, PARAM_COUNT, -1),
+                                rh -> addRecord(exporter, rh));
                     }
-                } else {
-                    processHttpMessages(
-                            this.getParam(params, PARAM_BASE_URL, (String) null),
-                            this.getParam(params, PARAM_START, -1),
-                            this.getParam(params, PARAM_COUNT, -1),
-                            rh -> addHarEntry(entries, rh));
                 }
-
-                HarLog harLog = HarUtils.createZapHarLog();
-                harLog.setEntries(entries);
-
-                responseBody = HarUtils.harLogToByteArray(harLog);
+                responseBody = os.toByteArray();
             } catch (ApiException e) {
                 responseBody =
                         e.toString(API.Format.JSON, incErrorDetails())
                                 .getBytes(StandardCharsets.UTF_8);
+            } catch (UncheckedIOException e) {
+                responseBody = createInternalErrorResponse(e.getCause());
             } catch (Exception e) {
-                LOG.error(e.getMessage(), e);
-
-                ApiException apiException =
-                        new ApiException(ApiException.Type.INTERNAL_ERROR, e.getMessage());
-                responseBody =
-                        apiException
-                                .toString(API.Format.JSON, incErrorDetails())
-                                .getBytes(StandardCharsets.UTF_8);
+                responseBody = createInternalErrorResponse(e);
             }
 
             try {
@@ -212,36 +206,22 @@ public class ImportExportApi extends ApiImplementor {
                 } else {
                     boolean followRedirects = getParam(params, PARAM_FOLLOW_REDIRECTS, false);
                     try {
-                        final HarEntries entries = new HarEntries();
-                        sendRequest(
-                                request,
-                                followRedirects,
-                                httpMessage -> {
-                                    HistoryReference hRef = httpMessage.getHistoryRef();
-                                    entries.addEntry(
-                                            HarUtils.createHarEntry(
-                                                    hRef.getHistoryId(),
-                                                    hRef.getHistoryType(),
-                                                    httpMessage));
-                                });
-
-                        HarLog harLog = HarUtils.createZapHarLog();
-                        harLog.setEntries(entries);
-
-                        responseBody = HarUtils.harLogToByteArray(harLog);
+                        ByteArrayOutputStream os = new ByteArrayOutputStream();
+                        try (HarExporter exporter = new HarExporter(os, false)) {
+                            sendRequest(
+                                    request,
+                                    followRedirects,
+                                    httpMessage -> addMessage(exporter, httpMessage));
+                        }
+                        responseBody = os.toByteArray();
                     } catch (ApiException e) {
                         responseBody =
                                 e.toString(API.Format.JSON, incErrorDetails())
                                         .getBytes(StandardCharsets.UTF_8);
+                    } catch (UncheckedIOException e) {
+                        responseBody = createInternalErrorResponse(e.getCause());
                     } catch (Exception e) {
-                        LOG.error(e.getMessage(), e);
-
-                        ApiException apiException =
-                                new ApiException(ApiException.Type.INTERNAL_ERROR, e.getMessage());
-                        responseBody =
-                                apiException
-                                        .toString(API.Format.JSON, incErrorDetails())
-                                        .getBytes(StandardCharsets.UTF_8);
+                        responseBody = createInternalErrorResponse(e);
                     }
                 }
             }
@@ -261,6 +241,26 @@ public class ImportExportApi extends ApiImplementor {
         }
     }
 
+    /**
+     * Creates the response body of an internal error, caused by the given exception.
+     *
+     * <p>The {@link IOException}s thrown while writing the HAR are wrapped in an {@link
+     * UncheckedIOException}, which should be unwrapped before calling this method to have the
+     * same error as when thrown directly.
+     *
+     * @param e the exception that caused the error.
+     * @return the response body.
+     */
+    private byte[] createInternalErrorResponse(Exception e) {
+        LOG.error(e.getMessage(), e);
+
+        ApiException apiException =
+                new ApiException(ApiException.Type.INTERNAL_ERROR, e.getMessage());
+        return apiException
+                .toString(API.Format.JSON, incErrorDetails())
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
     private ApiResponseElement handleFileImportResponse(boolean success, File file)
             throws ApiException {
         if (success) {
@@ -301,18 +301,33 @@ public class ImportExportApi extends ApiImplementor {
     }
 
     /**
-     * Adds the given history record to the given {@code entries}.
+     * Adds the given history record to the given {@code exporter}.
      *
-     * @param entries where to add the new {@code HarEntry}.
-     * @param recordHistory the history record to add, after converting to {@code HarEntry}.
-     * @see HarUtils#createHarEntry(int, int, HttpMessage)
+     * @param exporter where to add the history record.
+     * @param recordHistory the history record to add.
+     * @throws UncheckedIOException if an error occurred while writing the HAR.
      */
-    private static void addHarEntry(HarEntries entries, RecordHistory recordHistory) {
-        entries.addEntry(
-                HarUtils.createHarEntry(
-                        recordHistory.getHistoryId(),
-                        recordHistory.getHistoryType(),
-                        recordHistory.getHttpMessage()));
+    private static void addRecord(HarExporter exporter, RecordHistory recordHistory) {
+        try {
+            exporter.addRecord(recordHistory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds the given message to the given {@code exporter}.
+     *
+     * @param exporter where to add the message.
+     * @param message the message to add.
+     * @throws UncheckedIOException if an error occurred while writing the HAR.
+     */
+    private static void addMessage(HarExporter exporter, HttpMessage message) {
+        try {
+            exporter.addMessage(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private boolean incErrorDetails() {
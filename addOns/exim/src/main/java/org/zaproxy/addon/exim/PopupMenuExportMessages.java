@@ -19,9 +19,8 @@
  */
 package org.zaproxy.addon.exim;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.util.List;
 import javax.swing.JFileChooser;
 import javax.swing.JMenuItem;
@@ -32,6 +31,7 @@ import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.extension.history.ExtensionHistory;
 import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.exim.har.HarExporter;
 import org.zaproxy.zap.utils.Stats;
 import org.zaproxy.zap.view.widgets.WritableFileChooser;
 
@@ -89,8 +89,7 @@ public class PopupMenuExportMessages extends JMenuItem {
                         }
                     }
 
-                    try (BufferedOutputStream bos =
-                            new BufferedOutputStream(new FileOutputStream(file, append)); ) {
+                    try (OutputStream bos = HarExporter.createOutputStream(file, append)) {
 
                         for (HistoryReference href : hrefs) {
                             HttpMessage msg = null;
@@ -110,7 +109,7 @@ public class PopupMenuExportMessages extends JMenuItem {
                 });
     }
 
-    private void exportHistory(HttpMessage msg, BufferedOutputStream bos, boolean responsesOnly) {
+    private void exportHistory(HttpMessage msg, OutputStream bos, boolean responsesOnly) {
 
         try {
             if (responsesOnly) {
@@ -0,0 +1,245 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.har;
+
+import edu.umass.cs.benchlab.har.HarEntry;
+import edu.umass.cs.benchlab.har.HarLog;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.parosproxy.paros.db.RecordHistory;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.utils.HarUtils;
+
+/**
+ * Exports messages to HAR, one entry at a time.
+ *
+ * <p>The entries are written as the messages are added, with a streaming JSON writer, only the
+ * messages of the current batch are kept. The messages of a batch can be converted to entries in
+ * parallel, which is mostly the encoding of the bodies, the entries are still written in the order
+ * the messages were added.
+ *
+ * <p>The HAR is complete only once the exporter is closed.
+ */
+public class HarExporter implements Closeable {
+
+    /** The extension of the files that are compressed with gzip. */
+    public static final String GZIP_FILE_EXTENSION = ".gz";
+
+    /** The number of messages converted to entries at once. */
+    static final int BATCH_SIZE = 100;
+
+    static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private final boolean parallel;
+    private final List<PendingEntry> batch;
+    private int entryCount;
+    private boolean closed;
+
+    /**
+     * Constructs a {@code HarExporter} that writes to the given output stream.
+     *
+     * <p>The output stream is closed when the exporter is closed.
+     *
+     * @param os the output stream to write the HAR.
+     * @param parallel {@code true} if the messages should be converted in parallel, {@code false}
+     *     otherwise.
+     * @throws IOException if an error occurred while writing the start of the HAR.
+     */
+    public HarExporter(OutputStream os, boolean parallel) throws IOException {
+        this.generator = JSON_FACTORY.createJsonGenerator(os, JsonEncoding.UTF8);
+        this.parallel = parallel;
+        this.batch = new ArrayList<>(BATCH_SIZE);
+
+        HarLog harLog = HarUtils.createZapHarLog();
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("log");
+        generator.writeStringField("version", harLog.getVersion());
+        generator.writeObjectFieldStart("creator");
+        generator.writeStringField("name", harLog.getCreator().getName());
+        generator.writeStringField("version", harLog.getCreator().getVersion());
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("entries");
+    }
+
+    /**
+     * Creates a buffered output stream to the given file, compressed with gzip if the name of the
+     * file ends with {@value #GZIP_FILE_EXTENSION}.
+     *
+     * @param file the file to write.
+     * @param append {@code true} if the file should be appended, {@code false} otherwise.
+     * @return the output stream.
+     * @throws IOException if an error occurred while opening the file.
+     */
+    public static OutputStream createOutputStream(File file, boolean append) throws IOException {
+        OutputStream os = new FileOutputStream(file, append);
+        try {
+            if (isGzipFile(file)) {
+                return new BufferedOutputStream(
+                        new GZIPOutputStream(os, FILE_BUFFER_SIZE), FILE_BUFFER_SIZE);
+            }
+            return new BufferedOutputStream(os, FILE_BUFFER_SIZE);
+        } catch (IOException e) {
+            os.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Tells whether or not the given file is compressed with gzip, based on its name.
+     *
+     * @param file the file.
+     * @return {@code true} if the file is compressed, {@code false} otherwise.
+     */
+    public static boolean isGzipFile(File file) {
+        return file.getName().toLowerCase(Locale.ROOT).endsWith(GZIP_FILE_EXTENSION);
+    }
+
+    /**
+     * Adds the given message, with its history ID and type, if any.
+     *
+     * @param message the message to add.
+     * @throws IOException if an error occurred while writing the entries.
+     */
+    public void addMessage(HttpMessage message) throws IOException {
+        HistoryReference historyRef = message.getHistoryRef();
+        if (historyRef == null) {
+            add(new PendingEntry(-1, -1, message));
+        } else {
+            add(
+                    new PendingEntry(
+                            historyRef.getHistoryId(), historyRef.getHistoryType(), message));
+        }
+    }
+
+    /**
+     * Adds the message of the given history record, with its history ID and type.
+     *
+     * @param recordHistory the history record to add.
+     * @throws IOException if an error occurred while writing the entries.
+     */
+    public void addRecord(RecordHistory recordHistory) throws IOException {
+        add(
+                new PendingEntry(
+                        recordHistory.getHistoryId(),
+                        recordHistory.getHistoryType(),
+                        recordHistory.getHttpMessage()));
+    }
+
+    private void add(PendingEntry entry) throws IOException {
+        if (closed) {
+            throw new IOException("The exporter is already closed.");
+        }
+        batch.add(entry);
+        if (batch.size() >= BATCH_SIZE) {
+            writeBatch();
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<HarEntry> entries;
+        if (parallel && batch.size() > 1) {
+            entries =
+                    batch.parallelStream()
+                            .map(PendingEntry::toHarEntry)
+                            .collect(Collectors.toList());
+        } else {
+            entries = new ArrayList<>(batch.size());
+            for (PendingEntry entry : batch) {
+                entries.add(entry.toHarEntry());
+            }
+        }
+        batch.clear();
+
+        for (HarEntry entry : entries) {
+            entry.writeHar(generator);
+        }
+        entryCount += entries.size();
+    }
+
+    /**
+     * Gets the number of entries written.
+     *
+     * @return the number of entries.
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Writes the pending entries and the end of the HAR, and closes the output stream.
+     *
+     * @throws IOException if an error occurred while writing the HAR.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeBatch();
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        } finally {
+            generator.close();
+        }
+    }
+
+    private static class PendingEntry {
+
+        private final int historyId;
+        private final int historyType;
+        private final HttpMessage message;
+
+        PendingEntry(int historyId, int historyType, HttpMessage message) {
+            this.historyId = historyId;
+            this.historyType = historyType;
+            this.message = message;
+        }
+
+        HarEntry toHarEntry() {
+            if (historyId == -1) {
+                return HarUtils.createHarEntry(message);
+            }
+            return HarUtils.createHarEntry(historyId, historyType, message);
+        }
+    }
+}
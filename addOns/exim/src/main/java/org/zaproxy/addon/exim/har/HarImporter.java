@@ -25,13 +25,21 @@ import edu.umass.cs.benchlab.har.HarEntry;
 import edu.umass.cs.benchlab.har.HarHeader;
 import edu.umass.cs.benchlab.har.HarLog;
 import edu.umass.cs.benchlab.har.HarResponse;
-import edu.umass.cs.benchlab.har.tools.HarFileReader;
+import edu.umass.cs.benchlab.har.HarWarning;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control;
 import org.parosproxy.paros.extension.history.ExtensionHistory;
@@ -54,6 +62,12 @@ public class HarImporter {
     private static final String STATS_HAR_FILE_ERROR = "import.har.file.errors";
     private static final String STATS_HAR_FILE_MSG = "import.har.file.message";
     private static final String STATS_HAR_FILE_MSG_ERROR = "import.har.file.message.errors";
+
+    /** The number of messages added to the history and Sites tree at once. */
+    private static final int BATCH_SIZE = 100;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private ProgressPaneListener progressListener;
     private boolean success;
     private static ExtensionHistory extHistory;
@@ -132,36 +146,161 @@ public class HarImporter {
         }
     }
 
-    private void processMessages(File file) throws IOException {
-        List<HttpMessage> messages =
-                HarImporter.getHttpMessages(new HarFileReader().readHarFile(file));
-        int count = 1;
-        for (HttpMessage msg : messages) {
-            persistMessage(msg);
-            updateProgress(count, msg.getRequestHeader().getURI().toString());
-            count++;
+    /**
+     * Counts the entries of the given HAR file, without reading them.
+     *
+     * @param file the HAR file.
+     * @return the number of entries.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public static int countEntries(File file) throws IOException {
+        int[] count = {0};
+        forEachEntry(
+                file,
+                jp -> {
+                    jp.skipChildren();
+                    count[0]++;
+                });
+        return count[0];
+    }
+
+    /**
+     * Reads the messages of the given HAR file, one entry at a time. The entries that can not be
+     * converted to messages are skipped.
+     *
+     * @param file the HAR file.
+     * @param consumer the consumer of the messages.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    static void readHttpMessages(File file, Consumer<HttpMessage> consumer) throws IOException {
+        List<HarWarning> warnings = new ArrayList<>();
+        forEachEntry(
+                file,
+                jp -> {
+                    HarEntry entry = new HarEntry(jp, warnings);
+                    warnings.clear();
+                    HttpMessage message;
+                    try {
+                        message = getHttpMessage(entry);
+                    } catch (HttpMalformedHeaderException e) {
+                        LOG.warn(e.getMessage());
+                        Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_HAR_FILE_MSG_ERROR);
+                        return;
+                    }
+                    consumer.accept(message);
+                });
+    }
+
+    /**
+     * Calls the given visitor for each entry of the HAR file, with the parser at the start of the
+     * entry. The visitor must read the whole entry.
+     */
+    private static void forEachEntry(File file, EntryVisitor visitor) throws IOException {
+        try (InputStream is = createInputStream(file);
+                JsonParser jp = JSON_FACTORY.createJsonParser(is)) {
+            if (jp.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("The HAR file does not start with an object: " + file);
+            }
+            while (jp.nextToken() == JsonToken.FIELD_NAME) {
+                String name = jp.getCurrentName();
+                if (jp.nextToken() == JsonToken.START_OBJECT && "log".equals(name)) {
+                    forEachLogEntry(jp, visitor);
+                } else {
+                    jp.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static InputStream createInputStream(File file) throws IOException {
+        InputStream is = new FileInputStream(file);
+        try {
+            if (HarExporter.isGzipFile(file)) {
+                return new GZIPInputStream(is, HarExporter.FILE_BUFFER_SIZE);
+            }
+            return new BufferedInputStream(is, HarExporter.FILE_BUFFER_SIZE);
+        } catch (IOException e) {
+            is.close();
+            throw e;
+        }
+    }
+
+    private static void forEachLogEntry(JsonParser jp, EntryVisitor visitor) throws IOException {
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String name = jp.getCurrentName();
+            if (jp.nextToken() == JsonToken.START_ARRAY && "entries".equals(name)) {
+                while (jp.nextToken() == JsonToken.START_OBJECT) {
+                    visitor.visit(jp);
+                }
+            } else {
+                jp.skipChildren();
+            }
         }
     }
 
-    private static void persistMessage(HttpMessage message) {
-        HistoryReference historyRef;
+    private interface EntryVisitor {
+
+        void visit(JsonParser jp) throws IOException;
+    }
+
+    private void processMessages(File file) throws IOException {
+        List<HistoryReference> historyRefs = new ArrayList<>(BATCH_SIZE);
+        List<HttpMessage> messages = new ArrayList<>(BATCH_SIZE);
+        int[] count = {0};
+        String[] lastUrl = {null};
+        readHttpMessages(
+                file,
+                msg -> {
+                    HistoryReference historyRef = persistMessage(msg);
+                    count[0]++;
+                    lastUrl[0] = msg.getRequestHeader().getURI().toString();
+                    if (historyRef != null) {
+                        historyRefs.add(historyRef);
+                        messages.add(msg);
+                    }
+                    if (count[0] % BATCH_SIZE == 0) {
+                        addMessages(historyRefs, messages);
+                        updateProgress(count[0], lastUrl[0]);
+                    }
+                });
+        addMessages(historyRefs, messages);
+        if (count[0] % BATCH_SIZE != 0) {
+            updateProgress(count[0], lastUrl[0]);
+        }
+    }
 
+    private static HistoryReference persistMessage(HttpMessage message) {
         try {
-            historyRef =
+            HistoryReference historyRef =
                     new HistoryReference(
                             Model.getSingleton().getSession(),
                             HistoryReference.TYPE_ZAP_USER,
                             message);
             Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_HAR_FILE_MSG);
+            return historyRef;
         } catch (Exception e) {
             LOG.warn(e.getMessage());
             Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_HAR_FILE_MSG_ERROR);
-            return;
+            return null;
         }
+    }
 
-        if (getExtensionHistory() != null) {
-            ThreadUtils.invokeAndWaitHandled(() -> addMessage(historyRef, message));
+    /**
+     * Adds the given messages to the history and Sites tree, at once, and clears the lists for the
+     * next batch.
+     */
+    private static void addMessages(
+            List<HistoryReference> historyRefs, List<HttpMessage> messages) {
+        if (!historyRefs.isEmpty() && getExtensionHistory() != null) {
+            ThreadUtils.invokeAndWaitHandled(
+                    () -> {
+                        for (int i = 0; i < historyRefs.size(); i++) {
+                            addMessage(historyRefs.get(i), messages.get(i));
+                        }
+                    });
         }
+        historyRefs.clear();
+        messages.clear();
     }
 
     private static ExtensionHistory getExtensionHistory() {
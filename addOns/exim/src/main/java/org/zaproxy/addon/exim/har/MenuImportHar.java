@@ -19,7 +19,6 @@
  */
 package org.zaproxy.addon.exim.har;
 
-import edu.umass.cs.benchlab.har.tools.HarFileReader;
 import java.io.File;
 import java.io.IOException;
 import javax.swing.JFileChooser;
@@ -64,12 +63,7 @@ public class MenuImportHar extends ZapMenuItem {
                                         int tasks = 0;
                                         boolean indeterminate;
                                         try {
-                                            tasks =
-                                                    new HarFileReader()
-                                                            .readHarFile(file)
-                                                            .getEntries()
-                                                            .getEntries()
-                                                            .size();
+                                            tasks = HarImporter.countEntries(file);
                                             indeterminate = false;
                                         } catch (IOException e) {
                                             indeterminate = true;
@@ -19,13 +19,8 @@
  */
 package org.zaproxy.addon.exim.har;
 
-import edu.umass.cs.benchlab.har.HarEntries;
-import edu.umass.cs.benchlab.har.HarLog;
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.text.MessageFormat;
 import java.util.List;
 import javax.swing.JFileChooser;
@@ -36,7 +31,6 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.view.View;
 import org.zaproxy.addon.exim.EximFileChooser;
 import org.zaproxy.addon.exim.ExtensionExim;
-import org.zaproxy.zap.utils.HarUtils;
 import org.zaproxy.zap.utils.Stats;
 import org.zaproxy.zap.view.popup.PopupMenuItemHttpMessageContainer;
 
@@ -76,8 +70,12 @@ public class PopupMenuItemSaveHarMessage extends PopupMenuItemHttpMessageContain
         if (file == null) {
             return;
         }
-        try (OutputStream os = new BufferedOutputStream(new FileOutputStream(file))) {
-            os.write(packRequestInHarArchive(httpMessages));
+        try (HarExporter exporter =
+                new HarExporter(HarExporter.createOutputStream(file, false), true)) {
+            for (HttpMessage httpMessage : httpMessages) {
+                exporter.addMessage(httpMessage);
+                Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_SAVE_HAR_FILE_MSG);
+            }
             Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_SAVE_HAR_FILE);
         } catch (IOException e) {
             View.getSingleton()
@@ -92,29 +90,8 @@ public class PopupMenuItemSaveHarMessage extends PopupMenuItemHttpMessageContain
         // Nothing to do, messages are handled as a whole.
     }
 
-    private static byte[] packRequestInHarArchive(List<HttpMessage> httpMessages)
-            throws IOException {
-        HarLog harLog = HarUtils.createZapHarLog();
-        HarEntries entries = new HarEntries();
-        httpMessages.forEach(
-                httpMessage -> {
-                    if (httpMessage.getHistoryRef() == null) {
-                        entries.addEntry(HarUtils.createHarEntry(httpMessage));
-                    } else {
-                        entries.addEntry(
-                                HarUtils.createHarEntry(
-                                        httpMessage.getHistoryRef().getHistoryId(),
-                                        httpMessage.getHistoryRef().getHistoryType(),
-                                        httpMessage));
-                    }
-                    Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_SAVE_HAR_FILE_MSG);
-                });
-        harLog.setEntries(entries);
-        return HarUtils.harLogToByteArray(harLog);
-    }
-
     private static File getOutputFile() {
-        JFileChooser fileChooser = new EximFileChooser(HAR_FILE_EXTENSION, FILE_DESCRIPTION);
+        JFileChooser fileChooser = new EximFileChooser(HAR_FILE_EXTENSION, FILE_DESCRIPTION, true);
         int rc = fileChooser.showSaveDialog(View.getSingleton().getMainFrame());
         if (rc == JFileChooser.APPROVE_OPTION) {
             return fileChooser.getSelectedFile();
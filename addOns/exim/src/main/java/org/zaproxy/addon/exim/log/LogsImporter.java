@@ -19,17 +19,10 @@
  */
 package org.zaproxy.addon.exim.log;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jwall.web.audit.AuditEvent;
@@ -40,7 +33,6 @@ import org.parosproxy.paros.db.DatabaseException;
 import org.parosproxy.paros.extension.history.ExtensionHistory;
 import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.model.Model;
-import org.parosproxy.paros.model.Session;
 import org.parosproxy.paros.model.SiteMap;
 import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
@@ -51,6 +43,7 @@ import org.zaproxy.addon.exim.ExtensionExim;
 import org.zaproxy.zap.network.HttpRequestBody;
 import org.zaproxy.zap.network.HttpResponseBody;
 import org.zaproxy.zap.utils.Stats;
+import org.zaproxy.zap.utils.ThreadUtils;
 
 public class LogsImporter {
 
@@ -58,12 +51,15 @@ public class LogsImporter {
     private static final String STATS_ZAP_FILE = "import.zap.file";
     private static final String STATS_ZAP_FILE_ERROR = "import.zap.file.errors";
     private static final String STATS_ZAP_FILE_MSG = "import.zap.file.message";
-    private static final String STATS_ZAP_FILE_MSG_ERROR = "import.zap.file.message.errors";
+    static final String STATS_ZAP_FILE_MSG_ERROR = "import.zap.file.message.errors";
     private static final String STATS_MODSEC2_FILE = "import.modsec2.file";
     private static final String STATS_MODSEC2_FILE_ERROR = "import.modsec2.file.errors";
     private static final String STATS_MODSEC2_FILE_MSG = "import.modsec2.file.message";
     private static final String STATS_MODSEC2_FILE_MSG_ERROR = "import.modsec2.file.message.errors";
 
+    /** The number of messages added to the history and Sites tree at once. */
+    private static final int BATCH_SIZE = 100;
+
     private ProgressPaneListener progressListener;
     private boolean success;
 
@@ -126,8 +122,7 @@ public class LogsImporter {
 
     private static void addToTree(HistoryReference historyRef) {
         SiteMap currentTree = Model.getSingleton().getSession().getSiteTree();
-        ExtensionHistory extHistory =
-                Control.getSingleton().getExtensionLoader().getExtension(ExtensionHistory.class);
+        ExtensionHistory extHistory = getExtensionHistory();
 
         currentTree.addPath(historyRef);
         extHistory.addHistory(historyRef);
@@ -144,10 +139,9 @@ public class LogsImporter {
     private boolean processInput(File newFile, LogType logChoice) {
         if (logChoice == LogType.ZAP) {
             try {
-                List<String> parsedText = readFile(newFile);
                 Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_ZAP_FILE);
                 ExtensionExim.updateOutput("exim.output.start", newFile.toPath().toString());
-                processZapLogs(parsedText);
+                processZapLogs(newFile);
                 ExtensionExim.updateOutput("exim.output.end", newFile.toPath().toString());
             } catch (IOException e) {
                 LOG.warn(e.getMessage());
@@ -173,101 +167,73 @@ public class LogsImporter {
         return true;
     }
 
-    private static List<String> readFile(File file) throws IOException {
-        List<String> parsed = new ArrayList<>();
-        Charset charset = StandardCharsets.US_ASCII;
-        BufferedReader reader = Files.newBufferedReader(file.toPath(), charset);
-        Scanner sc = new Scanner(reader);
-        sc.useDelimiter(Pattern.compile("====\\s[0-9]*\\s=========="));
-        while (sc.hasNext()) {
-            parsed.add(sc.next());
-        }
-        sc.close();
-        return parsed;
+    private void processZapLogs(File file) throws IOException {
+        List<HistoryReference> historyRefs = new ArrayList<>(BATCH_SIZE);
+        List<HttpMessage> messages = new ArrayList<>(BATCH_SIZE);
+        new ZapLogReader()
+                .read(
+                        file.toPath(),
+                        message -> {
+                            HistoryReference historyRef =
+                                    createHistoryReference(message, LogType.ZAP);
+                            if (historyRef != null) {
+                                historyRefs.add(historyRef);
+                                messages.add(message);
+                            }
+                            if (historyRefs.size() == BATCH_SIZE) {
+                                addMessages(historyRefs, messages);
+                            }
+                        });
+        addMessages(historyRefs, messages);
     }
 
-    private void processZapLogs(List<String> parsedRequestAndResponse)
-            throws HttpMalformedHeaderException {
-        // http://www.w3.org/Protocols/rfc2616/rfc2616-sec5.html
-        Pattern requestP =
-                Pattern.compile("^OPTIONS|^GET|^HEAD|^POST|^PUT|^DELETE|^TRACE|^CONNECT");
-
-        // http://www.w3.org/Protocols/rfc2616/rfc2616-sec6.html
-        // Not sure whether to use the allchars-then-allwhitespacechars or just the DOTALL to get
-        // the httprequestbody?
-        Pattern responseP =
-                Pattern.compile(
-                        "(\\S*\\s*)?(HTTP/[0-9].[0-9]\\s[0-9]{3}.*)",
-                        Pattern.DOTALL | Pattern.MULTILINE);
-        // Pattern responseP = Pattern.compile("(.*)?(HTTP/[0-9].[0-9]\\s[0-9]{3}.*)",
-        // Pattern.DOTALL | Pattern.MULTILINE);
-
-        // Add capture group as we want to just match the html, not the rest of the payload
-        Pattern responseBodyP =
-                Pattern.compile("\\S*?(<html>.*</html>)", Pattern.DOTALL | Pattern.MULTILINE);
-
-        HttpRequestHeader tempRequestHeader = null;
-        HttpRequestBody tempRequestBody = new HttpRequestBody();
-        HttpResponseHeader tempResponseHeader = null;
-        HttpResponseBody tempResponseBody = new HttpResponseBody();
-
-        for (String block : parsedRequestAndResponse) {
-            // HTTP request and response header pairs have a 2 line break between them as per RFC
-            // 2616
-            // http://tools.ietf.org/html/rfc2616
-            String[] httpComponents = block.split("\r\n\r\n");
-            for (String component : httpComponents) {
-                // Remove leading and trailing whitespace
-                component = component.trim();
-
-                Matcher requestM = requestP.matcher(component);
-                if (requestM.find()) {
-                    tempRequestHeader = new HttpRequestHeader(component);
-                }
-
-                // Strange way of splitting it up but usually if the httpRequestBody is present,
-                // i.e. on a Post request there's a token in the body usually
-                // So I'm using the group matching in the regex to split that up. We'll need either
-                // a blank HttpRequestBody or the actual one further down the line.
-                Matcher responseM = responseP.matcher(component);
-                if (responseM.find()) {
-                    if (!responseM.group(1).trim().isEmpty())
-                        tempRequestBody = new HttpRequestBody(responseM.group(1).trim());
-
-                    tempResponseHeader = new HttpResponseHeader(responseM.group(2).trim());
-                }
-                Matcher responseBodyM = responseBodyP.matcher(component);
-                if (responseBodyM.find()) {
-                    tempResponseBody = new HttpResponseBody(responseBodyM.group(1));
-                }
-            }
-
-            if (tempRequestHeader != null && tempResponseHeader != null) {
-                HttpMessage httpMessage =
-                        new HttpMessage(
-                                tempRequestHeader,
-                                tempRequestBody,
-                                tempResponseHeader,
-                                tempResponseBody);
-                httpMessage.setResponseFromTargetHost(true);
-                createHistoryReferenceAndAddToTree(httpMessage, LogType.ZAP);
-                updateProgress(httpMessage.getRequestHeader().getURI().toString());
-            }
+    /**
+     * Adds the given messages to the history and Sites tree, at once, and clears the lists for the
+     * next batch.
+     */
+    private void addMessages(List<HistoryReference> historyRefs, List<HttpMessage> messages) {
+        if (historyRefs.isEmpty()) {
+            return;
         }
+        ThreadUtils.invokeAndWaitHandled(
+                () -> {
+                    SiteMap currentTree = Model.getSingleton().getSession().getSiteTree();
+                    ExtensionHistory extHistory = getExtensionHistory();
+                    for (int i = 0; i < historyRefs.size(); i++) {
+                        currentTree.addPath(historyRefs.get(i), messages.get(i));
+                        extHistory.addHistory(historyRefs.get(i));
+                    }
+                });
+        updateProgress(
+                messages.get(messages.size() - 1).getRequestHeader().getURI().toString());
+        historyRefs.clear();
+        messages.clear();
+    }
+
+    private static ExtensionHistory getExtensionHistory() {
+        return Control.getSingleton().getExtensionLoader().getExtension(ExtensionHistory.class);
     }
 
     private static void createHistoryReferenceAndAddToTree(HttpMessage message, LogType logType) {
-        Session currentSession = Model.getSingleton().getSession();
+        HistoryReference historyRef = createHistoryReference(message, logType);
+        if (historyRef != null) {
+            addToTree(historyRef);
+        }
+    }
 
+    private static HistoryReference createHistoryReference(HttpMessage message, LogType logType) {
         try {
             HistoryReference historyRef =
-                    new HistoryReference(currentSession, HistoryReference.TYPE_ZAP_USER, message);
-            addToTree(historyRef);
+                    new HistoryReference(
+                            Model.getSingleton().getSession(),
+                            HistoryReference.TYPE_ZAP_USER,
+                            message);
             if (LogType.ZAP.equals(logType)) {
                 Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_ZAP_FILE_MSG);
             } else {
                 Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_MODSEC2_FILE_MSG);
             }
+            return historyRef;
         } catch (DatabaseException | HttpMalformedHeaderException | NullPointerException e) {
             LOG.warn(e.getMessage());
             if (LogType.ZAP.equals(logType)) {
@@ -275,6 +241,7 @@ public class LogsImporter {
             } else {
                 Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_MODSEC2_FILE_MSG_ERROR);
             }
+            return null;
         }
     }
 
@@ -0,0 +1,284 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.network.HttpMalformedHeaderException;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpRequestHeader;
+import org.parosproxy.paros.network.HttpResponseHeader;
+import org.zaproxy.addon.exim.ExtensionExim;
+import org.zaproxy.zap.network.HttpRequestBody;
+import org.zaproxy.zap.network.HttpResponseBody;
+import org.zaproxy.zap.utils.Stats;
+
+/**
+ * Reads the messages of a file in the ZAP log format, the records separated with {@code ====
+ * <id> ==========}.
+ *
+ * <p>The file is memory mapped and split into chunks aligned to the records, the chunks are parsed
+ * in parallel and the messages provided in the order they are in the file. Only a few chunks are
+ * parsed ahead of the messages provided.
+ */
+class ZapLogReader {
+
+    private static final Logger LOG = LogManager.getLogger(ZapLogReader.class);
+
+    private static final String THREAD_PREFIX = "ZAP-Exim-Import-Logs-";
+
+    private static final Pattern RECORD_DELIMITER = Pattern.compile("====\\s[0-9]*\\s==========");
+
+    // http://www.w3.org/Protocols/rfc2616/rfc2616-sec5.html
+    private static final Pattern REQUEST =
+            Pattern.compile("^OPTIONS|^GET|^HEAD|^POST|^PUT|^DELETE|^TRACE|^CONNECT");
+
+    // http://www.w3.org/Protocols/rfc2616/rfc2616-sec6.html
+    private static final Pattern RESPONSE =
+            Pattern.compile(
+                    "(\\S*\\s*)?(HTTP/[0-9].[0-9]\\s[0-9]{3}.*)",
+                    Pattern.DOTALL | Pattern.MULTILINE);
+
+    // Add capture group as we want to just match the html, not the rest of the payload
+    private static final Pattern RESPONSE_BODY =
+            Pattern.compile("\\S*?(<html>.*</html>)", Pattern.DOTALL | Pattern.MULTILINE);
+
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    /** The size of the regions searched for the start of a record, to align the chunks. */
+    private static final int SEARCH_SIZE = 64 * 1024;
+
+    /** The overlap of the regions searched, for the delimiters that cross them. */
+    private static final int SEARCH_OVERLAP = 256;
+
+    private final int chunkSize;
+    private final int threads;
+
+    ZapLogReader() {
+        this(DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    ZapLogReader(int chunkSize, int threads) {
+        this.chunkSize = chunkSize;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Reads the messages of the given file. The records that can not be parsed are skipped.
+     *
+     * @param file the file to read.
+     * @param consumer the consumer of the messages, called in the calling thread.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    void read(Path file, Consumer<HttpMessage> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<Long> boundaries = getChunkBoundaries(channel);
+            ExecutorService executor =
+                    Executors.newFixedThreadPool(threads, new ParserThreadFactory());
+            try {
+                Deque<Future<List<HttpMessage>>> chunks = new ArrayDeque<>();
+                int next = 0;
+                int chunkCount = boundaries.size() - 1;
+                while (next < chunkCount || !chunks.isEmpty()) {
+                    while (next < chunkCount && chunks.size() < threads * 2) {
+                        long start = boundaries.get(next);
+                        long end = boundaries.get(next + 1);
+                        chunks.add(executor.submit(() -> parseChunk(channel, start, end)));
+                        next++;
+                    }
+                    for (HttpMessage message : getResult(chunks.poll())) {
+                        consumer.accept(message);
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static List<HttpMessage> getResult(Future<List<HttpMessage>> chunk)
+            throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing the file.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Gets the boundaries of the chunks, the start of the file, the starts of the records near
+     * each chunk size, and the end of the file.
+     */
+    private List<Long> getChunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        long position = chunkSize;
+        while (position < size) {
+            long recordStart = findRecordStart(channel, position, size);
+            if (recordStart == -1) {
+                break;
+            }
+            boundaries.add(recordStart);
+            position = recordStart + chunkSize;
+        }
+        boundaries.add(size);
+        return boundaries;
+    }
+
+    private static long findRecordStart(FileChannel channel, long from, long size)
+            throws IOException {
+        for (long start = from; start < size; start += SEARCH_SIZE) {
+            int length = (int) Math.min(SEARCH_SIZE + SEARCH_OVERLAP, size - start);
+            Matcher matcher = RECORD_DELIMITER.matcher(read(channel, start, length));
+            if (matcher.find()) {
+                return start + matcher.start();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the given region of the file as text, one char per byte, so that the indexes of the
+     * text are the offsets in the region.
+     */
+    private static String read(FileChannel channel, long start, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("The record at " + start + " is too large.");
+        }
+        return StandardCharsets.ISO_8859_1
+                .decode(channel.map(FileChannel.MapMode.READ_ONLY, start, length))
+                .toString();
+    }
+
+    private static List<HttpMessage> parseChunk(FileChannel channel, long start, long end)
+            throws IOException {
+        String text = read(channel, start, end - start);
+        List<HttpMessage> messages = new ArrayList<>();
+        Matcher matcher = RECORD_DELIMITER.matcher(text);
+        int recordStart = 0;
+        while (matcher.find()) {
+            parseRecord(text.substring(recordStart, matcher.start()), messages);
+            recordStart = matcher.end();
+        }
+        parseRecord(text.substring(recordStart), messages);
+        return messages;
+    }
+
+    private static void parseRecord(String block, List<HttpMessage> messages) {
+        try {
+            HttpMessage message = parseRecord(block);
+            if (message != null) {
+                messages.add(message);
+            }
+        } catch (HttpMalformedHeaderException e) {
+            LOG.warn(e.getMessage());
+            Stats.incCounter(ExtensionExim.STATS_PREFIX + LogsImporter.STATS_ZAP_FILE_MSG_ERROR);
+        }
+    }
+
+    /**
+     * Parses the message in the given record.
+     *
+     * @param block the text of the record.
+     * @return the message, or {@code null} if the record does not have both the request and
+     *     response headers.
+     * @throws HttpMalformedHeaderException if a header is malformed.
+     */
+    static HttpMessage parseRecord(String block) throws HttpMalformedHeaderException {
+        HttpRequestHeader requestHeader = null;
+        HttpRequestBody requestBody = new HttpRequestBody();
+        HttpResponseHeader responseHeader = null;
+        HttpResponseBody responseBody = new HttpResponseBody();
+
+        // HTTP request and response header pairs have a 2 line break between them as per RFC 2616
+        // http://tools.ietf.org/html/rfc2616
+        for (String component : block.split("\r\n\r\n")) {
+            // Remove leading and trailing whitespace
+            component = component.trim();
+
+            if (REQUEST.matcher(component).find()) {
+                requestHeader = new HttpRequestHeader(component);
+            }
+
+            // Strange way of splitting it up but usually if the httpRequestBody is present,
+            // i.e. on a Post request there's a token in the body usually
+            // So I'm using the group matching in the regex to split that up. We'll need either
+            // a blank HttpRequestBody or the actual one further down the line.
+            Matcher responseM = RESPONSE.matcher(component);
+            if (responseM.find()) {
+                if (!responseM.group(1).trim().isEmpty()) {
+                    requestBody = new HttpRequestBody(responseM.group(1).trim());
+                }
+
+                responseHeader = new HttpResponseHeader(responseM.group(2).trim());
+            }
+            Matcher responseBodyM = RESPONSE_BODY.matcher(component);
+            if (responseBodyM.find()) {
+                responseBody = new HttpResponseBody(responseBodyM.group(1));
+            }
+        }
+
+        if (requestHeader == null || responseHeader == null) {
+            return null;
+        }
+        HttpMessage message =
+                new HttpMessage(requestHeader, requestBody, responseHeader, responseBody);
+        message.setResponseFromTargetHost(true);
+        return message;
+    }
+
+    private static class ParserThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, THREAD_PREFIX + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
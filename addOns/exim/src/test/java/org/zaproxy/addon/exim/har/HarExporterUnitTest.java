@@ -0,0 +1,131 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.har;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link HarExporter}. */
+class HarExporterUnitTest {
+
+    private static final byte[] EMPTY_BODY = {};
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldExportMessagesInOrderWhenConvertedInParallel() throws Exception {
+        // Given
+        List<HttpMessage> messages = createMessages(HarExporter.BATCH_SIZE * 2 + 50);
+        File file = dir.resolve("messages.har").toFile();
+        // When
+        try (HarExporter exporter =
+                new HarExporter(HarExporter.createOutputStream(file, false), true)) {
+            for (HttpMessage message : messages) {
+                exporter.addMessage(message);
+            }
+        }
+        // Then
+        assertThat(readHttpMessages(file), equalTo(messages));
+    }
+
+    @Test
+    void shouldCountEntriesWritten() throws Exception {
+        // Given
+        List<HttpMessage> messages = createMessages(HarExporter.BATCH_SIZE + 1);
+        File file = dir.resolve("messages.har").toFile();
+        HarExporter exporter = new HarExporter(HarExporter.createOutputStream(file, false), false);
+        for (HttpMessage message : messages) {
+            exporter.addMessage(message);
+        }
+        // When
+        int countBeforeClose = exporter.getEntryCount();
+        exporter.close();
+        // Then
+        assertThat(countBeforeClose, equalTo(HarExporter.BATCH_SIZE));
+        assertThat(exporter.getEntryCount(), equalTo(HarExporter.BATCH_SIZE + 1));
+    }
+
+    @Test
+    void shouldExportWithoutMessages() throws Exception {
+        // Given
+        File file = dir.resolve("messages.har").toFile();
+        // When
+        new HarExporter(HarExporter.createOutputStream(file, false), true).close();
+        // Then
+        assertThat(readHttpMessages(file), is(empty()));
+    }
+
+    @Test
+    void shouldExportGzipFile() throws Exception {
+        // Given
+        List<HttpMessage> messages = createMessages(3);
+        File file = dir.resolve("messages.har.gz").toFile();
+        // When
+        try (HarExporter exporter =
+                new HarExporter(HarExporter.createOutputStream(file, false), true)) {
+            for (HttpMessage message : messages) {
+                exporter.addMessage(message);
+            }
+        }
+        // Then
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+            assertThat(is.read(), equalTo((int) '{'));
+        }
+        assertThat(readHttpMessages(file), equalTo(messages));
+    }
+
+    @Test
+    void shouldDetectGzipFileByName() {
+        assertThat(HarExporter.isGzipFile(new File("messages.har.GZ")), equalTo(true));
+        assertThat(HarExporter.isGzipFile(new File("messages.har")), equalTo(false));
+    }
+
+    private static List<HttpMessage> createMessages(int count) throws Exception {
+        List<HttpMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(
+                    new HttpMessage(
+                            "GET https://example.com/" + i + " HTTP/1.1",
+                            EMPTY_BODY,
+                            "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\n\r\n",
+                            ("body " + i).getBytes()));
+        }
+        return messages;
+    }
+
+    private static List<HttpMessage> readHttpMessages(File file) throws Exception {
+        List<HttpMessage> messages = new ArrayList<>();
+        HarImporter.readHttpMessages(file, messages::add);
+        return messages;
+    }
+}
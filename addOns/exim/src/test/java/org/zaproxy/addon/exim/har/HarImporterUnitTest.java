@@ -30,7 +30,10 @@ import static org.mockito.Mockito.verify;
 import edu.umass.cs.benchlab.har.HarEntries;
 import edu.umass.cs.benchlab.har.HarLog;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -126,10 +129,72 @@ class HarImporterUnitTest {
         verify(listener).completed();
     }
 
-    private static HarLog createHarLog(HttpMessage message) {
+    @Test
+    void shouldReadMessagesOfHarFileOneAtATime(@TempDir Path dir) throws Exception {
+        // Given
+        HttpMessage message1 =
+                new HttpMessage(
+                        "GET https://example.com/a HTTP/1.1",
+                        EMPTY_BODY,
+                        "HTTP/1.1 200 OK",
+                        EMPTY_BODY);
+        HttpMessage message2 =
+                new HttpMessage(
+                        "GET https://example.com/b HTTP/1.1",
+                        EMPTY_BODY,
+                        "HTTP/1.1 404 Not Found",
+                        EMPTY_BODY);
+        File file = createHarFile(dir, createHarLog(message1, message2));
+        List<HttpMessage> messages = new ArrayList<>();
+        // When
+        HarImporter.readHttpMessages(file, messages::add);
+        // Then
+        assertThat(messages, hasSize(2));
+        assertThat(messages.get(0), equalTo(message1));
+        assertThat(messages.get(1), equalTo(message2));
+    }
+
+    @Test
+    void shouldCountEntriesOfHarFile(@TempDir Path dir) throws Exception {
+        // Given
+        HttpMessage message = new HttpMessage(new HttpRequestHeader("GET / HTTP/1.1"));
+        File file = createHarFile(dir, createHarLog(message, message, message));
+        // When
+        int count = HarImporter.countEntries(file);
+        // Then
+        assertThat(count, equalTo(3));
+    }
+
+    @Test
+    void shouldIgnoreUnknownFieldsOfHarFile(@TempDir Path dir) throws Exception {
+        // Given
+        HttpMessage message = new HttpMessage(new HttpRequestHeader("GET / HTTP/1.1"));
+        String har =
+                new String(
+                        HarUtils.harLogToByteArray(createHarLog(message)),
+                        StandardCharsets.UTF_8);
+        har = har.replaceFirst("\\{", "{\"_custom\":{\"a\":[1,{\"log\":2}]},");
+        File file = dir.resolve("custom.har").toFile();
+        Files.write(file.toPath(), har.getBytes(StandardCharsets.UTF_8));
+        List<HttpMessage> messages = new ArrayList<>();
+        // When
+        HarImporter.readHttpMessages(file, messages::add);
+        // Then
+        assertThat(messages, hasSize(1));
+    }
+
+    private static File createHarFile(Path dir, HarLog harLog) throws Exception {
+        Path file = dir.resolve("messages.har");
+        Files.write(file, HarUtils.harLogToByteArray(harLog));
+        return file.toFile();
+    }
+
+    private static HarLog createHarLog(HttpMessage... messages) {
         HarLog harLog = HarUtils.createZapHarLog();
         HarEntries harEntries = new HarEntries();
-        harEntries.addEntry(HarUtils.createHarEntry(message));
+        for (HttpMessage message : messages) {
+            harEntries.addEntry(HarUtils.createHarEntry(message));
+        }
         harLog.setEntries(harEntries);
         return harLog;
     }
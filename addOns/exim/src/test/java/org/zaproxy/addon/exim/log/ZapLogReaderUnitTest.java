@@ -0,0 +1,152 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.log;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link ZapLogReader}. */
+class ZapLogReaderUnitTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldParseRecord() throws Exception {
+        // Given
+        String record = record(1, "POST", "a=b");
+        // When
+        HttpMessage message = ZapLogReader.parseRecord(record);
+        // Then
+        assertThat(message.getRequestHeader().getMethod(), is(equalTo("POST")));
+        assertThat(
+                message.getRequestHeader().getURI().toString(),
+                is(equalTo("https://example.com/1")));
+        assertThat(message.getRequestBody().toString(), is(equalTo("a=b")));
+        assertThat(message.getResponseHeader().getStatusCode(), is(equalTo(200)));
+        assertThat(message.getResponseBody().toString(), is(equalTo("<html>1</html>")));
+        assertThat(message.isResponseFromTargetHost(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotParseRecordWithoutResponse() throws Exception {
+        // Given
+        String record = "GET https://example.com/ HTTP/1.1\r\nHost: example.com\r\n\r\n";
+        // When
+        HttpMessage message = ZapLogReader.parseRecord(record);
+        // Then
+        assertThat(message, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotUseBodiesOfPreviousRecords() throws Exception {
+        // Given
+        Path file = createLogFile(record(1, "POST", "a=b"), record(2, "GET", ""));
+        List<HttpMessage> messages = new ArrayList<>();
+        // When
+        new ZapLogReader().read(file, messages::add);
+        // Then
+        assertThat(messages, hasSize(2));
+        assertThat(messages.get(1).getRequestBody().toString(), is(equalTo("")));
+    }
+
+    @Test
+    void shouldReadRecordsInOrderWhenParsedInChunks() throws Exception {
+        // Given
+        String[] records = new String[50];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = record(i, "GET", "");
+        }
+        Path file = createLogFile(records);
+        List<HttpMessage> messages = new ArrayList<>();
+        // When
+        new ZapLogReader(100, 4).read(file, messages::add);
+        // Then
+        assertThat(messages, hasSize(records.length));
+        for (int i = 0; i < records.length; i++) {
+            assertThat(
+                    messages.get(i).getRequestHeader().getURI().toString(),
+                    is(equalTo("https://example.com/" + i)));
+        }
+    }
+
+    @Test
+    void shouldSkipMalformedRecords() throws Exception {
+        // Given
+        Path file =
+                createLogFile(
+                        record(1, "GET", ""),
+                        "GET\r\n\r\nHTTP/1.1 200 OK\r\n\r\n",
+                        record(3, "GET", ""));
+        List<HttpMessage> messages = new ArrayList<>();
+        // When
+        new ZapLogReader(10, 2).read(file, messages::add);
+        // Then
+        assertThat(messages, hasSize(2));
+        assertThat(
+                messages.get(1).getRequestHeader().getURI().toString(),
+                is(equalTo("https://example.com/3")));
+    }
+
+    @Test
+    void shouldReadEmptyFile() throws Exception {
+        // Given
+        Path file = createLogFile();
+        List<HttpMessage> messages = new ArrayList<>();
+        // When
+        new ZapLogReader().read(file, messages::add);
+        // Then
+        assertThat(messages, hasSize(0));
+    }
+
+    private static String record(int id, String method, String body) {
+        return method
+                + " https://example.com/"
+                + id
+                + " HTTP/1.1\r\nHost: example.com\r\n\r\n"
+                + body
+                + (body.isEmpty() ? "" : "\r\n")
+                + "HTTP/1.1 200 OK\r\nContent-Type: text/html\r\n\r\n<html>"
+                + id
+                + "</html>\r\n";
+    }
+
+    private Path createLogFile(String... records) throws Exception {
+        StringBuilder content = new StringBuilder();
+        int id = 1;
+        for (String record : records) {
+            content.append("==== ").append(id++).append(" ==========\r\n").append(record);
+        }
+        Path file = dir.resolve("messages.txt");
+        Files.write(file, content.toString().getBytes(StandardCharsets.ISO_8859_1));
+        return file;
+    }
+}
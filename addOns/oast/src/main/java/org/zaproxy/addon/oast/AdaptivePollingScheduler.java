@@ -0,0 +1,197 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.oast;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Schedules the polling of an OAST service, adapting the delay between polls to the activity.
+ *
+ * <p>When adaptive, the service is polled every {@value #ACTIVE_POLLING_DELAY} seconds, or the
+ * polling frequency if shorter, while active, that is, for {@value #ACTIVE_PERIOD} seconds after a
+ * payload is issued or an interaction received. Once idle the delay starts at the polling
+ * frequency and doubles after each poll, up to {@value #MAX_IDLE_BACKOFF_FACTOR} times the polling
+ * frequency. When not adaptive the service is polled at the polling frequency.
+ */
+public class AdaptivePollingScheduler {
+
+    /** The delay between polls while active, in seconds. */
+    static final int ACTIVE_POLLING_DELAY = 10;
+
+    /** The time the service stays active after the last activity, in seconds. */
+    static final int ACTIVE_PERIOD = 300;
+
+    /** The maximum factor of the polling frequency used as delay while idle. */
+    static final int MAX_IDLE_BACKOFF_FACTOR = 4;
+
+    private static final Logger LOGGER = LogManager.getLogger(AdaptivePollingScheduler.class);
+
+    private final ScheduledExecutorService executor;
+    private final Runnable poller;
+    private final IntSupplier pollingFrequency;
+    private final BooleanSupplier adaptive;
+    private final LongSupplier clock;
+
+    private ScheduledFuture<?> nextPoll;
+    private boolean scheduled;
+
+    /**
+     * The generation of the polling, changed when the polling is started or stopped. A poll only
+     * schedules the next one if still of the current generation, otherwise a poll in progress
+     * while restarting the polling would keep its chain of polls going along with the new one.
+     */
+    private int generation;
+    private long activeUntil;
+    private int idlePolls;
+
+    /**
+     * Constructs an {@code AdaptivePollingScheduler} with the given data.
+     *
+     * @param executor the executor to run the polls, should have just one thread.
+     * @param poller the poller.
+     * @param pollingFrequency the polling frequency, in seconds.
+     * @param adaptive if the delay between polls should adapt to the activity.
+     */
+    public AdaptivePollingScheduler(
+            ScheduledExecutorService executor,
+            Runnable poller,
+            IntSupplier pollingFrequency,
+            BooleanSupplier adaptive) {
+        this(executor, poller, pollingFrequency, adaptive, System::nanoTime);
+    }
+
+    AdaptivePollingScheduler(
+            ScheduledExecutorService executor,
+            Runnable poller,
+            IntSupplier pollingFrequency,
+            BooleanSupplier adaptive,
+            LongSupplier clock) {
+        this.executor = executor;
+        this.poller = poller;
+        this.pollingFrequency = pollingFrequency;
+        this.adaptive = adaptive;
+        this.clock = clock;
+        this.activeUntil = clock.getAsLong();
+    }
+
+    /**
+     * Starts the polling, if not already started.
+     *
+     * @param initialDelay the delay until the first poll, in seconds.
+     */
+    public synchronized void start(int initialDelay) {
+        if (scheduled) {
+            return;
+        }
+        scheduled = true;
+        generation++;
+        scheduleNextPoll(initialDelay);
+    }
+
+    /** Stops the polling. The poll in progress, if any, is not interrupted. */
+    public synchronized void stop() {
+        scheduled = false;
+        generation++;
+        if (nextPoll != null) {
+            nextPoll.cancel(false);
+            nextPoll = null;
+        }
+    }
+
+    /**
+     * Tells whether or not the polling is started.
+     *
+     * @return {@code true} if started, {@code false} otherwise.
+     */
+    public synchronized boolean isStarted() {
+        return scheduled;
+    }
+
+    /**
+     * Notifies of activity, for example, a payload issued or an interaction received. If adaptive,
+     * the next poll is brought forward, if needed.
+     */
+    public synchronized void activity() {
+        activeUntil = clock.getAsLong() + TimeUnit.SECONDS.toNanos(ACTIVE_PERIOD);
+        idlePolls = 0;
+        if (!scheduled || !adaptive.getAsBoolean() || nextPoll == null) {
+            return;
+        }
+        int delay = getActiveDelay();
+        if (nextPoll.getDelay(TimeUnit.SECONDS) > delay && nextPoll.cancel(false)) {
+            scheduleNextPoll(delay);
+        }
+    }
+
+    private void poll(int pollGeneration) {
+        try {
+            poller.run();
+        } catch (Exception e) {
+            LOGGER.warn("An error occurred while polling: {}", e.getMessage(), e);
+        }
+        synchronized (this) {
+            if (scheduled && pollGeneration == generation) {
+                scheduleNextPoll(getNextDelay());
+            }
+        }
+    }
+
+    private void scheduleNextPoll(int delay) {
+        try {
+            int pollGeneration = generation;
+            nextPoll = executor.schedule(() -> poll(pollGeneration), delay, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Polling not scheduled, the executor is shutdown.");
+            scheduled = false;
+        }
+    }
+
+    /**
+     * Gets the delay until the next poll, based on the activity.
+     *
+     * @return the delay, in seconds.
+     */
+    synchronized int getNextDelay() {
+        int frequency = pollingFrequency.getAsInt();
+        if (!adaptive.getAsBoolean()) {
+            return frequency;
+        }
+        if (clock.getAsLong() - activeUntil < 0) {
+            return getActiveDelay();
+        }
+        int factor = Math.min(1 << idlePolls, MAX_IDLE_BACKOFF_FACTOR);
+        if (factor < MAX_IDLE_BACKOFF_FACTOR) {
+            idlePolls++;
+        }
+        return frequency * factor;
+    }
+
+    private int getActiveDelay() {
+        return Math.min(pollingFrequency.getAsInt(), ACTIVE_POLLING_DELAY);
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.oast;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.zaproxy.zap.utils.Stats;
+
+/**
+ * The alerts waiting for the interactions with their payloads.
+ *
+ * <p>The alerts are kept in memory up to a maximum number, the oldest are moved to the overflow
+ * storage, if any, when the maximum is exceeded, otherwise they are evicted. The alerts expire
+ * after a time to live, in memory and in the overflow storage.
+ *
+ * <p>Instances of this class are thread-safe.
+ */
+public class AlertCorrelationStore {
+
+    /** The default maximum number of alerts kept in memory. */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    /** The default time the alerts are kept. */
+    public static final Duration DEFAULT_TTL = Duration.ofDays(7);
+
+    static final String STATS_HITS = "stats.oast.correlation.hits";
+    static final String STATS_MISSES = "stats.oast.correlation.misses";
+    static final String STATS_EVICTIONS = "stats.oast.correlation.evictions";
+    static final String STATS_EXPIRATIONS = "stats.oast.correlation.expirations";
+    static final String STATS_OVERFLOWS = "stats.oast.correlation.overflows";
+
+    private static final Logger LOGGER = LogManager.getLogger(AlertCorrelationStore.class);
+
+    private static final long PURGE_INTERVAL_MS = Duration.ofMinutes(1).toMillis();
+
+    private final int maxSize;
+    private final long ttlMs;
+    private final LongSupplier clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final Map<String, Long> overflowed = new ConcurrentHashMap<>();
+    private volatile Overflow overflow;
+    private volatile long nextPurge;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+
+    public AlertCorrelationStore() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL, System::currentTimeMillis);
+    }
+
+    AlertCorrelationStore(int maxSize, Duration ttl, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Sets the storage for the alerts that do not fit in memory. The payloads of the alerts
+     * already in the storage are loaded, to correlate them.
+     *
+     * @param overflow the storage, or {@code null} to evict the alerts instead.
+     */
+    public void setOverflow(Overflow overflow) {
+        overflowed.clear();
+        this.overflow = overflow;
+        if (overflow != null) {
+            overflowed.putAll(overflow.getPayloads());
+            purgeExpired(clock.getAsLong());
+        }
+    }
+
+    /**
+     * Adds the given alert, to be correlated with the interactions with the given payload.
+     *
+     * @param payload the payload.
+     * @param alert the alert.
+     */
+    public void put(String payload, Alert alert) {
+        long now = clock.getAsLong();
+        put(payload, alert, now + ttlMs);
+        if (now >= nextPurge) {
+            nextPurge = now + PURGE_INTERVAL_MS;
+            purgeExpired(now);
+        }
+    }
+
+    private void put(String payload, Alert alert, long expiry) {
+        if (entries.put(payload, new Entry(alert, expiry)) == null) {
+            insertionOrder.add(payload);
+        }
+        while (entries.size() > maxSize) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            Entry entry = entries.remove(oldest);
+            if (entry != null) {
+                moveToOverflow(oldest, entry);
+            }
+        }
+    }
+
+    private void moveToOverflow(String payload, Entry entry) {
+        Overflow currentOverflow = overflow;
+        if (currentOverflow != null) {
+            try {
+                currentOverflow.save(payload, entry.alert, entry.expiry);
+                overflowed.put(payload, entry.expiry);
+                count(overflows, STATS_OVERFLOWS);
+                return;
+            } catch (Exception e) {
+                LOGGER.warn(
+                        "Failed to persist the alert of payload {}: {}", payload, e.getMessage());
+            }
+        }
+        count(evictions, STATS_EVICTIONS);
+    }
+
+    /**
+     * Finds the alert whose payload is contained in the given URI.
+     *
+     * @param uri the URI of the interaction.
+     * @return the alert, or {@code null} if none.
+     */
+    public Alert find(String uri) {
+        long now = clock.getAsLong();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (!uri.contains(entry.getKey())) {
+                continue;
+            }
+            if (entry.getValue().expiry <= now) {
+                if (entries.remove(entry.getKey(), entry.getValue())) {
+                    count(expirations, STATS_EXPIRATIONS);
+                }
+                continue;
+            }
+            count(hits, STATS_HITS);
+            return entry.getValue().alert;
+        }
+
+        Alert alert = findInOverflow(uri, now);
+        if (alert != null) {
+            count(hits, STATS_HITS);
+            return alert;
+        }
+        count(misses, STATS_MISSES);
+        return null;
+    }
+
+    private Alert findInOverflow(String uri, long now) {
+        Overflow currentOverflow = overflow;
+        if (currentOverflow == null) {
+            return null;
+        }
+        for (Map.Entry<String, Long> entry : overflowed.entrySet()) {
+            String payload = entry.getKey();
+            if (!uri.contains(payload)) {
+                continue;
+            }
+            if (entry.getValue() <= now) {
+                removeFromOverflow(currentOverflow, payload);
+                count(expirations, STATS_EXPIRATIONS);
+                continue;
+            }
+            Alert alert;
+            try {
+                alert = currentOverflow.get(payload);
+            } catch (Exception e) {
+                LOGGER.warn("Failed to read the alert of payload {}: {}", payload, e.getMessage());
+                continue;
+            }
+            if (alert != null) {
+                removeFromOverflow(currentOverflow, payload);
+                put(payload, alert, entry.getValue());
+                return alert;
+            }
+        }
+        return null;
+    }
+
+    private void removeFromOverflow(Overflow currentOverflow, String payload) {
+        overflowed.remove(payload);
+        try {
+            currentOverflow.delete(payload);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to delete the alert of payload {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private void purgeExpired(long now) {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            if (it.next().expiry <= now) {
+                it.remove();
+                count(expirations, STATS_EXPIRATIONS);
+            }
+        }
+        insertionOrder.removeIf(payload -> !entries.containsKey(payload));
+
+        Overflow currentOverflow = overflow;
+        if (currentOverflow != null) {
+            for (Map.Entry<String, Long> entry : overflowed.entrySet()) {
+                if (entry.getValue() <= now) {
+                    removeFromOverflow(currentOverflow, entry.getKey());
+                    count(expirations, STATS_EXPIRATIONS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the alerts from memory, moving them to the overflow storage, if any, for example,
+     * when the session changes or ZAP is stopped.
+     */
+    public void flush() {
+        for (Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+                it.hasNext(); ) {
+            Map.Entry<String, Entry> entry = it.next();
+            it.remove();
+            if (overflow != null) {
+                moveToOverflow(entry.getKey(), entry.getValue());
+            }
+        }
+        insertionOrder.clear();
+    }
+
+    private static void count(AtomicLong counter, String key) {
+        counter.incrementAndGet();
+        Stats.incCounter(key);
+    }
+
+    /**
+     * Gets the number of alerts in memory.
+     *
+     * @return the number of alerts.
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of alerts in the overflow storage.
+     *
+     * @return the number of alerts.
+     */
+    public int getOverflowSize() {
+        return overflowed.size();
+    }
+
+    /**
+     * Gets the number of interactions correlated with an alert.
+     *
+     * @return the number of hits.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of interactions not correlated with any alert.
+     *
+     * @return the number of misses.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of alerts evicted from memory without being moved to the overflow storage.
+     *
+     * @return the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the number of alerts that expired.
+     *
+     * @return the number of expirations.
+     */
+    public long getExpirationCount() {
+        return expirations.get();
+    }
+
+    /**
+     * Gets the number of alerts moved to the overflow storage.
+     *
+     * @return the number of alerts moved.
+     */
+    public long getOverflowCount() {
+        return overflows.get();
+    }
+
+    private static class Entry {
+
+        private final Alert alert;
+        private final long expiry;
+
+        Entry(Alert alert, long expiry) {
+            this.alert = alert;
+            this.expiry = expiry;
+        }
+    }
+
+    /** The storage of the alerts that do not fit in memory. */
+    public interface Overflow {
+
+        /**
+         * Gets the payloads of the alerts stored.
+         *
+         * @return the payloads and the times the alerts expire, in milliseconds.
+         */
+        Map<String, Long> getPayloads();
+
+        /**
+         * Saves the given alert.
+         *
+         * @param payload the payload of the alert.
+         * @param alert the alert.
+         * @param expiry the time the alert expires, in milliseconds.
+         */
+        void save(String payload, Alert alert, long expiry);
+
+        /**
+         * Gets the alert of the given payload.
+         *
+         * @param payload the payload.
+         * @return the alert, or {@code null} if not available, for example, raised in another
+         *     session.
+         */
+        Alert get(String payload);
+
+        /**
+         * Deletes the alert of the given payload.
+         *
+         * @param payload the payload.
+         */
+        void delete(String payload);
+    }
+}
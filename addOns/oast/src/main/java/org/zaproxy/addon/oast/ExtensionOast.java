@@ -19,15 +19,11 @@
  */
 package org.zaproxy.addon.oast;
 
-import static java.util.Collections.synchronizedMap;
-
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.collections.map.AbstractReferenceMap;
-import org.apache.commons.collections.map.ReferenceMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
@@ -75,9 +71,7 @@ public class ExtensionOast extends ExtensionAdaptor {
 
     private final Map<String, OastService> services = new HashMap<>();
 
-    @SuppressWarnings("unchecked")
-    private final Map<String, Alert> alertCache =
-            synchronizedMap(new ReferenceMap(AbstractReferenceMap.HARD, AbstractReferenceMap.SOFT));
+    private final AlertCorrelationStore alertCorrelationStore = new AlertCorrelationStore();
 
     private OastOptionsPanel oastOptionsPanel;
     private OastPanel oastPanel;
@@ -147,12 +141,13 @@ public class ExtensionOast extends ExtensionAdaptor {
         callbackService.optionsLoaded();
         interactshService.optionsLoaded();
         wasUsePermanentDatabase = oastParam.isUsePermanentDatabase();
+        setAdaptivePolling();
     }
 
     @Override
     public void postInit() {
         if (oastParam.isUsePermanentDatabase()) {
-            getPermanentDatabase();
+            setAlertCorrelationOverflow();
         }
         boastService.startService();
         callbackService.startService();
@@ -160,9 +155,10 @@ public class ExtensionOast extends ExtensionAdaptor {
     }
 
     private void optionsChanged(OptionsParam optionsParam) {
+        setAdaptivePolling();
         getOastServices().values().forEach(OastService::fireOastStateChanged);
         if (!wasUsePermanentDatabase && oastParam.isUsePermanentDatabase()) {
-            getPermanentDatabase();
+            setAlertCorrelationOverflow();
             wasUsePermanentDatabase = true;
         }
     }
@@ -230,6 +226,26 @@ public class ExtensionOast extends ExtensionAdaptor {
         return permanentDatabase;
     }
 
+    private void setAdaptivePolling() {
+        getOastServices()
+                .values()
+                .forEach(service -> service.setAdaptivePolling(oastParam.isAdaptivePolling()));
+    }
+
+    private void setAlertCorrelationOverflow() {
+        alertCorrelationStore.setOverflow(
+                new PermanentDatabaseAlertOverflow(getPermanentDatabase()));
+    }
+
+    /**
+     * Gets the store of the alerts waiting for the interactions with their payloads.
+     *
+     * @return the store, never {@code null}.
+     */
+    public AlertCorrelationStore getAlertCorrelationStore() {
+        return alertCorrelationStore;
+    }
+
     private OastOptionsPanel getOastOptionsPanel() {
         if (oastOptionsPanel == null) {
             oastOptionsPanel = new OastOptionsPanel();
@@ -258,37 +274,27 @@ public class ExtensionOast extends ExtensionAdaptor {
 
     public String registerAlertAndGetPayloadForCallbackService(Alert alert, String handler) {
         String payload = callbackService.getNewPayload(handler);
-        alertCache.put(payload, alert);
+        alertCorrelationStore.put(payload, alert);
         return payload;
     }
 
     public String registerAlertAndGetPayload(Alert alert) throws Exception {
         if (getActiveScanOastService() != null) {
             String payload = getActiveScanOastService().getNewPayload();
-            alertCache.put(payload, alert);
+            alertCorrelationStore.put(payload, alert);
             return payload;
         }
         return null;
     }
 
-    @SuppressWarnings("unchecked")
     private void activeScanAlertOastRequestHandler(OastRequest request) {
         try {
             HttpMessage oastReceivedMsg = request.getHistoryReference().getHttpMessage();
             String uri = oastReceivedMsg.getRequestHeader().getURI().toString();
-            Alert alert;
-            synchronized (alertCache) {
-                alert =
-                        alertCache.entrySet().stream()
-                                .filter(it -> uri.contains(it.getKey()))
-                                .findAny()
-                                .map(it -> it.getValue())
-                                .orElse(null);
-            }
+            Alert alert = alertCorrelationStore.find(uri);
             if (alert == null) {
                 LOGGER.warn(
-                        "Soft reference to alert object for interaction at {} expired. Not raising alert.",
-                        uri);
+                        "No alert correlated with the interaction at {}. Not raising alert.", uri);
                 return;
             }
 
@@ -343,6 +349,7 @@ public class ExtensionOast extends ExtensionAdaptor {
         unregisterOastService(boastService);
         unregisterOastService(callbackService);
         unregisterOastService(interactshService);
+        alertCorrelationStore.flush();
         getPermanentDatabase().close();
     }
 
@@ -378,7 +385,6 @@ public class ExtensionOast extends ExtensionAdaptor {
             }
             getOastServices().values().forEach(OastService::sessionChanged);
             getOastServices().values().forEach(OastService::clearOastRequestHandlers);
-            alertCache.clear();
             for (OastService s : getOastServices().values()) {
                 if (hasView()) {
                     s.addOastRequestHandler(o -> getOastPanel().addOastRequest(o));
@@ -415,7 +421,9 @@ public class ExtensionOast extends ExtensionAdaptor {
         }
 
         @Override
-        public void sessionAboutToChange(Session session) {}
+        public void sessionAboutToChange(Session session) {
+            alertCorrelationStore.flush();
+        }
 
         @Override
         public void sessionScopeChanged(Session session) {}
@@ -0,0 +1,57 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.oast;
+
+import java.sql.Timestamp;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.PrimaryKey;
+
+/** An alert waiting for the interactions with its payload, persisted in the database. */
+@PersistenceCapable
+public class OastAlertEntity implements OastEntity {
+
+    @PrimaryKey private String payload;
+    private long sessionId;
+    private Timestamp expiry;
+    private String alert;
+
+    public OastAlertEntity(String payload, long sessionId, Timestamp expiry, String alert) {
+        this.payload = payload;
+        this.sessionId = sessionId;
+        this.expiry = expiry;
+        this.alert = alert;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    public Timestamp getExpiry() {
+        return expiry;
+    }
+
+    public String getAlert() {
+        return alert;
+    }
+}
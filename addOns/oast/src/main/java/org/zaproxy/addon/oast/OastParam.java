@@ -30,6 +30,7 @@ public class OastParam extends VersionedAbstractParam {
             PARAM_BASE_KEY + ".activeScanService";
     private static final String PARAM_USE_PERMANENT_DATABASE =
             PARAM_BASE_KEY + ".usePermanentDatabase";
+    private static final String PARAM_ADAPTIVE_POLLING = PARAM_BASE_KEY + ".adaptivePolling";
 
     public static final String NO_ACTIVE_SCAN_SERVICE_SELECTED_OPTION = "None";
 
@@ -41,6 +42,7 @@ public class OastParam extends VersionedAbstractParam {
 
     private String activeScanServiceName;
     private boolean usePermanentDatabase;
+    private boolean adaptivePolling;
 
     public OastParam() {}
 
@@ -62,11 +64,21 @@ public class OastParam extends VersionedAbstractParam {
         getConfig().setProperty(PARAM_USE_PERMANENT_DATABASE, usePermanentDatabase);
     }
 
+    public boolean isAdaptivePolling() {
+        return adaptivePolling;
+    }
+
+    public void setAdaptivePolling(boolean adaptivePolling) {
+        this.adaptivePolling = adaptivePolling;
+        getConfig().setProperty(PARAM_ADAPTIVE_POLLING, adaptivePolling);
+    }
+
     @Override
     protected void parseImpl() {
         activeScanServiceName =
                 getString(PARAM_ACTIVE_SCAN_SERVICE_NAME, NO_ACTIVE_SCAN_SERVICE_SELECTED_OPTION);
         usePermanentDatabase = getBoolean(PARAM_USE_PERMANENT_DATABASE, true);
+        adaptivePolling = getBoolean(PARAM_ADAPTIVE_POLLING, true);
     }
 
     @Override
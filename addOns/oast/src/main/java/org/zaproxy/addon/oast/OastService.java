@@ -22,13 +22,15 @@ package org.zaproxy.addon.oast;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class OastService {
 
-    private final List<OastRequestHandler> oastRequestHandlerList = new ArrayList<>();
+    private final List<OastRequestHandler> oastRequestHandlerList = new CopyOnWriteArrayList<>();
     private final List<OastStateChangedListener> oastStateChangedListenerList = new ArrayList<>();
+    private volatile boolean adaptivePolling = true;
 
     public abstract String getName();
 
@@ -53,6 +55,28 @@ public abstract class OastService {
 
     public void poll() {}
 
+    /**
+     * Sets whether or not the service should be polled more often after payloads are issued and
+     * less often when idle.
+     *
+     * @param adaptivePolling {@code true} if the polling should be adaptive, {@code false}
+     *     otherwise.
+     * @see AdaptivePollingScheduler
+     */
+    public void setAdaptivePolling(boolean adaptivePolling) {
+        this.adaptivePolling = adaptivePolling;
+    }
+
+    /**
+     * Tells whether or not the service should be polled more often after payloads are issued and
+     * less often when idle.
+     *
+     * @return {@code true} if the polling should be adaptive, {@code false} otherwise.
+     */
+    public boolean isAdaptivePolling() {
+        return adaptivePolling;
+    }
+
     public void sessionChanged() {}
 
     public void addOastRequestHandler(OastRequestHandler oastRequestHandler) {
@@ -0,0 +1,184 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.oast;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.model.Model;
+import org.zaproxy.addon.database.PermanentDatabase;
+
+/**
+ * The overflow of the {@link AlertCorrelationStore}, in the permanent database.
+ *
+ * <p>The alerts are restored only in the session they were raised, the messages they refer to are
+ * in the session.
+ */
+class PermanentDatabaseAlertOverflow implements AlertCorrelationStore.Overflow {
+
+    private static final Logger LOGGER = LogManager.getLogger(PermanentDatabaseAlertOverflow.class);
+
+    private static final String TAG_PREFIX = "tag.";
+
+    private final PermanentDatabase database;
+
+    PermanentDatabaseAlertOverflow(PermanentDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public Map<String, Long> getPayloads() {
+        Map<String, Long> payloads = new HashMap<>();
+        for (OastAlertEntity entity : database.getAll(OastAlertEntity.class)) {
+            payloads.put(entity.getPayload(), entity.getExpiry().getTime());
+        }
+        return payloads;
+    }
+
+    @Override
+    public void save(String payload, Alert alert, long expiry) {
+        database.persistEntity(
+                new OastAlertEntity(
+                        payload, getSessionId(), new Timestamp(expiry), serialise(alert)));
+    }
+
+    @Override
+    public Alert get(String payload) {
+        OastAlertEntity entity = database.getById(OastAlertEntity.class, payload);
+        if (entity == null || entity.getSessionId() != getSessionId()) {
+            return null;
+        }
+        return deserialise(entity.getAlert());
+    }
+
+    @Override
+    public void delete(String payload) {
+        database.deleteById(OastAlertEntity.class, payload);
+    }
+
+    private static long getSessionId() {
+        return Model.getSingleton().getSession().getSessionId();
+    }
+
+    static String serialise(Alert alert) {
+        Properties properties = new Properties();
+        properties.setProperty("pluginId", Integer.toString(alert.getPluginId()));
+        properties.setProperty("risk", Integer.toString(alert.getRisk()));
+        properties.setProperty("confidence", Integer.toString(alert.getConfidence()));
+        properties.setProperty("cweId", Integer.toString(alert.getCweId()));
+        properties.setProperty("wascId", Integer.toString(alert.getWascId()));
+        properties.setProperty("alertId", Integer.toString(alert.getAlertId()));
+        setProperty(properties, "name", alert.getName());
+        setProperty(properties, "description", alert.getDescription());
+        setProperty(properties, "uri", alert.getUri());
+        setProperty(properties, "param", alert.getParam());
+        setProperty(properties, "attack", alert.getAttack());
+        setProperty(properties, "otherInfo", alert.getOtherInfo());
+        setProperty(properties, "solution", alert.getSolution());
+        setProperty(properties, "reference", alert.getReference());
+        setProperty(properties, "evidence", alert.getEvidence());
+        setProperty(properties, "alertRef", alert.getAlertRef());
+        if (alert.getSource() != null) {
+            properties.setProperty("source", alert.getSource().name());
+        }
+        if (alert.getHistoryRef() != null) {
+            properties.setProperty(
+                    "historyId", Integer.toString(alert.getHistoryRef().getHistoryId()));
+        }
+        alert.getTags().forEach((k, v) -> setProperty(properties, TAG_PREFIX + k, v));
+
+        StringWriter writer = new StringWriter();
+        try {
+            properties.store(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    private static void setProperty(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        }
+    }
+
+    static Alert deserialise(String data) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Alert alert =
+                new Alert(
+                        getInt(properties, "pluginId"),
+                        getInt(properties, "risk"),
+                        getInt(properties, "confidence"),
+                        properties.getProperty("name"));
+        alert.setCweId(getInt(properties, "cweId"));
+        alert.setWascId(getInt(properties, "wascId"));
+        alert.setAlertId(getInt(properties, "alertId"));
+        alert.setDescription(properties.getProperty("description"));
+        alert.setUri(properties.getProperty("uri"));
+        alert.setParam(properties.getProperty("param"));
+        alert.setAttack(properties.getProperty("attack"));
+        alert.setOtherInfo(properties.getProperty("otherInfo"));
+        alert.setSolution(properties.getProperty("solution"));
+        alert.setReference(properties.getProperty("reference"));
+        alert.setEvidence(properties.getProperty("evidence"));
+        alert.setAlertRef(properties.getProperty("alertRef"));
+        String source = properties.getProperty("source");
+        if (source != null) {
+            alert.setSource(Alert.Source.valueOf(source));
+        }
+
+        Map<String, String> tags = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(TAG_PREFIX)) {
+                tags.put(key.substring(TAG_PREFIX.length()), properties.getProperty(key));
+            }
+        }
+        alert.setTags(tags);
+
+        String historyId = properties.getProperty("historyId");
+        if (historyId != null) {
+            try {
+                alert.setHistoryRef(new HistoryReference(Integer.parseInt(historyId)));
+            } catch (Exception e) {
+                LOGGER.warn("Failed to read the message of the alert: {}", e.getMessage());
+            }
+        }
+        return alert;
+    }
+
+    private static int getInt(Properties properties, String key) {
+        return Integer.parseInt(properties.getProperty(key, "-1"));
+    }
+}
@@ -21,6 +21,8 @@ package org.zaproxy.addon.oast.services.boast;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
@@ -45,10 +47,15 @@ public class BoastPoller implements Runnable {
             return;
         }
         LOGGER.debug("Polling all registered BOAST Servers.");
-        this.boastService.getRegisteredServers().stream()
-                .map(BoastServer::poll)
-                .flatMap(Collection::stream)
-                .forEach(this::handleBoastEvent);
+        List<BoastEvent> events =
+                this.boastService.getRegisteredServers().stream()
+                        .map(BoastServer::poll)
+                        .flatMap(Collection::stream)
+                        .collect(Collectors.toList());
+        if (!events.isEmpty()) {
+            boastService.interactionsReceived();
+        }
+        events.forEach(this::handleBoastEvent);
         this.boastService.fireOastStateChanged(
                 new OastState(
                         boastService.getName(),
@@ -24,12 +24,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.extension.OptionsChangedListener;
 import org.parosproxy.paros.model.OptionsParam;
+import org.zaproxy.addon.oast.AdaptivePollingScheduler;
 import org.zaproxy.addon.oast.OastEntity;
 import org.zaproxy.addon.oast.OastService;
 import org.zaproxy.addon.oast.OastState;
@@ -42,10 +41,15 @@ public class BoastService extends OastService implements OptionsChangedListener
     private List<BoastServer> registeredServers = new ArrayList<>();
     private final ScheduledExecutorService executorService =
             Executors.newSingleThreadScheduledExecutor(new OastThreadFactory("ZAP-OAST-BOAST-"));
+    private final AdaptivePollingScheduler pollingScheduler =
+            new AdaptivePollingScheduler(
+                    executorService,
+                    new BoastPoller(this),
+                    () -> getParam().getPollingFrequency(),
+                    this::isAdaptivePolling);
 
     private BoastParam boastParam;
     private int currentPollingFrequency;
-    private ScheduledFuture<?> pollingSchedule;
 
     @Override
     public String getName() {
@@ -55,13 +59,14 @@ public class BoastService extends OastService implements OptionsChangedListener
     @Override
     public void startService() {
         LOGGER.debug("Starting BOAST Service.");
-        if (pollingSchedule == null || pollingSchedule.isDone()) {
+        if (!pollingScheduler.isStarted()) {
             schedulePoller(getParam().getPollingFrequency());
         }
     }
 
     @Override
     public void stopService() {
+        pollingScheduler.stop();
         executorService.shutdown();
     }
 
@@ -77,7 +82,7 @@ public class BoastService extends OastService implements OptionsChangedListener
     @Override
     public void optionsChanged(OptionsParam optionsParam) {
         if (currentPollingFrequency != getParam().getPollingFrequency()) {
-            pollingSchedule.cancel(false);
+            pollingScheduler.stop();
             startService();
             currentPollingFrequency = getParam().getPollingFrequency();
             LOGGER.debug("Updated BOAST Polling frequency to {} seconds.", currentPollingFrequency);
@@ -86,17 +91,17 @@ public class BoastService extends OastService implements OptionsChangedListener
 
     @Override
     public void poll() {
-        pollingSchedule.cancel(false);
+        pollingScheduler.stop();
         schedulePoller(0);
     }
 
     private void schedulePoller(int initialDelay) {
-        pollingSchedule =
-                executorService.scheduleAtFixedRate(
-                        new BoastPoller(this),
-                        initialDelay,
-                        getParam().getPollingFrequency(),
-                        TimeUnit.SECONDS);
+        pollingScheduler.start(initialDelay);
+    }
+
+    /** Notifies that interactions were received, to poll more often, if adaptive. */
+    void interactionsReceived() {
+        pollingScheduler.activity();
     }
 
     public BoastParam getParam() {
@@ -152,6 +157,8 @@ public class BoastService extends OastService implements OptionsChangedListener
 
     @Override
     public String getNewPayload() throws IOException {
-        return register().getPayload();
+        String payload = register().getPayload();
+        pollingScheduler.activity();
+        return payload;
     }
 }
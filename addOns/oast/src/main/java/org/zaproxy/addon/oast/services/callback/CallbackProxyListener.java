@@ -33,7 +33,6 @@ import org.zaproxy.addon.network.server.HttpMessageHandler;
 import org.zaproxy.addon.network.server.HttpMessageHandlerContext;
 import org.zaproxy.addon.oast.OastRequest;
 import org.zaproxy.zap.utils.Stats;
-import org.zaproxy.zap.utils.ThreadUtils;
 
 class CallbackProxyListener implements HttpMessageHandler {
 
@@ -86,11 +85,11 @@ class CallbackProxyListener implements HttpMessageHandler {
         }
     }
 
+    /**
+     * Delivers the callback to the handlers of the service right away, in the thread of the
+     * server, the handlers that update the view are responsible to do so in the EDT.
+     */
     private void callbackReceived(String handler, HttpMessage httpMessage) {
-        ThreadUtils.invokeAndWaitHandled(() -> callbackReceivedHandler(handler, httpMessage));
-    }
-
-    private void callbackReceivedHandler(String handler, HttpMessage httpMessage) {
         try {
             OastRequest request =
                     oastRequestFactory.create(
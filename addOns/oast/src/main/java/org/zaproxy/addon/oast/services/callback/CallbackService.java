@@ -20,10 +20,10 @@
 package org.zaproxy.addon.oast.services.callback;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
@@ -41,7 +41,7 @@ public class CallbackService extends OastService implements OptionsChangedListen
     private Server server;
     private org.zaproxy.addon.oast.services.callback.CallbackParam callbackParam;
 
-    private final Map<String, String> handlers = new HashMap<>();
+    private final Map<String, String> handlers = new ConcurrentHashMap<>();
     private int actualPort;
     private String currentConfigLocalAddress;
     private int currentConfigPort;
@@ -37,8 +37,8 @@ import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
@@ -63,6 +63,7 @@ import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpRequestHeader;
 import org.parosproxy.paros.network.HttpSender;
+import org.zaproxy.addon.oast.AdaptivePollingScheduler;
 import org.zaproxy.addon.oast.OastService;
 import org.zaproxy.addon.oast.OastState;
 import org.zaproxy.addon.oast.OastState.OastStateEventType;
@@ -76,6 +77,9 @@ public class InteractshService extends OastService implements OptionsChangedList
 
     private static final Logger LOGGER = LogManager.getLogger(InteractshService.class);
 
+    /** The number of interactions, of a poll, from which they are decrypted in parallel. */
+    private static final int PARALLEL_DECRYPTION_THRESHOLD = 8;
+
     private final ScheduledExecutorService executorService =
             Executors.newSingleThreadScheduledExecutor(
                     new OastThreadFactory("ZAP-OAST-Interactsh-"));
@@ -83,6 +87,7 @@ public class InteractshService extends OastService implements OptionsChangedList
     private final String correlationId;
     private final HttpSender httpSender;
     private final InteractshParam param;
+    private final AdaptivePollingScheduler pollingScheduler;
 
     private URI serverUrl;
     private PrivateKey privateKey;
@@ -91,7 +96,6 @@ public class InteractshService extends OastService implements OptionsChangedList
     private boolean isRegistered;
     private String currentServerUrl;
     private int currentPollingFrequency;
-    private ScheduledFuture<?> pollingSchedule;
 
     public InteractshService() {
         this(new InteractshParam());
@@ -102,6 +106,12 @@ public class InteractshService extends OastService implements OptionsChangedList
         secretKey = UUID.randomUUID();
         correlationId = RandomStringUtils.randomAlphanumeric(20).toLowerCase(Locale.ROOT);
         this.param = param;
+        pollingScheduler =
+                new AdaptivePollingScheduler(
+                        executorService,
+                        new InteractshPoller(this),
+                        param::getPollingFrequency,
+                        this::isAdaptivePolling);
     }
 
     @Override
@@ -112,13 +122,14 @@ public class InteractshService extends OastService implements OptionsChangedList
     @Override
     public void startService() {
         LOGGER.debug("Starting Interactsh Service.");
-        if (pollingSchedule == null || pollingSchedule.isDone()) {
+        if (!pollingScheduler.isStarted()) {
             schedulePoller(param.getPollingFrequency());
         }
     }
 
     @Override
     public void stopService() {
+        stopPoller();
         executorService.shutdown();
         deregister();
     }
@@ -301,6 +312,7 @@ public class InteractshService extends OastService implements OptionsChangedList
             register();
         }
         Stats.incCounter("stats.oast.interactsh.payloadsGenerated");
+        pollingScheduler.activity();
         return RandomStringUtils.randomAlphanumeric(1).toLowerCase(Locale.ROOT)
                 + '.'
                 + correlationId
@@ -316,9 +328,7 @@ public class InteractshService extends OastService implements OptionsChangedList
     }
 
     private synchronized void stopPoller() {
-        if (pollingSchedule != null) {
-            pollingSchedule.cancel(false);
-        }
+        pollingScheduler.stop();
     }
 
     private synchronized void schedulePoller(int initialDelay) {
@@ -326,12 +336,7 @@ public class InteractshService extends OastService implements OptionsChangedList
             return;
         }
         LOGGER.debug("Start Polling the Interactsh Server ...");
-        pollingSchedule =
-                executorService.scheduleAtFixedRate(
-                        new InteractshPoller(this),
-                        initialDelay,
-                        param.getPollingFrequency(),
-                        TimeUnit.SECONDS);
+        pollingScheduler.start(initialDelay);
     }
 
     /** @return new interactions from the server. */
@@ -369,7 +374,7 @@ public class InteractshService extends OastService implements OptionsChangedList
                         pollMsg.getResponseBody());
                 return new ArrayList<>();
             }
-            String aesKey = response.getString("aes_key");
+            byte[] aesKey = decryptAesKey(response.getString("aes_key"));
             Object data = response.get("data");
             if (data instanceof JSONNull) {
                 LOGGER.debug("Interactsh server has returned null data");
@@ -381,13 +386,16 @@ public class InteractshService extends OastService implements OptionsChangedList
                     interactions.size(),
                     correlationId);
 
-            List<InteractshEvent> result = new ArrayList<>();
-            for (int i = 0; i < interactions.size(); ++i) {
-                String interaction = interactions.getString(i);
-                result.add(
-                        new InteractshEvent(
-                                JSONObject.fromObject(
-                                        new String(decryptMessage(aesKey, interaction)))));
+            IntStream indexes = IntStream.range(0, interactions.size());
+            if (interactions.size() >= PARALLEL_DECRYPTION_THRESHOLD) {
+                indexes = indexes.parallel();
+            }
+            List<InteractshEvent> result =
+                    indexes.mapToObj(interactions::getString)
+                            .map(interaction -> decryptInteraction(aesKey, interaction))
+                            .collect(Collectors.toList());
+            if (!result.isEmpty()) {
+                pollingScheduler.activity();
             }
             if (LOGGER.isDebugEnabled()) {
                 for (InteractshEvent event : result) {
@@ -408,8 +416,12 @@ public class InteractshService extends OastService implements OptionsChangedList
         }
     }
 
-    /** Decrypts an AES-256-RSA-OAEP encrypted message to string */
-    private byte[] decryptMessage(String encodedEncryptedKey, String encodedEncryptedMsg) {
+    /**
+     * Decrypts the RSA-OAEP encrypted AES key, shared by all the interactions of a poll.
+     *
+     * @return the key, or an empty array if it could not be decrypted.
+     */
+    private byte[] decryptAesKey(String encodedEncryptedKey) {
         try {
             byte[] decodedEncryptedKey = Base64.getDecoder().decode(encodedEncryptedKey);
             Cipher decryptionCipher = Cipher.getInstance("RSA/ECB/OAEPWITHSHA-256ANDMGF1PADDING");
@@ -420,10 +432,24 @@ public class InteractshService extends OastService implements OptionsChangedList
                             MGF1ParameterSpec.SHA256,
                             PSource.PSpecified.DEFAULT);
             decryptionCipher.init(Cipher.DECRYPT_MODE, privateKey, oaepParameterSpec);
-            byte[] decodedDecryptedKey = decryptionCipher.doFinal(decodedEncryptedKey);
+            return decryptionCipher.doFinal(decodedEncryptedKey);
+        } catch (Exception e) {
+            LOGGER.warn(
+                    "Could not decrypt Interactsh interactions: {}", e.getLocalizedMessage(), e);
+            return new byte[0];
+        }
+    }
+
+    private static InteractshEvent decryptInteraction(byte[] aesKey, String interaction) {
+        return new InteractshEvent(
+                JSONObject.fromObject(new String(decryptMessage(aesKey, interaction))));
+    }
 
+    /** Decrypts an AES-256 encrypted message with the given key. */
+    private static byte[] decryptMessage(byte[] decodedDecryptedKey, String encodedEncryptedMsg) {
+        try {
             byte[] decodedEncryptedMsg = Base64.getDecoder().decode(encodedEncryptedMsg);
-            decryptionCipher = Cipher.getInstance("AES/CFB/NoPadding");
+            Cipher decryptionCipher = Cipher.getInstance("AES/CFB/NoPadding");
             SecretKey aesKey = new SecretKeySpec(decodedDecryptedKey, "AES");
             IvParameterSpec iv =
                     new IvParameterSpec(
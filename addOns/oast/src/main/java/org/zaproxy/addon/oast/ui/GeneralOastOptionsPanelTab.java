@@ -39,6 +39,7 @@ public class GeneralOastOptionsPanelTab extends OastOptionsPanelTab {
     private static final long serialVersionUID = 1L;
     private JComboBox<String> activeScanServices;
     private JCheckBox usePermanentDatabase;
+    private JCheckBox adaptivePolling;
 
     public GeneralOastOptionsPanelTab() {
         super(Constant.messages.getString("oast.options.general.title"));
@@ -55,6 +56,9 @@ public class GeneralOastOptionsPanelTab extends OastOptionsPanelTab {
         add(
                 getUsePermanentDatabaseCheckbox(),
                 LayoutHelper.getGBC(0, ++rowIndex, GridBagConstraints.REMAINDER, 1.0, 0));
+        add(
+                getAdaptivePollingCheckbox(),
+                LayoutHelper.getGBC(0, ++rowIndex, GridBagConstraints.REMAINDER, 1.0, 0));
         add(
                 new JLabel(),
                 LayoutHelper.getGBC(0, ++rowIndex, GridBagConstraints.REMAINDER, 1.0, 1.0));
@@ -65,6 +69,7 @@ public class GeneralOastOptionsPanelTab extends OastOptionsPanelTab {
         final OastParam param = options.getParamSet(OastParam.class);
         getActiveScanServicesComboBox().setSelectedItem(param.getActiveScanServiceName());
         getUsePermanentDatabaseCheckbox().setSelected(param.isUsePermanentDatabase());
+        getAdaptivePollingCheckbox().setSelected(param.isAdaptivePolling());
     }
 
     @Override
@@ -75,6 +80,7 @@ public class GeneralOastOptionsPanelTab extends OastOptionsPanelTab {
                         .orElse(OastParam.NO_ACTIVE_SCAN_SERVICE_SELECTED_OPTION)
                         .toString());
         param.setUsePermanentDatabase(getUsePermanentDatabaseCheckbox().isSelected());
+        param.setAdaptivePolling(getAdaptivePollingCheckbox().isSelected());
     }
 
     private JComboBox<String> getActiveScanServicesComboBox() {
@@ -100,4 +106,14 @@ public class GeneralOastOptionsPanelTab extends OastOptionsPanelTab {
         }
         return usePermanentDatabase;
     }
+
+    private JCheckBox getAdaptivePollingCheckbox() {
+        if (adaptivePolling == null) {
+            adaptivePolling =
+                    new JCheckBox(Constant.messages.getString("oast.options.adaptivePolling"));
+            adaptivePolling.setToolTipText(
+                    Constant.messages.getString("oast.options.adaptivePolling.tooltip"));
+        }
+        return adaptivePolling;
+    }
 }
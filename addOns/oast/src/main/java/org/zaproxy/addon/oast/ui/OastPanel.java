@@ -218,7 +218,11 @@ public class OastPanel extends AbstractPanel {
     }
 
     public void addOastRequest(OastRequest oastRequest) {
-        model.addEntry(oastRequest);
+        if (SwingUtilities.isEventDispatchThread()) {
+            model.addEntry(oastRequest);
+        } else {
+            SwingUtilities.invokeLater(() -> model.addEntry(oastRequest));
+        }
     }
 
     public void clearOastRequests() {
@@ -0,0 +1,7 @@
+create table OAST_ALERT (
+    PAYLOAD varchar(512) not null,
+    SESSION_ID bigint not null,
+    EXPIRY timestamp not null,
+    ALERT clob not null,
+    primary key (PAYLOAD)
+);
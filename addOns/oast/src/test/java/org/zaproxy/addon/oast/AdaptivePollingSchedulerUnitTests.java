@@ -0,0 +1,196 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.oast;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class AdaptivePollingSchedulerUnitTests {
+
+    private static final int POLLING_FREQUENCY = 60;
+
+    private AtomicLong time;
+    private AtomicBoolean adaptive;
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> future;
+    private AdaptivePollingScheduler scheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        time = new AtomicLong();
+        adaptive = new AtomicBoolean(true);
+        executor = mock(ScheduledExecutorService.class);
+        future = mock(ScheduledFuture.class);
+        given(executor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .willAnswer(invocation -> future);
+        scheduler =
+                new AdaptivePollingScheduler(
+                        executor, () -> {}, () -> POLLING_FREQUENCY, adaptive::get, time::get);
+    }
+
+    @Test
+    void shouldUsePollingFrequencyWhenNotAdaptive() {
+        // Given
+        adaptive.set(false);
+        scheduler.activity();
+        // When
+        int delay = scheduler.getNextDelay();
+        // Then
+        assertThat(delay, is(POLLING_FREQUENCY));
+    }
+
+    @Test
+    void shouldPollMoreOftenWhenActive() {
+        // Given
+        scheduler.activity();
+        // When
+        int delay = scheduler.getNextDelay();
+        // Then
+        assertThat(delay, is(AdaptivePollingScheduler.ACTIVE_POLLING_DELAY));
+    }
+
+    @Test
+    void shouldBackOffWhenIdle() {
+        // Given
+        scheduler.activity();
+        time.addAndGet(TimeUnit.SECONDS.toNanos(AdaptivePollingScheduler.ACTIVE_PERIOD));
+        // When / Then
+        assertThat(scheduler.getNextDelay(), is(POLLING_FREQUENCY));
+        assertThat(scheduler.getNextDelay(), is(POLLING_FREQUENCY * 2));
+        assertThat(scheduler.getNextDelay(), is(POLLING_FREQUENCY * 4));
+        assertThat(scheduler.getNextDelay(), is(POLLING_FREQUENCY * 4));
+    }
+
+    @Test
+    void shouldStopBackingOffOnActivity() {
+        // Given
+        scheduler.getNextDelay();
+        scheduler.getNextDelay();
+        // When
+        scheduler.activity();
+        // Then
+        assertThat(scheduler.getNextDelay(), is(AdaptivePollingScheduler.ACTIVE_POLLING_DELAY));
+    }
+
+    @Test
+    void shouldBringNextPollForwardOnActivity() {
+        // Given
+        scheduler.start(POLLING_FREQUENCY);
+        given(future.getDelay(TimeUnit.SECONDS)).willReturn((long) POLLING_FREQUENCY);
+        given(future.cancel(false)).willReturn(true);
+        // When
+        scheduler.activity();
+        // Then
+        verify(future).cancel(false);
+        verify(executor)
+                .schedule(
+                        any(Runnable.class),
+                        eq((long) AdaptivePollingScheduler.ACTIVE_POLLING_DELAY),
+                        eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldNotBringNextPollForwardIfAlreadySooner() {
+        // Given
+        scheduler.start(0);
+        given(future.getDelay(TimeUnit.SECONDS)).willReturn(0L);
+        // When
+        scheduler.activity();
+        // Then
+        verify(future, never()).cancel(false);
+    }
+
+    @Test
+    void shouldStopPolling() {
+        // Given
+        scheduler.start(0);
+        // When
+        scheduler.stop();
+        // Then
+        verify(future).cancel(false);
+        assertThat(scheduler.isStarted(), is(false));
+    }
+
+    @Test
+    void shouldNotKeepPreviousPollingWhenRestartedDuringPoll() throws Exception {
+        // Given
+        CountDownLatch pollStarted = new CountDownLatch(1);
+        CountDownLatch pollReleased = new CountDownLatch(1);
+        scheduler =
+                new AdaptivePollingScheduler(
+                        executor,
+                        () -> {
+                            pollStarted.countDown();
+                            try {
+                                pollReleased.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        () -> POLLING_FREQUENCY,
+                        adaptive::get,
+                        time::get);
+        scheduler.start(0);
+        ArgumentCaptor<Runnable> poll = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(poll.capture(), anyLong(), any(TimeUnit.class));
+        Thread pollThread = new Thread(poll.getValue());
+        pollThread.start();
+        pollStarted.await();
+        // When
+        scheduler.stop();
+        scheduler.start(0);
+        pollReleased.countDown();
+        pollThread.join();
+        // Then
+        verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        assertThat(scheduler.isStarted(), is(true));
+    }
+
+    @Test
+    void shouldScheduleNextPollAfterPoll() {
+        // Given
+        scheduler.start(0);
+        ArgumentCaptor<Runnable> poll = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(poll.capture(), anyLong(), any(TimeUnit.class));
+        // When
+        poll.getValue().run();
+        // Then
+        verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+}
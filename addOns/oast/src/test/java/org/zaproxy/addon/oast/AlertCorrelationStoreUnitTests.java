@@ -0,0 +1,182 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.oast;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.core.scanner.Alert;
+
+class AlertCorrelationStoreUnitTests {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private AtomicLong time;
+    private AlertCorrelationStore store;
+
+    @BeforeEach
+    void setUp() {
+        time = new AtomicLong(1_000);
+        store = new AlertCorrelationStore(2, TTL, time::get);
+    }
+
+    @Test
+    void shouldFindAlertWithPayloadInUri() {
+        // Given
+        Alert alert = mock(Alert.class);
+        store.put("payload1", alert);
+        // When
+        Alert found = store.find("https://payload1.example.com/path");
+        // Then
+        assertThat(found, is(sameInstance(alert)));
+        assertThat(store.getHitCount(), is(1L));
+        assertThat(store.getMissCount(), is(0L));
+    }
+
+    @Test
+    void shouldNotFindAlertWithPayloadNotInUri() {
+        // Given
+        store.put("payload1", mock(Alert.class));
+        // When
+        Alert found = store.find("https://other.example.com/path");
+        // Then
+        assertThat(found, is(nullValue()));
+        assertThat(store.getMissCount(), is(1L));
+    }
+
+    @Test
+    void shouldNotFindExpiredAlert() {
+        // Given
+        store.put("payload1", mock(Alert.class));
+        time.addAndGet(TTL.toMillis());
+        // When
+        Alert found = store.find("https://payload1.example.com/");
+        // Then
+        assertThat(found, is(nullValue()));
+        assertThat(store.getExpirationCount(), is(1L));
+        assertThat(store.getSize(), is(0));
+    }
+
+    @Test
+    void shouldEvictOldestAlertWhenFullWithoutOverflow() {
+        // Given
+        Alert alert2 = mock(Alert.class);
+        Alert alert3 = mock(Alert.class);
+        store.put("payload1", mock(Alert.class));
+        store.put("payload2", alert2);
+        // When
+        store.put("payload3", alert3);
+        // Then
+        assertThat(store.getSize(), is(2));
+        assertThat(store.getEvictionCount(), is(1L));
+        assertThat(store.find("payload1"), is(nullValue()));
+        assertThat(store.find("payload2"), is(sameInstance(alert2)));
+        assertThat(store.find("payload3"), is(sameInstance(alert3)));
+    }
+
+    @Test
+    void shouldMoveOldestAlertToOverflowWhenFull() {
+        // Given
+        AlertCorrelationStore.Overflow overflow = mock(AlertCorrelationStore.Overflow.class);
+        when(overflow.getPayloads()).thenReturn(Collections.emptyMap());
+        store.setOverflow(overflow);
+        Alert alert1 = mock(Alert.class);
+        store.put("payload1", alert1);
+        store.put("payload2", mock(Alert.class));
+        // When
+        store.put("payload3", mock(Alert.class));
+        // Then
+        verify(overflow).save("payload1", alert1, time.get() + TTL.toMillis());
+        assertThat(store.getOverflowSize(), is(1));
+        assertThat(store.getOverflowCount(), is(1L));
+        assertThat(store.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    void shouldRestoreAlertFromOverflow() {
+        // Given
+        Alert alert = mock(Alert.class);
+        AlertCorrelationStore.Overflow overflow = mock(AlertCorrelationStore.Overflow.class);
+        when(overflow.getPayloads())
+                .thenReturn(Collections.singletonMap("payload1", time.get() + 1));
+        when(overflow.get("payload1")).thenReturn(alert);
+        store.setOverflow(overflow);
+        // When
+        Alert found = store.find("https://payload1.example.com/");
+        // Then
+        assertThat(found, is(sameInstance(alert)));
+        verify(overflow).delete("payload1");
+        assertThat(store.getOverflowSize(), is(0));
+        assertThat(store.getSize(), is(1));
+        assertThat(store.getHitCount(), is(1L));
+    }
+
+    @Test
+    void shouldDeleteExpiredAlertsFromOverflowWhenSet() {
+        // Given
+        AlertCorrelationStore.Overflow overflow = mock(AlertCorrelationStore.Overflow.class);
+        when(overflow.getPayloads()).thenReturn(Collections.singletonMap("payload1", time.get()));
+        // When
+        store.setOverflow(overflow);
+        // Then
+        verify(overflow).delete("payload1");
+        verify(overflow, never()).get("payload1");
+        assertThat(store.getOverflowSize(), is(0));
+        assertThat(store.getExpirationCount(), is(1L));
+    }
+
+    @Test
+    void shouldFlushAlertsToOverflow() {
+        // Given
+        AlertCorrelationStore.Overflow overflow = mock(AlertCorrelationStore.Overflow.class);
+        when(overflow.getPayloads()).thenReturn(Collections.emptyMap());
+        store.setOverflow(overflow);
+        Alert alert = mock(Alert.class);
+        store.put("payload1", alert);
+        // When
+        store.flush();
+        // Then
+        verify(overflow).save("payload1", alert, time.get() + TTL.toMillis());
+        assertThat(store.getSize(), is(0));
+        assertThat(store.getOverflowSize(), is(1));
+    }
+
+    @Test
+    void shouldClearAlertsOnFlushWithoutOverflow() {
+        // Given
+        store.put("payload1", mock(Alert.class));
+        // When
+        store.flush();
+        // Then
+        assertThat(store.getSize(), is(0));
+        assertThat(store.find("payload1"), is(nullValue()));
+    }
+}
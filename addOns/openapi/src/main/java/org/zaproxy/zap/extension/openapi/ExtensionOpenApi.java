@@ -63,7 +63,6 @@ import org.zaproxy.zap.extension.openapi.VariantOpenApi.VariantOpenApiChecks;
 import org.zaproxy.zap.extension.openapi.converter.swagger.InvalidUrlException;
 import org.zaproxy.zap.extension.openapi.converter.swagger.OperationModel;
 import org.zaproxy.zap.extension.openapi.converter.swagger.SwaggerConverter;
-import org.zaproxy.zap.extension.openapi.network.RequestModel;
 import org.zaproxy.zap.extension.openapi.network.Requestor;
 import org.zaproxy.zap.model.Context;
 import org.zaproxy.zap.model.DefaultValueGenerator;
@@ -90,6 +89,7 @@ public class ExtensionOpenApi extends ExtensionAdaptor implements CommandLineLis
     private ValueGenerator valueGenerator;
     private final Map<Integer, VariantOpenApiChecks> variantChecksMap = new HashMap<>();
     private TableOpenApi table = new TableOpenApi();
+    private OpenApiParam param;
 
     private CommandLineArgument[] arguments = new CommandLineArgument[3];
     private static final int ARG_IMPORT_FILE_IDX = 0;
@@ -115,7 +115,10 @@ public class ExtensionOpenApi extends ExtensionAdaptor implements CommandLineLis
     public void hook(ExtensionHook extensionHook) {
         super.hook(extensionHook);
 
+        extensionHook.addOptionsParamSet(getParam());
+
         if (hasView()) {
+            extensionHook.getHookView().addOptionPanel(new OpenApiOptionsPanel());
             extensionHook.getHookMenu().addImportMenuItem(getMenuImportLocalOpenApi());
             extensionHook.getHookMenu().addImportMenuItem(getMenuImportUrlOpenApi());
             extensionHook.addSessionListener(new SessionChangedListenerImpl());
@@ -128,6 +131,13 @@ public class ExtensionOpenApi extends ExtensionAdaptor implements CommandLineLis
         getModel().getSession().addOnContextsChangedListener(new ContextsChangedListenerImpl());
     }
 
+    OpenApiParam getParam() {
+        if (param == null) {
+            param = new OpenApiParam();
+        }
+        return param;
+    }
+
     @Override
     public void unload() {
         super.unload();
@@ -271,6 +281,7 @@ public class ExtensionOpenApi extends ExtensionAdaptor implements CommandLineLis
             final URI uri, final String targetUrl, boolean initViaUi, int contextId) {
         OpenApiResults results = new OpenApiResults();
         Requestor requestor = new Requestor(HttpSender.MANUAL_REQUEST_INITIATOR);
+        requestor.setMaxConcurrentRequests(getParam().getThreads());
         requestor.addListener(new HistoryPersister(results));
         try {
             String path = uri.getPath();
@@ -353,6 +364,7 @@ public class ExtensionOpenApi extends ExtensionAdaptor implements CommandLineLis
         try {
             OpenApiResults results = new OpenApiResults();
             Requestor requestor = new Requestor(HttpSender.MANUAL_REQUEST_INITIATOR);
+            requestor.setMaxConcurrentRequests(getParam().getThreads());
             requestor.addListener(new HistoryPersister(results));
 
             if (!file.exists()) {
@@ -406,7 +418,7 @@ public class ExtensionOpenApi extends ExtensionAdaptor implements CommandLineLis
                     public void run() {
                         ProgressPane currentImportPane = null;
                         try {
-                            List<RequestModel> requestModels = converter.getRequestModels();
+                            int operations = converter.getOperationModels().size();
                             if (contextId != -1) {
                                 Context context = getModel().getSession().getContext(contextId);
                                 if (context != null) {
@@ -422,11 +434,12 @@ public class ExtensionOpenApi extends ExtensionAdaptor implements CommandLineLis
                             if (initViaUi) {
                                 currentImportPane = new ProgressPane();
                                 requestor.addListener(new ProgressListener(currentImportPane));
-                                currentImportPane.setTotalTasks(requestModels.size());
+                                currentImportPane.setTotalTasks(operations);
                                 getProgressPanel().addProgressPane(currentImportPane);
                             }
-                            errors.addAll(requestor.run(requestModels));
-                            // Needs to be called after converter.getRequestModels() to get loop
+                            // The request models are created while the requests are sent
+                            errors.addAll(requestor.run(converter.getRequestModelsIterator()));
+                            // Needs to be called after all request models are created to get loop
                             // errors
                             errors.addAll(converter.getErrorMessages());
                             if (!errors.isEmpty()) {
@@ -0,0 +1,97 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.openapi;
+
+import javax.swing.GroupLayout;
+import javax.swing.JLabel;
+import org.parosproxy.paros.Constant;
+import org.parosproxy.paros.model.OptionsParam;
+import org.parosproxy.paros.view.AbstractParamPanel;
+import org.zaproxy.zap.utils.ZapNumberSpinner;
+
+/**
+ * The options panel.
+ *
+ * <p>It allows to change the following options:
+ *
+ * <ul>
+ *   <li>Number of threads used to send the requests of the imported definitions;
+ * </ul>
+ *
+ * @see OpenApiParam
+ */
+public class OpenApiOptionsPanel extends AbstractParamPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The name of the options panel. */
+    private static final String NAME = Constant.messages.getString("openapi.options.name");
+
+    /** The label for the threads option. */
+    private static final String THREADS_LABEL =
+            Constant.messages.getString("openapi.options.threads");
+
+    /** The number spinner for the number of threads. */
+    private ZapNumberSpinner threadsNumberSpinner;
+
+    public OpenApiOptionsPanel() {
+        super();
+
+        JLabel threadsLabel = new JLabel(THREADS_LABEL);
+        threadsNumberSpinner = new ZapNumberSpinner(1, OpenApiParam.DEFAULT_THREADS, 50);
+
+        setName(NAME);
+
+        GroupLayout layout = new GroupLayout(this);
+        setLayout(layout);
+
+        layout.setAutoCreateGaps(true);
+        layout.setAutoCreateContainerGaps(true);
+
+        layout.setHorizontalGroup(
+                layout.createSequentialGroup()
+                        .addComponent(threadsLabel)
+                        .addComponent(threadsNumberSpinner));
+
+        layout.setVerticalGroup(
+                layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
+                        .addComponent(threadsLabel)
+                        .addComponent(threadsNumberSpinner));
+    }
+
+    @Override
+    public void initParam(Object obj) {
+        OpenApiParam options = ((OptionsParam) obj).getParamSet(OpenApiParam.class);
+
+        threadsNumberSpinner.setValue(options.getThreads());
+    }
+
+    @Override
+    public void saveParam(Object obj) throws Exception {
+        OpenApiParam options = ((OptionsParam) obj).getParamSet(OpenApiParam.class);
+
+        options.setThreads(threadsNumberSpinner.getValue());
+    }
+
+    @Override
+    public String getHelpIndex() {
+        return "openapi.options";
+    }
+}
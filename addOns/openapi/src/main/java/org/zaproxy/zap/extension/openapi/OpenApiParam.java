@@ -0,0 +1,84 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.openapi;
+
+import org.zaproxy.zap.common.VersionedAbstractParam;
+
+/**
+ * Manages the options saved in the configuration file.
+ *
+ * <p>It allows to change, programmatically, the following options:
+ *
+ * <ul>
+ *   <li>Number of threads used to send the requests of the imported definitions;
+ * </ul>
+ */
+public class OpenApiParam extends VersionedAbstractParam {
+
+    protected static final int DEFAULT_THREADS = 4;
+
+    /**
+     * The version of the configurations. Used to keep track of configurations changes between
+     * releases, if updates are needed.
+     *
+     * <p>It only needs to be updated for configurations changes (not releases of the add-on).
+     */
+    private static final int PARAM_CURRENT_VERSION = 1;
+
+    /** The base configuration key for all configurations. */
+    private static final String PARAM_BASE_KEY = "openapi";
+
+    private static final String THREADS = PARAM_BASE_KEY + ".threads";
+
+    private int threads = DEFAULT_THREADS;
+
+    @Override
+    protected int getCurrentVersion() {
+        return PARAM_CURRENT_VERSION;
+    }
+
+    @Override
+    protected String getConfigVersionKey() {
+        return PARAM_BASE_KEY + VERSION_ATTRIBUTE;
+    }
+
+    @Override
+    protected void updateConfigsImpl(int fileVersion) {
+        // Nothing to update.
+    }
+
+    @Override
+    protected void parseImpl() {
+        setThreadsImpl(getConfig().getInt(THREADS, DEFAULT_THREADS));
+    }
+
+    private void setThreadsImpl(int threads) {
+        this.threads = threads <= 0 ? DEFAULT_THREADS : threads;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        setThreadsImpl(threads);
+        getConfig().setProperty(THREADS, this.threads);
+    }
+}
@@ -20,13 +20,15 @@
 package org.zaproxy.zap.extension.openapi;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.parosproxy.paros.model.HistoryReference;
 
 public class OpenApiResults {
 
     private List<String> errors = new ArrayList<>();
-    private List<HistoryReference> historyReferences = new ArrayList<>();
+    private List<HistoryReference> historyReferences =
+            Collections.synchronizedList(new ArrayList<>());
 
     public List<String> getErrors() {
         return errors;
@@ -33,7 +33,7 @@ public class ProgressListener extends ProgressPaneListener implements RequesterL
     }
 
     @Override
-    public void handleMessage(final HttpMessage message, int initiator) {
+    public synchronized void handleMessage(final HttpMessage message, int initiator) {
         if (!HttpStatusCode.isRedirection(message.getResponseHeader().getStatusCode())) {
             setTasksDone(getTasksDone() + 1);
         }
@@ -19,6 +19,7 @@
  */
 package org.zaproxy.zap.extension.openapi.converter;
 
+import java.util.Iterator;
 import java.util.List;
 import org.zaproxy.zap.extension.openapi.converter.swagger.SwaggerException;
 import org.zaproxy.zap.extension.openapi.network.RequestModel;
@@ -26,4 +27,15 @@ import org.zaproxy.zap.extension.openapi.network.RequestModel;
 public interface Converter {
 
     List<RequestModel> getRequestModels() throws SwaggerException;
+
+    /**
+     * Gets the request models, which might be created as they are iterated, to process them without
+     * waiting for all to be created.
+     *
+     * @return the iterator of the request models.
+     * @throws SwaggerException if an error occurred while reading the definition.
+     */
+    default Iterator<RequestModel> getRequestModelsIterator() throws SwaggerException {
+        return getRequestModels().iterator();
+    }
 }
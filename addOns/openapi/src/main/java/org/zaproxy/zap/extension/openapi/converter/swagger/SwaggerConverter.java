@@ -42,6 +42,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -190,6 +191,29 @@ public class SwaggerConverter implements Converter {
         return convertToRequest(getOperationModels());
     }
 
+    /**
+     * Gets the request models, each created when iterated, in the calling thread.
+     *
+     * @return the iterator of the request models.
+     * @throws SwaggerException if an error occurred while reading the definition.
+     */
+    @Override
+    public Iterator<RequestModel> getRequestModelsIterator() throws SwaggerException {
+        Iterator<OperationModel> operations = getOperationModels().iterator();
+        return new Iterator<RequestModel>() {
+
+            @Override
+            public boolean hasNext() {
+                return operations.hasNext();
+            }
+
+            @Override
+            public RequestModel next() {
+                return requestConverter.convert(operations.next(), generators);
+            }
+        };
+    }
+
     private List<RequestModel> convertToRequest(List<OperationModel> operations) {
         List<RequestModel> requests = new LinkedList<>();
         for (OperationModel operation : operations) {
@@ -37,6 +37,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -49,6 +50,13 @@ public class BodyGenerator {
 
     private Generators generators;
     private DataGenerator dataGenerator;
+
+    /**
+     * The bodies generated for object and array schemas. The schemas referenced more than once are
+     * resolved by the parser to the same instance, which allows to generate their bodies just once.
+     */
+    private final Map<Schema<?>, String> generatedBodies = new IdentityHashMap<>();
+
     private static final Logger LOG = LogManager.getLogger(BodyGenerator.class);
     private static final List<String> PRIMITIVE_TYPES =
             Arrays.asList("boolean", "integer", "number", "string");
@@ -99,10 +107,18 @@ public class BodyGenerator {
             return "";
         }
 
+        String body = generatedBodies.get(schema);
+        if (body != null) {
+            LOG.debug("Reusing body generated for object {}", schema.getName());
+            return body;
+        }
+
         LOG.debug("Generate body for object {}", schema.getName());
 
         if (schema instanceof ArraySchema) {
-            return generateFromArraySchema((ArraySchema) schema);
+            body = generateFromArraySchema((ArraySchema) schema);
+            generatedBodies.put(schema, body);
+            return body;
         } else if (schema instanceof BinarySchema) {
             return generateFromBinarySchema((BinarySchema) schema, false);
         }
@@ -110,7 +126,9 @@ public class BodyGenerator {
         @SuppressWarnings("rawtypes")
         Map<String, Schema> properties = schema.getProperties();
         if (properties != null) {
-            return generateFromObjectSchema(properties);
+            body = generateFromObjectSchema(properties);
+            generatedBodies.put(schema, body);
+            return body;
         } else if (schema.getAdditionalProperties() instanceof Schema) {
             return generate((Schema<?>) schema.getAdditionalProperties());
         }
@@ -21,7 +21,15 @@ package org.zaproxy.zap.extension.openapi.network;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.httpclient.URI;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,10 +42,13 @@ import org.zaproxy.zap.network.HttpRequestConfig;
 
 public class Requestor {
 
+    private static final String THREAD_PREFIX = "ZAP-OpenAPI-Requestor-";
+
     private final int initiator;
-    private List<RequesterListener> listeners = new ArrayList<>();
+    private List<RequesterListener> listeners = new CopyOnWriteArrayList<>();
     private HttpSender sender;
     private final HttpRequestConfig requestConfig;
+    private int maxConcurrentRequests = 1;
     private static final Logger LOG = LogManager.getLogger(Requestor.class);
 
     public Requestor(int initiator) {
@@ -47,39 +58,117 @@ public class Requestor {
                 HttpRequestConfig.builder().setRedirectionValidator(new MessageHandler()).build();
     }
 
+    /**
+     * Sets the maximum number of requests sent at the same time.
+     *
+     * @param maxConcurrentRequests the maximum number of requests, {@code 1} to send them one at a
+     *     time, in order.
+     * @throws IllegalArgumentException if the given number is less than {@code 1}.
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("The maximum must be greater than zero.");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
     public List<String> run(List<RequestModel> requestsModel) {
-        List<String> errors = new ArrayList<>();
+        return run(requestsModel.iterator());
+    }
+
+    /**
+     * Sends the requests of the given models, as they are obtained from the iterator.
+     *
+     * <p>The models are obtained in the calling thread while the requests are sent concurrently,
+     * up to the {@link #setMaxConcurrentRequests(int) maximum number of requests}.
+     *
+     * @param requestModels the models of the requests.
+     * @return the errors that occurred, never {@code null}.
+     */
+    public List<String> run(Iterator<RequestModel> requestModels) {
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = maxConcurrentRequests > 1 ? createExecutor() : null;
+        // Limit the requests created ahead of the ones being sent
+        Semaphore pendingRequests = new Semaphore(maxConcurrentRequests * 2);
         try {
-            for (RequestModel requestModel : requestsModel) {
-                String url = requestModel.getUrl();
-                HttpMessage httpRequest = new HttpMessage(new URI(url, false));
-                httpRequest.getRequestHeader().setMethod(requestModel.getMethod().name());
-                for (HttpHeaderField hhf : requestModel.getHeaders()) {
-                    httpRequest.getRequestHeader().setHeader(hhf.getName(), hhf.getValue());
+            while (requestModels.hasNext()) {
+                RequestModel requestModel = requestModels.next();
+                HttpMessage httpRequest = createRequest(requestModel);
+                if (executor == null) {
+                    send(httpRequest, requestModel.getUrl(), errors);
+                    continue;
                 }
-                httpRequest.getRequestBody().setBody(requestModel.getBody());
-                httpRequest
-                        .getRequestHeader()
-                        .setContentLength(httpRequest.getRequestBody().length());
-
-                try {
 
-                    sender.sendAndReceive(httpRequest, requestConfig);
-                } catch (IOException e) {
-                    errors.add(
-                            Constant.messages.getString(
-                                    "openapi.import.error",
-                                    url,
-                                    e.getClass().getName(),
-                                    e.getMessage()));
-                    LOG.debug(e.getMessage(), e);
-                }
+                pendingRequests.acquire();
+                executor.execute(
+                        () -> {
+                            try {
+                                send(httpRequest, requestModel.getUrl(), errors);
+                            } finally {
+                                pendingRequests.release();
+                            }
+                        });
             }
         } catch (IOException e) {
             errors.add(e.getMessage());
             LOG.error(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (executor != null) {
+                awaitTermination(executor);
+            }
+        }
+        return new ArrayList<>(errors);
+    }
+
+    private ExecutorService createExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return Executors.newFixedThreadPool(
+                maxConcurrentRequests,
+                r -> {
+                    Thread thread = new Thread(r, THREAD_PREFIX + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOG.debug("Waiting for the requests to be sent.");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static HttpMessage createRequest(RequestModel requestModel) throws IOException {
+        HttpMessage httpRequest = new HttpMessage(new URI(requestModel.getUrl(), false));
+        httpRequest.getRequestHeader().setMethod(requestModel.getMethod().name());
+        for (HttpHeaderField hhf : requestModel.getHeaders()) {
+            httpRequest.getRequestHeader().setHeader(hhf.getName(), hhf.getValue());
+        }
+        httpRequest.getRequestBody().setBody(requestModel.getBody());
+        httpRequest.getRequestHeader().setContentLength(httpRequest.getRequestBody().length());
+        return httpRequest;
+    }
+
+    private void send(HttpMessage httpRequest, String url, List<String> errors) {
+        try {
+            sender.sendAndReceive(httpRequest, requestConfig);
+        } catch (IOException e) {
+            errors.add(
+                    Constant.messages.getString(
+                            "openapi.import.error", url, e.getClass().getName(), e.getMessage()));
+            LOG.debug(e.getMessage(), e);
         }
-        return errors;
     }
 
     public String getResponseBody(URI uri) throws NullPointerException, IOException {
@@ -22,10 +22,15 @@ package org.zaproxy.zap.extension.openapi.generators;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.StringSchema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -67,4 +72,23 @@ class BodyGeneratorUnitTest {
         // Then
         assertThat(body, is(equalTo("{\"foo\":\"bar\"}")));
     }
+
+    @Test
+    void shouldGenerateBodyOfSameSchemaJustOnce() {
+        // Given
+        DataGenerator dataGenerator = mock(DataGenerator.class);
+        given(dataGenerator.isSupported(any())).willReturn(true);
+        given(dataGenerator.generateBodyValue(any(), any())).willReturn("\"bar\"");
+        given(generators.getDataGenerator()).willReturn(dataGenerator);
+        bodyGenerator = new BodyGenerator(generators);
+        ObjectSchema schema = new ObjectSchema();
+        schema.addProperties("foo", new StringSchema());
+        // When
+        String body = bodyGenerator.generate(schema);
+        String otherBody = bodyGenerator.generate(schema);
+        // Then
+        assertThat(body, is(equalTo("{\"foo\":\"bar\"}")));
+        assertThat(otherBody, is(equalTo(body)));
+        verify(dataGenerator, times(1)).generateBodyValue(any(), any());
+    }
 }
@@ -25,6 +25,7 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import fi.iki.elonen.NanoHTTPD;
@@ -129,6 +130,41 @@ class RequestorUnitTest extends AbstractServerTest {
         assertThat(messages.get(3), is(equalTo("GET /final Final")));
     }
 
+    @Test
+    void shouldNotAllowMaxConcurrentRequestsLowerThanOne() {
+        // Given
+        Requestor requestor = new Requestor(HttpSender.MANUAL_REQUEST_INITIATOR);
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> requestor.setMaxConcurrentRequests(0));
+    }
+
+    @Test
+    void shouldSendAllRequestsConcurrently() {
+        // Given
+        String baseUrl = "http://localhost:" + nano.getListeningPort() + "/";
+        this.nano.addHandler(
+                new NanoServerHandler("/") {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return newFixedLengthResponse("");
+                    }
+                });
+        List<RequestModel> requestModels = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requestModels.add(requestModel(RequestMethod.GET, baseUrl + i));
+        }
+        List<String> paths = Collections.synchronizedList(new ArrayList<>());
+        Requestor requestor = new Requestor(HttpSender.MANUAL_REQUEST_INITIATOR);
+        requestor.setMaxConcurrentRequests(4);
+        requestor.addListener(
+                (msg, initiator) -> paths.add(msg.getRequestHeader().getURI().getEscapedPath()));
+        // When
+        List<String> errors = requestor.run(requestModels.iterator());
+        // Then
+        assertThat(errors, is(empty()));
+        assertThat(paths, hasSize(20));
+    }
+
     private static RequestModel requestModel(RequestMethod method, String url) {
         RequestModel request = new RequestModel();
         request.setMethod(method);
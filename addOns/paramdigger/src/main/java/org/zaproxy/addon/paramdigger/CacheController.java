@@ -37,6 +37,7 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpRequestHeader;
 import org.parosproxy.paros.network.HttpResponseHeader;
 import org.parosproxy.paros.network.HttpSender;
+import org.zaproxy.addon.paramdigger.KnowledgeStore.CacheKnowledge;
 import org.zaproxy.addon.paramdigger.gui.ParamDiggerHistoryTableModel;
 import org.zaproxy.zap.utils.ThreadUtils;
 
@@ -201,8 +202,15 @@ public class CacheController {
     }
 
     public boolean isCached(Method method) {
-        if (!cachingCheck) {
+        if (!cachingCheck && !restoreCaching(config.getUrl(), method)) {
             this.checkCaching(config.getUrl(), method);
+            KnowledgeStore knowledgeStore = getKnowledgeStore();
+            if (knowledgeStore != null && base != null) {
+                knowledgeStore.setCacheKnowledge(
+                        config.getUrl(),
+                        method,
+                        new CacheKnowledge(cache, config.getCacheBustingThreshold()));
+            }
         }
         if ((cache.getIndicator() != null || !cache.getIndicator().isEmpty())
                 || cache.hasTimeIndicator()) {
@@ -215,6 +223,86 @@ public class CacheController {
         return cache;
     }
 
+    private KnowledgeStore getKnowledgeStore() {
+        return scan != null ? scan.getKnowledgeStore() : null;
+    }
+
+    /**
+     * Restores the caching behaviour of the site found in a previous scan, sending just a request
+     * with the cache buster to obtain the busted response.
+     *
+     * @param url the URL to check.
+     * @param method the method to use.
+     * @return {@code true} if the caching behaviour was restored, {@code false} otherwise.
+     */
+    private boolean restoreCaching(String url, Method method) {
+        KnowledgeStore knowledgeStore = getKnowledgeStore();
+        if (knowledgeStore == null) {
+            return false;
+        }
+        CacheKnowledge knowledge = knowledgeStore.getCacheKnowledge(url, method);
+        if (knowledge == null) {
+            return false;
+        }
+        Cache knownCache = knowledge.getCache();
+        if (knownCache.isCacheBusterFound()) {
+            try {
+                HttpMessage msg = createBustedMessage(url, method, knownCache);
+                httpSender.sendAndReceive(msg);
+                this.addCacheMessage(msg);
+                this.bustedMessage = msg;
+            } catch (Exception e) {
+                logger.debug("Failed to restore the caching behaviour of {}", url, e);
+                return false;
+            }
+        }
+        this.cache = knownCache;
+        config.setCacheBustingThreshold(knowledge.getCacheBustingThreshold());
+        cachingCheck = true;
+        return true;
+    }
+
+    private HttpMessage createBustedMessage(String url, Method method, Cache cache)
+            throws IOException {
+        HttpRequestHeader headers = new HttpRequestHeader();
+        String value = Integer.toString(random.nextInt(RANDOM_SEED));
+        if (cache.isCacheBusterIsHttpMethod()) {
+            headers.setMethod(cache.getCacheBusterName());
+        } else {
+            switch (method) {
+                case GET:
+                    headers.setMethod(HttpRequestHeader.GET);
+                    break;
+                case POST:
+                    headers.setMethod(HttpRequestHeader.POST);
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            Constant.messages.getString(METHOD_NOT_SUPPORTED, method));
+            }
+        }
+        if (cache.isCacheBusterIsParameter()) {
+            headers.setURI(
+                    new URI(
+                            Utils.addCacheBusterParameter(url, cache.getCacheBusterName(), value),
+                            true));
+        } else {
+            headers.setURI(new URI(url, true));
+        }
+        headers.setVersion(HttpHeader.HTTP11);
+        if (cache.isCacheBusterIsHeader()) {
+            headers.setHeader(cache.getCacheBusterName(), value);
+        }
+        if (cache.isCacheBusterIsCookie()) {
+            List<HttpCookie> cookies = new ArrayList<>();
+            cookies.add(new HttpCookie(cache.getCacheBusterName(), value));
+            headers.setCookies(cookies);
+        }
+        HttpMessage msg = new HttpMessage();
+        msg.setRequestHeader(headers);
+        return msg;
+    }
+
     /**
      * Checks if a HTTP Method can be used as a cache buster.
      *
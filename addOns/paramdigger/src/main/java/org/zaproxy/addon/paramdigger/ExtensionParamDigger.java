@@ -19,11 +19,19 @@
  */
 package org.zaproxy.addon.paramdigger;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import javax.swing.ImageIcon;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
+import org.parosproxy.paros.control.Control.Mode;
 import org.parosproxy.paros.extension.ExtensionAdaptor;
 import org.parosproxy.paros.extension.ExtensionHook;
 import org.parosproxy.paros.extension.ExtensionPopupMenuItem;
+import org.parosproxy.paros.extension.SessionChangedListener;
+import org.parosproxy.paros.model.Session;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.paramdigger.gui.ParamDiggerDialog;
 import org.zaproxy.addon.paramdigger.gui.ParamDiggerPanel;
@@ -36,6 +44,8 @@ public class ExtensionParamDigger extends ExtensionAdaptor {
     public static final String NAME = "ExtensionParamDigger";
     protected static final String PREFIX = "paramdigger";
     private static final String RESOURCES = "resources";
+    private static final String KNOWLEDGE_FILE = "knowledge.json";
+    private static final Logger LOGGER = LogManager.getLogger(ExtensionParamDigger.class);
     private static ImageIcon icon;
 
     private ParamDiggerOptions options;
@@ -46,6 +56,7 @@ public class ExtensionParamDigger extends ExtensionAdaptor {
     private ParamDiggerDialog paramDiggerDialog;
 
     private ParamGuesserScanController scanController;
+    private KnowledgeStore knowledgeStore;
 
     public ExtensionParamDigger() {
         super(NAME);
@@ -58,6 +69,11 @@ public class ExtensionParamDigger extends ExtensionAdaptor {
 
         options = new ParamDiggerOptions();
         scanController = new ParamGuesserScanController();
+        knowledgeStore =
+                new KnowledgeStore(
+                        Paths.get(Constant.getZapHome(), PREFIX, KNOWLEDGE_FILE),
+                        Duration.ofHours(ParamDiggerOptions.DEFAULT_KNOWLEDGE_TTL));
+        scanController.setKnowledgeStore(knowledgeStore);
     }
 
     public static ImageIcon getIcon() {
@@ -78,6 +94,7 @@ public class ExtensionParamDigger extends ExtensionAdaptor {
 
         this.api = new ParamDiggerAPI();
         extensionHook.addApiImplementor(this.api);
+        extensionHook.addSessionListener(new SessionChangedListenerImpl());
 
         if (hasView()) {
             extensionHook.getHookMenu().addToolsMenuItem(getMenu());
@@ -107,9 +124,23 @@ public class ExtensionParamDigger extends ExtensionAdaptor {
         if (paramDiggerPanel != null) {
             paramDiggerPanel.unload();
         }
+        saveKnowledge();
+    }
+
+    private void saveKnowledge() {
+        try {
+            knowledgeStore.save();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to save the knowledge of the sites: {}", e.getMessage());
+        }
+    }
+
+    KnowledgeStore getKnowledgeStore() {
+        return knowledgeStore;
     }
 
     public void startScan(ParamDiggerConfig config) {
+        knowledgeStore.setTimeToLive(Duration.ofHours(options.getKnowledgeTtl()));
         // TODO change the display name based on the config.
         scanController.startScan("Scan", config);
     }
@@ -153,4 +184,28 @@ public class ExtensionParamDigger extends ExtensionAdaptor {
     public String getDescription() {
         return Constant.messages.getString(PREFIX + ".desc");
     }
+
+    private class SessionChangedListenerImpl implements SessionChangedListener {
+
+        @Override
+        public void sessionChanged(Session session) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void sessionAboutToChange(Session session) {
+            // The knowledge is about the sites, not the session, keep it for later scans.
+            saveKnowledge();
+        }
+
+        @Override
+        public void sessionScopeChanged(Session session) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void sessionModeChanged(Mode mode) {
+            // Nothing to do.
+        }
+    }
 }
@@ -19,6 +19,7 @@
  */
 package org.zaproxy.addon.paramdigger;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +29,8 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.zaproxy.addon.paramdigger.gui.ParamDiggerHistoryTableModel;
 import org.zaproxy.zap.model.GenericScanner2;
 
@@ -40,6 +43,8 @@ public class GuesserScan implements GenericScanner2 {
         FINISHED
     }
 
+    private static final Logger LOGGER = LogManager.getLogger(GuesserScan.class);
+
     private final Lock lock;
     private int scanId;
     private State state;
@@ -55,13 +60,29 @@ public class GuesserScan implements GenericScanner2 {
     private final ParamDiggerHistoryTableModel tableModel;
     private List<ParamGuessResult> results;
     private OutputModel outputModel;
+    private final KnowledgeStore knowledgeStore;
 
     public GuesserScan(int scanId, ParamDiggerConfig config, String name) {
+        this(scanId, config, name, null);
+    }
+
+    /**
+     * Constructs a {@code GuesserScan} that uses the given store to reuse and keep the knowledge
+     * of the sites between scans.
+     *
+     * @param scanId the ID of the scan.
+     * @param config the configuration of the scan.
+     * @param name the display name of the scan.
+     * @param knowledgeStore the knowledge store, might be {@code null}.
+     */
+    public GuesserScan(
+            int scanId, ParamDiggerConfig config, String name, KnowledgeStore knowledgeStore) {
         this.scanId = scanId;
         this.displayName = name;
         this.lock = new ReentrantLock();
         this.state = State.NOT_STARTED;
         this.config = config;
+        this.knowledgeStore = knowledgeStore;
 
         listeners = new ArrayList<>(2);
         tableModel = new ParamDiggerHistoryTableModel();
@@ -84,6 +105,19 @@ public class GuesserScan implements GenericScanner2 {
         return config;
     }
 
+    /**
+     * Gets the store of the knowledge of the sites, if enabled and used by the scan.
+     *
+     * @return the knowledge store, or {@code null} if not available, not enabled, or not used.
+     * @see ParamDiggerConfig#getUseKnowledge()
+     */
+    public KnowledgeStore getKnowledgeStore() {
+        if (knowledgeStore == null || !knowledgeStore.isEnabled() || !config.getUseKnowledge()) {
+            return null;
+        }
+        return knowledgeStore;
+    }
+
     @Override
     public void run() {}
 
@@ -146,6 +180,7 @@ public class GuesserScan implements GenericScanner2 {
             state = State.FINISHED;
             new Thread(
                             () -> {
+                                saveKnowledge();
                                 executor.shutdown();
                                 notifyListenersCompleted(true);
                             },
@@ -156,6 +191,17 @@ public class GuesserScan implements GenericScanner2 {
         }
     }
 
+    private void saveKnowledge() {
+        if (knowledgeStore == null) {
+            return;
+        }
+        try {
+            knowledgeStore.save();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to save the knowledge of the sites: {}", e.getMessage());
+        }
+    }
+
     private void notifyListenersCompleted(boolean successfully) {
         for (GuesserProgressListener listener : listeners) {
             listener.completed(scanId, displayName, successfully);
@@ -290,6 +336,17 @@ public class GuesserScan implements GenericScanner2 {
         }
     }
 
+    /**
+     * Adds the given text to the output of the scan.
+     *
+     * @param text the text to output.
+     */
+    public void addOutput(String text) {
+        if (outputModel != null) {
+            outputModel.notifyText(text);
+        }
+    }
+
     public List<ParamGuessResult> getResults() {
         return results;
     }
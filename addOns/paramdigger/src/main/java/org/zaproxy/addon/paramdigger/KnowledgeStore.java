@@ -0,0 +1,490 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.paramdigger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.zaproxy.addon.commonlib.http.ComparableResponse;
+
+/**
+ * A persistent store of what was learnt about the sites in previous scans, so that repeated scans
+ * of the same endpoints only need to test what is not yet known.
+ *
+ * <p>For each endpoint (scheme, host, port and path) and method it keeps:
+ *
+ * <ul>
+ *   <li>the fingerprint of the baseline response, used to detect that the site changed;
+ *   <li>the parameters known to be valid and known to be irrelevant;
+ *   <li>the caching behaviour, that is, the cache indicator and cache buster found;
+ *   <li>the maximum size of the payload accepted.
+ * </ul>
+ *
+ * <p>The knowledge expires after the configured time to live, and the knowledge of the
+ * parameters is also discarded when the fingerprint of the baseline response no longer matches.
+ *
+ * <p>Instances of this class are thread-safe.
+ */
+public class KnowledgeStore {
+
+    private static final Logger LOGGER = LogManager.getLogger(KnowledgeStore.class);
+
+    private static final int VERSION = 1;
+
+    private static final Pattern TAG_PATTERN = Pattern.compile("<\\s*([a-zA-Z][a-zA-Z0-9-]*)");
+
+    private static final String VERSION_KEY = "version";
+    private static final String ENTRIES_KEY = "entries";
+    private static final String KEY_KEY = "key";
+    private static final String TIME_KEY = "time";
+    private static final String FINGERPRINT_KEY = "fingerprint";
+    private static final String VALID_KEY = "valid";
+    private static final String IRRELEVANT_KEY = "irrelevant";
+    private static final String CACHE_BUSTER_FOUND_KEY = "cacheBusterFound";
+    private static final String CACHE_BUSTER_TYPE_KEY = "cacheBusterType";
+    private static final String CACHE_BUSTER_NAME_KEY = "cacheBusterName";
+    private static final String INDICATOR_KEY = "indicator";
+    private static final String TIME_INDICATOR_KEY = "timeIndicator";
+    private static final String NO_CACHE_KEY = "noCache";
+    private static final String THRESHOLD_KEY = "threshold";
+    private static final String MAX_PAYLOAD_SIZE_KEY = "maxPayloadSize";
+
+    private static final String PARAMS_PREFIX = "params ";
+    private static final String CACHE_PREFIX = "cache ";
+    private static final String LIMITS_PREFIX = "limits ";
+
+    private final Path file;
+    private final Clock clock;
+    private final Map<String, JSONObject> entries;
+    private Duration timeToLive;
+    private boolean loaded;
+    private boolean changed;
+
+    /**
+     * Constructs a {@code KnowledgeStore} persisted in the given file.
+     *
+     * @param file the file where the knowledge is persisted.
+     * @param timeToLive the time the knowledge is kept.
+     */
+    public KnowledgeStore(Path file, Duration timeToLive) {
+        this(file, timeToLive, Clock.systemUTC());
+    }
+
+    KnowledgeStore(Path file, Duration timeToLive, Clock clock) {
+        this.file = file;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * Sets the time the knowledge is kept.
+     *
+     * @param timeToLive the time to live, zero or negative to not use previous knowledge.
+     */
+    public synchronized void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Tells whether or not the store is enabled, that is, has a positive time to live.
+     *
+     * @return {@code true} if enabled, {@code false} otherwise.
+     */
+    public synchronized boolean isEnabled() {
+        return !timeToLive.isZero() && !timeToLive.isNegative();
+    }
+
+    /**
+     * Gets the parameters known for the endpoint of the given URL and method.
+     *
+     * @param url the URL being scanned.
+     * @param method the method of the requests.
+     * @param fingerprint the fingerprint of the current baseline response.
+     * @return the known parameters, or {@code null} if none or if the fingerprint no longer
+     *     matches.
+     * @see #createFingerprint(ComparableResponse)
+     */
+    public synchronized ParamKnowledge getParamKnowledge(
+            String url, Method method, String fingerprint) {
+        String key = createKey(PARAMS_PREFIX, url, method);
+        JSONObject entry = getEntry(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.optString(FINGERPRINT_KEY).equals(fingerprint)) {
+            LOGGER.debug("Baseline of {} changed, discarding the known parameters.", key);
+            entries.remove(key);
+            changed = true;
+            return null;
+        }
+        return new ParamKnowledge(
+                toSet(entry.optJSONArray(VALID_KEY)), toSet(entry.optJSONArray(IRRELEVANT_KEY)));
+    }
+
+    /**
+     * Sets the parameters known for the endpoint of the given URL and method.
+     *
+     * @param url the URL scanned.
+     * @param method the method of the requests.
+     * @param fingerprint the fingerprint of the baseline response.
+     * @param knowledge the known parameters.
+     */
+    public synchronized void setParamKnowledge(
+            String url, Method method, String fingerprint, ParamKnowledge knowledge) {
+        JSONObject entry = new JSONObject();
+        entry.put(FINGERPRINT_KEY, fingerprint);
+        entry.put(VALID_KEY, JSONArray.fromObject(new TreeSet<>(knowledge.getValidParams())));
+        entry.put(
+                IRRELEVANT_KEY,
+                JSONArray.fromObject(new TreeSet<>(knowledge.getIrrelevantParams())));
+        putEntry(createKey(PARAMS_PREFIX, url, method), entry);
+    }
+
+    /**
+     * Gets the caching behaviour known for the endpoint of the given URL and method.
+     *
+     * @param url the URL being scanned.
+     * @param method the method of the requests.
+     * @return the known caching behaviour, or {@code null} if not known.
+     */
+    public synchronized CacheKnowledge getCacheKnowledge(String url, Method method) {
+        JSONObject entry = getEntry(createKey(CACHE_PREFIX, url, method));
+        if (entry == null) {
+            return null;
+        }
+        Cache cache = new Cache();
+        cache.setCacheBusterFound(entry.optBoolean(CACHE_BUSTER_FOUND_KEY));
+        switch (entry.optString(CACHE_BUSTER_TYPE_KEY)) {
+            case "parameter":
+                cache.setCacheBusterIsParameter(true);
+                break;
+            case "header":
+                cache.setCacheBusterIsHeader(true);
+                break;
+            case "cookie":
+                cache.setCacheBusterIsCookie(true);
+                break;
+            case "method":
+                cache.setCacheBusterIsHttpMethod(true);
+                break;
+            default:
+        }
+        cache.setCacheBusterName(entry.optString(CACHE_BUSTER_NAME_KEY));
+        cache.setIndicator(entry.optString(INDICATOR_KEY));
+        cache.setTimeIndicator(entry.optBoolean(TIME_INDICATOR_KEY));
+        cache.setNoCache(entry.optBoolean(NO_CACHE_KEY));
+        return new CacheKnowledge(cache, entry.optInt(THRESHOLD_KEY, -1));
+    }
+
+    /**
+     * Sets the caching behaviour known for the endpoint of the given URL and method.
+     *
+     * @param url the URL scanned.
+     * @param method the method of the requests.
+     * @param knowledge the caching behaviour.
+     */
+    public synchronized void setCacheKnowledge(
+            String url, Method method, CacheKnowledge knowledge) {
+        Cache cache = knowledge.getCache();
+        JSONObject entry = new JSONObject();
+        entry.put(CACHE_BUSTER_FOUND_KEY, cache.isCacheBusterFound());
+        entry.put(CACHE_BUSTER_TYPE_KEY, getCacheBusterType(cache));
+        entry.put(CACHE_BUSTER_NAME_KEY, cache.getCacheBusterName());
+        entry.put(INDICATOR_KEY, cache.getIndicator());
+        entry.put(TIME_INDICATOR_KEY, cache.hasTimeIndicator());
+        entry.put(NO_CACHE_KEY, cache.isNoCache());
+        entry.put(THRESHOLD_KEY, knowledge.getCacheBustingThreshold());
+        putEntry(createKey(CACHE_PREFIX, url, method), entry);
+    }
+
+    /**
+     * Gets the maximum size of the payload accepted by the endpoint of the given URL, for the given
+     * method.
+     *
+     * @param url the URL being scanned.
+     * @param method the method of the requests.
+     * @return the maximum size of the payload, or {@code -1} if not known.
+     */
+    public synchronized int getMaxPayloadSize(String url, Method method) {
+        JSONObject entry = getEntry(createKey(LIMITS_PREFIX, url, method));
+        if (entry == null) {
+            return -1;
+        }
+        return entry.optInt(MAX_PAYLOAD_SIZE_KEY, -1);
+    }
+
+    /**
+     * Sets the maximum size of the payload accepted by the endpoint of the given URL, for the given
+     * method.
+     *
+     * @param url the URL scanned.
+     * @param method the method of the requests.
+     * @param maxPayloadSize the maximum size of the payload.
+     */
+    public synchronized void setMaxPayloadSize(String url, Method method, int maxPayloadSize) {
+        JSONObject entry = new JSONObject();
+        entry.put(MAX_PAYLOAD_SIZE_KEY, maxPayloadSize);
+        putEntry(createKey(LIMITS_PREFIX, url, method), entry);
+    }
+
+    private static String getCacheBusterType(Cache cache) {
+        if (cache.isCacheBusterIsParameter()) {
+            return "parameter";
+        }
+        if (cache.isCacheBusterIsHeader()) {
+            return "header";
+        }
+        if (cache.isCacheBusterIsCookie()) {
+            return "cookie";
+        }
+        if (cache.isCacheBusterIsHttpMethod()) {
+            return "method";
+        }
+        return "";
+    }
+
+    private JSONObject getEntry(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        load();
+        JSONObject entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry)) {
+            entries.remove(key);
+            changed = true;
+            return null;
+        }
+        return entry;
+    }
+
+    private void putEntry(String key, JSONObject entry) {
+        if (!isEnabled()) {
+            return;
+        }
+        load();
+        entry.put(KEY_KEY, key);
+        entry.put(TIME_KEY, clock.millis());
+        entries.put(key, entry);
+        changed = true;
+    }
+
+    private boolean isExpired(JSONObject entry) {
+        return clock.millis() - entry.optLong(TIME_KEY) > timeToLive.toMillis();
+    }
+
+    private static String createKey(String prefix, String url, Method method) {
+        return prefix + getEndpoint(url) + " " + method;
+    }
+
+    /**
+     * Gets the endpoint of the given URL, that is, its scheme, host, port and path. The parameters
+     * of one endpoint say nothing about the parameters of other endpoints of the same site.
+     *
+     * @param url the URL.
+     * @return the endpoint, or the URL itself if not a valid URL.
+     */
+    static String getEndpoint(String url) {
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if (port == -1) {
+                port = "https".equals(scheme) ? 443 : 80;
+            }
+            String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+            String path = uri.getRawPath();
+            if (path == null || path.isEmpty()) {
+                path = "/";
+            }
+            return scheme + "://" + host + ":" + port + path;
+        } catch (URISyntaxException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Creates the fingerprint of the given baseline response. The fingerprint is based on the
+     * status code, the names of the headers and the sequence of HTML/XML tags of the body, so that
+     * it does not change with the dynamic content of the page.
+     *
+     * @param response the baseline response.
+     * @return the fingerprint.
+     */
+    public static String createFingerprint(ComparableResponse response) {
+        Set<String> headerNames = new TreeSet<>();
+        for (String name : response.getHeaders().keySet()) {
+            headerNames.add(name.toLowerCase(Locale.ROOT));
+        }
+        int tagsHash = 1;
+        Matcher matcher = TAG_PATTERN.matcher(response.getBody());
+        while (matcher.find()) {
+            tagsHash = 31 * tagsHash + matcher.group(1).toLowerCase(Locale.ROOT).hashCode();
+        }
+        return response.getStatusCode()
+                + "-"
+                + Integer.toHexString(headerNames.hashCode())
+                + "-"
+                + Integer.toHexString(tagsHash);
+    }
+
+    private static Set<String> toSet(JSONArray array) {
+        Set<String> set = new HashSet<>();
+        if (array != null) {
+            for (int i = 0; i < array.size(); i++) {
+                set.add(array.getString(i));
+            }
+        }
+        return set;
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            JSONObject json = JSONObject.fromObject(content);
+            if (json.optInt(VERSION_KEY) != VERSION) {
+                return;
+            }
+            JSONArray array = json.getJSONArray(ENTRIES_KEY);
+            for (int i = 0; i < array.size(); i++) {
+                JSONObject entry = array.getJSONObject(i);
+                if (!isExpired(entry)) {
+                    entries.put(entry.getString(KEY_KEY), entry);
+                }
+            }
+        } catch (IOException | JSONException e) {
+            LOGGER.warn("Failed to read the knowledge from {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the knowledge to the file, if it changed. The expired knowledge is not saved.
+     *
+     * @throws IOException if an error occurred while saving the knowledge.
+     */
+    public synchronized void save() throws IOException {
+        if (!changed) {
+            return;
+        }
+        for (Iterator<JSONObject> it = entries.values().iterator(); it.hasNext(); ) {
+            if (isExpired(it.next())) {
+                it.remove();
+            }
+        }
+        JSONObject json = new JSONObject();
+        json.put(VERSION_KEY, VERSION);
+        json.put(ENTRIES_KEY, JSONArray.fromObject(entries.values()));
+
+        Files.createDirectories(file.getParent());
+        Path tempFile = Files.createTempFile(file.getParent(), "knowledge", ".tmp");
+        Files.write(tempFile, json.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        changed = false;
+    }
+
+    /** Clears all the knowledge. */
+    public synchronized void clear() {
+        entries.clear();
+        loaded = true;
+        changed = true;
+    }
+
+    /** The parameters known to be valid and irrelevant for an endpoint and method. */
+    public static class ParamKnowledge {
+
+        private final Set<String> validParams;
+        private final Set<String> irrelevantParams;
+
+        public ParamKnowledge(Collection<String> validParams, Collection<String> irrelevantParams) {
+            this.validParams = Collections.unmodifiableSet(new HashSet<>(validParams));
+            this.irrelevantParams = Collections.unmodifiableSet(new HashSet<>(irrelevantParams));
+        }
+
+        public Set<String> getValidParams() {
+            return validParams;
+        }
+
+        public Set<String> getIrrelevantParams() {
+            return irrelevantParams;
+        }
+
+        /**
+         * Tells whether or not the given parameter is known, either valid or irrelevant.
+         *
+         * @param param the name of the parameter.
+         * @return {@code true} if known, {@code false} otherwise.
+         */
+        public boolean isKnown(String param) {
+            return validParams.contains(param) || irrelevantParams.contains(param);
+        }
+    }
+
+    /** The caching behaviour of an endpoint and method. */
+    public static class CacheKnowledge {
+
+        private final Cache cache;
+        private final int cacheBustingThreshold;
+
+        public CacheKnowledge(Cache cache, int cacheBustingThreshold) {
+            this.cache = cache;
+            this.cacheBustingThreshold = cacheBustingThreshold;
+        }
+
+        public Cache getCache() {
+            return cache;
+        }
+
+        public int getCacheBustingThreshold() {
+            return cacheBustingThreshold;
+        }
+    }
+}
@@ -40,14 +40,23 @@ public class OutputModel {
     }
 
     public void notifyResult(ParamGuessResult paramGuessResult) {
-        output.append(paramGuessResult.toString());
-        ParamGuessResultEvent event = null;
+        notify(new ParamGuessResultEvent(this, paramGuessResult));
+    }
+
+    /**
+     * Notifies the listeners of the given text, which is also added to the output.
+     *
+     * @param text the text to output.
+     */
+    public void notifyText(String text) {
+        notify(new ParamGuessResultEvent(this, text));
+    }
+
+    private void notify(ParamGuessResultEvent event) {
+        output.append(event.getText());
         Object[] listeners = resultListeners.getListenerList();
         for (int i = listeners.length - 2; i >= 0; i -= 2) {
             if (listeners[i] == ParamDiggerResultEventListener.class) {
-                if (event == null) {
-                    event = new ParamGuessResultEvent(this, paramGuessResult);
-                }
                 ((ParamDiggerResultEventListener) listeners[i + 1]).notifyResult(event);
             }
         }
@@ -28,6 +28,7 @@ import org.zaproxy.zap.users.User;
 public class ParamDiggerConfig {
     private String url;
     private boolean addFcbzCacheBuster;
+    private boolean useKnowledge;
 
     private boolean usePredefinedUrlWordlists;
     private boolean usePredefinedHeaderWordlists;
@@ -79,6 +80,7 @@ public class ParamDiggerConfig {
         this.buster = 4;
         this.busterThreshold = -1;
         this.headerGuessMethods = new ArrayList<>();
+        this.useKnowledge = true;
     }
 
     public String getUrl() {
@@ -97,6 +99,19 @@ public class ParamDiggerConfig {
         this.addFcbzCacheBuster = addFcbzCacheBuster;
     }
 
+    /**
+     * Tells whether or not the knowledge of previous scans is used, and updated, by the scan.
+     *
+     * @return {@code true} if the knowledge is used, {@code false} otherwise.
+     */
+    public boolean getUseKnowledge() {
+        return useKnowledge;
+    }
+
+    public void setUseKnowledge(boolean useKnowledge) {
+        this.useKnowledge = useKnowledge;
+    }
+
     public boolean getUsePredefinedUrlWordlists() {
         return usePredefinedUrlWordlists;
     }
@@ -27,6 +27,9 @@ public class ParamDiggerOptions extends VersionedAbstractParam {
 
     public static final int DEFAULT_MAX_SCANS_IN_UI = 5;
 
+    /** The default time, in hours, that the knowledge of the sites is kept between scans. */
+    public static final int DEFAULT_KNOWLEDGE_TTL = 24;
+
     /**
      * The version of the configurations. Used to keep track of configurations changes between
      * releases, if updates are needed.
@@ -40,9 +43,11 @@ public class ParamDiggerOptions extends VersionedAbstractParam {
     private static final String MAX_FINISHED_SCANS_IN_UI_KEY = BASE_KEY + ".maxCompletedScansInUi";
     private static final String PROMPT_TO_CLEAR_FINISHED_SCANS_KEY =
             BASE_KEY + ".promptToClearFinishedScans";
+    private static final String KNOWLEDGE_TTL_KEY = BASE_KEY + ".knowledgeTtl";
 
     private int maxFinishedScansInUi;
     private boolean promptToClearFinishedScans;
+    private int knowledgeTtl;
 
     @Override
     protected int getCurrentVersion() {
@@ -60,6 +65,7 @@ public class ParamDiggerOptions extends VersionedAbstractParam {
         promptToClearFinishedScans =
                 getBoolean(
                         PROMPT_TO_CLEAR_FINISHED_SCANS_KEY, DEFAULT_PROMPT_TO_CLEAR_FINISHED_SCANS);
+        knowledgeTtl = getInt(KNOWLEDGE_TTL_KEY, DEFAULT_KNOWLEDGE_TTL);
     }
 
     @Override
@@ -94,4 +100,21 @@ public class ParamDiggerOptions extends VersionedAbstractParam {
                         PROMPT_TO_CLEAR_FINISHED_SCANS_KEY,
                         Boolean.valueOf(promptToClearFinishedScans));
     }
+
+    /**
+     * Gets the time, in hours, that the knowledge of the sites is kept between scans.
+     *
+     * @return the time to live of the knowledge, zero to not keep it.
+     */
+    public int getKnowledgeTtl() {
+        return knowledgeTtl;
+    }
+
+    public void setKnowledgeTtl(int hours) {
+        if (knowledgeTtl == hours) {
+            return;
+        }
+        knowledgeTtl = hours;
+        getConfig().setProperty(KNOWLEDGE_TTL_KEY, Integer.valueOf(knowledgeTtl));
+    }
 }
@@ -25,13 +25,42 @@ import java.util.EventObject;
 public class ParamGuessResultEvent extends EventObject {
     private static final long serialVersionUID = 1L;
     private final ParamGuessResult result;
+    private final String text;
 
     public ParamGuessResultEvent(Object source, ParamGuessResult res) {
         super(source);
         this.result = res;
+        this.text = res.toString();
     }
 
+    /**
+     * Constructs a {@code ParamGuessResultEvent} with just a text, for example, the statistics of
+     * the scan.
+     *
+     * @param source the source of the event.
+     * @param text the text to output.
+     */
+    public ParamGuessResultEvent(Object source, String text) {
+        super(source);
+        this.result = null;
+        this.text = text;
+    }
+
+    /**
+     * Gets the result.
+     *
+     * @return the result, or {@code null} if the event has just a text.
+     */
     public ParamGuessResult getResult() {
         return result;
     }
+
+    /**
+     * Gets the text to output, for the result or the text of the event.
+     *
+     * @return the text to output.
+     */
+    public String getText() {
+        return text;
+    }
 }
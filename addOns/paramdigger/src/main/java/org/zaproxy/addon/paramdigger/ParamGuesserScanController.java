@@ -38,6 +38,7 @@ public class ParamGuesserScanController implements ScanController<GuesserScan> {
     private Map<Integer, GuesserScan> paramGuesserScanMap;
 
     private ParamDiggerPanel panel;
+    private KnowledgeStore knowledgeStore;
 
     public ParamGuesserScanController() {
         this.paramGuesserScanLock = new ReentrantLock();
@@ -49,7 +50,7 @@ public class ParamGuesserScanController implements ScanController<GuesserScan> {
         paramGuesserScanLock.lock();
         try {
             int id = this.scanIdCounter++;
-            GuesserScan paramGuesserScan = new GuesserScan(id, config, displayName);
+            GuesserScan paramGuesserScan = new GuesserScan(id, config, displayName, knowledgeStore);
             paramGuesserScanMap.put(id, paramGuesserScan);
             paramGuesserScan.start();
 
@@ -244,6 +245,10 @@ public class ParamGuesserScanController implements ScanController<GuesserScan> {
         this.panel = panel;
     }
 
+    void setKnowledgeStore(KnowledgeStore knowledgeStore) {
+        this.knowledgeStore = knowledgeStore;
+    }
+
     private void updateScansPanel() {
         if (panel == null) {
             return;
@@ -58,7 +58,10 @@ public class UrlBruteForce implements Callable<ParamReasons> {
     private List<String> wordlist;
     private List<ParamGuessResult> guessedParams;
     private List<Integer> ERRORCODES = Arrays.asList(400, 413, 418, 429, 503);
+    /** The status codes that indicate that the request is too large. */
+    static final List<Integer> TOO_LARGE_CODES = Arrays.asList(413, 414, 431);
     private String baseValue;
+    private Status status;
     private static final Logger logger = LogManager.getLogger(UrlBruteForce.class);
 
     public UrlBruteForce(
@@ -95,9 +98,9 @@ public class UrlBruteForce implements Callable<ParamReasons> {
             return null;
         }
         ComparableResponse response = new ComparableResponse(msg, valueSent);
-        Status status = errorHandler(base, response);
+        status = errorHandler(base, response);
 
-        if (status.equals(Status.KILL)) {
+        if (!status.equals(Status.OK)) {
             return null;
         }
 
@@ -117,10 +120,14 @@ public class UrlBruteForce implements Callable<ParamReasons> {
      *
      * @param base the base response
      * @param response the response to check
-     * @return Status.OK if the response is valid, false otherwise.
+     * @return Status.OK if the response is valid, Status.RETRY if the request was too large (and
+     *     should be retried with fewer parameters), Status.KILL otherwise.
      */
     public Status errorHandler(ComparableResponse base, ComparableResponse response) {
         int status = response.getStatusCode();
+        if (TOO_LARGE_CODES.contains(status) && base.getStatusCode() != status) {
+            return Status.RETRY;
+        }
         if (ERRORCODES.contains(status)) {
             if (status == 503) {
                 // TODO Display on out panel "Taget unable to process requests"
@@ -146,6 +153,15 @@ public class UrlBruteForce implements Callable<ParamReasons> {
         return Status.OK;
     }
 
+    /**
+     * Gets the status of the response obtained when called.
+     *
+     * @return the status, or {@code null} if not called or the request was not sent.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
     /**
      * Makes Requests to target for a given msg, method and params.
      *
@@ -173,6 +189,7 @@ public class UrlBruteForce implements Callable<ParamReasons> {
                         headers.setHeader(header.getName(), header.getValue());
                     }
                     msg.setRequestHeader(headers);
+                    guesser.countRequest();
                     httpSender.sendAndReceive(msg);
                     ThreadUtils.invokeAndWaitHandled(
                             () -> {
@@ -215,6 +232,7 @@ public class UrlBruteForce implements Callable<ParamReasons> {
                     msg.setRequestHeader(headers);
                     msg.setRequestBody(xmlPayload);
                     msg.getRequestHeader().setContentLength(msg.getRequestBody().length());
+                    guesser.countRequest();
                     httpSender.sendAndReceive(msg);
                     table.addHistoryReference(
                             new HistoryReference(
@@ -261,6 +279,7 @@ public class UrlBruteForce implements Callable<ParamReasons> {
                     msg.setRequestHeader(headers);
                     msg.setRequestBody(jsonPayload);
                     msg.getRequestHeader().setContentLength(msg.getRequestBody().length());
+                    guesser.countRequest();
                     httpSender.sendAndReceive(msg);
                     table.addHistoryReference(
                             new HistoryReference(
@@ -292,6 +311,7 @@ public class UrlBruteForce implements Callable<ParamReasons> {
                     msg.setRequestHeader(headers);
                     msg.setRequestBody(postPayload);
                     msg.getRequestHeader().setContentLength(msg.getRequestBody().length());
+                    guesser.countRequest();
                     httpSender.sendAndReceive(msg);
                     table.addHistoryReference(
                             new HistoryReference(
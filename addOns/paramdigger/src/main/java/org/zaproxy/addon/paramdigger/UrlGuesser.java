@@ -25,17 +25,21 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpSender;
 import org.zaproxy.addon.commonlib.http.ComparableResponse;
+import org.zaproxy.addon.paramdigger.KnowledgeStore.ParamKnowledge;
 
 public class UrlGuesser implements Runnable {
 
@@ -50,6 +54,27 @@ public class UrlGuesser implements Runnable {
         KILL,
     }
 
+    /** The outcome of testing a group of parameters. */
+    private enum Outcome {
+        /** The response differs from the base response. */
+        POSITIVE,
+        /** The response is the same as the base response. */
+        NEGATIVE,
+        /** The request was too large, the group should be split. */
+        TOO_LARGE,
+        /** The request failed or the response could not be compared. */
+        ERROR,
+    }
+
+    /** The payload size that is assumed to be accepted by all targets, not probed. */
+    private static final int SAFE_PAYLOAD_SIZE = 2048;
+    /** The first payload size probed, doubled until rejected. */
+    private static final int INITIAL_PROBE_SIZE = 4096;
+    /** The maximum payload size probed for GET requests, sent in the URL. */
+    private static final int MAX_URL_PAYLOAD_SIZE = 65536;
+    /** The maximum payload size probed for requests with body. */
+    private static final int MAX_BODY_PAYLOAD_SIZE = 1048576;
+
     private HttpSender httpSender;
     private int id;
     // TODO should pass id to bruteforce task
@@ -78,6 +103,8 @@ public class UrlGuesser implements Runnable {
     private float lineCountHeuristicThreshold;
     private float wordCountHeuristic;
 
+    private final AtomicInteger requestCount = new AtomicInteger();
+
     private static final Logger logger = LogManager.getLogger(UrlGuesser.class);
 
     public UrlGuesser(int id, GuesserScan scan, HttpSender httpSender, ExecutorService executor) {
@@ -147,6 +174,7 @@ public class UrlGuesser implements Runnable {
     }
 
     private void startGuess(Method method, List<String> wordlist) {
+        int requestsBefore = requestCount.get();
         ComparableResponse primary = firstRequest(method, INIT_PARAM_1, INIT_VALUE_1);
         ComparableResponse base = firstRequest(method, INIT_PARAM_2, INIT_VALUE_2);
 
@@ -161,24 +189,66 @@ public class UrlGuesser implements Runnable {
         this.scan.notifyListenersProgress();
         // TODO Add heuristic method to mine parameters from base response.
 
+        Map<String, String> params = Utils.populate(wordlist);
+        List<Map<String, String>> usableParams = new ArrayList<>();
+
+        // Only test the parameters not known from previous scans.
+        KnowledgeStore knowledgeStore = scan.getKnowledgeStore();
+        String fingerprint = null;
+        ParamKnowledge knowledge = null;
+        if (knowledgeStore != null) {
+            fingerprint = KnowledgeStore.createFingerprint(base);
+            knowledge = knowledgeStore.getParamKnowledge(config.getUrl(), method, fingerprint);
+        }
+        Map<String, String> unknownParams = params;
+        if (knowledge != null) {
+            unknownParams = new HashMap<>();
+            for (Map.Entry<String, String> param : params.entrySet()) {
+                if (knowledge.getValidParams().contains(param.getKey())) {
+                    Map<String, String> usable = new HashMap<>();
+                    usable.put(param.getKey(), param.getValue());
+                    usableParams.add(usable);
+                } else if (!knowledge.isKnown(param.getKey())) {
+                    unknownParams.put(param.getKey(), param.getValue());
+                }
+            }
+            logger.debug(
+                    "Known parameters: {}, parameters to test: {}",
+                    params.size() - unknownParams.size(),
+                    unknownParams.size());
+        }
+
         List<Map<String, String>> paramGroups =
-                Utils.slice(Utils.populate(wordlist), config.getUrlGuessChunkSize());
+                createParamGroups(method, base, unknownParams, knowledgeStore);
         this.scan.setMaximum(paramGroups.size());
-        List<Map<String, String>> usableParams = new ArrayList<>();
+
+        // The parameters that could not be tested, not known to be irrelevant.
+        Set<String> untestedParams = new HashSet<>();
 
         // BruteForcing step
+        paramGroups = testParamGroups(base, method, paramGroups, untestedParams);
         while (!paramGroups.isEmpty()) {
             if (this.scan.isStopped()) {
                 return;
             }
-            paramGroups = narrowDownParams(base, method, paramGroups);
             paramGroups = Utils.confirmUsableParameters(paramGroups, usableParams);
+            paramGroups = narrowDownParams(base, method, paramGroups, untestedParams);
             this.scan.setMaximum(paramGroups.size());
             this.scan.notifyListenersProgress();
             logger.debug("param groups size: {}", paramGroups.size());
         }
 
         logger.debug("Usable parameters: {}", usableParams.size());
+        if (knowledgeStore != null) {
+            updateKnowledge(
+                    knowledgeStore,
+                    method,
+                    fingerprint,
+                    knowledge,
+                    params,
+                    usableParams,
+                    untestedParams);
+        }
         this.scan.setMaximum(usableParams.size());
         paramGuessResults = Collections.synchronizedList(new ArrayList<>());
 
@@ -212,48 +282,309 @@ public class UrlGuesser implements Runnable {
                 logger.error(e, e);
             }
         }
+        reportStatistics(method, requestCount.get() - requestsBefore, paramGuessResults.size());
+    }
+
+    private void reportStatistics(Method method, int requests, int paramsFound) {
+        logger.debug(
+                "Sent {} requests using {} and found {} parameters.",
+                requests,
+                method,
+                paramsFound);
+        String output;
+        if (paramsFound == 0) {
+            output =
+                    Constant.messages.getString(
+                            "paramdigger.results.urlguess.stats.none", method, requests);
+        } else {
+            output =
+                    Constant.messages.getString(
+                            "paramdigger.results.urlguess.stats",
+                            method,
+                            requests,
+                            paramsFound,
+                            String.format("%.1f", (float) requests / paramsFound));
+        }
+        scan.addOutput(output);
+    }
+
+    /**
+     * Creates the initial groups of parameters, packing as many parameters as fit in the maximum
+     * payload size accepted by the target, but no less groups than configured.
+     */
+    private List<Map<String, String>> createParamGroups(
+            Method method,
+            ComparableResponse base,
+            Map<String, String> params,
+            KnowledgeStore knowledgeStore) {
+        if (params.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int maxPayloadSize = -1;
+        if (knowledgeStore != null) {
+            maxPayloadSize = knowledgeStore.getMaxPayloadSize(config.getUrl(), method);
+        }
+        if (maxPayloadSize <= 0) {
+            int payloadSize = Utils.getPayloadLength(method, params);
+            maxPayloadSize = probeMaxPayloadSize(method, base, payloadSize);
+            // Keep just the limits of the target, not the size of the current parameters.
+            if (knowledgeStore != null && maxPayloadSize < payloadSize) {
+                knowledgeStore.setMaxPayloadSize(config.getUrl(), method, maxPayloadSize);
+            }
+        }
+        logger.debug("Max payload size for {}: {}", method, maxPayloadSize);
+
+        List<Map<String, String>> paramGroups = Utils.pack(params, method, maxPayloadSize);
+        if (paramGroups.size() < config.getUrlGuessChunkSize()) {
+            int parts = Math.min(config.getUrlGuessChunkSize(), params.size());
+            paramGroups = Utils.slice(params, parts);
+        }
+        return paramGroups;
+    }
+
+    /**
+     * Probes the maximum payload size accepted by the target, doubling the size until rejected
+     * and then narrowing it down with a binary search.
+     *
+     * @param method the method of the requests.
+     * @param base the base response.
+     * @param payloadSize the size of the payload with all the parameters.
+     * @return the maximum payload size accepted.
+     */
+    private int probeMaxPayloadSize(Method method, ComparableResponse base, int payloadSize) {
+        if (payloadSize <= SAFE_PAYLOAD_SIZE) {
+            return payloadSize;
+        }
+        int limit =
+                Math.min(
+                        payloadSize,
+                        method == Method.GET ? MAX_URL_PAYLOAD_SIZE : MAX_BODY_PAYLOAD_SIZE);
+        int accepted = SAFE_PAYLOAD_SIZE;
+        int rejected = -1;
+        int size = Math.min(INITIAL_PROBE_SIZE, limit);
+        while (!scan.isStopped()) {
+            if (!isPayloadSizeAccepted(method, base, size)) {
+                rejected = size;
+                break;
+            }
+            accepted = size;
+            if (size >= limit) {
+                break;
+            }
+            size = Math.min(size * 2, limit);
+        }
+        while (rejected != -1
+                && rejected - accepted > Math.max(SAFE_PAYLOAD_SIZE, rejected / 8)
+                && !scan.isStopped()) {
+            int middle = (accepted + rejected) / 2;
+            if (isPayloadSizeAccepted(method, base, middle)) {
+                accepted = middle;
+            } else {
+                rejected = middle;
+            }
+        }
+        return accepted;
+    }
+
+    private boolean isPayloadSizeAccepted(Method method, ComparableResponse base, int size) {
+        Map<String, String> params = new HashMap<>();
+        String value = "1";
+        int payloadSize = 0;
+        while (payloadSize < size) {
+            String name = RandomStringUtils.randomAlphabetic(12);
+            params.put(name, value);
+            payloadSize += Utils.getPayloadLength(method, name, value);
+        }
+        HttpMessage msg = new HttpMessage();
+        UrlBruteForce prober =
+                new UrlBruteForce(
+                        base,
+                        value,
+                        method,
+                        params,
+                        Mode.BRUTEFORCE,
+                        scan,
+                        this,
+                        this.httpSender,
+                        wordlist,
+                        null);
+        if (prober.requester(msg, method, params) == null) {
+            return false;
+        }
+        return msg.getResponseHeader().getStatusCode() == base.getStatusCode();
+    }
+
+    /**
+     * Tests the given groups of parameters, splitting and testing again the groups that are too
+     * large and testing again once the groups that failed.
+     *
+     * <p>The parameters of the groups that could not be tested are added to {@code
+     * untestedParams}.
+     *
+     * @return the groups whose responses differ from the base response.
+     */
+    private List<Map<String, String>> testParamGroups(
+            ComparableResponse base,
+            Method method,
+            List<Map<String, String>> paramGroups,
+            Set<String> untestedParams) {
+        List<Map<String, String>> positiveGroups = new ArrayList<>();
+        Set<Map<String, String>> retriedGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Map<String, String>> groups = paramGroups;
+        while (!groups.isEmpty() && !scan.isStopped()) {
+            List<Outcome> outcomes = test(base, method, groups);
+            List<Map<String, String>> groupsToTest = new ArrayList<>();
+            for (int i = 0; i < groups.size(); i++) {
+                Map<String, String> group = groups.get(i);
+                switch (outcomes.get(i)) {
+                    case POSITIVE:
+                        positiveGroups.add(group);
+                        break;
+                    case TOO_LARGE:
+                        if (group.size() > 1) {
+                            groupsToTest.addAll(Utils.slice(group, 2));
+                        } else {
+                            untestedParams.addAll(group.keySet());
+                        }
+                        break;
+                    case ERROR:
+                        if (retriedGroups.add(group)) {
+                            groupsToTest.add(group);
+                        } else {
+                            untestedParams.addAll(group.keySet());
+                        }
+                        break;
+                    default:
+                }
+            }
+            groups = groupsToTest;
+        }
+        groups.forEach(group -> untestedParams.addAll(group.keySet()));
+        return positiveGroups;
+    }
+
+    private void updateKnowledge(
+            KnowledgeStore knowledgeStore,
+            Method method,
+            String fingerprint,
+            ParamKnowledge knowledge,
+            Map<String, String> params,
+            List<Map<String, String>> usableParams,
+            Set<String> untestedParams) {
+        Set<String> valid = new HashSet<>();
+        for (Map<String, String> usable : usableParams) {
+            valid.addAll(usable.keySet());
+        }
+        Set<String> irrelevant = new HashSet<>(params.keySet());
+        irrelevant.removeAll(untestedParams);
+        if (knowledge != null) {
+            irrelevant.addAll(knowledge.getIrrelevantParams());
+        }
+        irrelevant.removeAll(valid);
+        knowledgeStore.setParamKnowledge(
+                config.getUrl(), method, fingerprint, new ParamKnowledge(valid, irrelevant));
     }
 
+    /**
+     * Narrows down the given groups of parameters, known to change the response, by splitting
+     * each in two halves. Only the first half is tested at first, if it does not change the
+     * response then it's the second half that does, otherwise the second half is also tested. If
+     * the first half could not be tested both halves are tested.
+     *
+     * @return the halves whose responses differ (or are inferred to differ) from the base
+     *     response.
+     */
     private List<Map<String, String>> narrowDownParams(
-            ComparableResponse base, Method method, List<Map<String, String>> paramGroups) {
+            ComparableResponse base,
+            Method method,
+            List<Map<String, String>> paramGroups,
+            Set<String> untestedParams) {
         List<Map<String, String>> narrowedParamGroups = new ArrayList<>();
-        List<Future<ParamReasons>> futures = new ArrayList<>();
+        List<Map<String, String>> firstHalves = new ArrayList<>(paramGroups.size());
+        List<Map<String, String>> secondHalves = new ArrayList<>(paramGroups.size());
+        for (Map<String, String> param : paramGroups) {
+            List<Map<String, String>> slices = Utils.slice(param, 2);
+            firstHalves.add(slices.get(0));
+            secondHalves.add(slices.get(1));
+        }
+
+        List<Outcome> outcomes = test(base, method, firstHalves);
+        List<Map<String, String>> halvesToTest = new ArrayList<>();
+        for (int i = 0; i < outcomes.size(); i++) {
+            switch (outcomes.get(i)) {
+                case NEGATIVE:
+                    narrowedParamGroups.add(secondHalves.get(i));
+                    break;
+                case POSITIVE:
+                    narrowedParamGroups.add(firstHalves.get(i));
+                    halvesToTest.add(secondHalves.get(i));
+                    break;
+                default:
+                    // Not known if the first half changes the response, test it again.
+                    halvesToTest.add(firstHalves.get(i));
+                    halvesToTest.add(secondHalves.get(i));
+            }
+        }
+        narrowedParamGroups.addAll(testParamGroups(base, method, halvesToTest, untestedParams));
+        return narrowedParamGroups;
+    }
+
+    /**
+     * Tests each of the given groups of parameters, concurrently.
+     *
+     * @return the outcome of each group, in the same order.
+     */
+    private List<Outcome> test(
+            ComparableResponse base, Method method, List<Map<String, String>> paramGroups) {
+        List<UrlBruteForce> tasks = new ArrayList<>(paramGroups.size());
+        List<Future<ParamReasons>> futures = new ArrayList<>(paramGroups.size());
 
         for (Map<String, String> param : paramGroups) {
             if (this.scan.isStopped()) {
-                return narrowedParamGroups;
+                break;
             }
-            futures.add(
-                    executor.submit(
-                            new UrlBruteForce(
-                                    base,
-                                    INIT_VALUE_2,
-                                    method,
-                                    param,
-                                    Mode.BRUTEFORCE,
-                                    scan,
-                                    this,
-                                    this.httpSender,
-                                    wordlist,
-                                    null)));
+            UrlBruteForce task =
+                    new UrlBruteForce(
+                            base,
+                            INIT_VALUE_2,
+                            method,
+                            param,
+                            Mode.BRUTEFORCE,
+                            scan,
+                            this,
+                            this.httpSender,
+                            wordlist,
+                            null);
+            tasks.add(task);
+            futures.add(executor.submit(task));
         }
 
-        for (Future<ParamReasons> future : futures) {
+        List<Outcome> outcomes = new ArrayList<>(paramGroups.size());
+        for (int i = 0; i < futures.size(); i++) {
+            Outcome outcome = Outcome.ERROR;
             try {
-                ParamReasons narrowedParam = future.get();
-                if (narrowedParam != null && !narrowedParam.isEmpty()) {
-                    List<Map<String, String>> slices = Utils.slice(narrowedParam.getParams(), 2);
-                    for (Map<String, String> slice : slices) {
-                        narrowedParamGroups.add(slice);
-                    }
-                    this.scan.notifyListenersProgress();
+                ParamReasons narrowedParam = futures.get(i).get();
+                if (narrowedParam != null) {
+                    outcome = narrowedParam.isEmpty() ? Outcome.NEGATIVE : Outcome.POSITIVE;
+                } else if (tasks.get(i).getStatus() == Status.RETRY) {
+                    outcome = Outcome.TOO_LARGE;
                 }
+                this.scan.notifyListenersProgress();
             } catch (Exception e) {
                 // TODO Display proper error message to user
                 logger.error(e, e);
             }
+            outcomes.add(outcome);
         }
-        return narrowedParamGroups;
+        while (outcomes.size() < paramGroups.size()) {
+            outcomes.add(Outcome.ERROR);
+        }
+        return outcomes;
+    }
+
+    /** Counts a request sent to the target. */
+    void countRequest() {
+        requestCount.incrementAndGet();
     }
 
     public ComparableResponse firstRequest(Method method, String param, String value) {
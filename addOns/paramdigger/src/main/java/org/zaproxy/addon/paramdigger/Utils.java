@@ -162,6 +162,75 @@ public class Utils {
         return paramGroups;
     }
 
+    /**
+     * Returns the (approximate) length of the payload created for the given parameter, when sent
+     * with the given method.
+     *
+     * @param method the method used to send the parameter.
+     * @param name the name of the parameter.
+     * @param value the value of the parameter.
+     * @return the length of the payload.
+     */
+    public static int getPayloadLength(Method method, String name, String value) {
+        switch (method) {
+            case XML:
+                // <name>value</name>
+                return 2 * name.length() + value.length() + 5;
+            case JSON:
+                // "name":"value",
+                return name.length() + value.length() + 6;
+            default:
+                // name=value&
+                return name.length() + value.length() + 2;
+        }
+    }
+
+    /**
+     * Returns the (approximate) length of the payload created for the given parameters, when sent
+     * with the given method.
+     *
+     * @param method the method used to send the parameters.
+     * @param params the parameters.
+     * @return the length of the payload.
+     */
+    public static int getPayloadLength(Method method, Map<String, String> params) {
+        int length = 0;
+        for (Entry<String, String> param : params.entrySet()) {
+            length += getPayloadLength(method, param.getKey(), param.getValue());
+        }
+        return length;
+    }
+
+    /**
+     * Packs the given parameters into groups whose payload does not exceed the given size. A
+     * parameter whose payload alone exceeds the size is put in its own group.
+     *
+     * @param params the parameters to pack.
+     * @param method the method used to send the parameters.
+     * @param maxPayloadSize the maximum size of the payload of each group.
+     * @return a List<Map<String, String>> of parameters packed into groups.
+     */
+    public static List<Map<String, String>> pack(
+            Map<String, String> params, Method method, int maxPayloadSize) {
+        List<Map<String, String>> groups = new ArrayList<>();
+        Map<String, String> group = new HashMap<>();
+        int groupSize = 0;
+        for (Entry<String, String> param : params.entrySet()) {
+            int size = getPayloadLength(method, param.getKey(), param.getValue());
+            if (!group.isEmpty() && groupSize + size > maxPayloadSize) {
+                groups.add(group);
+                group = new HashMap<>();
+                groupSize = 0;
+            }
+            group.put(param.getKey(), param.getValue());
+            groupSize += size;
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
     public static String createJsonString(Map<String, String> params) {
         JSONObject json = new JSONObject();
         json.accumulateAll(params);
@@ -68,6 +68,7 @@ public class ParamDiggerDialog extends StandardFieldsDialog {
     private static final String COOKIE_GUESS = "paramdigger.dialog.cookieguess";
 
     private static final String THREADPOOL_SIZE = "paramdigger.dialog.threadpool.size";
+    private static final String USE_KNOWLEDGE = "paramdigger.dialog.useknowledge";
 
     private static final String CONTROL_TAB_KEY = "paramdigger.dialog.tab.control";
     private static final String URLGUESS_TAB_KEY = "paramdigger.dialog.tab.urlguess";
@@ -291,6 +292,7 @@ public class ParamDiggerDialog extends StandardFieldsDialog {
                     }
                 });
         this.addNumberField(CONTROL_TAB, THREADPOOL_SIZE, 6, 12, 8);
+        this.addCheckBoxField(CONTROL_TAB, USE_KNOWLEDGE, true);
         this.addPadding(CONTROL_TAB);
         this.addPadding(URL_GUESS_TAB);
         this.addPadding(HEADER_GUESS_TAB);
@@ -490,6 +492,7 @@ public class ParamDiggerDialog extends StandardFieldsDialog {
         setHeaderGuessMethods(config);
         config.setSkipBoringHeaders(this.getBoolValue(SKIP_BORING_HEADERS));
         config.setThreadCount(this.getIntValue(THREADPOOL_SIZE));
+        config.setUseKnowledge(this.getBoolValue(USE_KNOWLEDGE));
         config.setContext(this.getStringValue(CONTEXT));
 
         if (config.doUrlGuess() || config.doHeaderGuess() || config.doCookieGuess()) {
@@ -190,7 +190,7 @@ public class ParamDiggerPanel extends ScanPanel2<GuesserScan, ParamGuesserScanCo
 
         @Override
         public void notifyResult(ParamGuessResultEvent event) {
-            EventQueue.invokeLater(() -> outputArea.append(event.getResult().toString()));
+            EventQueue.invokeLater(() -> outputArea.append(event.getText()));
         }
     }
 
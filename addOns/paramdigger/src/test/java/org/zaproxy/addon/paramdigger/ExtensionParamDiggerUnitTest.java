@@ -0,0 +1,87 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.paramdigger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.parosproxy.paros.Constant;
+import org.parosproxy.paros.extension.ExtensionHook;
+import org.parosproxy.paros.extension.SessionChangedListener;
+import org.parosproxy.paros.model.Session;
+import org.zaproxy.addon.paramdigger.KnowledgeStore.ParamKnowledge;
+import org.zaproxy.zap.testutils.TestUtils;
+
+/** Unit test for {@link ExtensionParamDigger}. */
+class ExtensionParamDiggerUnitTest extends TestUtils {
+
+    private static final String URL = "https://example.com/path";
+
+    private ExtensionParamDigger extension;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        setUpZap();
+        extension = new ExtensionParamDigger();
+        extension.init();
+    }
+
+    @Test
+    void shouldKeepKnowledgeWhenSessionChanges() throws Exception {
+        // Given
+        ExtensionHook extensionHook = mock(ExtensionHook.class);
+        extension.hook(extensionHook);
+        ArgumentCaptor<SessionChangedListener> argument =
+                ArgumentCaptor.forClass(SessionChangedListener.class);
+        verify(extensionHook).addSessionListener(argument.capture());
+        extension
+                .getKnowledgeStore()
+                .setParamKnowledge(
+                        URL,
+                        Method.GET,
+                        "fp",
+                        new ParamKnowledge(
+                                Collections.singleton("q"), Collections.emptySet()));
+        // When
+        argument.getValue().sessionAboutToChange(mock(Session.class));
+        // Then
+        assertKnownParam(extension.getKnowledgeStore());
+        assertKnownParam(
+                new KnowledgeStore(
+                        Paths.get(Constant.getZapHome(), "paramdigger", "knowledge.json"),
+                        Duration.ofHours(24)));
+    }
+
+    private static void assertKnownParam(KnowledgeStore store) {
+        ParamKnowledge knowledge = store.getParamKnowledge(URL, Method.GET, "fp");
+        assertThat(knowledge, is(notNullValue()));
+        assertThat(knowledge.getValidParams(), contains("q"));
+    }
+}
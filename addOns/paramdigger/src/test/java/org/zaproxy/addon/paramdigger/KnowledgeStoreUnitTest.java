@@ -0,0 +1,223 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.paramdigger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.commonlib.http.ComparableResponse;
+import org.zaproxy.addon.paramdigger.KnowledgeStore.CacheKnowledge;
+import org.zaproxy.addon.paramdigger.KnowledgeStore.ParamKnowledge;
+
+/** Unit test for {@link KnowledgeStore}. */
+class KnowledgeStoreUnitTest {
+
+    private static final String URL = "https://example.com/path?a=b";
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final Instant NOW = Instant.parse("2022-10-01T10:00:00Z");
+
+    @TempDir Path dir;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("paramdigger").resolve("knowledge.json");
+    }
+
+    @Test
+    void shouldGetParamKnowledgeSavedByPreviousStore() throws Exception {
+        // Given
+        KnowledgeStore store = createStore(NOW);
+        store.setParamKnowledge(URL, Method.GET, "fp", knowledge("q"));
+        store.save();
+
+        // When
+        ParamKnowledge knowledge =
+                createStore(NOW.plusSeconds(60))
+                        .getParamKnowledge("https://EXAMPLE.com:443/path", Method.GET, "fp");
+
+        // Then
+        assertThat(knowledge.getValidParams(), containsInAnyOrder("q"));
+        assertThat(knowledge.getIrrelevantParams(), containsInAnyOrder("a", "b"));
+        assertThat(knowledge.isKnown("a"), is(equalTo(true)));
+        assertThat(knowledge.isKnown("z"), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldNotGetParamKnowledgeOfOtherMethodOrSite() throws Exception {
+        // Given
+        KnowledgeStore store = createStore(NOW);
+        store.setParamKnowledge(URL, Method.GET, "fp", knowledge("q"));
+
+        // When / Then
+        assertThat(store.getParamKnowledge(URL, Method.POST, "fp"), is(nullValue()));
+        assertThat(
+                store.getParamKnowledge("http://example.com/path", Method.GET, "fp"),
+                is(nullValue()));
+    }
+
+    @Test
+    void shouldNotGetParamKnowledgeOfOtherEndpointOfSameSite() throws Exception {
+        // Given
+        KnowledgeStore store = createStore(NOW);
+        store.setParamKnowledge(URL, Method.GET, "fp", knowledge("q"));
+        store.setCacheKnowledge(URL, Method.GET, new CacheKnowledge(new Cache(), 20));
+        store.setMaxPayloadSize(URL, Method.GET, 1024);
+
+        // When / Then
+        String otherEndpoint = "https://example.com/other";
+        assertThat(store.getParamKnowledge(otherEndpoint, Method.GET, "fp"), is(nullValue()));
+        assertThat(store.getCacheKnowledge(otherEndpoint, Method.GET), is(nullValue()));
+        assertThat(store.getMaxPayloadSize(otherEndpoint, Method.GET), is(equalTo(-1)));
+    }
+
+    @Test
+    void shouldClearKnowledge() throws Exception {
+        // Given
+        KnowledgeStore store = createStore(NOW);
+        store.setParamKnowledge(URL, Method.GET, "fp", knowledge("q"));
+        store.save();
+
+        // When
+        store.clear();
+        store.save();
+
+        // Then
+        assertThat(store.getParamKnowledge(URL, Method.GET, "fp"), is(nullValue()));
+        assertThat(createStore(NOW).getParamKnowledge(URL, Method.GET, "fp"), is(nullValue()));
+    }
+
+    @Test
+    void shouldDiscardParamKnowledgeIfFingerprintChanged() throws Exception {
+        // Given
+        KnowledgeStore store = createStore(NOW);
+        store.setParamKnowledge(URL, Method.GET, "fp", knowledge("q"));
+
+        // When
+        ParamKnowledge changed = store.getParamKnowledge(URL, Method.GET, "other fp");
+
+        // Then
+        assertThat(changed, is(nullValue()));
+        assertThat(store.getParamKnowledge(URL, Method.GET, "fp"), is(nullValue()));
+    }
+
+    @Test
+    void shouldExpireKnowledgeAfterTimeToLive() throws Exception {
+        // Given
+        KnowledgeStore store = createStore(NOW);
+        store.setParamKnowledge(URL, Method.GET, "fp", knowledge("q"));
+        store.setCacheKnowledge(URL, Method.GET, new CacheKnowledge(new Cache(), 20));
+        store.save();
+
+        // When
+        KnowledgeStore laterStore = createStore(NOW.plus(TTL).plusSeconds(1));
+
+        // Then
+        assertThat(laterStore.getParamKnowledge(URL, Method.GET, "fp"), is(nullValue()));
+        assertThat(laterStore.getCacheKnowledge(URL, Method.GET), is(nullValue()));
+    }
+
+    @Test
+    void shouldNotUseKnowledgeIfDisabled() throws Exception {
+        // Given
+        KnowledgeStore store = createStore(NOW);
+        store.setParamKnowledge(URL, Method.GET, "fp", knowledge("q"));
+
+        // When
+        store.setTimeToLive(Duration.ZERO);
+
+        // Then
+        assertThat(store.isEnabled(), is(equalTo(false)));
+        assertThat(store.getParamKnowledge(URL, Method.GET, "fp"), is(nullValue()));
+    }
+
+    @Test
+    void shouldGetCacheKnowledgeSavedByPreviousStore() throws Exception {
+        // Given
+        Cache cache = new Cache();
+        cache.setCacheBusterFound(true);
+        cache.setCacheBusterIsHeader(true);
+        cache.setCacheBusterName("Origin");
+        cache.setIndicator("x-cache");
+        KnowledgeStore store = createStore(NOW);
+        store.setCacheKnowledge(URL, Method.GET, new CacheKnowledge(cache, 25));
+        store.save();
+
+        // When
+        CacheKnowledge knowledge = createStore(NOW).getCacheKnowledge(URL, Method.GET);
+
+        // Then
+        assertThat(knowledge.getCacheBustingThreshold(), is(equalTo(25)));
+        Cache restored = knowledge.getCache();
+        assertThat(restored.isCacheBusterFound(), is(equalTo(true)));
+        assertThat(restored.isCacheBusterIsHeader(), is(equalTo(true)));
+        assertThat(restored.isCacheBusterIsParameter(), is(equalTo(false)));
+        assertThat(restored.getCacheBusterName(), is(equalTo("Origin")));
+        assertThat(restored.getIndicator(), is(equalTo("x-cache")));
+        assertThat(restored.hasTimeIndicator(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldCreateFingerprintIgnoringTextOfThePage() throws Exception {
+        // Given
+        ComparableResponse response = response("<html><body><p>Hello 1</p></body></html>");
+        ComparableResponse sameStructure =
+                response("<html><body><p>Goodbye 2</p></body></html>");
+        ComparableResponse otherStructure =
+                response("<html><body><div>Hello 1</div></body></html>");
+
+        // When
+        String fingerprint = KnowledgeStore.createFingerprint(response);
+
+        // Then
+        assertThat(fingerprint, is(equalTo(KnowledgeStore.createFingerprint(sameStructure))));
+        assertThat(fingerprint, is(not(KnowledgeStore.createFingerprint(otherStructure))));
+    }
+
+    private KnowledgeStore createStore(Instant instant) {
+        return new KnowledgeStore(file, TTL, Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private static ParamKnowledge knowledge(String valid) {
+        return new ParamKnowledge(Arrays.asList(valid), Arrays.asList("a", "b"));
+    }
+
+    private static ComparableResponse response(String body) throws Exception {
+        HttpMessage msg = new HttpMessage();
+        msg.setRequestHeader("GET / HTTP/1.1\r\nHost: example.com\r\n\r\n");
+        msg.setResponseHeader("HTTP/1.1 200 OK\r\nContent-Type: text/html\r\n\r\n");
+        msg.setResponseBody(body);
+        return new ComparableResponse(msg, null);
+    }
+}
@@ -24,6 +24,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.RETURNS_MOCKS;
@@ -34,14 +35,18 @@ import static org.mockito.Mockito.withSettings;
 
 import fi.iki.elonen.NanoHTTPD.IHTTPSession;
 import fi.iki.elonen.NanoHTTPD.Response;
+import fi.iki.elonen.NanoHTTPD.Response.IStatus;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -501,4 +506,187 @@ public class UrlGuesserUnitTest extends TestUtils {
         // Then
         verify(this.scan, times(0)).addParamGuessResult(any());
     }
+
+    @Test
+    void shouldOnlyTestUnknownParametersWithKnowledgeFromPreviousScan() throws Exception {
+        // Given
+        String path = "/body";
+        AtomicInteger requests = new AtomicInteger();
+        this.nano.addHandler(
+                new NanoServerHandler(path) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        requests.incrementAndGet();
+                        String name = getFirstParamValue(session, "q");
+                        name = name == null ? " " : name;
+                        String response =
+                                getHtml("ReflectionInBody.html", new String[][] {{"q", name}});
+
+                        return newFixedLengthResponse(response);
+                    }
+                });
+
+        HttpMessage msg = getHttpMessage(path);
+        config.setUrl(msg.getRequestHeader().getURI().toString());
+        config.setDoUrlGuess(true);
+        config.setUrlGetRequest(true);
+        given(scan.getConfig()).willReturn(config);
+        KnowledgeStore knowledgeStore =
+                new KnowledgeStore(
+                        Paths.get(Constant.getZapHome(), "knowledge.json"), Duration.ofHours(1));
+        given(scan.getKnowledgeStore()).willReturn(knowledgeStore);
+        new UrlGuesser(0, scan, httpSender, executor).run();
+        int requestsFirstScan = requests.getAndSet(0);
+        urlGuesser = new UrlGuesser(0, scan, httpSender, executor);
+
+        // When
+        urlGuesser.run();
+
+        // Then
+        assertThat(requests.get(), lessThan(requestsFirstScan));
+        ArgumentCaptor<ParamGuessResult> result = ArgumentCaptor.forClass(ParamGuessResult.class);
+        verify(scan, times(2)).addParamGuessResult(result.capture());
+        assertThat(result.getAllValues().get(0).getParamName(), equalTo("q"));
+        assertThat(result.getAllValues().get(1).getParamName(), equalTo("q"));
+    }
+
+    @Test
+    void shouldSplitRequestsTooLargeForTheTarget() throws Exception {
+        // Given
+        String path = "/body";
+        this.nano.addHandler(
+                new NanoServerHandler(path) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        String query = session.getQueryParameterString();
+                        if (query != null && query.length() > 60) {
+                            return newFixedLengthResponse(
+                                    URI_TOO_LONG, "text/html", "<html>Too long</html>");
+                        }
+                        String name = getFirstParamValue(session, "q");
+                        name = name == null ? " " : name;
+                        String response =
+                                getHtml("ReflectionInBody.html", new String[][] {{"q", name}});
+
+                        return newFixedLengthResponse(response);
+                    }
+                });
+
+        HttpMessage msg = getHttpMessage(path);
+        config.setUrl(msg.getRequestHeader().getURI().toString());
+        config.setDoUrlGuess(true);
+        config.setUrlGetRequest(true);
+        given(scan.getConfig()).willReturn(config);
+        urlGuesser = new UrlGuesser(0, scan, httpSender, executor);
+
+        // When
+        urlGuesser.run();
+
+        // Then
+        ArgumentCaptor<ParamGuessResult> result = ArgumentCaptor.forClass(ParamGuessResult.class);
+        verify(scan).addParamGuessResult(result.capture());
+        assertThat(result.getValue().getParamName(), equalTo("q"));
+        verify(scan).addOutput(any());
+    }
+
+    @Test
+    void shouldTestAgainParametersWhoseRequestFailed() throws Exception {
+        // Given
+        String path = "/body";
+        AtomicBoolean failed = new AtomicBoolean();
+        this.nano.addHandler(
+                new NanoServerHandler(path) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        String name = getFirstParamValue(session, "q");
+                        if (name != null && failed.compareAndSet(false, true)) {
+                            return newFixedLengthResponse(
+                                    Response.Status.SERVICE_UNAVAILABLE,
+                                    "text/html",
+                                    "<html>Unavailable</html>");
+                        }
+                        name = name == null ? " " : name;
+                        String response =
+                                getHtml("ReflectionInBody.html", new String[][] {{"q", name}});
+
+                        return newFixedLengthResponse(response);
+                    }
+                });
+
+        HttpMessage msg = getHttpMessage(path);
+        config.setUrl(msg.getRequestHeader().getURI().toString());
+        config.setDoUrlGuess(true);
+        config.setUrlGetRequest(true);
+        given(scan.getConfig()).willReturn(config);
+        urlGuesser = new UrlGuesser(0, scan, httpSender, executor);
+
+        // When
+        urlGuesser.run();
+
+        // Then
+        assertThat(failed.get(), equalTo(true));
+        ArgumentCaptor<ParamGuessResult> result = ArgumentCaptor.forClass(ParamGuessResult.class);
+        verify(scan).addParamGuessResult(result.capture());
+        assertThat(result.getValue().getParamName(), equalTo("q"));
+    }
+
+    @Test
+    void shouldNotKeepAsIrrelevantParametersWhoseRequestsFailed() throws Exception {
+        // Given
+        String path = "/body";
+        AtomicBoolean failing = new AtomicBoolean(true);
+        this.nano.addHandler(
+                new NanoServerHandler(path) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        String name = getFirstParamValue(session, "q");
+                        if (name != null && failing.get()) {
+                            return newFixedLengthResponse(
+                                    Response.Status.SERVICE_UNAVAILABLE,
+                                    "text/html",
+                                    "<html>Unavailable</html>");
+                        }
+                        name = name == null ? " " : name;
+                        String response =
+                                getHtml("ReflectionInBody.html", new String[][] {{"q", name}});
+
+                        return newFixedLengthResponse(response);
+                    }
+                });
+
+        HttpMessage msg = getHttpMessage(path);
+        config.setUrl(msg.getRequestHeader().getURI().toString());
+        config.setDoUrlGuess(true);
+        config.setUrlGetRequest(true);
+        given(scan.getConfig()).willReturn(config);
+        KnowledgeStore knowledgeStore =
+                new KnowledgeStore(
+                        Paths.get(Constant.getZapHome(), "knowledge.json"), Duration.ofHours(1));
+        given(scan.getKnowledgeStore()).willReturn(knowledgeStore);
+        new UrlGuesser(0, scan, httpSender, executor).run();
+        failing.set(false);
+        urlGuesser = new UrlGuesser(0, scan, httpSender, executor);
+
+        // When
+        urlGuesser.run();
+
+        // Then
+        ArgumentCaptor<ParamGuessResult> result = ArgumentCaptor.forClass(ParamGuessResult.class);
+        verify(scan).addParamGuessResult(result.capture());
+        assertThat(result.getValue().getParamName(), equalTo("q"));
+    }
+
+    private static final IStatus URI_TOO_LONG =
+            new IStatus() {
+
+                @Override
+                public String getDescription() {
+                    return "414 URI Too Long";
+                }
+
+                @Override
+                public int getRequestStatus() {
+                    return 414;
+                }
+            };
 }
@@ -20,6 +20,7 @@
 package org.zaproxy.addon.paramdigger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -31,6 +32,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -138,4 +140,55 @@ class UtilsUnitTest extends TestUtils {
         // Then
         assertEquals(xmlString, "<q>test</q><admin>true</admin>");
     }
+
+    @Test
+    void shouldPackParametersUpToMaxPayloadSize() {
+        // Given
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("a", "111111");
+        params.put("bb", "111112");
+        params.put("ccc", "111113");
+        params.put("dddd", "111114");
+
+        // When
+        List<Map<String, String>> groups = Utils.pack(params, Method.GET, 20);
+
+        // Then
+        assertThat(groups, hasSize(3));
+        assertThat(groups.get(0).keySet(), containsInAnyOrder("a", "bb"));
+        assertThat(groups.get(1).keySet(), containsInAnyOrder("ccc"));
+        assertThat(groups.get(2).keySet(), containsInAnyOrder("dddd"));
+    }
+
+    @Test
+    void shouldPackParameterLargerThanMaxPayloadSizeAlone() {
+        // Given
+        Map<String, String> params = new HashMap<>();
+        params.put("averylongparametername", "111111");
+
+        // When
+        List<Map<String, String>> groups = Utils.pack(params, Method.GET, 10);
+
+        // Then
+        assertThat(groups, hasSize(1));
+        assertThat(groups.get(0).size(), equalTo(1));
+    }
+
+    @Test
+    void shouldGetPayloadLengthForEachMethod() {
+        // Given
+        Map<String, String> params = new HashMap<>();
+        params.put("name", "value");
+
+        // When / Then
+        assertThat(
+                Utils.getPayloadLength(Method.GET, params),
+                equalTo(Utils.createQueryString(params).length()));
+        assertThat(
+                Utils.getPayloadLength(Method.XML, params),
+                equalTo(Utils.createXmlString(params).length()));
+        assertThat(
+                Utils.getPayloadLength(Method.JSON, params),
+                equalTo(Utils.createJsonString(params).length() + 1));
+    }
 }
@@ -20,17 +20,12 @@
 package org.zaproxy.zap.extension.replacer;
 
 import java.awt.event.KeyEvent;
-import java.util.regex.Pattern;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import java.util.List;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control;
 import org.parosproxy.paros.extension.ExtensionAdaptor;
 import org.parosproxy.paros.extension.ExtensionHook;
-import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
-import org.parosproxy.paros.network.HttpRequestHeader;
-import org.parosproxy.paros.network.HttpResponseHeader;
 import org.parosproxy.paros.network.HttpSender;
 import org.zaproxy.zap.network.HttpSenderListener;
 import org.zaproxy.zap.view.ZapMenuItem;
@@ -51,7 +46,7 @@ public class ExtensionReplacer extends ExtensionAdaptor implements HttpSenderLis
     private OptionsReplacerPanel optionsReplacerPanel;
     private ReplacerParam params;
     private ZapMenuItem replacerMenuItem;
-    private static final Logger LOGGER = LogManager.getLogger(ExtensionReplacer.class);
+    private volatile ReplacerRuleSet ruleSet;
 
     public ExtensionReplacer() {
         super(NAME);
@@ -127,163 +122,28 @@ public class ExtensionReplacer extends ExtensionAdaptor implements HttpSenderLis
         return replacerMenuItem;
     }
 
-    private static boolean contains(String original, String match, Pattern p) {
-        if (p != null) {
-            return p.matcher(original).find();
+    /**
+     * Gets the rules compiled, compiling them again if they changed since last compiled.
+     *
+     * @return the compiled rules.
+     */
+    private ReplacerRuleSet getRuleSet() {
+        List<ReplacerParamRule> rules = this.getParams().getRules();
+        ReplacerRuleSet current = ruleSet;
+        if (current == null || !current.isFor(rules)) {
+            current = new ReplacerRuleSet(rules);
+            ruleSet = current;
         }
-
-        return original.contains(match);
-    }
-
-    private static String replace(String original, String match, Pattern p, String replacement) {
-        if (p != null) {
-            return p.matcher(original).replaceAll(replacement);
-        }
-        return original.replace(match, replacement);
+        return current;
     }
 
     @Override
     public void onHttpRequestSend(HttpMessage msg, int initiator, HttpSender httpSender) {
-        for (ReplacerParamRule rule : this.getParams().getRules()) {
-            if (rule.isEnabled()
-                    && rule.appliesToInitiator(initiator)
-                    && rule.matchesUrl(msg.getRequestHeader().getURI().toString())) {
-                Pattern p = null;
-                if (rule.isMatchRegex()) {
-                    p = Pattern.compile(rule.getMatchString());
-                }
-                switch (rule.getMatchType()) {
-                    case REQ_HEADER:
-                        LOGGER.debug(
-                                "Add in request header: {} : {}",
-                                rule.getMatchString(),
-                                rule.getReplacement());
-                        if (rule.getReplacement().length() == 0) {
-                            // Remove the header
-                            msg.getRequestHeader().setHeader(rule.getMatchString(), null);
-                        } else {
-                            msg.getRequestHeader()
-                                    .setHeader(rule.getMatchString(), rule.getEscapedReplacement());
-                        }
-                        break;
-                    case REQ_HEADER_STR:
-                        LOGGER.debug(
-                                "Replace in request header: {} with {}",
-                                rule.getMatchString(),
-                                rule.getReplacement());
-                        String header = msg.getRequestHeader().toString();
-                        if (contains(header, rule.getMatchString(), p)) {
-                            header =
-                                    replace(
-                                            header,
-                                            rule.getMatchString(),
-                                            p,
-                                            rule.getEscapedReplacement());
-                            try {
-                                msg.setRequestHeader(new HttpRequestHeader(header));
-                            } catch (HttpMalformedHeaderException e) {
-                                LOGGER.error(e.getMessage(), e);
-                            }
-                        }
-                        break;
-                    case REQ_BODY_STR:
-                        LOGGER.debug(
-                                "Add in request body: {} : {}",
-                                rule.getMatchString(),
-                                rule.getReplacement());
-                        String body = msg.getRequestBody().toString();
-                        if (contains(body, rule.getMatchString(), p)) {
-                            body =
-                                    replace(
-                                            body,
-                                            rule.getMatchString(),
-                                            p,
-                                            rule.getEscapedReplacement());
-                            msg.getRequestBody().setBody(body);
-                            msg.getRequestHeader().setContentLength(msg.getRequestBody().length());
-                        }
-                        break;
-                    case RESP_HEADER:
-                    case RESP_HEADER_STR:
-                    case RESP_BODY_STR:
-                        // Ignore response rules here
-                        LOGGER.debug("Ignore response rule {}", rule.getDescription());
-                        break;
-                }
-            }
-        }
+        getRuleSet().applyToRequest(msg, initiator);
     }
 
     @Override
     public void onHttpResponseReceive(HttpMessage msg, int initiator, HttpSender httpSender) {
-        for (ReplacerParamRule rule : this.getParams().getRules()) {
-            if (rule.isEnabled()
-                    && rule.appliesToInitiator(initiator)
-                    && rule.matchesUrl(msg.getRequestHeader().getURI().toString())) {
-                Pattern p = null;
-                if (rule.isMatchRegex()) {
-                    p = Pattern.compile(rule.getMatchString());
-                }
-                switch (rule.getMatchType()) {
-                    case REQ_HEADER:
-                    case REQ_HEADER_STR:
-                    case REQ_BODY_STR:
-                        // Ignore request rules here
-                        LOGGER.debug("Ignore request rule {}", rule.getDescription());
-                        break;
-                    case RESP_HEADER:
-                        LOGGER.debug(
-                                "Add in response header: {} : {}",
-                                rule.getMatchString(),
-                                rule.getReplacement());
-                        if (rule.getReplacement().length() == 0) {
-                            // Remove the header
-                            msg.getResponseHeader().setHeader(rule.getMatchString(), null);
-                        } else {
-                            msg.getResponseHeader()
-                                    .setHeader(rule.getMatchString(), rule.getEscapedReplacement());
-                        }
-                        break;
-                    case RESP_HEADER_STR:
-                        LOGGER.debug(
-                                "Replace in response header: {} with {}",
-                                rule.getMatchString(),
-                                rule.getReplacement());
-                        String header = msg.getResponseHeader().toString();
-                        if (contains(header, rule.getMatchString(), p)) {
-                            header =
-                                    replace(
-                                            header,
-                                            rule.getMatchString(),
-                                            p,
-                                            rule.getEscapedReplacement());
-                            try {
-                                msg.setResponseHeader(new HttpResponseHeader(header));
-                            } catch (HttpMalformedHeaderException e) {
-                                LOGGER.error(e.getMessage(), e);
-                            }
-                        }
-                        break;
-                    case RESP_BODY_STR:
-                        LOGGER.debug(
-                                "Replace in response body: {} with {}",
-                                rule.getMatchString(),
-                                rule.getReplacement());
-                        String body = msg.getResponseBody().toString();
-                        if (contains(body, rule.getMatchString(), p)) {
-                            body =
-                                    replace(
-                                            body,
-                                            rule.getMatchString(),
-                                            p,
-                                            rule.getEscapedReplacement());
-                            msg.getResponseBody().setBody(body);
-                            msg.getResponseHeader()
-                                    .setContentLength(msg.getResponseBody().length());
-                        }
-                        break;
-                }
-            }
-        }
+        getRuleSet().applyToResponse(msg, initiator);
     }
 }
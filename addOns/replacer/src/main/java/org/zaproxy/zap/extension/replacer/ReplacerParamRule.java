@@ -44,6 +44,7 @@ public class ReplacerParamRule extends Enableable {
     private MatchType matchType;
     private boolean matchRegex;
     private List<Integer> initiators;
+    private int version;
 
     public ReplacerParamRule() {
         this("", MatchType.RESP_BODY_STR, "");
@@ -132,6 +133,7 @@ public class ReplacerParamRule extends Enableable {
 
     public void setDescription(String description) {
         this.description = description;
+        version++;
     }
 
     public String getUrl() {
@@ -142,11 +144,13 @@ public class ReplacerParamRule extends Enableable {
         if (url == null || url.isEmpty()) {
             this.url = "";
             urlPattern = null;
+            version++;
             return;
         }
 
         this.urlPattern = Pattern.compile(url);
         this.url = url;
+        version++;
     }
 
     public boolean matchesUrl(String targetUrl) {
@@ -162,6 +166,7 @@ public class ReplacerParamRule extends Enableable {
 
     public void setMatchString(String matchString) {
         this.matchString = matchString;
+        version++;
     }
 
     public MatchType getMatchType() {
@@ -170,6 +175,7 @@ public class ReplacerParamRule extends Enableable {
 
     public void setMatchType(MatchType matchType) {
         this.matchType = matchType;
+        version++;
     }
 
     public boolean isMatchRegex() {
@@ -178,6 +184,7 @@ public class ReplacerParamRule extends Enableable {
 
     public void setMatchRegex(boolean matchRegex) {
         this.matchRegex = matchRegex;
+        version++;
     }
 
     public String getReplacement() {
@@ -185,19 +192,37 @@ public class ReplacerParamRule extends Enableable {
     }
 
     public void setReplacement(String replacement) {
+        this.escapedReplacement = HexString.compile(replacement);
         this.replacement = replacement;
+        version++;
     }
 
     String getEscapedReplacement() {
         return escapedReplacement;
     }
 
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        version++;
+    }
+
+    /**
+     * Gets the version of the rule, changed every time the rule is changed.
+     *
+     * @return the version of the rule.
+     */
+    int getVersion() {
+        return version;
+    }
+
     public List<Integer> getInitiators() {
         return initiators;
     }
 
     public void setInitiators(List<Integer> initiators) {
         this.initiators = initiators;
+        version++;
     }
 
     public boolean appliesToInitiator(int initiator) {
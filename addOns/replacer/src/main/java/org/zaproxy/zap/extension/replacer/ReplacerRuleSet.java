@@ -0,0 +1,376 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.replacer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.network.HttpBody;
+import org.parosproxy.paros.network.HttpHeader;
+import org.parosproxy.paros.network.HttpMalformedHeaderException;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpRequestHeader;
+import org.parosproxy.paros.network.HttpResponseHeader;
+import org.zaproxy.zap.extension.replacer.ReplacerParamRule.MatchType;
+
+/**
+ * The enabled rules compiled for the replacements, the regular expressions compiled once and the
+ * rules grouped by request and response.
+ *
+ * <p>The rules are applied in the order they were defined, the header and body are converted to
+ * text once and parsed back only when changed, unless a rule that sets a header needs them parsed
+ * in between. The URLs of the rules are checked at most once per message, first all together.
+ */
+final class ReplacerRuleSet {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReplacerRuleSet.class);
+
+    /** The back references, which would refer to other groups once the URLs are combined. */
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
+    private final ReplacerParamRule[] sourceRules;
+    private final int[] sourceVersions;
+    private final CompiledRule[] requestRules;
+    private final CompiledRule[] responseRules;
+    private final Pattern[] urlPatterns;
+    private final Pattern combinedUrlPattern;
+
+    ReplacerRuleSet(List<ReplacerParamRule> rules) {
+        sourceRules = rules.toArray(new ReplacerParamRule[0]);
+        sourceVersions = new int[sourceRules.length];
+
+        Map<String, Integer> urls = new LinkedHashMap<>();
+        List<CompiledRule> request = new ArrayList<>();
+        List<CompiledRule> response = new ArrayList<>();
+        for (int i = 0; i < sourceRules.length; i++) {
+            ReplacerParamRule rule = sourceRules[i];
+            sourceVersions[i] = rule.getVersion();
+            if (!rule.isEnabled()) {
+                continue;
+            }
+
+            int urlIndex = -1;
+            if (!rule.getUrl().isEmpty()) {
+                urlIndex = urls.computeIfAbsent(rule.getUrl(), k -> urls.size());
+            }
+            CompiledRule compiledRule;
+            try {
+                compiledRule = new CompiledRule(rule, urlIndex);
+            } catch (PatternSyntaxException e) {
+                LOGGER.warn(
+                        "Ignoring replacer rule {} with invalid regex: {}",
+                        rule.getDescription(),
+                        e.getMessage());
+                continue;
+            }
+
+            if (compiledRule.request) {
+                request.add(compiledRule);
+            } else {
+                response.add(compiledRule);
+            }
+        }
+        requestRules = request.toArray(new CompiledRule[0]);
+        responseRules = response.toArray(new CompiledRule[0]);
+
+        urlPatterns = new Pattern[urls.size()];
+        StringBuilder combined = new StringBuilder();
+        boolean combinable = urls.size() > 1;
+        for (Map.Entry<String, Integer> url : urls.entrySet()) {
+            urlPatterns[url.getValue()] = Pattern.compile(url.getKey());
+            combinable &= !BACK_REFERENCE.matcher(url.getKey()).find();
+            if (combined.length() != 0) {
+                combined.append('|');
+            }
+            combined.append("(?:").append(url.getKey()).append(')');
+        }
+        combinedUrlPattern = combinable ? compileCombined(combined.toString()) : null;
+    }
+
+    private static Pattern compileCombined(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            // For example, same named groups, the URLs are still checked one by one.
+            return null;
+        }
+    }
+
+    /**
+     * Tells whether or not this rule set was compiled from the given rules, in their current
+     * state.
+     *
+     * @param rules the rules.
+     * @return {@code true} if compiled from the rules, {@code false} otherwise.
+     */
+    boolean isFor(List<ReplacerParamRule> rules) {
+        if (rules.size() != sourceRules.length) {
+            return false;
+        }
+        int i = 0;
+        for (ReplacerParamRule rule : rules) {
+            if (rule != sourceRules[i] || rule.getVersion() != sourceVersions[i]) {
+                return false;
+            }
+            i++;
+        }
+        return true;
+    }
+
+    void applyToRequest(HttpMessage msg, int initiator) {
+        apply(msg, initiator, requestRules, true);
+    }
+
+    void applyToResponse(HttpMessage msg, int initiator) {
+        apply(msg, initiator, responseRules, false);
+    }
+
+    private void apply(HttpMessage msg, int initiator, CompiledRule[] rules, boolean request) {
+        if (rules.length == 0) {
+            return;
+        }
+
+        UrlMatches urlMatches = null;
+        MessageText text = new MessageText(msg, request);
+        for (CompiledRule rule : rules) {
+            if (!rule.rule.appliesToInitiator(initiator)) {
+                continue;
+            }
+            if (rule.urlIndex != -1) {
+                if (urlMatches == null) {
+                    urlMatches = new UrlMatches(msg.getRequestHeader().getURI().toString());
+                }
+                if (!urlMatches.matches(rule.urlIndex)) {
+                    continue;
+                }
+            }
+            rule.apply(text);
+        }
+        text.flush();
+    }
+
+    /** The URL of a message, checked against the URLs of the rules. */
+    private class UrlMatches {
+
+        private final String url;
+        private final Boolean[] matches;
+
+        UrlMatches(String url) {
+            this.url = url;
+            this.matches = new Boolean[urlPatterns.length];
+            if (combinedUrlPattern != null && !combinedUrlPattern.matcher(url).matches()) {
+                for (int i = 0; i < matches.length; i++) {
+                    matches[i] = Boolean.FALSE;
+                }
+            }
+        }
+
+        boolean matches(int index) {
+            Boolean match = matches[index];
+            if (match == null) {
+                match = urlPatterns[index].matcher(url).matches();
+                matches[index] = match;
+            }
+            return match;
+        }
+    }
+
+    private static class CompiledRule {
+
+        private final ReplacerParamRule rule;
+        private final int urlIndex;
+        private final MatchType matchType;
+        private final boolean request;
+        private final String matchString;
+        private final Pattern pattern;
+        private final String replacement;
+
+        CompiledRule(ReplacerParamRule rule, int urlIndex) {
+            this.rule = rule;
+            this.urlIndex = urlIndex;
+            this.matchType = rule.getMatchType();
+            this.request =
+                    matchType == MatchType.REQ_HEADER
+                            || matchType == MatchType.REQ_HEADER_STR
+                            || matchType == MatchType.REQ_BODY_STR;
+            this.matchString = rule.getMatchString();
+            this.replacement = rule.getEscapedReplacement();
+            boolean setHeader =
+                    matchType == MatchType.REQ_HEADER || matchType == MatchType.RESP_HEADER;
+            this.pattern =
+                    !setHeader && rule.isMatchRegex() ? Pattern.compile(matchString) : null;
+        }
+
+        void apply(MessageText text) {
+            switch (matchType) {
+                case REQ_HEADER:
+                case RESP_HEADER:
+                    LOGGER.debug("Add in header: {} : {}", matchString, rule.getReplacement());
+                    if (rule.getReplacement().length() == 0) {
+                        // Remove the header
+                        text.setHeader(matchString, null);
+                    } else {
+                        text.setHeader(matchString, replacement);
+                    }
+                    break;
+                case REQ_HEADER_STR:
+                case RESP_HEADER_STR:
+                    LOGGER.debug(
+                            "Replace in header: {} with {}", matchString, rule.getReplacement());
+                    String header = replace(text.getHeader());
+                    if (header != null) {
+                        text.setHeader(header);
+                    }
+                    break;
+                case REQ_BODY_STR:
+                case RESP_BODY_STR:
+                    LOGGER.debug("Replace in body: {} with {}", matchString, rule.getReplacement());
+                    String body = replace(text.getBody());
+                    if (body != null) {
+                        text.setBody(body);
+                    }
+                    break;
+            }
+        }
+
+        /**
+         * Replaces the matches in the given text.
+         *
+         * @param original the text.
+         * @return the replaced text, or {@code null} if there are no matches.
+         */
+        private String replace(String original) {
+            if (pattern == null) {
+                if (!original.contains(matchString)) {
+                    return null;
+                }
+                return original.replace(matchString, replacement);
+            }
+
+            Matcher matcher = pattern.matcher(original);
+            if (!matcher.find()) {
+                return null;
+            }
+            StringBuilder sb = new StringBuilder(original.length());
+            do {
+                matcher.appendReplacement(sb, replacement);
+            } while (matcher.find());
+            matcher.appendTail(sb);
+            return sb.toString();
+        }
+    }
+
+    /**
+     * The header and body of a message, as text while being replaced.
+     *
+     * <p>The body is set back before any change to the header that does not come from its text, for
+     * the length of the body to be set as it was before.
+     */
+    private static class MessageText {
+
+        private final HttpMessage msg;
+        private final boolean request;
+        private String header;
+        private boolean headerChanged;
+        private String body;
+        private boolean bodyChanged;
+
+        MessageText(HttpMessage msg, boolean request) {
+            this.msg = msg;
+            this.request = request;
+        }
+
+        private HttpHeader getHttpHeader() {
+            return request ? msg.getRequestHeader() : msg.getResponseHeader();
+        }
+
+        private HttpBody getHttpBody() {
+            return request ? msg.getRequestBody() : msg.getResponseBody();
+        }
+
+        String getHeader() {
+            if (header == null) {
+                flushBody();
+                header = getHttpHeader().toString();
+            }
+            return header;
+        }
+
+        void setHeader(String header) {
+            this.header = header;
+            headerChanged = true;
+        }
+
+        void setHeader(String name, String value) {
+            flush();
+            getHttpHeader().setHeader(name, value);
+        }
+
+        String getBody() {
+            if (body == null) {
+                body = getHttpBody().toString();
+            }
+            return body;
+        }
+
+        void setBody(String body) {
+            this.body = body;
+            bodyChanged = true;
+        }
+
+        void flush() {
+            flushBody();
+            flushHeader();
+        }
+
+        private void flushHeader() {
+            if (headerChanged) {
+                try {
+                    if (request) {
+                        msg.setRequestHeader(new HttpRequestHeader(header));
+                    } else {
+                        msg.setResponseHeader(new HttpResponseHeader(header));
+                    }
+                } catch (HttpMalformedHeaderException e) {
+                    LOGGER.error(e.getMessage(), e);
+                }
+                headerChanged = false;
+            }
+            header = null;
+        }
+
+        private void flushBody() {
+            if (bodyChanged) {
+                flushHeader();
+                HttpBody httpBody = getHttpBody();
+                httpBody.setBody(body);
+                getHttpHeader().setContentLength(httpBody.length());
+                bodyChanged = false;
+                body = null;
+            }
+        }
+    }
+}
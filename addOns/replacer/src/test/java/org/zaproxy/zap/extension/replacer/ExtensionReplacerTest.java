@@ -208,6 +208,125 @@ class ExtensionReplacerTest {
         assertThat(msg.getResponseBody().toString(), equalTo(REPLACED_STRING_WITH_BINARY_VALUE));
     }
 
+    @Test
+    void shouldApplyChangesOfRulesAlreadyUsed() throws HttpMalformedHeaderException {
+        // Given
+        ExtensionReplacer extensionReplacer = new ExtensionReplacer();
+        ReplacerParamRule rule = rule("", RESP_BODY_STR, "a", false, "b");
+        extensionReplacer.getParams().getRules().add(rule);
+        msg.setResponseBody("a");
+        extensionReplacer.onHttpResponseReceive(msg, 0, null);
+        rule.setReplacement("c");
+        msg.setResponseBody("a");
+
+        // When
+        extensionReplacer.onHttpResponseReceive(msg, 0, null);
+
+        // Then
+        assertThat(msg.getResponseBody().toString(), equalTo("c"));
+    }
+
+    @Test
+    void shouldNotApplyRulesDisabledAfterUsed() throws HttpMalformedHeaderException {
+        // Given
+        ExtensionReplacer extensionReplacer = new ExtensionReplacer();
+        ReplacerParamRule rule = rule("", REQ_BODY_STR, "a", false, "b");
+        extensionReplacer.getParams().getRules().add(rule);
+        extensionReplacer.onHttpRequestSend(msg, 0, null);
+        rule.setEnabled(false);
+        msg.setRequestBody("a");
+
+        // When
+        extensionReplacer.onHttpRequestSend(msg, 0, null);
+
+        // Then
+        assertThat(msg.getRequestBody().toString(), equalTo("a"));
+    }
+
+    @Test
+    void shouldApplyRulesInOrderAcrossHeaderAndBody() throws HttpMalformedHeaderException {
+        // Given
+        ExtensionReplacer extensionReplacer = new ExtensionReplacer();
+        extensionReplacer.getParams().getRules().add(rule("", REQ_BODY_STR, "a", false, "abc"));
+        extensionReplacer
+                .getParams()
+                .getRules()
+                .add(rule("", REQ_HEADER_STR, "Content-Length: 3", false, "X-Length: 3"));
+        extensionReplacer.getParams().getRules().add(rule("", REQ_HEADER, "X-A", false, "1"));
+        extensionReplacer.getParams().getRules().add(rule("", REQ_BODY_STR, "c", false, "cd"));
+        msg.setRequestHeader("POST https://example.com/ HTTP/1.1\r\nContent-Length: 1");
+        msg.setRequestBody("a");
+
+        // When
+        extensionReplacer.onHttpRequestSend(msg, 0, null);
+
+        // Then
+        assertThat(msg.getRequestHeader().getHeader("X-Length"), equalTo("3"));
+        assertThat(msg.getRequestHeader().getHeader("X-A"), equalTo("1"));
+        assertThat(msg.getRequestHeader().getHeader("Content-Length"), equalTo("4"));
+        assertThat(msg.getRequestBody().toString(), equalTo("abcd"));
+    }
+
+    @Test
+    void shouldIgnoreRulesWithInvalidRegex() throws HttpMalformedHeaderException {
+        // Given
+        ExtensionReplacer extensionReplacer = new ExtensionReplacer();
+        extensionReplacer.getParams().getRules().add(rule("", RESP_BODY_STR, "*", true, "x"));
+        extensionReplacer.getParams().getRules().add(rule("", RESP_BODY_STR, "a", true, "b"));
+        msg.setResponseBody("a");
+
+        // When
+        extensionReplacer.onHttpResponseReceive(msg, 0, null);
+
+        // Then
+        assertThat(msg.getResponseBody().toString(), equalTo("b"));
+    }
+
+    @Test
+    void shouldApplyManyRulesOnlyToMatchingUrls() throws HttpMalformedHeaderException {
+        // Given
+        ExtensionReplacer extensionReplacer = new ExtensionReplacer();
+        StringBuilder body = new StringBuilder();
+        StringBuilder expectedBody = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            String url = i % 2 == 0 ? "https://example\\.com/.*" : "https://example\\.org/.*";
+            if (i % 10 == 0) {
+                url = "";
+            }
+            extensionReplacer
+                    .getParams()
+                    .getRules()
+                    .add(rule(url, RESP_BODY_STR, "v" + i + ";", i % 3 == 0, "r" + i + ";"));
+            extensionReplacer
+                    .getParams()
+                    .getRules()
+                    .add(rule(url, RESP_HEADER, "X-H" + i, false, "h" + i));
+            body.append("v").append(i).append(';');
+            expectedBody.append(url.contains("org") ? "v" : "r").append(i).append(';');
+        }
+        msg.setResponseHeader("HTTP/1.1 200 OK");
+        msg.setResponseBody(body.toString());
+
+        // When
+        extensionReplacer.onHttpResponseReceive(msg, 0, null);
+
+        // Then
+        assertThat(msg.getResponseBody().toString(), equalTo(expectedBody.toString()));
+        assertThat(msg.getResponseHeader().getHeader("X-H10"), equalTo("h10"));
+        assertThat(msg.getResponseHeader().getHeader("X-H12"), equalTo("h12"));
+        assertThat(msg.getResponseHeader().getHeader("X-H13"), equalTo(null));
+    }
+
+    private static ReplacerParamRule rule(
+            String url,
+            ReplacerParamRule.MatchType matchType,
+            String matchString,
+            boolean matchRegex,
+            String replacement) {
+        return new ReplacerParamRule(
+                "", url, matchType, matchString, matchRegex, replacement, null, true);
+    }
+
     private static ExtensionReplacer givenAHexByteReplacementRuleFor(
             ReplacerParamRule.MatchType matchType) {
         ExtensionReplacer extensionReplacer = new ExtensionReplacer();
@@ -59,7 +59,6 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.view.View;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
-import org.thymeleaf.templateresolver.FileTemplateResolver;
 import org.xhtmlrenderer.pdf.ITextRenderer;
 import org.zaproxy.zap.extension.alert.AlertNode;
 import org.zaproxy.zap.extension.alert.ExtensionAlert;
@@ -270,19 +269,21 @@ public class ExtensionReports extends ExtensionAdaptor {
                 // Loop through the top level alert nodes, adding them to start with
                 child = (AlertNode) root.getFirstChild();
                 while (child != null) {
-                    filteredChild = cloneAlertNode(child);
+                    // Only the nodes included are cloned, the alert node once it has an instance
+                    filteredChild = null;
                     if (child.getChildCount() > 0) {
                         instance = (AlertNode) child.getFirstChild();
                         while (instance != null) {
                             if (isIncluded(reportData, instance)) {
+                                if (filteredChild == null) {
+                                    filteredChild = cloneAlertNode(child);
+                                    filteredRoot.add(filteredChild);
+                                }
                                 filteredChild.add(cloneAlertNode(instance));
                             }
                             instance = (AlertNode) child.getChildAfter(instance);
                         }
                     }
-                    if (filteredChild.getChildCount() > 0) {
-                        filteredRoot.add(filteredChild);
-                    }
                     child = (AlertNode) root.getChildAfter(child);
                 }
             }
@@ -356,26 +357,49 @@ public class ExtensionReports extends ExtensionAdaptor {
         return this.generateReport(reportData, template, reportFilename, display);
     }
 
+    /**
+     * Generates a report with the given data and template.
+     *
+     * <p>The report is written to the file while the template is processed, it is not kept in
+     * memory, except for PDF reports which are rendered from the whole HTML report.
+     *
+     * @param reportData the data of the report, including the (filtered) alerts tree.
+     * @param template the template of the report.
+     * @param reportFilename the full path of the file the report will be written to.
+     * @param display {@code true} if the report should be displayed, {@code false} otherwise.
+     * @return the file the report was written to.
+     * @throws IOException if an error occurred while writing the report.
+     */
     public File generateReport(
             ReportData reportData, Template template, String reportFilename, boolean display)
             throws IOException {
+        return generateReport(
+                reportData,
+                template,
+                reportFilename,
+                display,
+                getAlertCountsByRisk(reportData.getAlertTreeRootNode()),
+                getAlertCountsByRule(reportData.getAlertTreeRootNode()));
+    }
+
+    File generateReport(
+            ReportData reportData,
+            Template template,
+            String reportFilename,
+            boolean display,
+            Map<Integer, Integer> alertCounts,
+            Map<Integer, Integer> alertCountsByRule)
+            throws IOException {
         try {
-            TemplateEngine templateEngine = new TemplateEngine();
-            FileTemplateResolver templateResolver = new FileTemplateResolver();
-            templateResolver.setTemplateMode(template.getMode());
-            templateEngine.setTemplateResolver(templateResolver);
-
-            templateEngine.setMessageResolver(new ReportMessageResolver(template));
+            TemplateEngine templateEngine = template.getTemplateEngine();
 
             Context context = new Context();
             context.setVariable("alertTree", reportData.getAlertTreeRootNode());
             context.setVariable("reportTitle", reportData.getTitle());
             context.setVariable("description", reportData.getDescription());
             context.setVariable("helper", new ReportHelper());
-            context.setVariable(
-                    "alertCounts", getAlertCountsByRisk(reportData.getAlertTreeRootNode()));
-            context.setVariable(
-                    "alertCountsByRule", getAlertCountsByRule(reportData.getAlertTreeRootNode()));
+            context.setVariable("alertCounts", alertCounts);
+            context.setVariable("alertCountsByRule", alertCountsByRule);
             context.setVariable("reportData", reportData);
 
             ExtensionStats extStats =
@@ -487,7 +511,7 @@ public class ExtensionReports extends ExtensionAdaptor {
         void handle(ReportData reportData);
     }
 
-    private Map<Integer, Integer> getAlertCountsByRisk(AlertNode rootNode) {
+    Map<Integer, Integer> getAlertCountsByRisk(AlertNode rootNode) {
         Map<Integer, Integer> alertCounts = new HashMap<>();
         Enumeration<?> childEnum = rootNode.children();
         while (childEnum.hasMoreElements()) {
@@ -0,0 +1,265 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.reports;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.zaproxy.zap.extension.alert.AlertNode;
+import org.zaproxy.zap.model.Context;
+
+/**
+ * Generates several reports from a single snapshot of the alerts.
+ *
+ * <p>The filtered alert tree, and the alert counts derived from it, are built once for each
+ * distinct set of filters (sites, contexts, risks and confidences) and shared by all the reports
+ * that use those filters. The reports are then rendered concurrently, using at most the given
+ * number of threads, or one at a time when requested.
+ *
+ * <p>Used by the automation framework to share the snapshot of the alerts between consecutive
+ * report jobs, each job generates its report when it runs.
+ */
+public class ReportBatch {
+
+    private final ExtensionReports extReports;
+    private final List<Entry> entries;
+    private final Map<List<Object>, Snapshot> snapshots;
+
+    public ReportBatch(ExtensionReports extReports) {
+        this.extReports = extReports;
+        this.entries = new ArrayList<>();
+        this.snapshots = new HashMap<>();
+    }
+
+    /**
+     * Adds a report to the batch. The alert tree of the given report data, if any, is replaced
+     * when the batch is generated.
+     *
+     * @param reportData the data of the report.
+     * @param template the template of the report.
+     * @param reportFilename the full path of the file the report will be written to.
+     */
+    public void addReport(ReportData reportData, Template template, String reportFilename) {
+        addReport(reportData, template, reportFilename, false);
+    }
+
+    /**
+     * Adds a report to the batch. The alert tree of the given report data, if any, is replaced
+     * when the batch is generated.
+     *
+     * @param reportData the data of the report.
+     * @param template the template of the report.
+     * @param reportFilename the full path of the file the report will be written to.
+     * @param display {@code true} if the report should be displayed once generated, {@code false}
+     *     otherwise.
+     */
+    public void addReport(
+            ReportData reportData, Template template, String reportFilename, boolean display) {
+        entries.add(new Entry(reportData, template, reportFilename, display));
+    }
+
+    public int getReportCount() {
+        return entries.size();
+    }
+
+    /**
+     * Generates a report now, from the same snapshot of the alerts as the other reports of the
+     * batch with the same filters. The alert tree of the given report data, if any, is replaced.
+     *
+     * @param reportData the data of the report.
+     * @param template the template of the report.
+     * @param reportFilename the full path of the file the report will be written to.
+     * @param display {@code true} if the report should be displayed once generated, {@code false}
+     *     otherwise.
+     * @return the file the report was written to.
+     * @throws IOException if an error occurred while generating the report.
+     */
+    public File generateReport(
+            ReportData reportData, Template template, String reportFilename, boolean display)
+            throws IOException {
+        Snapshot snapshot = getSnapshot(reportData);
+        reportData.setAlertTreeRootNode(snapshot.alertTree);
+        return extReports.generateReport(
+                reportData,
+                template,
+                reportFilename,
+                display,
+                snapshot.alertCounts,
+                snapshot.alertCountsByRule);
+    }
+
+    /**
+     * Generates all the reports of the batch.
+     *
+     * @param threads the maximum number of reports rendered at the same time.
+     * @return the files the reports were written to, in the order they were added.
+     * @throws IOException if an error occurred while generating any of the reports.
+     */
+    public List<File> generateReports(int threads) throws IOException {
+        if (entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        for (Entry entry : entries) {
+            entry.snapshot = getSnapshot(entry.reportData);
+            entry.reportData.setAlertTreeRootNode(entry.snapshot.alertTree);
+        }
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        Math.max(1, Math.min(threads, entries.size())),
+                        new ReportBatchThreadFactory("ZAP-ReportBatch-"));
+        try {
+            List<Future<File>> futures = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                futures.add(
+                        executor.submit(
+                                () ->
+                                        extReports.generateReport(
+                                                entry.reportData,
+                                                entry.template,
+                                                entry.reportFilename,
+                                                entry.display,
+                                                entry.snapshot.alertCounts,
+                                                entry.snapshot.alertCountsByRule)));
+            }
+
+            List<File> files = new ArrayList<>(futures.size());
+            for (Future<File> future : futures) {
+                files.add(future.get());
+            }
+            return files;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating the reports.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Snapshot getSnapshot(ReportData reportData) {
+        return snapshots.computeIfAbsent(
+                createFilterKey(reportData), k -> createSnapshot(reportData));
+    }
+
+    private Snapshot createSnapshot(ReportData reportData) {
+        AlertNode alertTree = extReports.getFilteredAlertTree(reportData);
+        return new Snapshot(
+                alertTree,
+                extReports.getAlertCountsByRisk(alertTree),
+                extReports.getAlertCountsByRule(alertTree));
+    }
+
+    private static List<Object> createFilterKey(ReportData reportData) {
+        boolean[] risks = new boolean[Alert.MSG_RISK.length + 1];
+        for (int i = 0; i < risks.length; i++) {
+            risks[i] = reportData.isIncludeRisk(i - 1);
+        }
+        boolean[] confidences = new boolean[Alert.MSG_CONFIDENCE.length];
+        for (int i = 0; i < confidences.length; i++) {
+            confidences[i] = reportData.isIncludeConfidence(i);
+        }
+        List<Integer> contextIds =
+                reportData.getContexts() == null
+                        ? null
+                        : reportData.getContexts().stream()
+                                .map(Context::getId)
+                                .collect(Collectors.toList());
+        return Arrays.asList(
+                reportData.getSites(),
+                contextIds,
+                Arrays.toString(risks),
+                Arrays.toString(confidences));
+    }
+
+    private static class Entry {
+
+        private final ReportData reportData;
+        private final Template template;
+        private final String reportFilename;
+        private final boolean display;
+        private Snapshot snapshot;
+
+        Entry(ReportData reportData, Template template, String reportFilename, boolean display) {
+            this.reportData = reportData;
+            this.template = template;
+            this.reportFilename = reportFilename;
+            this.display = display;
+        }
+    }
+
+    private static class Snapshot {
+
+        private final AlertNode alertTree;
+        private final Map<Integer, Integer> alertCounts;
+        private final Map<Integer, Integer> alertCountsByRule;
+
+        Snapshot(
+                AlertNode alertTree,
+                Map<Integer, Integer> alertCounts,
+                Map<Integer, Integer> alertCountsByRule) {
+            this.alertTree = alertTree;
+            this.alertCounts = alertCounts;
+            this.alertCountsByRule = alertCountsByRule;
+        }
+    }
+
+    private static class ReportBatchThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber;
+        private final String namePrefix;
+        private final ThreadGroup group;
+
+        ReportBatchThreadFactory(String namePrefix) {
+            threadNumber = new AtomicInteger(1);
+            this.namePrefix = namePrefix;
+            group = Thread.currentThread().getThreadGroup();
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(group, r, namePrefix + threadNumber.getAndIncrement(), 0);
+            if (t.isDaemon()) {
+                t.setDaemon(false);
+            }
+            if (t.getPriority() != Thread.NORM_PRIORITY) {
+                t.setPriority(Thread.NORM_PRIORITY);
+            }
+            return t;
+        }
+    }
+}
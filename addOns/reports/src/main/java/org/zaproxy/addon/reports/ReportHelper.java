@@ -228,7 +228,7 @@ public class ReportHelper {
         }
         return legacyEscapeText(
                         "<p>"
-                                + text.replaceAll("\\r\\n", "</p><p>").replaceAll("\\n", "</p><p>")
+                                + text.replace("\r\n", "</p><p>").replace("\n", "</p><p>")
                                 + "</p>",
                         escapeJson)
                 .replace("&lt;p&gt;", "<p>")
@@ -34,7 +34,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
+import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.FileTemplateResolver;
 import org.yaml.snakeyaml.Yaml;
 
 public class Template {
@@ -52,6 +54,7 @@ public class Template {
     private ResourceBundle msgs = null;
     private Boolean hasMsgs = null;
     private URLClassLoader classloader = null;
+    private TemplateEngine templateEngine;
 
     public Template(File templateYaml) throws IOException {
         Yaml yaml = new Yaml();
@@ -157,6 +160,9 @@ public class Template {
 
     public void setReportTemplateFile(File reportTemplateFile) {
         this.reportTemplateFile = reportTemplateFile;
+        synchronized (this) {
+            templateEngine = null;
+        }
     }
 
     public String getExtension() {
@@ -181,6 +187,9 @@ public class Template {
 
     public void setMode(TemplateMode mode) {
         this.mode = mode;
+        synchronized (this) {
+            templateEngine = null;
+        }
     }
 
     public File getResourcesDir() {
@@ -257,7 +266,29 @@ public class Template {
         return null;
     }
 
+    /**
+     * Gets the template engine used to process this template. The engine is created once and
+     * reused, so that the parsed template is cached across reports.
+     *
+     * @return the template engine, never {@code null}.
+     */
+    synchronized TemplateEngine getTemplateEngine() {
+        if (templateEngine == null) {
+            FileTemplateResolver templateResolver = new FileTemplateResolver();
+            templateResolver.setTemplateMode(mode);
+            templateResolver.setCacheable(true);
+
+            templateEngine = new TemplateEngine();
+            templateEngine.setTemplateResolver(templateResolver);
+            templateEngine.setMessageResolver(new ReportMessageResolver(this));
+        }
+        return templateEngine;
+    }
+
     void unload() {
+        synchronized (this) {
+            templateEngine = null;
+        }
         if (classloader != null) {
             ResourceBundle.clearCache(classloader);
             try {
@@ -31,10 +31,12 @@ import org.parosproxy.paros.core.scanner.Alert;
 import org.zaproxy.addon.automation.AutomationData;
 import org.zaproxy.addon.automation.AutomationEnvironment;
 import org.zaproxy.addon.automation.AutomationJob;
+import org.zaproxy.addon.automation.AutomationPlan;
 import org.zaproxy.addon.automation.AutomationProgress;
 import org.zaproxy.addon.automation.jobs.JobData;
 import org.zaproxy.addon.automation.jobs.JobUtils;
 import org.zaproxy.addon.reports.ExtensionReports;
+import org.zaproxy.addon.reports.ReportBatch;
 import org.zaproxy.addon.reports.ReportData;
 import org.zaproxy.addon.reports.ReportParam;
 import org.zaproxy.addon.reports.Template;
@@ -56,6 +58,9 @@ public class ReportJob extends AutomationJob {
     private Parameters parameters = new Parameters();
     private Data data;
 
+    /** The batch shared with the previous report job, to use the same snapshot of the alerts. */
+    private ReportBatch batch;
+
     public ReportJob() {
         data = new Data(this, this.parameters);
         this.getParameters().setTemplate(ReportParam.DEFAULT_TEMPLATE);
@@ -135,8 +140,98 @@ public class ReportJob extends AutomationJob {
         // Nothing to do
     }
 
+    @Override
+    public void planStarted() {
+        batch = null;
+    }
+
+    @Override
+    public void planFinished() {
+        batch = null;
+    }
+
     @Override
     public void runJob(AutomationEnvironment env, AutomationProgress progress) {
+        ReportBatch reportBatch = batch;
+        batch = null;
+        ReportJob nextJob = getNextReportJob();
+        if (nextJob != null) {
+            if (reportBatch == null) {
+                reportBatch = new ReportBatch(getExtReport());
+            }
+            nextJob.batch = reportBatch;
+        }
+
+        PreparedReport report = prepareReport(env, progress);
+        if (report == null) {
+            return;
+        }
+
+        try {
+            File file;
+            if (reportBatch != null) {
+                file =
+                        reportBatch.generateReport(
+                                report.reportData,
+                                report.template,
+                                report.file.getAbsolutePath(),
+                                report.display);
+            } else {
+                report.reportData.setAlertTreeRootNode(
+                        getExtReport().getFilteredAlertTree(report.reportData));
+                file =
+                        getExtReport()
+                                .generateReport(
+                                        report.reportData,
+                                        report.template,
+                                        report.file.getAbsolutePath(),
+                                        report.display);
+            }
+            reportResult(file, null, progress);
+        } catch (Exception e) {
+            reportResult(null, String.valueOf(e.getMessage()), progress);
+        }
+    }
+
+    /**
+     * Gets the report job that follows this one in the plan, with no other job in between, so
+     * they can share the same snapshot of the alerts.
+     *
+     * @return the next report job, or {@code null} if none.
+     */
+    private ReportJob getNextReportJob() {
+        AutomationPlan plan = getPlan();
+        if (plan == null) {
+            return null;
+        }
+        List<AutomationJob> planJobs = plan.getJobs();
+        if (planJobs.stream().anyMatch(j -> j.getDependsOn() != null)) {
+            // The jobs might not run in the order of the plan.
+            return null;
+        }
+        int index = planJobs.indexOf(this) + 1;
+        if (index == 0 || index >= planJobs.size()) {
+            return null;
+        }
+        AutomationJob job = planJobs.get(index);
+        return job instanceof ReportJob ? (ReportJob) job : null;
+    }
+
+    private void reportResult(File file, String error, AutomationProgress progress) {
+        if (file != null) {
+            progress.info(
+                    Constant.messages.getString(
+                            "reports.automation.info.reportgen",
+                            this.getName(),
+                            file.getAbsolutePath()));
+        } else if (error != null) {
+            progress.error(
+                    Constant.messages.getString(
+                            "reports.automation.error.generate", this.getName(), error));
+        }
+    }
+
+    private PreparedReport prepareReport(AutomationEnvironment env, AutomationProgress progress) {
         ReportData reportData = new ReportData();
 
         String templateName = this.getParameters().getTemplate();
@@ -151,7 +246,7 @@ public class ReportJob extends AutomationJob {
                             "reports.automation.error.badtemplate",
                             this.getName(),
                             this.getParameters().getTemplate()));
-            return;
+            return null;
         }
         String theme = this.getParameters().getTheme();
         if (StringUtils.isEmpty(theme) && template.getThemes().size() > 0) {
@@ -219,26 +314,11 @@ public class ReportJob extends AutomationJob {
             }
         }
 
-        reportData.setAlertTreeRootNode(getExtReport().getFilteredAlertTree(reportData));
-
-        try {
-            file =
-                    getExtReport()
-                            .generateReport(
-                                    reportData,
-                                    template,
-                                    file.getAbsolutePath(),
-                                    JobUtils.unBox(this.getParameters().getDisplayReport()));
-            progress.info(
-                    Constant.messages.getString(
-                            "reports.automation.info.reportgen",
-                            this.getName(),
-                            file.getAbsolutePath()));
-        } catch (Exception e) {
-            progress.error(
-                    Constant.messages.getString(
-                            "reports.automation.error.generate", this.getName(), e.getMessage()));
-        }
+        return new PreparedReport(
+                reportData,
+                template,
+                file,
+                JobUtils.unBox(this.getParameters().getDisplayReport()));
     }
 
     private int riskStringToInt(String str, AutomationProgress progress) {
@@ -518,4 +598,19 @@ public class ReportJob extends AutomationJob {
             this.displayReport = displayReport;
         }
     }
+
+    private static class PreparedReport {
+
+        private final ReportData reportData;
+        private final Template template;
+        private final File file;
+        private final boolean display;
+
+        PreparedReport(ReportData reportData, Template template, File file, boolean display) {
+            this.reportData = reportData;
+            this.template = template;
+            this.file = file;
+            this.display = display;
+        }
+    }
 }
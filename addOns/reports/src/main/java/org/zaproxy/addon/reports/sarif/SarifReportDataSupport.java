@@ -20,11 +20,12 @@
 package org.zaproxy.addon.reports.sarif;
 
 import java.net.URI;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -44,6 +45,7 @@ public class SarifReportDataSupport {
     private static final String FALLBACK_SEMANTIC_VERSION = "0.0.0";
     private ReportData reportData;
     private List<SarifResult> results;
+    private List<Alert> allAlerts;
 
     // we use a sorted map here, so values set will always be sorted available - so
     // same report will produce same ordering etc.
@@ -58,6 +60,15 @@ public class SarifReportDataSupport {
         return SarifToolData.INSTANCE;
     }
 
+    /**
+     * Gets the SARIF results, sorted by level (descending) and plugin ID (ascending).
+     *
+     * <p>The results are created on demand as they are accessed, and are not retained, so that
+     * the memory used does not grow with the number of results (the request and response bodies
+     * are included in each result).
+     *
+     * @return the results, never {@code null}.
+     */
     public List<SarifResult> getResults() {
         if (results == null) {
             results = createResults();
@@ -66,19 +77,15 @@ public class SarifReportDataSupport {
     }
 
     private List<SarifResult> createResults() {
+        List<Alert> alerts = new ArrayList<>(getAllAlerts());
 
-        Collection<Alert> allAlerts = collectAllAlerts(reportData.getAlertTreeRootNode());
-        List<SarifResult> results = new ArrayList<>(allAlerts.size());
-
-        for (Alert alert : allAlerts) {
-            SarifResult sarifResult = SarifResult.builder().setAlert(alert).build();
-            results.add(sarifResult);
-        }
+        /* sort, so always in same order - same as SarifResult.compareTo */
+        alerts.sort(
+                Comparator.comparingInt(Alert::getRisk)
+                        .reversed()
+                        .thenComparingInt(Alert::getPluginId));
 
-        /* sort, so always in same order */
-        Collections.sort(results);
-
-        return results;
+        return new LazySarifResultList(alerts);
     }
 
     public Collection<SarifTaxonomy> getTaxonomies() {
@@ -97,8 +104,15 @@ public class SarifReportDataSupport {
         return list;
     }
 
-    private Collection<Alert> collectAllAlerts(AlertNode rootNode) {
-        List<Alert> list = new LinkedList<>();
+    private Collection<Alert> getAllAlerts() {
+        if (allAlerts == null) {
+            allAlerts = collectAllAlerts(reportData.getAlertTreeRootNode());
+        }
+        return allAlerts;
+    }
+
+    private static List<Alert> collectAllAlerts(AlertNode rootNode) {
+        List<Alert> list = new ArrayList<>();
 
         for (int alertIndex = 0; alertIndex < rootNode.getChildCount(); alertIndex++) {
             AlertNode alertNode = rootNode.getChildAt(alertIndex);
@@ -115,9 +129,7 @@ public class SarifReportDataSupport {
         list.add(taxonomy);
 
         Set<Integer> foundCWEIds = new TreeSet<>();
-        Collection<Alert> allAlerts = collectAllAlerts(reportData.getAlertTreeRootNode());
-
-        for (Alert alert : allAlerts) {
+        for (Alert alert : getAllAlerts()) {
             foundCWEIds.add(alert.getCweId());
         }
 
@@ -139,8 +151,7 @@ public class SarifReportDataSupport {
     private SortedMap<Integer, SarifRule> createRules() {
         SortedMap<Integer, SarifRule> registeredRules = new TreeMap<>();
 
-        Collection<Alert> alerts = collectAllAlerts(reportData.getAlertTreeRootNode());
-        for (Alert alert : alerts) {
+        for (Alert alert : getAllAlerts()) {
 
             int pluginId = alert.getPluginId();
             if (registeredRules.containsKey(pluginId)) {
@@ -155,6 +166,26 @@ public class SarifReportDataSupport {
         return registeredRules;
     }
 
+    private static class LazySarifResultList extends AbstractList<SarifResult>
+            implements RandomAccess {
+
+        private final List<Alert> alerts;
+
+        LazySarifResultList(List<Alert> alerts) {
+            this.alerts = alerts;
+        }
+
+        @Override
+        public SarifResult get(int index) {
+            return SarifResult.builder().setAlert(alerts.get(index)).build();
+        }
+
+        @Override
+        public int size() {
+            return alerts.size();
+        }
+    }
+
     /**
      * Ensures given tool version is compatible with SARIF tool versions. This method ensures, that
      * even for reports created with ZAP developer builds the <a
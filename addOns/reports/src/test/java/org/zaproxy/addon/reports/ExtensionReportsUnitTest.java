@@ -23,8 +23,15 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
 import com.lowagie.text.DocumentException;
@@ -491,6 +498,47 @@ class ExtensionReportsUnitTest {
         assertThat(ExtensionReports.isIncluded(reportData, alertNode3), is(equalTo(false)));
     }
 
+    @Test
+    void shouldCloneOnlyIncludedAlertNodesForFilteredAlertTree() throws Exception {
+        // Given
+        ReportData reportData = new ReportData(true, true);
+        reportData.setSites(Arrays.asList("https://www.example.org"));
+        AlertNode root = new AlertNode(-1, "Root");
+        AlertNode excludedAlert = newAlertNode(1, 1, "Alert 1", "https://www.example.com/", 0);
+        excludedAlert.add(newInstanceNode(1, "https://www.example.com/a"));
+        excludedAlert.add(newInstanceNode(1, "https://www.example.com/b"));
+        root.add(excludedAlert);
+        AlertNode includedAlert = newAlertNode(2, 2, "Alert 2", "https://www.example.org/", 0);
+        AlertNode includedInstance = newInstanceNode(2, "https://www.example.org/a");
+        includedAlert.add(includedInstance);
+        includedAlert.add(newInstanceNode(2, "https://www.example.com/a"));
+        root.add(includedAlert);
+        ExtensionReports extRep = spy(new ExtensionReports());
+        doReturn(root).when(extRep).getRootAlertNode();
+        // When
+        AlertNode filteredRoot = extRep.getFilteredAlertTree(reportData);
+        // Then
+        assertThat(filteredRoot, is(not(sameInstance(root))));
+        assertThat(filteredRoot.getChildCount(), is(equalTo(1)));
+        AlertNode filteredAlert = (AlertNode) filteredRoot.getFirstChild();
+        assertThat(filteredAlert.getUserObject(), is(sameInstance(includedAlert.getUserObject())));
+        assertThat(filteredAlert.getChildCount(), is(equalTo(1)));
+        assertThat(
+                ((AlertNode) filteredAlert.getFirstChild()).getUserObject(),
+                is(sameInstance(includedInstance.getUserObject())));
+        verify(extRep, times(3)).cloneAlertNode(any());
+        assertThat(root.getChildCount(), is(equalTo(2)));
+        assertThat(includedAlert.getChildCount(), is(equalTo(2)));
+    }
+
+    private static AlertNode newInstanceNode(int pluginId, String uri) {
+        Alert alert = new Alert(pluginId);
+        alert.setUri(uri);
+        AlertNode alertNode = new AlertNode(-1, "Instance");
+        alertNode.setUserObject(alert);
+        return alertNode;
+    }
+
     private ReportData getTestReportData() {
         ReportData reportData = new ReportData();
         AlertNode root = new AlertNode(0, "Test");
@@ -521,6 +569,37 @@ class ExtensionReportsUnitTest {
         assertThat(r.length(), greaterThan(0L));
     }
 
+    @Test
+    void shouldReuseTemplateEngineAcrossReports() throws Exception {
+        // Given
+        ExtensionReports extRep = new ExtensionReports();
+        Template template = getTemplateFromYamlFile("traditional-json");
+        File f1 = File.createTempFile("zap.reports.test", "x");
+        File f2 = File.createTempFile("zap.reports.test", "x");
+        extRep.generateReport(getTestReportData(), template, f1.getAbsolutePath(), false);
+        Object engine = template.getTemplateEngine();
+
+        // When
+        extRep.generateReport(getTestReportData(), template, f2.getAbsolutePath(), false);
+
+        // Then
+        assertThat(template.getTemplateEngine(), is(sameInstance(engine)));
+        assertThat(f2.length(), greaterThan(0L));
+    }
+
+    @Test
+    void shouldDiscardTemplateEngineOnUnload() throws Exception {
+        // Given
+        Template template = getTemplateFromYamlFile("traditional-json");
+        Object engine = template.getTemplateEngine();
+
+        // When
+        template.unload();
+
+        // Then
+        assertThat(template.getTemplateEngine(), is(not(sameInstance(engine))));
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"traditional-html", "traditional-html-plus", "traditional-md"})
     void shouldIncludeAllSectionsInReport(String reportName) throws Exception {
@@ -0,0 +1,196 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.reports;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.Constant;
+import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.extension.ExtensionLoader;
+import org.parosproxy.paros.model.Model;
+import org.zaproxy.zap.extension.alert.AlertNode;
+import org.zaproxy.zap.utils.I18N;
+import org.zaproxy.zap.utils.ZapXmlConfiguration;
+
+/** Unit test for {@link ReportBatch}. */
+class ReportBatchUnitTest {
+
+    private ExtensionReports extReports;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Constant.messages = new I18N(Locale.ENGLISH);
+
+        Model model = mock(Model.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        Model.setSingletonForTesting(model);
+        ExtensionLoader extensionLoader = mock(ExtensionLoader.class, withSettings().lenient());
+        Control.initSingletonForTesting(Model.getSingleton(), extensionLoader);
+        Model.getSingleton().getOptionsParam().load(new ZapXmlConfiguration());
+
+        Constant.PROGRAM_VERSION = "Dev Build";
+
+        extReports = spy(new ExtensionReports());
+        doAnswer(invocation -> new AlertNode(0, "Alerts"))
+                .when(extReports)
+                .getFilteredAlertTree(any());
+    }
+
+    @Test
+    void shouldGenerateNoReportsIfEmpty() throws Exception {
+        // Given
+        ReportBatch batch = new ReportBatch(extReports);
+
+        // When
+        List<File> files = batch.generateReports(2);
+
+        // Then
+        assertThat(files.size(), is(equalTo(0)));
+        verify(extReports, times(0)).getFilteredAlertTree(any());
+    }
+
+    @Test
+    void shouldGenerateAllReportsInOrder() throws Exception {
+        // Given
+        ReportBatch batch = new ReportBatch(extReports);
+        File json = File.createTempFile("zap.reports.test", ".json");
+        File xml = File.createTempFile("zap.reports.test", ".xml");
+        File md = File.createTempFile("zap.reports.test", ".md");
+        batch.addReport(newReportData(), template("traditional-json"), json.getAbsolutePath());
+        batch.addReport(newReportData(), template("traditional-xml"), xml.getAbsolutePath());
+        batch.addReport(newReportData(), template("traditional-md"), md.getAbsolutePath());
+
+        // When
+        List<File> files = batch.generateReports(2);
+
+        // Then
+        assertThat(files.size(), is(equalTo(3)));
+        assertThat(files.get(0).getAbsolutePath(), is(equalTo(json.getAbsolutePath())));
+        assertThat(files.get(1).getAbsolutePath(), is(equalTo(xml.getAbsolutePath())));
+        assertThat(files.get(2).getAbsolutePath(), is(equalTo(md.getAbsolutePath())));
+        for (File file : files) {
+            assertThat(file.length(), greaterThan(0L));
+        }
+    }
+
+    @Test
+    void shouldShareAlertTreeBetweenReportsWithSameFilters() throws Exception {
+        // Given
+        ReportBatch batch = new ReportBatch(extReports);
+        ReportData reportData1 = newReportData();
+        ReportData reportData2 = newReportData();
+        batch.addReport(
+                reportData1,
+                template("traditional-json"),
+                File.createTempFile("zap.reports.test", ".json").getAbsolutePath());
+        batch.addReport(
+                reportData2,
+                template("traditional-xml"),
+                File.createTempFile("zap.reports.test", ".xml").getAbsolutePath());
+
+        // When
+        batch.generateReports(2);
+
+        // Then
+        verify(extReports, times(1)).getFilteredAlertTree(any());
+        assertThat(
+                reportData1.getAlertTreeRootNode(),
+                is(sameInstance(reportData2.getAlertTreeRootNode())));
+    }
+
+    @Test
+    void shouldNotShareAlertTreeBetweenReportsWithDifferentFilters() throws Exception {
+        // Given
+        ReportBatch batch = new ReportBatch(extReports);
+        ReportData reportData1 = newReportData();
+        ReportData reportData2 = newReportData();
+        reportData2.setIncludeRisk(Alert.RISK_INFO, false);
+        batch.addReport(
+                reportData1,
+                template("traditional-json"),
+                File.createTempFile("zap.reports.test", ".json").getAbsolutePath());
+        batch.addReport(
+                reportData2,
+                template("traditional-json"),
+                File.createTempFile("zap.reports.test", ".json").getAbsolutePath());
+
+        // When
+        batch.generateReports(2);
+
+        // Then
+        verify(extReports, times(2)).getFilteredAlertTree(any());
+    }
+
+    @Test
+    void shouldShareAlertTreeBetweenReportsGeneratedOneAtATime() throws Exception {
+        // Given
+        ReportBatch batch = new ReportBatch(extReports);
+        ReportData reportData1 = newReportData();
+        ReportData reportData2 = newReportData();
+        File json = File.createTempFile("zap.reports.test", ".json");
+        File xml = File.createTempFile("zap.reports.test", ".xml");
+
+        // When
+        File file1 =
+                batch.generateReport(
+                        reportData1, template("traditional-json"), json.getAbsolutePath(), false);
+        File file2 =
+                batch.generateReport(
+                        reportData2, template("traditional-xml"), xml.getAbsolutePath(), false);
+
+        // Then
+        assertThat(file1.getAbsolutePath(), is(equalTo(json.getAbsolutePath())));
+        assertThat(file2.getAbsolutePath(), is(equalTo(xml.getAbsolutePath())));
+        assertThat(file1.length(), greaterThan(0L));
+        assertThat(file2.length(), greaterThan(0L));
+        verify(extReports, times(1)).getFilteredAlertTree(any());
+        assertThat(
+                reportData1.getAlertTreeRootNode(),
+                is(sameInstance(reportData2.getAlertTreeRootNode())));
+    }
+
+    private static ReportData newReportData() {
+        ReportData reportData = new ReportData(true, true);
+        reportData.setSites(Arrays.asList("http://example.com"));
+        return reportData;
+    }
+
+    private static Template template(String name) throws Exception {
+        return ExtensionReportsUnitTest.getTemplateFromYamlFile(name);
+    }
+}
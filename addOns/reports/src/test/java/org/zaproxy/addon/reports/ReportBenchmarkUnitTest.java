@@ -0,0 +1,168 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.reports;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.httpclient.URI;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.parosproxy.paros.Constant;
+import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.extension.ExtensionLoader;
+import org.parosproxy.paros.model.Model;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.extension.alert.AlertNode;
+import org.zaproxy.zap.utils.I18N;
+import org.zaproxy.zap.utils.ZapXmlConfiguration;
+
+/**
+ * Benchmark of the generation of reports with many alert instances, from the copy of the alerts
+ * tree to the report written, for the JSON, XML, Markdown, and SARIF reports.
+ *
+ * <p>The reports are written to the file while the template is processed, the memory used is
+ * mostly that of the copy of the alerts included in the report.
+ *
+ * <p>Not run by default, to run it set the environment variable {@code ZAP_REPORTS_BENCHMARK} to
+ * {@code true}, for example:
+ *
+ * <pre>
+ * ZAP_REPORTS_BENCHMARK=true ./gradlew :addOns:reports:cleanTest :addOns:reports:test \
+ *     --tests '*ReportBenchmarkUnitTest'
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "ZAP_REPORTS_BENCHMARK", matches = "true")
+class ReportBenchmarkUnitTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReportBenchmarkUnitTest.class);
+
+    private static final int ALERTS = 100;
+
+    private static final String[] TEMPLATES = {
+        "traditional-json", "traditional-xml", "traditional-md", "sarif-json"
+    };
+
+    @TempDir Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Constant.messages = new I18N(Locale.ENGLISH);
+
+        Model model = mock(Model.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        Model.setSingletonForTesting(model);
+        ExtensionLoader extensionLoader = mock(ExtensionLoader.class, withSettings().lenient());
+        Control.initSingletonForTesting(Model.getSingleton(), extensionLoader);
+        Model.getSingleton().getOptionsParam().load(new ZapXmlConfiguration());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void generateReports(int instances) throws Exception {
+        // Given
+        AlertNode root = createAlertsTree(instances);
+        ExtensionReports extRep = spy(new ExtensionReports());
+        doReturn(root).when(extRep).getRootAlertNode();
+        for (String templateName : TEMPLATES) {
+            Template template = ExtensionReportsUnitTest.getTemplateFromYamlFile(templateName);
+            File file = tempDir.resolve("report-" + instances + "." + templateName).toFile();
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+            // When
+            long start = System.nanoTime();
+            ReportData reportData = new ReportData(true, true);
+            reportData.setSites(Arrays.asList("https://www.example.com"));
+            reportData.setSections(template.getSections());
+            reportData.setAlertTreeRootNode(extRep.getFilteredAlertTree(reportData));
+            long copied = System.nanoTime();
+            extRep.generateReport(reportData, template, file.getAbsolutePath(), false);
+            long generated = System.nanoTime();
+            long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+            // Then
+            assertThat(file.length(), is(greaterThan(0L)));
+            LOGGER.info(
+                    "{} instances, {}: copied in {} ms, written in {} ms, {} KB, heap growth {} MB",
+                    instances,
+                    templateName,
+                    TimeUnit.NANOSECONDS.toMillis(copied - start),
+                    TimeUnit.NANOSECONDS.toMillis(generated - copied),
+                    file.length() / 1024,
+                    (usedAfter - usedBefore) / (1024 * 1024));
+            file.delete();
+        }
+    }
+
+    private static AlertNode createAlertsTree(int instances) throws Exception {
+        AlertNode root = new AlertNode(-1, "Alerts");
+        HttpMessage msg = new HttpMessage(new URI("https://www.example.com/", true));
+        msg.setRequestBody("Request Body");
+        msg.setResponseBody("Response Body");
+        int instancesPerAlert = instances / ALERTS;
+        for (int i = 0; i < ALERTS; i++) {
+            String name = "Alert " + i;
+            int risk = i % 4;
+            AlertNode alertNode = new AlertNode(risk, name);
+            alertNode.setUserObject(createAlert(i, risk, name, 0, msg));
+            for (int j = 0; j < instancesPerAlert; j++) {
+                AlertNode instance = new AlertNode(risk, name);
+                instance.setUserObject(createAlert(i, risk, name, j, msg));
+                alertNode.add(instance);
+            }
+            root.add(alertNode);
+        }
+        return root;
+    }
+
+    private static Alert createAlert(int pluginId, int risk, String name, int n, HttpMessage msg) {
+        Alert alert = new Alert(pluginId, risk, Alert.CONFIDENCE_MEDIUM, name);
+        String uri = "https://www.example.com/page/" + n;
+        alert.setDetail(
+                "Description",
+                uri,
+                "param" + n,
+                "Attack",
+                "Other info",
+                "Solution",
+                "Reference",
+                "Evidence",
+                79,
+                1,
+                msg);
+        return alert;
+    }
+}
@@ -32,6 +32,8 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
@@ -53,6 +55,7 @@ import org.parosproxy.paros.model.Model;
 import org.yaml.snakeyaml.Yaml;
 import org.zaproxy.addon.automation.AutomationEnvironment;
 import org.zaproxy.addon.automation.AutomationJob;
+import org.zaproxy.addon.automation.AutomationPlan;
 import org.zaproxy.addon.automation.AutomationProgress;
 import org.zaproxy.addon.automation.ContextWrapper;
 import org.zaproxy.addon.reports.ExtensionReports;
@@ -272,6 +275,102 @@ class ReportJobUnitTest {
         assertThat(progress.hasErrors(), is(equalTo(false)));
     }
 
+    @Test
+    void shouldGenerateReportsOfConsecutiveJobsFromSameAlertTree() throws IOException {
+        // Given
+        String templateName = "template";
+        AutomationPlan plan = new AutomationPlan();
+        ReportJob job1 = createReportJob("parameters:\n  template: " + templateName);
+        ReportJob job2 = createReportJob("parameters:\n  template: " + templateName);
+        plan.addJob(job1);
+        plan.addJob(job2);
+        AutomationProgress progress = plan.getProgress();
+        AutomationEnvironment env = plan.getEnv();
+        ContextWrapper contextWrapper = mock(ContextWrapper.class);
+        given(contextWrapper.getUrls()).willReturn(Collections.singletonList(""));
+        env.setContexts(Arrays.asList(contextWrapper));
+        Template template = mock(Template.class);
+        given(template.getExtension()).willReturn("ext");
+        given(extensionReports.getTemplateByConfigName(templateName)).willReturn(template);
+        job1.verifyParameters(progress);
+        job2.verifyParameters(progress);
+
+        // When
+        job1.runJob(env, progress);
+        job2.runJob(env, progress);
+
+        // Then
+        verify(extensionReports, times(1)).getFilteredAlertTree(any());
+        verify(extensionReports, never()).generateReport(any(), any(), anyString(), anyBoolean());
+        assertThat(progress.hasErrors(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldGenerateReportOfConsecutiveJobOnlyWhenItRuns() throws IOException {
+        // Given
+        String templateName = "template";
+        AutomationPlan plan = new AutomationPlan();
+        ReportJob job1 = createReportJob("parameters:\n  template: " + templateName);
+        ReportJob job2 =
+                createReportJob(
+                        "parameters:\n  template: " + templateName + "\nrisks:\n  - unknown");
+        plan.addJob(job1);
+        plan.addJob(job2);
+        AutomationProgress progress = plan.getProgress();
+        AutomationEnvironment env = plan.getEnv();
+        ContextWrapper contextWrapper = mock(ContextWrapper.class);
+        given(contextWrapper.getUrls()).willReturn(Collections.singletonList(""));
+        env.setContexts(Arrays.asList(contextWrapper));
+        Template template = mock(Template.class);
+        given(template.getExtension()).willReturn("ext");
+        given(extensionReports.getTemplateByConfigName(templateName)).willReturn(template);
+        job1.verifyParameters(progress);
+        job2.verifyParameters(progress);
+
+        // When
+        job1.runJob(env, progress);
+        boolean warnedBeforeJob2 = progress.hasWarnings();
+        job2.runJob(env, progress);
+
+        // Then
+        assertThat(warnedBeforeJob2, is(equalTo(false)));
+        assertThat(progress.hasWarnings(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotShareAlertTreeIfAnotherJobInBetween() throws IOException {
+        // Given
+        String templateName = "template";
+        AutomationPlan plan = new AutomationPlan();
+        ReportJob job1 = createReportJob("parameters:\n  template: " + templateName);
+        AutomationJob otherJob = mock(AutomationJob.class, withSettings().lenient());
+        given(otherJob.getOrder()).willReturn(AutomationJob.Order.REPORT);
+        ReportJob job2 = createReportJob("parameters:\n  template: " + templateName);
+        plan.addJob(job1);
+        plan.addJob(otherJob);
+        plan.addJob(job2);
+        AutomationProgress progress = plan.getProgress();
+        AutomationEnvironment env = plan.getEnv();
+        ContextWrapper contextWrapper = mock(ContextWrapper.class);
+        given(contextWrapper.getUrls()).willReturn(Collections.singletonList(""));
+        env.setContexts(Arrays.asList(contextWrapper));
+        Template template = mock(Template.class);
+        given(template.getExtension()).willReturn("ext");
+        given(extensionReports.getTemplateByConfigName(templateName)).willReturn(template);
+        job1.verifyParameters(progress);
+        job2.verifyParameters(progress);
+
+        // When
+        job1.runJob(env, progress);
+        job2.runJob(env, progress);
+
+        // Then
+        verify(extensionReports, times(2)).getFilteredAlertTree(any());
+        verify(extensionReports, times(2))
+                .generateReport(any(), any(), anyString(), anyBoolean());
+        assertThat(progress.hasErrors(), is(equalTo(false)));
+    }
+
     private static ReportJob createReportJob(String data) {
         ReportJob job = new ReportJob();
         job.setJobData(new Yaml().load(data));
@@ -20,16 +20,19 @@
 package org.zaproxy.addon.reports.sarif;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.zaproxy.addon.reports.sarif.TestAlertBuilder.newAlertBuilder;
 import static org.zaproxy.addon.reports.sarif.TestAlertNodeBuilder.newAlertNodeBuilder;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.parosproxy.paros.core.scanner.Alert;
 import org.zaproxy.addon.reports.ReportData;
 import org.zaproxy.zap.extension.alert.AlertNode;
 
@@ -150,4 +153,62 @@ class SarifReportDataSupportUnitTest {
         SarifRule rule1 = it.next();
         assertEquals("this is a description", rule1.getFullDescription());
     }
+
+    @Test
+    void resultsAreSortedByLevelDescendingAndPluginIdAscending() {
+        /* prepare */
+        reportData = new ReportData();
+        AlertNode rootNode = new AlertNode(0, "root");
+        reportData.setAlertTreeRootNode(rootNode);
+
+        rootNode.add(newAlertNodeBuilder(newAlert(3, Alert.RISK_LOW)).build());
+        rootNode.add(newAlertNodeBuilder(newAlert(2, Alert.RISK_HIGH)).build());
+        rootNode.add(newAlertNodeBuilder(newAlert(1, Alert.RISK_LOW)).build());
+        rootNode.add(newAlertNodeBuilder(newAlert(4, Alert.RISK_MEDIUM)).build());
+
+        SarifReportDataSupport toTest = new SarifReportDataSupport(reportData);
+
+        /* execute */
+        List<SarifResult> results = toTest.getResults();
+
+        /* test */
+        assertEquals(4, results.size());
+        assertEquals("2", results.get(0).getRuleId());
+        assertEquals(SarifLevel.ERROR, results.get(0).getLevel());
+        assertEquals("4", results.get(1).getRuleId());
+        assertEquals(SarifLevel.WARNING, results.get(1).getLevel());
+        assertEquals("1", results.get(2).getRuleId());
+        assertEquals(SarifLevel.NOTE, results.get(2).getLevel());
+        assertEquals("3", results.get(3).getRuleId());
+        assertEquals(SarifLevel.NOTE, results.get(3).getLevel());
+    }
+
+    @Test
+    void resultsAreNotRetained() {
+        /* prepare */
+        reportData = new ReportData();
+        AlertNode rootNode = new AlertNode(0, "root");
+        reportData.setAlertTreeRootNode(rootNode);
+        rootNode.add(newAlertNodeBuilder(newAlert(1, Alert.RISK_HIGH)).build());
+
+        SarifReportDataSupport toTest = new SarifReportDataSupport(reportData);
+        List<SarifResult> results = toTest.getResults();
+
+        /* execute */
+        SarifResult result1 = results.get(0);
+        SarifResult result2 = results.get(0);
+
+        /* test */
+        assertNotSame(result1, result2);
+        assertEquals(result1.getRuleId(), result2.getRuleId());
+    }
+
+    private static Alert newAlert(int pluginId, int risk) {
+        return newAlertBuilder()
+                .setPluginId(pluginId)
+                .setRisk(risk)
+                .setName("Name" + pluginId)
+                .setUriString("https://example.com/test" + pluginId)
+                .build();
+    }
 }
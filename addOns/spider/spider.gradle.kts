@@ -28,7 +28,7 @@ zapAddOn {
                 dependencies {
                     addOns {
                         register("automation") {
-                            version.set(">=0.17.0")
+                            version.set(">=0.20.0")
                         }
                     }
                 }
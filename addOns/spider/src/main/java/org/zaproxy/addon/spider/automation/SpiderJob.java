@@ -46,10 +46,12 @@ import org.zaproxy.addon.automation.AutomationProgress;
 import org.zaproxy.addon.automation.ContextWrapper;
 import org.zaproxy.addon.automation.jobs.JobData;
 import org.zaproxy.addon.automation.jobs.JobUtils;
+import org.zaproxy.addon.automation.jobs.ScanEventMonitor;
 import org.zaproxy.addon.automation.tests.AbstractAutomationTest;
 import org.zaproxy.addon.automation.tests.AutomationStatisticTest;
 import org.zaproxy.addon.network.common.ZapUnknownHostException;
 import org.zaproxy.addon.spider.ExtensionSpider2;
+import org.zaproxy.addon.spider.SpiderEventPublisher;
 import org.zaproxy.addon.spider.SpiderScan;
 import org.zaproxy.zap.model.Target;
 import org.zaproxy.zap.users.User;
@@ -214,37 +216,44 @@ public class SpiderJob extends AutomationJob {
             contextSpecificObjects.add(uri);
         }
 
-        int scanId = this.getExtSpider().startScan(target, user, contextSpecificObjects.toArray());
-
-        long endTime = Long.MAX_VALUE;
-        if (parameters.getMaxDuration() != null && parameters.getMaxDuration() > 0) {
-            // The spider should stop, if it doesnt we will stop it (after a few seconds leeway)
-            endTime =
-                    System.currentTimeMillis()
-                            + TimeUnit.MINUTES.toMillis(parameters.getMaxDuration())
-                            + TimeUnit.SECONDS.toMillis(5);
-        }
-
-        // Wait for the spider to finish
         SpiderScan scan;
         boolean forceStop = false;
         int numUrlsFound = 0;
         int lastCount = 0;
+        int scanId;
+
+        try (ScanEventMonitor scanMonitor =
+                new ScanEventMonitor(
+                        this, SpiderEventPublisher.getPublisher().getPublisherName())) {
+            scanId = this.getExtSpider().startScan(target, user, contextSpecificObjects.toArray());
+            scanMonitor.setScanId(scanId);
+
+            long endTime = Long.MAX_VALUE;
+            if (parameters.getMaxDuration() != null && parameters.getMaxDuration() > 0) {
+                // The spider should stop, if it doesnt we will stop it (after a few seconds
+                // leeway)
+                endTime =
+                        System.currentTimeMillis()
+                                + TimeUnit.MINUTES.toMillis(parameters.getMaxDuration())
+                                + TimeUnit.SECONDS.toMillis(5);
+            }
 
-        while (true) {
-            this.sleep(500);
+            // Wait for the spider to finish, the monitor wakes up as soon as it does
+            while (true) {
+                scanMonitor.waitForScan(500);
 
-            scan = this.getExtSpider().getScan(scanId);
-            numUrlsFound = scan.getNumberOfURIsFound();
-            Stats.incCounter(URLS_ADDED_STATS_KEY, numUrlsFound - lastCount);
-            lastCount = numUrlsFound;
+                scan = this.getExtSpider().getScan(scanId);
+                numUrlsFound = scan.getNumberOfURIsFound();
+                Stats.incCounter(URLS_ADDED_STATS_KEY, numUrlsFound - lastCount);
+                lastCount = numUrlsFound;
 
-            if (scan.isStopped()) {
-                break;
-            }
-            if (!this.runMonitorTests(progress) || System.currentTimeMillis() > endTime) {
-                forceStop = true;
-                break;
+                if (scan.isStopped()) {
+                    break;
+                }
+                if (!this.runMonitorTests(progress) || System.currentTimeMillis() > endTime) {
+                    forceStop = true;
+                    break;
+                }
             }
         }
         if (forceStop) {
@@ -36,6 +36,9 @@ dependencies {
     compileOnly(parent!!.childProjects.get("commonlib")!!)
 
     implementation("org.jdom:jdom:2.0.2")
+
+    testImplementation(parent!!.childProjects.get("commonlib")!!)
+    testImplementation(project(":testutils"))
 }
 
 spotless {
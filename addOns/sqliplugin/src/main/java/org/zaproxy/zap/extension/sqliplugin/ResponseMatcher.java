@@ -19,8 +19,7 @@
  */
 package org.zaproxy.zap.extension.sqliplugin;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.BitSet;
 
 /**
  * Class for string diff management used to compare the original content to the one related to a
@@ -47,13 +46,22 @@ public class ResponseMatcher {
 
     private String strA;
     private String strB;
-    // Inner helper class for strB string counting
-    private Map<Integer, Integer> fullBCount;
+    // The chars of strB (after the common prefix of the first comparison), reused while the
+    // original response does not change
+    private final BitSet bChars;
+    private int bCharsCount;
+    private int bCharsStart;
+    private boolean bCharsStale;
+    // The chars of strA already matched, reused between comparisons to avoid allocations
+    private final BitSet seenAChars;
     private double matchRatio;
     private boolean negativeLogic;
 
     public ResponseMatcher() {
-        fullBCount = new HashMap<>();
+        bChars = new BitSet();
+        bCharsStart = -1;
+        bCharsStale = true;
+        seenAChars = new BitSet();
         matchRatio = -1;
         negativeLogic = false;
     }
@@ -65,8 +73,11 @@ public class ResponseMatcher {
 
     /** @param strB */
     public void setOriginalResponse(String b) {
+        if (strB == null || !strB.equals(b)) {
+            bCharsStart = -1;
+        }
         this.strB = b;
-        this.fullBCount.clear();
+        this.bCharsStale = true;
         matchRatio = -1;
     }
 
@@ -82,55 +93,78 @@ public class ResponseMatcher {
      * @return
      */
     public double getQuickRatio() {
-        int chr;
-        int count;
+        return computeQuickRatio(false);
+    }
+
+    /**
+     * Computes the quick ratio, optionally stopping as soon as it's known whether or not the ratio
+     * is above the bounds used by {@link #isComparable()}.
+     *
+     * <p>The ratio only grows while the chars are counted: once a partial ratio is above the bounds
+     * the full one is too, and if the maximum ratio possible is not above the bounds the full one
+     * is not either. In both cases the ratio returned is on the same side of the bounds as the full
+     * one, but not necessarily equal to it.
+     *
+     * @param stopAboveBounds {@code true} if the computation should stop once the result is known,
+     *     {@code false} otherwise.
+     * @return the (partial) quick ratio.
+     */
+    private double computeQuickRatio(boolean stopAboveBounds) {
         int matches = 0;
         int start = 0;
-        while (start < Math.min(strA.length(), strB.length())) {
-            if (strA.charAt(start) == strB.charAt(start)) {
-                start += 1;
-
-            } else break;
+        int minLength = Math.min(strA.length(), strB.length());
+        while (start < minLength && strA.charAt(start) == strB.charAt(start)) {
+            start++;
         }
 
-        // viewing strA and strB as multisets, set matches to the cardinality
+        // viewing strA and strB as sets, set matches to the cardinality
         // of their intersection; this counts the number of matches
-        // without regard to order, so is clearly an upper bound
-        if (fullBCount.isEmpty()) {
-
-            for (int i = start; i < strB.length(); i++) {
-                chr = strB.charAt(i);
-                count = fullBCount.containsKey(chr) ? fullBCount.get(chr) : 1;
-                fullBCount.put(chr, count);
+        // without regard to order, so is clearly an upper bound.
+        // The chars of strB are computed once, on the first comparison
+        // after setting the original response.
+        if (bCharsStale) {
+            if (bCharsStart != start) {
+                bChars.clear();
+                for (int i = start; i < strB.length(); i++) {
+                    bChars.set(strB.charAt(i));
+                }
+                bCharsCount = bChars.cardinality();
+                bCharsStart = start;
             }
+            // Computed again while empty, the next comparison might have a shorter common prefix
+            bCharsStale = bCharsCount == 0;
         }
 
-        // avail[x] is the number of times x appears in 'strB' less the
-        // number of times we've seen it in 'strA' so far ... kinda
-        Map<Integer, Integer> avail = new HashMap<>();
-
-        for (int i = start; i < strA.length(); i++) {
-            chr = strA.charAt(i);
-            if (avail.containsKey(chr)) {
-                count = avail.get(chr);
-
-            } else if (fullBCount.containsKey(chr)) {
-                count = fullBCount.get(chr);
+        int totalLength = strA.length() + strB.length();
+        if (totalLength == 0) {
+            return 1.0;
+        }
 
-            } else {
-                count = 0;
+        if (stopAboveBounds) {
+            int maxMatches = Math.min(bCharsCount, strA.length() - start);
+            double upperBound = 2.0 * (start + maxMatches) / totalLength;
+            if (!isAboveBounds(upperBound)) {
+                return upperBound;
             }
+        }
 
-            avail.put(chr, count - 1);
-
-            if (count > 0) {
-                matches += 1;
+        seenAChars.clear();
+        for (int i = start; i < strA.length() && matches < bCharsCount; i++) {
+            char chr = strA.charAt(i);
+            if (bChars.get(chr) && !seenAChars.get(chr)) {
+                seenAChars.set(chr);
+                matches++;
+                if (stopAboveBounds && isAboveBounds(2.0 * (start + matches) / totalLength)) {
+                    break;
+                }
             }
         }
 
-        int totalLength = strA.length() + strB.length();
+        return 2.0 * (start + matches) / totalLength;
+    }
 
-        return (totalLength > 0) ? 2.0 * (start + matches) / totalLength : 1.0;
+    private boolean isAboveBounds(double ratio) {
+        return (ratio > UPPER_RATIO_BOUND) || ((ratio - matchRatio) > DIFF_TOLERANCE);
     }
 
     /**
@@ -138,14 +172,18 @@ public class ResponseMatcher {
      * @return
      */
     public boolean isComparable() {
-        double ratio = getQuickRatio();
+        double ratio;
 
         // If comparison has never been done
         // set it as base ratio value
-        if (matchRatio < 0) matchRatio = ratio;
+        if (matchRatio < 0) {
+            ratio = getQuickRatio();
+            matchRatio = ratio;
+        } else {
+            ratio = computeQuickRatio(true);
+        }
 
-        boolean comparable =
-                ((ratio > UPPER_RATIO_BOUND) || ((ratio - matchRatio) > DIFF_TOLERANCE));
+        boolean comparable = isAboveBounds(ratio);
 
         // Test if we need strA negative logic approach.
         // This is used in raw page comparison scheme as that what is "different" than original
@@ -333,6 +333,12 @@ public class SQLInjectionScanRule extends AbstractAppParamPlugin {
         String content;
         String title;
 
+        // The original content cleaned of reflective values, which is the same
+        // for most of the tests and boundaries of the parameter
+        HttpMessage cleanedOrigMsg = null;
+        String cleanedOrigPayload = null;
+        String cleanedOrigContent = null;
+
         boolean injectable;
         int injectableTechniques = 0;
 
@@ -680,9 +686,16 @@ public class SQLInjectionScanRule extends AbstractAppParamPlugin {
                         // cleaned by reflective values
                         // and according to the replacement
                         // logic set by the plugin
-                        content = origMsg.getResponseBody().toString();
-                        content = SQLiPayloadManager.removeReflectiveValues(content, payloadValue);
-                        responseMatcher.setOriginalResponse(content);
+                        if (origMsg != cleanedOrigMsg
+                                || !payloadValue.equals(cleanedOrigPayload)) {
+                            content = origMsg.getResponseBody().toString();
+                            cleanedOrigContent =
+                                    SQLiPayloadManager.removeReflectiveValues(
+                                            content, payloadValue);
+                            cleanedOrigMsg = origMsg;
+                            cleanedOrigPayload = payloadValue;
+                        }
+                        responseMatcher.setOriginalResponse(cleanedOrigContent);
                         responseMatcher.setLogic(where);
 
                         // -----------------------------------------------
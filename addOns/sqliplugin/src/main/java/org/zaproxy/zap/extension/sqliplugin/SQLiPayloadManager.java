@@ -23,10 +23,13 @@ package org.zaproxy.zap.extension.sqliplugin;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.regex.Pattern;
+import org.apache.commons.collections.map.LRUMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jdom2.Document;
@@ -91,6 +94,10 @@ public class SQLiPayloadManager {
     private static final int REFLECTED_MAX_REGEX_PARTS = 10;
     // Mark used for replacement of reflected values
     public static final String REFLECTED_VALUE_MARKER = "__REFLECTED_VALUE__";
+    // The compiled reflective regexes of the payloads most recently used
+    @SuppressWarnings("unchecked")
+    private static final Map<String, ReflectiveValuesMatcher> REFLECTIVE_MATCHERS =
+            Collections.synchronizedMap(new LRUMap(50));
 
     private List<SQLiBoundary> boundaries;
     private List<SQLiTest> tests;
@@ -274,91 +281,120 @@ public class SQLiPayloadManager {
      * @return a normalized content free from all reflective values
      */
     public static String removeReflectiveValues(String content, String payload) {
-        String retVal = content;
-
         if ((content != null) && (payload != null)) {
             String decodedPayload = payload.replace(PAYLOAD_DELIMITER, "");
             // decodedPayload = AbstractPlugin.getURLDecode(decodedPayload);
-            String regex = buildReflectiveRegex(decodedPayload);
+            return getReflectiveValuesMatcher(decodedPayload).removeFrom(content);
+        }
 
-            if (!regex.equals(decodedPayload)) {
-                List<String> parts = new ArrayList<>();
-                int sidx = 0;
-                int eidx;
+        return content;
+    }
 
-                while ((eidx = regex.indexOf(REFLECTED_REPLACEMENT_REGEX, sidx)) != -1) {
-                    parts.add(regex.substring(sidx, eidx));
-                    sidx = eidx + REFLECTED_REPLACEMENT_REGEX.length();
-                }
+    private static ReflectiveValuesMatcher getReflectiveValuesMatcher(String decodedPayload) {
+        ReflectiveValuesMatcher matcher = REFLECTIVE_MATCHERS.get(decodedPayload);
+        if (matcher == null) {
+            matcher = new ReflectiveValuesMatcher(decodedPayload);
+            REFLECTIVE_MATCHERS.put(decodedPayload, matcher);
+        }
+        return matcher;
+    }
 
-                // fast optimization check
-                boolean allIncluded = true;
+    /**
+     * The compiled form of the reflective regex of a payload, the same payloads (e.g. the original
+     * value and the False payload) are used several times for each parameter.
+     */
+    private static class ReflectiveValuesMatcher {
 
-                for (String part : parts) {
-                    if (!content.toLowerCase().contains(part.toLowerCase())) {
-                        allIncluded = false;
-                        break;
-                    }
-                }
+        private final String decodedPayload;
+        private final List<String> parts;
+        private final Pattern pattern;
 
-                if (allIncluded) {
-                    // dummy approach
-                    retVal = content.replace(decodedPayload, REFLECTED_VALUE_MARKER);
+        ReflectiveValuesMatcher(String decodedPayload) {
+            this.decodedPayload = decodedPayload;
+            String regex = buildReflectiveRegex(decodedPayload);
 
-                    // preventing CPU hogs
-                    if (parts.size() > REFLECTED_MAX_REGEX_PARTS) {
-                        StringBuilder tmpBuilder = new StringBuilder();
-                        boolean isFirst = true;
+            if (regex.equals(decodedPayload)) {
+                parts = null;
+                pattern = null;
+                return;
+            }
 
-                        // Build first part of the regex
-                        for (int i = 0; i < REFLECTED_MAX_REGEX_PARTS / 2; i++) {
-                            if (isFirst) {
-                                isFirst = false;
+            parts = new ArrayList<>();
+            int sidx = 0;
+            int eidx;
 
-                            } else {
-                                tmpBuilder.append(REFLECTED_REPLACEMENT_REGEX);
-                            }
+            while ((eidx = regex.indexOf(REFLECTED_REPLACEMENT_REGEX, sidx)) != -1) {
+                parts.add(regex.substring(sidx, eidx).toLowerCase());
+                sidx = eidx + REFLECTED_REPLACEMENT_REGEX.length();
+            }
 
-                            tmpBuilder.append(parts.get(i));
-                        }
+            // preventing CPU hogs
+            if (parts.size() > REFLECTED_MAX_REGEX_PARTS) {
+                StringBuilder tmpBuilder = new StringBuilder();
+                boolean isFirst = true;
 
-                        // Build second part of the regex
-                        for (int i = parts.size() - REFLECTED_MAX_REGEX_PARTS / 2;
-                                i < parts.size();
-                                i++) {
-                            tmpBuilder.append(REFLECTED_REPLACEMENT_REGEX);
-                            tmpBuilder.append(parts.get(i));
-                        }
+                // Build first part of the regex
+                for (int i = 0; i < REFLECTED_MAX_REGEX_PARTS / 2; i++) {
+                    if (isFirst) {
+                        isFirst = false;
 
-                        regex = tmpBuilder.toString();
+                    } else {
+                        tmpBuilder.append(REFLECTED_REPLACEMENT_REGEX);
                     }
 
-                    regex =
-                            (regex.startsWith(REFLECTED_REPLACEMENT_REGEX))
-                                    ? REFLECTED_BORDER_REGEX
-                                            + regex.substring(REFLECTED_REPLACEMENT_REGEX.length())
-                                    : "\\b" + regex;
-
-                    regex =
-                            (regex.endsWith(REFLECTED_REPLACEMENT_REGEX))
-                                    ? regex.substring(
-                                                    0,
-                                                    regex.length()
-                                                            - REFLECTED_REPLACEMENT_REGEX.length())
-                                            + REFLECTED_BORDER_REGEX
-                                    : regex + "\\b";
-
-                    retVal = retVal.replaceAll("(?i)" + regex, REFLECTED_VALUE_MARKER);
-
-                    // TO BE VERIFIED...
-                    // parts = filter(None, regex.split(REFLECTED_REPLACEMENT_REGEX))
-                    // if len(parts) > 2:
-                    //    regex = REFLECTED_REPLACEMENT_REGEX.join(parts[1:])
-                    //    retVal = re.sub(r"(?i)\\b%s\\b" % regex, REFLECTED_VALUE_MARKER, retVal)
+                    tmpBuilder.append(parts.get(i));
+                }
+
+                // Build second part of the regex
+                for (int i = parts.size() - REFLECTED_MAX_REGEX_PARTS / 2;
+                        i < parts.size();
+                        i++) {
+                    tmpBuilder.append(REFLECTED_REPLACEMENT_REGEX);
+                    tmpBuilder.append(parts.get(i));
                 }
+
+                regex = tmpBuilder.toString();
             }
+
+            regex =
+                    (regex.startsWith(REFLECTED_REPLACEMENT_REGEX))
+                            ? REFLECTED_BORDER_REGEX
+                                    + regex.substring(REFLECTED_REPLACEMENT_REGEX.length())
+                            : "\\b" + regex;
+
+            regex =
+                    (regex.endsWith(REFLECTED_REPLACEMENT_REGEX))
+                            ? regex.substring(
+                                            0,
+                                            regex.length() - REFLECTED_REPLACEMENT_REGEX.length())
+                                    + REFLECTED_BORDER_REGEX
+                            : regex + "\\b";
+
+            pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
         }
 
-        return retVal;
+        String removeFrom(String content) {
+            if (pattern == null) {
+                return content;
+            }
+
+            // fast optimization check
+            String lowerCaseContent = content.toLowerCase();
+            for (String part : parts) {
+                if (!lowerCaseContent.contains(part)) {
+                    return content;
+                }
+            }
+
+            // dummy approach
+            String retVal = content.replace(decodedPayload, REFLECTED_VALUE_MARKER);
+
+            // TO BE VERIFIED...
+            // parts = filter(None, regex.split(REFLECTED_REPLACEMENT_REGEX))
+            // if len(parts) > 2:
+            //    regex = REFLECTED_REPLACEMENT_REGEX.join(parts[1:])
+            //    retVal = re.sub(r"(?i)\\b%s\\b" % regex, REFLECTED_VALUE_MARKER, retVal)
+            return pattern.matcher(retVal).replaceAll(REFLECTED_VALUE_MARKER);
+        }
     }
 }
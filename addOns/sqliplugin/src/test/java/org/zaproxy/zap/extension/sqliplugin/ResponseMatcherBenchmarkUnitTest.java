@@ -0,0 +1,149 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.sqliplugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Benchmark of {@link ResponseMatcher} and of the removal of the reflected values, as done by the
+ * boolean-based blind checks, with large HTML like responses.
+ *
+ * <p>Not run by default, to run it set the environment variable {@code ZAP_SQLIPLUGIN_BENCHMARK}
+ * to {@code true}, for example:
+ *
+ * <pre>
+ * ZAP_SQLIPLUGIN_BENCHMARK=true ./gradlew :addOns:sqliplugin:cleanTest :addOns:sqliplugin:test \
+ *     --tests '*ResponseMatcherBenchmarkUnitTest'
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "ZAP_SQLIPLUGIN_BENCHMARK", matches = "true")
+class ResponseMatcherBenchmarkUnitTest {
+
+    private static final Logger LOGGER =
+            LogManager.getLogger(ResponseMatcherBenchmarkUnitTest.class);
+
+    private static final int KILOBYTE = 1024;
+
+    private static final int WARM_UP_RUNS = 3;
+
+    private static final int COMPARISONS = 1_000;
+
+    private static final String PAYLOAD = "1' AND 5813=5813 AND 'abcd'='abcd";
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000})
+    void compareLargeResponses(int kilobytes) {
+        // Given
+        Random random = new Random(kilobytes);
+        String original = createHtml(random, kilobytes * KILOBYTE, "");
+        String[] injected = {
+            createHtml(new Random(kilobytes), kilobytes * KILOBYTE, PAYLOAD),
+            createHtml(random, kilobytes * KILOBYTE, ""),
+            "<html><body>Error</body></html>"
+        };
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            compare(original, injected);
+        }
+        // When
+        long start = System.nanoTime();
+        int comparable = compare(original, injected);
+        long elapsed = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        // Then
+        assertThat(comparable, is(equalTo(COMPARISONS / injected.length)));
+        LOGGER.info(
+                "{} KB, {} comparisons: {} us per comparison",
+                kilobytes,
+                COMPARISONS,
+                elapsed / COMPARISONS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000})
+    void removeReflectedValuesOfLargeResponses(int kilobytes) {
+        // Given
+        String content = createHtml(new Random(kilobytes), kilobytes * KILOBYTE, PAYLOAD);
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            SQLiPayloadManager.removeReflectiveValues(content, PAYLOAD);
+        }
+        // When
+        long start = System.nanoTime();
+        String cleaned = null;
+        for (int i = 0; i < COMPARISONS; i++) {
+            cleaned = SQLiPayloadManager.removeReflectiveValues(content, PAYLOAD);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        // Then
+        assertThat(cleaned.contains(PAYLOAD), is(equalTo(false)));
+        LOGGER.info(
+                "{} KB, {} removals: {} us per removal",
+                kilobytes,
+                COMPARISONS,
+                elapsed / COMPARISONS);
+    }
+
+    private static int compare(String original, String[] injected) {
+        ResponseMatcher matcher = new ResponseMatcher();
+        matcher.setOriginalResponse(original);
+        matcher.setInjectedResponse(injected[injected.length - 1]);
+        matcher.isComparable();
+        int comparable = 0;
+        for (int i = 0; i < COMPARISONS - COMPARISONS % injected.length; i++) {
+            matcher.setInjectedResponse(injected[i % injected.length]);
+            if (matcher.isComparable()) {
+                comparable++;
+            }
+        }
+        return comparable;
+    }
+
+    private static String createHtml(Random random, int length, String reflected) {
+        StringBuilder html = new StringBuilder(length + 100);
+        html.append("<html><body>\n");
+        while (html.length() < length) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    html.append("<div class=\"row\">\n");
+                    break;
+                case 1:
+                    html.append("<td>").append(random.nextInt(1_000)).append("</td>\n");
+                    break;
+                case 2:
+                    html.append("<a href=\"/item?id=").append(random.nextInt()).append("\">");
+                    html.append("Item</a>\n");
+                    break;
+                default:
+                    html.append("<p>Lorem ipsum dolor sit amet ").append(random.nextLong());
+                    html.append("</p>\n");
+            }
+        }
+        html.append("<p>Results for: ").append(reflected).append("</p>\n");
+        return html.append("</body></html>").toString();
+    }
+}
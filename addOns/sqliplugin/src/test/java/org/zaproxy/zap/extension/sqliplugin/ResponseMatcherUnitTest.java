@@ -0,0 +1,231 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.sqliplugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Unit test for {@link ResponseMatcher}. */
+class ResponseMatcherUnitTest {
+
+    private static final String PAGE =
+            "<html>\n<head><title>Products</title></head>\n<body>\n"
+                    + "<h1>Products</h1>\n<ul>\n"
+                    + "<li>Lorem ipsum dolor sit amet, consectetur adipiscing elit.</li>\n"
+                    + "<li>Phasellus eget sapien sit amet tortor finibus feugiat.</li>\n"
+                    + "</ul>\n<p>Showing 2 products for: shoes</p>\n</body>\n</html>";
+
+    private static final String ERROR_PAGE =
+            "<html>\n<body>\n<pre>java.sql.SQLException: Unexpected token at line 1</pre>\n"
+                    + "</body>\n</html>";
+
+    @Test
+    void shouldHaveMaxQuickRatioForSameResponses() {
+        // Given
+        ResponseMatcher matcher = createMatcher(PAGE, PAGE);
+        // When
+        double ratio = matcher.getQuickRatio();
+        // Then
+        assertThat(ratio, is(equalTo(1.0)));
+    }
+
+    @Test
+    void shouldHaveMaxQuickRatioForEmptyResponses() {
+        // Given
+        ResponseMatcher matcher = createMatcher("", "");
+        // When
+        double ratio = matcher.getQuickRatio();
+        // Then
+        assertThat(ratio, is(equalTo(1.0)));
+    }
+
+    @Test
+    void shouldHaveMinQuickRatioForResponsesWithoutCommonChars() {
+        // Given
+        ResponseMatcher matcher = createMatcher("abc", "xyz");
+        // When
+        double ratio = matcher.getQuickRatio();
+        // Then
+        assertThat(ratio, is(equalTo(0.0)));
+    }
+
+    @Test
+    void shouldCountCommonPrefixInQuickRatio() {
+        // Given
+        ResponseMatcher matcher = createMatcher("abxy", "abcd");
+        // When
+        double ratio = matcher.getQuickRatio();
+        // Then
+        assertThat(ratio, is(equalTo(0.5)));
+    }
+
+    @Test
+    void shouldIgnoreOrderOfCharsInQuickRatio() {
+        // Given
+        ResponseMatcher matcher = createMatcher("ba", "ab");
+        // When
+        double ratio = matcher.getQuickRatio();
+        // Then
+        assertThat(ratio, is(equalTo(1.0)));
+    }
+
+    @Test
+    void shouldReuseCharsOfOriginalResponseAfterCommonPrefixOfFirstComparison() {
+        // Given
+        ResponseMatcher matcher = createMatcher("abcxyz", "abcdef");
+        double previousRatio = matcher.getQuickRatio();
+        matcher.setInjectedResponse("fedcba");
+        // When
+        double ratio = matcher.getQuickRatio();
+        // Then
+        assertThat(previousRatio, is(equalTo(0.5)));
+        assertThat(ratio, is(equalTo(0.5)));
+    }
+
+    @Test
+    void shouldComputeCharsOfOriginalResponseAgainIfNoneAfterCommonPrefix() {
+        // Given
+        ResponseMatcher matcher = createMatcher("abc", "abc");
+        matcher.getQuickRatio();
+        matcher.setInjectedResponse("cba");
+        // When
+        double ratio = matcher.getQuickRatio();
+        // Then
+        assertThat(ratio, is(equalTo(1.0)));
+    }
+
+    @Test
+    void shouldComputeQuickRatioWithNewOriginalResponse() {
+        // Given
+        ResponseMatcher matcher = createMatcher("abcxyz", "abcdef");
+        matcher.getQuickRatio();
+        matcher.setOriginalResponse("abcxyw");
+        // When
+        double ratio = matcher.getQuickRatio();
+        // Then
+        assertThat(ratio, is(equalTo(2.0 * 5 / 12)));
+    }
+
+    @Test
+    void shouldBeComparableIfFirstResponseIsAlmostTheSame() {
+        // Given
+        ResponseMatcher matcher = createMatcher(PAGE + " ", PAGE);
+        // When
+        boolean comparable = matcher.isComparable();
+        // Then
+        assertThat(comparable, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotBeComparableIfFirstResponseIsDifferent() {
+        // Given
+        ResponseMatcher matcher = createMatcher(ERROR_PAGE, PAGE);
+        // When
+        boolean comparable = matcher.isComparable();
+        // Then
+        assertThat(comparable, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldInvertComparisonWithNegativeLogic() {
+        // Given
+        ResponseMatcher matcher = createMatcher(PAGE + " ", PAGE);
+        matcher.setLogic(SQLiPayloadManager.WHERE_NEGATIVE);
+        // When
+        boolean comparable = matcher.isComparable();
+        // Then
+        assertThat(comparable, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldBeComparableIfRatioIncreasesAboveTolerance() {
+        // Given
+        ResponseMatcher matcher = createMatcher("0123456789", "abcdefghij");
+        matcher.isComparable();
+        matcher.setInjectedResponse("abc3456789");
+        // When
+        boolean comparable = matcher.isComparable();
+        // Then
+        assertThat(comparable, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotBeComparableIfRatioIncreasesWithinTolerance() {
+        // Given
+        ResponseMatcher matcher = createMatcher("0".repeat(40), "x".repeat(39) + "a");
+        matcher.isComparable();
+        matcher.setInjectedResponse("0".repeat(39) + "x");
+        // When
+        boolean comparable = matcher.isComparable();
+        // Then
+        assertThat(comparable, is(equalTo(false)));
+    }
+
+    static Stream<Arguments> injectedResponses() {
+        return Stream.of(
+                Arguments.of(PAGE, SQLiPayloadManager.WHERE_ORIGINAL),
+                Arguments.of(PAGE, SQLiPayloadManager.WHERE_NEGATIVE),
+                Arguments.of(PAGE.replace("shoes", "boots"), SQLiPayloadManager.WHERE_ORIGINAL),
+                Arguments.of(PAGE.replace("shoes", "boots"), SQLiPayloadManager.WHERE_NEGATIVE),
+                Arguments.of(PAGE.substring(0, 60), SQLiPayloadManager.WHERE_ORIGINAL),
+                Arguments.of(ERROR_PAGE, SQLiPayloadManager.WHERE_ORIGINAL),
+                Arguments.of(ERROR_PAGE, SQLiPayloadManager.WHERE_NEGATIVE),
+                Arguments.of(ERROR_PAGE + PAGE, SQLiPayloadManager.WHERE_ORIGINAL),
+                Arguments.of("", SQLiPayloadManager.WHERE_ORIGINAL),
+                Arguments.of("{}", SQLiPayloadManager.WHERE_NEGATIVE));
+    }
+
+    @ParameterizedTest
+    @MethodSource("injectedResponses")
+    void shouldCompareAsWithFullQuickRatio(String injectedResponse, int logic) {
+        // Given
+        String[] baseResponses = {ERROR_PAGE, PAGE.substring(0, 100), PAGE};
+        for (String baseResponse : baseResponses) {
+            ResponseMatcher matcher = createMatcher(baseResponse, PAGE);
+            matcher.setLogic(logic);
+            double matchRatio = matcher.getQuickRatio();
+            matcher.isComparable();
+            matcher.setInjectedResponse(injectedResponse);
+            double ratio = matcher.getQuickRatio();
+            boolean expected =
+                    (logic == SQLiPayloadManager.WHERE_NEGATIVE)
+                            ^ (ratio > ResponseMatcher.UPPER_RATIO_BOUND
+                                    || ratio - matchRatio > ResponseMatcher.DIFF_TOLERANCE);
+            // When
+            boolean comparable = matcher.isComparable();
+            // Then
+            assertThat(comparable, is(equalTo(expected)));
+        }
+    }
+
+    private static ResponseMatcher createMatcher(String injectedResponse, String originalResponse) {
+        ResponseMatcher matcher = new ResponseMatcher();
+        matcher.setOriginalResponse(originalResponse);
+        matcher.setInjectedResponse(injectedResponse);
+        return matcher;
+    }
+}
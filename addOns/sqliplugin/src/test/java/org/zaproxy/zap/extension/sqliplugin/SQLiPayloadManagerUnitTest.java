@@ -0,0 +1,117 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.sqliplugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link SQLiPayloadManager}. */
+class SQLiPayloadManagerUnitTest {
+
+    private static final String MARKER = SQLiPayloadManager.REFLECTED_VALUE_MARKER;
+
+    @Test
+    void shouldRemoveReflectedPayload() {
+        // Given
+        String content = "Searching for <b>1 AND 1=2</b>...";
+        // When
+        String result = SQLiPayloadManager.removeReflectiveValues(content, "1 AND 1=2");
+        // Then
+        assertThat(result, is(equalTo("Searching for <b>" + MARKER + "</b>...")));
+    }
+
+    @Test
+    void shouldRemoveReflectedEncodedPayload() {
+        // Given
+        String content = "Searching for <b>1%20and%201%3D2</b>...";
+        // When
+        String result = SQLiPayloadManager.removeReflectiveValues(content, "1 AND 1=2");
+        // Then
+        assertThat(result, is(equalTo("Searching for <b>" + MARKER + "</b>...")));
+    }
+
+    @Test
+    void shouldRemoveReflectedPayloadWithoutDelimiters() {
+        // Given
+        String content = "Searching for <b>1 AND 1=2</b>...";
+        // When
+        String result = SQLiPayloadManager.removeReflectiveValues(content, "1 AND\\x00 1=2");
+        // Then
+        assertThat(result, is(equalTo("Searching for <b>" + MARKER + "</b>...")));
+    }
+
+    @Test
+    void shouldRemoveSamePayloadFromDifferentContents() {
+        // Given
+        String payload = "1' OR '1'='1";
+        String content1 = "Results for: 1' OR '1'='1";
+        String content2 = "Results for: 1&#39; OR &#39;1&#39;=&#39;1";
+        // When
+        String result1 = SQLiPayloadManager.removeReflectiveValues(content1, payload);
+        String result2 = SQLiPayloadManager.removeReflectiveValues(content2, payload);
+        // Then
+        assertThat(result1, is(equalTo("Results for: " + MARKER)));
+        assertThat(result2, is(equalTo("Results for: " + MARKER)));
+    }
+
+    @Test
+    void shouldNotChangeContentWithoutReflectedPayload() {
+        // Given
+        String content = "No results found.";
+        // When
+        String result = SQLiPayloadManager.removeReflectiveValues(content, "1 AND 1=2");
+        // Then
+        assertThat(result, is(equalTo(content)));
+    }
+
+    @Test
+    void shouldNotChangeContentIfPayloadIsAlphanumeric() {
+        // Given
+        String content = "Searching for <b>abc123</b>...";
+        // When
+        String result = SQLiPayloadManager.removeReflectiveValues(content, "abc123");
+        // Then
+        assertThat(result, is(equalTo(content)));
+    }
+
+    @Test
+    void shouldNotChangeContentIfNoPayload() {
+        // Given
+        String content = "Searching for <b>1 AND 1=2</b>...";
+        // When
+        String result = SQLiPayloadManager.removeReflectiveValues(content, null);
+        // Then
+        assertThat(result, is(equalTo(content)));
+    }
+
+    @Test
+    void shouldReturnNullIfNoContent() {
+        // Given
+        String content = null;
+        // When
+        String result = SQLiPayloadManager.removeReflectiveValues(content, "1 AND 1=2");
+        // Then
+        assertThat(result, is(nullValue()));
+    }
+}
@@ -379,6 +379,30 @@ public class CharacterFrequencyMap {
 
     }
 
+    /**
+     * Gets the bytes of all the tokens, one after the other, as returned by {@link
+     * #getByteArrayToken(int)}.
+     *
+     * @return the bytes of the tokens, never {@code null}.
+     * @throws DecoderException if a hexadecimal token could not be decoded.
+     */
+    public byte[] getPackedTokens() throws DecoderException {
+        List<byte[]> tokenBytes = new ArrayList<>(tokens.size());
+        int length = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            byte[] bytes = getByteArrayToken(i);
+            tokenBytes.add(bytes);
+            length += bytes.length;
+        }
+        byte[] packed = new byte[length];
+        int offset = 0;
+        for (byte[] bytes : tokenBytes) {
+            System.arraycopy(bytes, 0, packed, offset, bytes.length);
+            offset += bytes.length;
+        }
+        return packed;
+    }
+
     public void save(File file) throws IOException {
         try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
             for (String token : tokens) {
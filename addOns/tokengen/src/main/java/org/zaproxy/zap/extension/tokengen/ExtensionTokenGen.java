@@ -19,13 +19,13 @@
  */
 package org.zaproxy.zap.extension.tokengen;
 
+import java.awt.EventQueue;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
-import java.util.TreeSet;
 import java.util.Vector;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.htmlparser.jericho.Element;
 import net.htmlparser.jericho.HTMLElementName;
 import net.htmlparser.jericho.Source;
@@ -38,7 +38,6 @@ import org.parosproxy.paros.extension.ExtensionAdaptor;
 import org.parosproxy.paros.extension.ExtensionHook;
 import org.parosproxy.paros.extension.SessionChangedListener;
 import org.parosproxy.paros.model.Session;
-import org.parosproxy.paros.network.HtmlParameter;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.zap.extension.params.HtmlParameterStats;
 
@@ -61,8 +60,10 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
     private TokenOptionsPanel tokenOptionsPanel;
 
     private List<TokenGenerator> generators = Collections.emptyList();
-    private int runningGenerators = 0;
-    private CharacterFrequencyMap cfm = null;
+    private final AtomicInteger runningGenerators = new AtomicInteger();
+    private TokenBuffer tokens = new TokenBuffer();
+    private boolean keepMessages = TokenParam.DEFAULT_KEEP_MESSAGES;
+    private int earlyAnalysisTokens;
     private boolean manuallyStopped = false;
 
     private static Logger log = LogManager.getLogger(ExtensionTokenGen.class);
@@ -127,7 +128,7 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
 
     @Override
     public List<String> getActiveActions() {
-        if (runningGenerators == 0) {
+        if (runningGenerators.get() == 0) {
             return null;
         }
 
@@ -216,34 +217,48 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
         return fifs;
     }
 
-    protected void addTokenResult(HttpMessage msg, HtmlParameterStats targetToken) {
-        // Extract the token
-        String token = null;
-        switch (targetToken.getType()) {
-            case cookie:
-                TreeSet<HtmlParameter> cookies = msg.getCookieParams();
-                Iterator<HtmlParameter> iter = cookies.iterator();
-                while (iter.hasNext()) {
-                    HtmlParameter cookie = iter.next();
-                    if (cookie.getName().equals(targetToken.getName())) {
-                        token = cookie.getValue();
-                        break;
-                    }
-                }
-                break;
-            case form:
-                token = this.getTokenValue(msg, targetToken.getName());
-                break;
-            case url:
-                // TODO
-                break;
-        }
+    /**
+     * Adds the result of a token generation request.
+     *
+     * <p>Called concurrently by the generators.
+     *
+     * @param msg the message sent.
+     * @param token the token extracted from the response, or {@code null} if none.
+     */
+    protected void addTokenResult(HttpMessage msg, String token) {
         if (token != null) {
-            this.cfm.addToken(token);
+            int count = tokens.add(token);
+            if (count == earlyAnalysisTokens) {
+                log.debug("Starting the analysis with {} tokens", count);
+                CharacterFrequencyMap cfm = tokens.toCharacterFrequencyMap();
+                EventQueue.invokeLater(() -> showAnalyseTokensDialog(cfm));
+            }
+        }
+
+        if (keepMessages) {
             msg.setNote(token);
+            this.getTokenPanel().addTokenResult(new MessageSummary(msg));
+        } else {
+            this.getTokenPanel().tokenGenerated(!msg.getResponseHeader().isEmpty());
         }
+    }
 
-        this.getTokenPanel().addTokenResult(new MessageSummary(msg));
+    /**
+     * Gets the tokens collected by the last token generation.
+     *
+     * @return the tokens, never {@code null}.
+     */
+    CharacterFrequencyMap getGeneratedTokens() {
+        return tokens.toCharacterFrequencyMap();
+    }
+
+    /**
+     * Gets the number of tokens collected by the last token generation.
+     *
+     * @return the number of tokens.
+     */
+    int getGeneratedTokensCount() {
+        return tokens.size();
     }
 
     private TokenGenPopupMenu getPopupTokenGen() {
@@ -278,13 +293,15 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
     }
 
     public void showAnalyseTokensDialog(CharacterFrequencyMap cfm) {
+        // Stop the previous analysis, if any, for example, started while generating the tokens
+        this.getAnalyseTokensDialog().stopAnalysis();
         this.getAnalyseTokensDialog().reset();
         this.getAnalyseTokensDialog().setVisible(true);
         this.getAnalyseTokensDialog().startAnalysis(cfm);
     }
 
     public void showAnalyseTokensDialog() {
-        this.showAnalyseTokensDialog(this.cfm);
+        this.showAnalyseTokensDialog(getGeneratedTokens());
     }
 
     @SuppressWarnings("fallthrough")
@@ -308,35 +325,46 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
                 break;
         }
 
-        this.cfm = new CharacterFrequencyMap();
+        this.tokens = new TokenBuffer(numGen);
+        this.keepMessages = getTokenParam().isKeepMessages();
+        // Start the analysis halfway through, the final analysis is done with all the tokens
+        this.earlyAnalysisTokens = getTokenParam().isAnalyseWhileGenerating() ? numGen / 2 : 0;
         log.debug("startTokenGeneration {} # {}", msg.getRequestHeader().getURI(), numGen);
         this.getTokenPanel().scanStarted(numGen);
 
         int numThreads = this.getTokenParam().getThreadsPerScan();
         this.manuallyStopped = false;
 
-        generators = new ArrayList<>();
+        // The generators take the tokens to generate from the same counter, which keeps all of
+        // them busy until the end, and the responses are processed with the same extractor
+        AtomicInteger remainingTokens = new AtomicInteger(numGen);
+        TokenExtractor tokenExtractor = new TokenExtractor(htmlParameterStats);
+        List<TokenGenerator> newGenerators = new ArrayList<>();
 
         for (int i = 0; i < numThreads; i++) {
             TokenGenerator gen = new TokenGenerator();
-            generators.add(gen);
+            newGenerators.add(gen);
 
             gen.setExtension(this);
             gen.setHttpMessage(msg);
-            gen.setNumberTokens(numGen / numThreads); // TODO what about remainder?
+            gen.setRemainingTokens(remainingTokens);
+            gen.setTokenExtractor(tokenExtractor);
             gen.setTargetToken(htmlParameterStats);
             gen.setRequestDelay(getTokenParam().getRequestDelayInMs(), TimeUnit.MILLISECONDS);
             gen.setShouldRemoveCookie(shouldRemoveCookie);
+        }
+        generators = newGenerators;
+        runningGenerators.addAndGet(numThreads);
+        for (TokenGenerator gen : newGenerators) {
             gen.execute();
-            this.runningGenerators++;
         }
     }
 
     protected void generatorStopped(TokenGenerator gen) {
-        this.runningGenerators--;
-        log.debug("generatorStopped runningGenerators {}", runningGenerators);
+        int running = this.runningGenerators.decrementAndGet();
+        log.debug("generatorStopped runningGenerators {}", running);
 
-        if (this.runningGenerators <= 0) {
+        if (running <= 0) {
             log.debug("generatorStopped scanFinished");
             this.getTokenPanel().scanFinshed();
 
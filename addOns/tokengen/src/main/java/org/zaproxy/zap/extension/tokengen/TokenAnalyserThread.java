@@ -31,18 +31,28 @@ import com.fasteasytrade.JRandTest.Tests.Count8Bits;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.codec.DecoderException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.zaproxy.zap.extension.tokengen.TokenAnalysisTestResult.Result;
+import org.zaproxy.zap.extension.tokengen.TokenAnalysisTestResult.Type;
 
 public class TokenAnalyserThread extends Thread {
 
     public static final int NUM_TESTS = 9; // Change manually if you add any tests!
 
+    private static final String THREAD_PREFIX = "ZAP-TokenAnalyser-";
+
     private CharacterFrequencyMap cfm = null;
     private List<TokenAnalyserListenner> listenners = new ArrayList<>();
     private OutputDestination outputDestination = null;
-    private boolean cancelled = false;
+    private volatile boolean cancelled = false;
+    private final Object publishLock = new Object();
 
     private static Logger log = LogManager.getLogger(TokenAnalyserThread.class);
 
@@ -106,14 +116,53 @@ public class TokenAnalyserThread extends Thread {
             return;
         }
 
-        TokenRandomStream trs = new TokenRandomStream(cfm);
+        // The tokens are converted just once, each test reads them with its own stream
+        byte[] tokens;
+        try {
+            tokens = cfm.getPackedTokens();
+        } catch (DecoderException e) {
+            log.error(e.getMessage(), e);
+            return;
+        }
+
+        List<Runnable> tests = new ArrayList<>();
+        tests.add(createTest(new Count1Bit(), tokens, Type.COUNT_1_BIT));
+        tests.add(createTest(new Count2Bits(), tokens, Type.COUNT_2_BITS));
+        tests.add(createTest(new Count3Bits(), tokens, Type.COUNT_3_BITS));
+        tests.add(createTest(new Count4Bits(), tokens, Type.COUNT_4_BITS));
+        tests.add(createTest(new Count8Bits(), tokens, Type.COUNT_8_BITS));
+        tests.add(createTest(new Count16Bits(), tokens, Type.COUNT_16_BITS));
+
+        // The tests are independent, run them concurrently and publish the results as they finish
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        Math.min(tests.size(), Runtime.getRuntime().availableProcessors()),
+                        r -> {
+                            Thread thread =
+                                    new Thread(r, THREAD_PREFIX + threadNumber.getAndIncrement());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable test : tests) {
+                futures.add(executor.submit(test));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error(e.getMessage(), e);
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-        runTest(new Count1Bit(), trs, TokenAnalysisTestResult.Type.COUNT_1_BIT);
-        runTest(new Count2Bits(), trs, TokenAnalysisTestResult.Type.COUNT_2_BITS);
-        runTest(new Count3Bits(), trs, TokenAnalysisTestResult.Type.COUNT_3_BITS);
-        runTest(new Count4Bits(), trs, TokenAnalysisTestResult.Type.COUNT_4_BITS);
-        runTest(new Count8Bits(), trs, TokenAnalysisTestResult.Type.COUNT_8_BITS);
-        runTest(new Count16Bits(), trs, TokenAnalysisTestResult.Type.COUNT_16_BITS);
+    private Runnable createTest(Base test, byte[] tokens, Type type) {
+        return () -> runTest(test, new TokenRandomStream(tokens), type);
     }
 
     private void runTest(Base test, RandomStream rs, TokenAnalysisTestResult.Type type) {
@@ -122,19 +171,36 @@ public class TokenAnalyserThread extends Thread {
         }
         try {
             TokenAnalysisTestResult result = new TokenAnalysisTestResult(type);
+            TestOutput output = new TestOutput();
             test.registerInput(rs);
-            test.addOutputDestination(this.outputDestination);
+            test.addOutputDestination(output);
             test.runTest();
             result.setDetails(test.getDetails());
             result.setFailures(test.getErrors());
             result.setResult(Result.valueOf(test.getResult().name()));
             test.help(); // This outputs a summary to the specified outputDestination
-            this.notifyListenners(result);
+            publishResult(output, result);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    /**
+     * Publishes the output and the result of a test, one test at a time, as the tests run
+     * concurrently.
+     */
+    private void publishResult(TestOutput output, TokenAnalysisTestResult result) {
+        synchronized (publishLock) {
+            if (cancelled) {
+                return;
+            }
+            if (outputDestination != null) {
+                outputDestination.printf(output.toString());
+            }
+            this.notifyListenners(result);
+        }
+    }
+
     private void notifyListenners(TokenAnalysisTestResult result) {
         log.debug("notifyListenners {} {}", result.getType(), result.getResult().name());
 
@@ -158,4 +224,25 @@ public class TokenAnalyserThread extends Thread {
     public void addOutputDestination(OutputDestination outputDestination) {
         this.outputDestination = outputDestination;
     }
+
+    /** The output of a test, kept until the test finishes. */
+    private static class TestOutput implements OutputDestination {
+
+        private final StringBuilder output = new StringBuilder();
+
+        @Override
+        public void printf(String s) {
+            output.append(s);
+        }
+
+        @Override
+        public void puts(String s) {
+            output.append(s);
+        }
+
+        @Override
+        public String toString() {
+            return output.toString();
+        }
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.tokengen;
+
+import java.util.Arrays;
+
+/**
+ * The tokens collected during a token generation, kept one after the other in a single array of
+ * characters, with the offset where each token ends.
+ *
+ * <p>Instances of this class are thread-safe.
+ */
+class TokenBuffer {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int MAX_INITIAL_CAPACITY = 100_000;
+
+    private static final int INITIAL_CHARS_PER_TOKEN = 16;
+
+    private char[] chars;
+    private int[] ends;
+    private int size;
+
+    TokenBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a {@code TokenBuffer} with the given expected number of tokens.
+     *
+     * @param expectedTokens the number of tokens expected, used to size the buffer, up to a limit.
+     */
+    TokenBuffer(int expectedTokens) {
+        int capacity = Math.min(Math.max(expectedTokens, 1), MAX_INITIAL_CAPACITY);
+        ends = new int[capacity];
+        chars = new char[capacity * INITIAL_CHARS_PER_TOKEN];
+    }
+
+    /**
+     * Adds the given token.
+     *
+     * @param token the token to add.
+     * @return the number of tokens, after adding the given one.
+     */
+    synchronized int add(String token) {
+        int start = getStart(size);
+        int end = start + token.length();
+        if (end > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(end, chars.length * 2));
+        }
+        if (size == ends.length) {
+            ends = Arrays.copyOf(ends, ends.length * 2);
+        }
+        token.getChars(0, token.length(), chars, start);
+        ends[size] = end;
+        return ++size;
+    }
+
+    /**
+     * Gets the number of tokens.
+     *
+     * @return the number of tokens.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the token with the given index.
+     *
+     * @param index the index of the token.
+     * @return the token.
+     * @throws IndexOutOfBoundsException if the index is not valid.
+     */
+    synchronized String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int start = getStart(index);
+        return new String(chars, start, ends[index] - start);
+    }
+
+    private int getStart(int index) {
+        return index == 0 ? 0 : ends[index - 1];
+    }
+
+    /**
+     * Creates a {@code CharacterFrequencyMap} with the tokens added so far.
+     *
+     * @return the map, never {@code null}.
+     */
+    CharacterFrequencyMap toCharacterFrequencyMap() {
+        char[] currentChars;
+        int[] currentEnds;
+        int currentSize;
+        synchronized (this) {
+            // The arrays are only appended to or replaced, the tokens added are not changed
+            currentChars = chars;
+            currentEnds = ends;
+            currentSize = size;
+        }
+        CharacterFrequencyMap cfm = new CharacterFrequencyMap();
+        int start = 0;
+        for (int i = 0; i < currentSize; i++) {
+            cfm.addToken(new String(currentChars, start, currentEnds[i] - start));
+            start = currentEnds[i];
+        }
+        return cfm;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.tokengen;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.htmlparser.jericho.CharacterReference;
+import org.parosproxy.paros.network.HtmlParameter;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.extension.params.HtmlParameterStats;
+
+/**
+ * Extracts the target token from the responses of the token generation.
+ *
+ * <p>The form tokens are extracted with precompiled patterns, which match just the {@code FORM} and
+ * {@code INPUT} tags of the response, instead of parsing the whole response.
+ *
+ * <p>Instances of this class are thread-safe.
+ */
+class TokenExtractor {
+
+    private static final Pattern FORM_TAG_PATTERN =
+            Pattern.compile(
+                    "<!--.*?-->|<(/?)(form|input)\\b((?:[^>\"']|\"[^\"]*\"|'[^']*')*)>",
+                    Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private static final Pattern ATTRIBUTE_PATTERN =
+            Pattern.compile("([^\\s=/>\"']+)\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s\"'>]+))");
+
+    private final HtmlParameter.Type type;
+    private final String name;
+
+    TokenExtractor(HtmlParameterStats targetToken) {
+        this(targetToken.getType(), targetToken.getName());
+    }
+
+    TokenExtractor(HtmlParameter.Type type, String name) {
+        this.type = type;
+        this.name = name;
+    }
+
+    /**
+     * Extracts the token from the given message.
+     *
+     * @param msg the message with the response.
+     * @return the token, or {@code null} if not present.
+     */
+    String extract(HttpMessage msg) {
+        switch (type) {
+            case cookie:
+                for (HtmlParameter cookie : msg.getCookieParams()) {
+                    if (cookie.getName().equals(name)) {
+                        return cookie.getValue();
+                    }
+                }
+                return null;
+            case form:
+                return extractFormToken(msg.getResponseBody().toString());
+            case url:
+            default:
+                // TODO
+                return null;
+        }
+    }
+
+    /**
+     * Extracts the value of the form input whose ID or name is the name of the token, ignoring the
+     * case.
+     *
+     * @param html the HTML with the forms.
+     * @return the value of the input, or {@code null} if not present.
+     */
+    String extractFormToken(String html) {
+        int openForms = 0;
+        Matcher tagMatcher = FORM_TAG_PATTERN.matcher(html);
+        while (tagMatcher.find()) {
+            String tagName = tagMatcher.group(2);
+            if (tagName == null) {
+                // Comment
+                continue;
+            }
+            boolean endTag = !tagMatcher.group(1).isEmpty();
+            if ("form".equalsIgnoreCase(tagName)) {
+                openForms = endTag ? Math.max(0, openForms - 1) : openForms + 1;
+            } else if (openForms > 0 && !endTag) {
+                String[] input = parseInput(tagMatcher.group(3));
+                if (name.equalsIgnoreCase(input[0]) || name.equalsIgnoreCase(input[1])) {
+                    return input[2];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the ID, name, and value of an input.
+     *
+     * @param attributes the attributes of the input.
+     * @return the ID, name, and value, which might be {@code null}.
+     */
+    private static String[] parseInput(String attributes) {
+        String[] input = new String[3];
+        Matcher attributeMatcher = ATTRIBUTE_PATTERN.matcher(attributes);
+        while (attributeMatcher.find()) {
+            String attribute = attributeMatcher.group(1);
+            int index;
+            if ("id".equalsIgnoreCase(attribute)) {
+                index = 0;
+            } else if ("name".equalsIgnoreCase(attribute)) {
+                index = 1;
+            } else if ("value".equalsIgnoreCase(attribute)) {
+                index = 2;
+            } else {
+                continue;
+            }
+            if (input[index] == null) {
+                input[index] = getAttributeValue(attributeMatcher);
+            }
+        }
+        return input;
+    }
+
+    private static String getAttributeValue(Matcher attributeMatcher) {
+        for (int i = 2; i <= 4; i++) {
+            String value = attributeMatcher.group(i);
+            if (value != null) {
+                return CharacterReference.decode(value, true);
+            }
+        }
+        return "";
+    }
+}
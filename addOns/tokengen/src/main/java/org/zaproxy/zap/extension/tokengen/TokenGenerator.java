@@ -23,6 +23,7 @@ import java.net.SocketTimeoutException;
 import java.util.Iterator;
 import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.SwingWorker;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,13 +35,14 @@ import org.zaproxy.zap.extension.params.HtmlParameterStats;
 
 public class TokenGenerator extends SwingWorker<Void, Void> {
 
-    private int numberTokens = 0;
+    private AtomicInteger remainingTokens = new AtomicInteger();
     private HttpMessage httpMessage = null;
     private HttpSender httpSender = null;
     private HtmlParameterStats targetToken = null;
+    private TokenExtractor tokenExtractor = null;
     private ExtensionTokenGen extension = null;
-    private boolean stopGenerating = false;
-    private boolean paused = false;
+    private volatile boolean stopGenerating = false;
+    private volatile boolean paused = false;
     private long requestDelayDuration;
     private TimeUnit requestDelayTimeUnit;
     private boolean shouldRemoveCookie = false;
@@ -81,7 +83,14 @@ public class TokenGenerator extends SwingWorker<Void, Void> {
             msg.getRequestHeader().setHeader(HttpHeader.COOKIE, null);
         }
 
-        for (int i = 0; i < numberTokens; i++) {
+        if (tokenExtractor == null) {
+            tokenExtractor = new TokenExtractor(targetToken);
+        }
+
+        // The tokens are shared with the other generators, which keep sending requests until all
+        // are generated. The count is not decremented below zero, a token given back after a
+        // timeout must not be lost on the decrements of the generators that finished.
+        while (remainingTokens.getAndUpdate(n -> n > 0 ? n - 1 : n) > 0) {
             while (paused && !this.stopGenerating) {
                 try {
                     Thread.sleep(500);
@@ -100,17 +109,51 @@ public class TokenGenerator extends SwingWorker<Void, Void> {
             } catch (SocketTimeoutException ste) {
                 log.debug(
                         "A timout occurred while sending a request to generate a token. Reducing sent count, initiating supplemental request.");
-                i--;
+                remainingTokens.incrementAndGet();
             } catch (Exception e) {
                 log.error(e.getMessage(), e);
             }
-            this.extension.addTokenResult(msg, targetToken);
+            this.extension.addTokenResult(msg, tokenExtractor.extract(msg));
         }
         this.extension.generatorStopped(this);
     }
 
+    /**
+     * Sets the number of tokens to generate.
+     *
+     * @param numberTokens the number of tokens.
+     * @see #setRemainingTokens(AtomicInteger)
+     */
     public void setNumberTokens(int numberTokens) {
-        this.numberTokens = numberTokens;
+        this.remainingTokens = new AtomicInteger(numberTokens);
+    }
+
+    /**
+     * Sets the number of tokens remaining to generate, shared with other generators, to pipeline
+     * the requests across all of them.
+     *
+     * @param remainingTokens the number of tokens remaining.
+     */
+    void setRemainingTokens(AtomicInteger remainingTokens) {
+        this.remainingTokens = remainingTokens;
+    }
+
+    /**
+     * Sets the extractor of the tokens, shared with other generators.
+     *
+     * @param tokenExtractor the extractor of the tokens.
+     */
+    void setTokenExtractor(TokenExtractor tokenExtractor) {
+        this.tokenExtractor = tokenExtractor;
+    }
+
+    /**
+     * Sets the sender of the requests.
+     *
+     * @param httpSender the sender of the requests.
+     */
+    void setHttpSender(HttpSender httpSender) {
+        this.httpSender = httpSender;
     }
 
     public void setHttpMessage(HttpMessage httpMessage) {
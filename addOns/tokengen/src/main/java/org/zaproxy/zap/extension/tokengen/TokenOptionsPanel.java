@@ -20,6 +20,7 @@
 package org.zaproxy.zap.extension.tokengen;
 
 import javax.swing.GroupLayout;
+import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.model.OptionsParam;
@@ -34,6 +35,8 @@ import org.zaproxy.zap.utils.ZapNumberSpinner;
  * <ul>
  *   <li>Number of threads for the token generation;
  *   <li>The request delay;
+ *   <li>Whether or not the messages of the token generation are kept;
+ *   <li>Whether or not the analysis starts while the tokens are generated;
  * </ul>
  *
  * @see TokenParam
@@ -53,12 +56,26 @@ public class TokenOptionsPanel extends AbstractParamPanel {
     private static final String REQUEST_DELAY_LABEL =
             Constant.messages.getString("tokengen.optionspanel.option.requestdelay");
 
+    /** The label for the keep messages option. */
+    private static final String KEEP_MESSAGES_LABEL =
+            Constant.messages.getString("tokengen.optionspanel.option.keepmessages");
+
+    /** The label for the analyse while generating option. */
+    private static final String ANALYSE_WHILE_GENERATING_LABEL =
+            Constant.messages.getString("tokengen.optionspanel.option.analysewhilegenerating");
+
     /** The number spinner for the number of threads per scan. */
     private ZapNumberSpinner threadsPerScanNumberSpinner;
 
     /** The number spinner for the request delay. */
     private ZapNumberSpinner requestDelayNumberSpinner;
 
+    /** The check box for the keep messages option. */
+    private JCheckBox keepMessagesCheckBox;
+
+    /** The check box for the analyse while generating option. */
+    private JCheckBox analyseWhileGeneratingCheckBox;
+
     public TokenOptionsPanel() {
         super();
 
@@ -70,6 +87,9 @@ public class TokenOptionsPanel extends AbstractParamPanel {
         requestDelayNumberSpinner =
                 new ZapNumberSpinner(0, TokenParam.DEFAULT_REQUEST_DELAY_IN_MS, Integer.MAX_VALUE);
 
+        keepMessagesCheckBox = new JCheckBox(KEEP_MESSAGES_LABEL);
+        analyseWhileGeneratingCheckBox = new JCheckBox(ANALYSE_WHILE_GENERATING_LABEL);
+
         setName(NAME);
 
         GroupLayout layout = new GroupLayout(this);
@@ -79,15 +99,21 @@ public class TokenOptionsPanel extends AbstractParamPanel {
         layout.setAutoCreateContainerGaps(true);
 
         layout.setHorizontalGroup(
-                layout.createSequentialGroup()
-                        .addGroup(
-                                layout.createParallelGroup(GroupLayout.Alignment.TRAILING)
-                                        .addComponent(threadsPerScanLabel)
-                                        .addComponent(requestDelayLabel))
+                layout.createParallelGroup(GroupLayout.Alignment.LEADING)
                         .addGroup(
-                                layout.createParallelGroup(GroupLayout.Alignment.LEADING)
-                                        .addComponent(threadsPerScanNumberSpinner)
-                                        .addComponent(requestDelayNumberSpinner)));
+                                layout.createSequentialGroup()
+                                        .addGroup(
+                                                layout.createParallelGroup(
+                                                                GroupLayout.Alignment.TRAILING)
+                                                        .addComponent(threadsPerScanLabel)
+                                                        .addComponent(requestDelayLabel))
+                                        .addGroup(
+                                                layout.createParallelGroup(
+                                                                GroupLayout.Alignment.LEADING)
+                                                        .addComponent(threadsPerScanNumberSpinner)
+                                                        .addComponent(requestDelayNumberSpinner)))
+                        .addComponent(keepMessagesCheckBox)
+                        .addComponent(analyseWhileGeneratingCheckBox));
 
         layout.setVerticalGroup(
                 layout.createSequentialGroup()
@@ -98,7 +124,9 @@ public class TokenOptionsPanel extends AbstractParamPanel {
                         .addGroup(
                                 layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
                                         .addComponent(requestDelayLabel)
-                                        .addComponent(requestDelayNumberSpinner)));
+                                        .addComponent(requestDelayNumberSpinner))
+                        .addComponent(keepMessagesCheckBox)
+                        .addComponent(analyseWhileGeneratingCheckBox));
     }
 
     @Override
@@ -107,6 +135,8 @@ public class TokenOptionsPanel extends AbstractParamPanel {
 
         threadsPerScanNumberSpinner.setValue(options.getThreadsPerScan());
         requestDelayNumberSpinner.setValue(options.getRequestDelayInMs());
+        keepMessagesCheckBox.setSelected(options.isKeepMessages());
+        analyseWhileGeneratingCheckBox.setSelected(options.isAnalyseWhileGenerating());
     }
 
     @Override
@@ -115,6 +145,8 @@ public class TokenOptionsPanel extends AbstractParamPanel {
 
         options.setThreadsPerScan(threadsPerScanNumberSpinner.getValue());
         options.setRequestDelayInMs(requestDelayNumberSpinner.getValue());
+        options.setKeepMessages(keepMessagesCheckBox.isSelected());
+        options.setAnalyseWhileGenerating(analyseWhileGeneratingCheckBox.isSelected());
     }
 
     @Override
@@ -24,6 +24,7 @@ import java.awt.EventQueue;
 import java.awt.GridBagConstraints;
 import java.awt.event.KeyEvent;
 import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFileChooser;
@@ -67,6 +68,7 @@ public class TokenPanel extends AbstractPanel {
     private JToolBar panelToolbar = null;
     private JScrollPane jScrollPane = null;
     private TokenGenMessagesTableModel resultsModel = new TokenGenMessagesTableModel();
+    private final AtomicInteger pendingProgress = new AtomicInteger();
     private JTextPane initialMessage = null;
 
     private JButton stopScanButton = null;
@@ -354,6 +356,27 @@ public class TokenPanel extends AbstractPanel {
         }
     }
 
+    /**
+     * Notifies that a token generation request was sent, when the messages are not kept.
+     *
+     * <p>The progress is updated in batches, to not flood the EDT.
+     *
+     * @param goodResponse {@code true} if a response was received, {@code false} otherwise.
+     */
+    protected void tokenGenerated(boolean goodResponse) {
+        if (!goodResponse) {
+            return;
+        }
+        if (pendingProgress.getAndIncrement() == 0) {
+            EventQueue.invokeLater(
+                    () ->
+                            getProgressBar()
+                                    .setValue(
+                                            getProgressBar().getValue()
+                                                    + pendingProgress.getAndSet(0)));
+        }
+    }
+
     private TokenGenMessagesTable getTokenGenMessagesTable() {
         if (tokenGenMessagesTable == null) {
             tokenGenMessagesTable = new TokenGenMessagesTable(resultsModel);
@@ -410,16 +433,7 @@ public class TokenPanel extends AbstractPanel {
                     return;
                 }
 
-                CharacterFrequencyMap cfm = new CharacterFrequencyMap();
-
-                for (int i = 0; i < this.resultsModel.getRowCount(); i++) {
-                    MessageSummary msg = this.resultsModel.getMessage(i);
-                    if (msg.getToken() != null) {
-                        cfm.addToken(msg.getToken());
-                    }
-                }
-
-                cfm.save(file);
+                extension.getGeneratedTokens().save(file);
 
             } catch (Exception e) {
                 View.getSingleton()
@@ -459,7 +473,7 @@ public class TokenPanel extends AbstractPanel {
         getStopScanButton().setEnabled(false);
         getPauseScanButton().setEnabled(false);
         getPauseScanButton().setSelected(false);
-        if (getTokenResultsSize() > 0) {
+        if (extension.getGeneratedTokensCount() > 0) {
             getSaveButton().setEnabled(true);
         }
         getProgressBar().setEnabled(false);
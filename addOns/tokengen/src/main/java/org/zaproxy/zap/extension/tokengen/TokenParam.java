@@ -29,6 +29,8 @@ import org.zaproxy.zap.common.VersionedAbstractParam;
  * <ul>
  *   <li>Number of threads for the token generation;
  *   <li>The request delay;
+ *   <li>Whether or not the messages of the token generation are kept;
+ *   <li>Whether or not the analysis starts while the tokens are generated;
  * </ul>
  */
 public class TokenParam extends VersionedAbstractParam {
@@ -37,6 +39,10 @@ public class TokenParam extends VersionedAbstractParam {
 
     protected static final int DEFAULT_REQUEST_DELAY_IN_MS = 0;
 
+    protected static final boolean DEFAULT_KEEP_MESSAGES = true;
+
+    protected static final boolean DEFAULT_ANALYSE_WHILE_GENERATING = false;
+
     /**
      * The version of the configurations. Used to keep track of configurations changes between
      * releases, if updates are needed.
@@ -52,10 +58,19 @@ public class TokenParam extends VersionedAbstractParam {
 
     private static final String REQUEST_DELAY_IN_MS = PARAM_BASE_KEY + ".requestDelayInMs";
 
+    private static final String KEEP_MESSAGES = PARAM_BASE_KEY + ".keepMessages";
+
+    private static final String ANALYSE_WHILE_GENERATING =
+            PARAM_BASE_KEY + ".analyseWhileGenerating";
+
     private int threadsPerScan = DEFAULT_THREADS_PER_SCAN;
 
     private int requestDelayInMs = DEFAULT_REQUEST_DELAY_IN_MS;
 
+    private boolean keepMessages = DEFAULT_KEEP_MESSAGES;
+
+    private boolean analyseWhileGenerating = DEFAULT_ANALYSE_WHILE_GENERATING;
+
     public TokenParam() {}
 
     @Override
@@ -78,6 +93,11 @@ public class TokenParam extends VersionedAbstractParam {
         setThreadsPerScanImpl(getConfig().getInt(THREADS_PER_SCAN, DEFAULT_THREADS_PER_SCAN));
 
         requestDelayInMs = getConfig().getInt(REQUEST_DELAY_IN_MS, DEFAULT_REQUEST_DELAY_IN_MS);
+
+        keepMessages = getConfig().getBoolean(KEEP_MESSAGES, DEFAULT_KEEP_MESSAGES);
+
+        analyseWhileGenerating =
+                getConfig().getBoolean(ANALYSE_WHILE_GENERATING, DEFAULT_ANALYSE_WHILE_GENERATING);
     }
 
     private void setThreadsPerScanImpl(int threadsPerScan) {
@@ -101,4 +121,22 @@ public class TokenParam extends VersionedAbstractParam {
         this.requestDelayInMs = requestDelayInMs;
         getConfig().setProperty(REQUEST_DELAY_IN_MS, this.requestDelayInMs);
     }
+
+    public boolean isKeepMessages() {
+        return keepMessages;
+    }
+
+    public void setKeepMessages(boolean keepMessages) {
+        this.keepMessages = keepMessages;
+        getConfig().setProperty(KEEP_MESSAGES, keepMessages);
+    }
+
+    public boolean isAnalyseWhileGenerating() {
+        return analyseWhileGenerating;
+    }
+
+    public void setAnalyseWhileGenerating(boolean analyseWhileGenerating) {
+        this.analyseWhileGenerating = analyseWhileGenerating;
+        getConfig().setProperty(ANALYSE_WHILE_GENERATING, analyseWhileGenerating);
+    }
 }
@@ -21,10 +21,17 @@ package org.zaproxy.zap.extension.tokengen;
 
 import java.math.BigInteger;
 
+/**
+ * A {@code RandomStream} over the bytes of the tokens, one after the other.
+ *
+ * <p>The bytes can be shared by several streams, each stream keeps its own position so that the
+ * tests can read them concurrently.
+ *
+ * @see CharacterFrequencyMap#getPackedTokens()
+ */
 public class TokenRandomStream implements com.fasteasytrade.JRandTest.IO.RandomStream {
 
     private CharacterFrequencyMap cfm = null;
-    private int offset = 0;
     private int byteOffset = 0;
     private byte[] bytes = null;
     private boolean open = false;
@@ -35,6 +42,16 @@ public class TokenRandomStream implements com.fasteasytrade.JRandTest.IO.RandomS
         open = true;
     }
 
+    /**
+     * Constructs a {@code TokenRandomStream} over the given bytes.
+     *
+     * @param bytes the bytes of the tokens, not modified.
+     */
+    TokenRandomStream(byte[] bytes) {
+        this.bytes = bytes;
+        open = true;
+    }
+
     @Override
     public boolean closeInputStream() {
         open = false;
@@ -53,19 +70,12 @@ public class TokenRandomStream implements com.fasteasytrade.JRandTest.IO.RandomS
 
     @Override
     public boolean openInputStream() throws Exception {
-        offset = 0;
-        open = true;
-        readNextToken();
-        return true;
-    }
-
-    private void readNextToken() throws Exception {
-        bytes = cfm.getByteArrayToken(offset);
         if (bytes == null) {
-            open = false;
+            bytes = cfm.getPackedTokens();
         }
-        offset++;
         byteOffset = 0;
+        open = bytes.length > 0;
+        return true;
     }
 
     private BigInteger readNumber(int sizeInBytes) throws Exception {
@@ -78,7 +88,7 @@ public class TokenRandomStream implements com.fasteasytrade.JRandTest.IO.RandomS
             ba[i] = bytes[byteOffset];
             byteOffset++;
             if (byteOffset >= bytes.length) {
-                readNextToken();
+                open = false;
             }
         }
         return new BigInteger(ba);
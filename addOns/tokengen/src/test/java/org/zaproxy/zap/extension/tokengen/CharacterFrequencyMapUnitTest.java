@@ -97,4 +97,26 @@ class CharacterFrequencyMapUnitTest {
                 contains("Col 0 A:1 B:1 C:1", "Col 1 A:1 B:1 C:1", "Col 2 A:1 B:1 C:1"));
         assertThat(result.getSummary(), is(nullValue()));
     }
+
+    @Test
+    void shouldPackBytesOfAllTokens() throws Exception {
+        // Given
+        CharacterFrequencyMap cfm = new CharacterFrequencyMap();
+        cfm.addToken("0a1b");
+        cfm.addToken("ff00");
+        // When
+        byte[] packed = cfm.getPackedTokens();
+        // Then
+        assertThat(packed, is(equalTo(new byte[] {0x0a, 0x1b, (byte) 0xff, 0x00})));
+    }
+
+    @Test
+    void shouldPackNoBytesWithoutTokens() throws Exception {
+        // Given
+        CharacterFrequencyMap cfm = new CharacterFrequencyMap();
+        // When
+        byte[] packed = cfm.getPackedTokens();
+        // Then
+        assertThat(packed.length, is(equalTo(0)));
+    }
 }
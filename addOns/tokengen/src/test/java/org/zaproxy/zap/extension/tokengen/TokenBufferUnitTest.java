@@ -0,0 +1,120 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.tokengen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link TokenBuffer}. */
+class TokenBufferUnitTest {
+
+    @Test
+    void shouldGetTokensAdded() {
+        // Given
+        TokenBuffer buffer = new TokenBuffer();
+        // When
+        buffer.add("abc");
+        buffer.add("");
+        buffer.add("de");
+        // Then
+        assertThat(buffer.size(), is(3));
+        assertThat(buffer.get(0), is("abc"));
+        assertThat(buffer.get(1), is(""));
+        assertThat(buffer.get(2), is("de"));
+    }
+
+    @Test
+    void shouldReturnNumberOfTokensWhenAdding() {
+        // Given
+        TokenBuffer buffer = new TokenBuffer();
+        buffer.add("abc");
+        // When
+        int size = buffer.add("def");
+        // Then
+        assertThat(size, is(2));
+    }
+
+    @Test
+    void shouldGrowBeyondExpectedTokens() {
+        // Given
+        TokenBuffer buffer = new TokenBuffer(1);
+        String longToken = "0123456789abcdef0123456789abcdef";
+        // When
+        for (int i = 0; i < 100; i++) {
+            buffer.add(longToken + i);
+        }
+        // Then
+        assertThat(buffer.size(), is(100));
+        assertThat(buffer.get(0), is(longToken + 0));
+        assertThat(buffer.get(99), is(longToken + 99));
+    }
+
+    @Test
+    void shouldThrowWhenGettingTokenNotAdded() {
+        // Given
+        TokenBuffer buffer = new TokenBuffer();
+        buffer.add("abc");
+        // When / Then
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(1));
+    }
+
+    @Test
+    void shouldCreateCharacterFrequencyMapWithTokensAdded() {
+        // Given
+        TokenBuffer buffer = new TokenBuffer();
+        buffer.add("0a");
+        buffer.add("1b");
+        // When
+        CharacterFrequencyMap cfm = buffer.toCharacterFrequencyMap();
+        // Then
+        assertThat(cfm.getTokens(), contains("0a", "1b"));
+        assertThat(cfm.isAllHex(), is(true));
+    }
+
+    @Test
+    void shouldAddTokensConcurrently() throws Exception {
+        // Given
+        TokenBuffer buffer = new TokenBuffer(1);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] =
+                    new Thread(
+                            () -> {
+                                for (int j = 0; j < 1000; j++) {
+                                    buffer.add("token");
+                                }
+                            });
+        }
+        // When
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Then
+        assertThat(buffer.size(), is(4000));
+        assertThat(buffer.get(3999), is("token"));
+    }
+}
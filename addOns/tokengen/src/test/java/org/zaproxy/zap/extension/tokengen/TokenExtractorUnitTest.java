@@ -0,0 +1,116 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.tokengen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HtmlParameter;
+
+/** Unit test for {@link TokenExtractor}. */
+class TokenExtractorUnitTest {
+
+    private static final TokenExtractor EXTRACTOR =
+            new TokenExtractor(HtmlParameter.Type.form, "csrf");
+
+    @Test
+    void shouldExtractValueOfInputWithName() {
+        // Given
+        String html =
+                "<html><form><input name=\"user\" value=\"a\">"
+                        + "<input type=\"hidden\" name=\"csrf\" value=\"0123abcd\"></form></html>";
+        // When
+        String token = EXTRACTOR.extractFormToken(html);
+        // Then
+        assertThat(token, is("0123abcd"));
+    }
+
+    @Test
+    void shouldExtractValueOfInputWithIdIgnoringCase() {
+        // Given
+        String html = "<FORM action='/'><INPUT ID='CSRF' VALUE='0123abcd'/></FORM>";
+        // When
+        String token = EXTRACTOR.extractFormToken(html);
+        // Then
+        assertThat(token, is("0123abcd"));
+    }
+
+    @Test
+    void shouldExtractUnquotedValue() {
+        // Given
+        String html = "<form><input name=csrf value=0123abcd></form>";
+        // When
+        String token = EXTRACTOR.extractFormToken(html);
+        // Then
+        assertThat(token, is("0123abcd"));
+    }
+
+    @Test
+    void shouldDecodeCharacterReferencesInValue() {
+        // Given
+        String html = "<form><input name=\"csrf\" value=\"a&amp;b&#61;\"></form>";
+        // When
+        String token = EXTRACTOR.extractFormToken(html);
+        // Then
+        assertThat(token, is("a&b="));
+    }
+
+    @Test
+    void shouldNotBeConfusedByGreaterThanInQuotedValues() {
+        // Given
+        String html = "<form><input title=\"a > b\" name=\"csrf\" value=\"0123abcd\"></form>";
+        // When
+        String token = EXTRACTOR.extractFormToken(html);
+        // Then
+        assertThat(token, is("0123abcd"));
+    }
+
+    @Test
+    void shouldNotExtractValueOfInputOutsideForm() {
+        // Given
+        String html = "<input name=\"csrf\" value=\"0123abcd\"><form></form>";
+        // When
+        String token = EXTRACTOR.extractFormToken(html);
+        // Then
+        assertThat(token, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotExtractValueOfInputInComment() {
+        // Given
+        String html = "<form><!-- <input name=\"csrf\" value=\"old\"> --></form>";
+        // When
+        String token = EXTRACTOR.extractFormToken(html);
+        // Then
+        assertThat(token, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotExtractValueIfInputHasNoValue() {
+        // Given
+        String html = "<form><input name=\"csrf\"></form>";
+        // When
+        String token = EXTRACTOR.extractFormToken(html);
+        // Then
+        assertThat(token, is(nullValue()));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2022 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.tokengen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpRequestHeader;
+import org.parosproxy.paros.network.HttpSender;
+
+/** Unit test for {@link TokenGenerator}. */
+class TokenGeneratorUnitTest {
+
+    private ExtensionTokenGen extension;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        extension = mock(ExtensionTokenGen.class);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldGenerateAllTokensWithSeveralGenerators() throws Exception {
+        // Given
+        AtomicInteger remainingTokens = new AtomicInteger(5);
+        HttpSender httpSender = mock(HttpSender.class);
+        TokenGenerator generator1 = createGenerator(remainingTokens, httpSender);
+        TokenGenerator generator2 = createGenerator(remainingTokens, httpSender);
+        TokenGenerator generator3 = createGenerator(remainingTokens, httpSender);
+        // When
+        generator1.doInBackground();
+        generator2.doInBackground();
+        generator3.doInBackground();
+        // Then
+        verify(httpSender, times(5)).sendAndReceive(any(HttpMessage.class), anyBoolean());
+        verify(extension, times(3)).generatorStopped(any(TokenGenerator.class));
+        assertThat(remainingTokens.get(), is(0));
+    }
+
+    @Test
+    void shouldNotLoseTokenOfTimeoutAfterOtherGeneratorsFinished() throws Exception {
+        // Given
+        AtomicInteger remainingTokens = new AtomicInteger(1);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch timeout = new CountDownLatch(1);
+        HttpSender timingOutSender = mock(HttpSender.class);
+        willAnswer(
+                        invocation -> {
+                            sending.countDown();
+                            timeout.await();
+                            throw new SocketTimeoutException();
+                        })
+                .willAnswer(invocation -> null)
+                .given(timingOutSender)
+                .sendAndReceive(any(HttpMessage.class), anyBoolean());
+        TokenGenerator timingOutGenerator = createGenerator(remainingTokens, timingOutSender);
+        HttpSender otherSender = mock(HttpSender.class);
+        TokenGenerator otherGenerator1 = createGenerator(remainingTokens, otherSender);
+        TokenGenerator otherGenerator2 = createGenerator(remainingTokens, otherSender);
+        // When
+        Future<Void> generation = executor.submit(timingOutGenerator::doInBackground);
+        sending.await();
+        otherGenerator1.doInBackground();
+        otherGenerator2.doInBackground();
+        timeout.countDown();
+        generation.get(5, TimeUnit.SECONDS);
+        // Then
+        verify(timingOutSender, times(2)).sendAndReceive(any(HttpMessage.class), anyBoolean());
+        verify(otherSender, never()).sendAndReceive(any(HttpMessage.class), anyBoolean());
+        verify(extension, times(3)).generatorStopped(any(TokenGenerator.class));
+        assertThat(remainingTokens.get(), is(0));
+    }
+
+    private TokenGenerator createGenerator(AtomicInteger remainingTokens, HttpSender httpSender)
+            throws Exception {
+        TokenGenerator generator = new TokenGenerator();
+        generator.setExtension(extension);
+        generator.setHttpMessage(new HttpMessage(new HttpRequestHeader("GET / HTTP/1.1")));
+        generator.setRemainingTokens(remainingTokens);
+        generator.setTokenExtractor(mock(TokenExtractor.class));
+        generator.setHttpSender(httpSender);
+        generator.setRequestDelay(0, TimeUnit.MILLISECONDS);
+        return generator;
+    }
+}
@@ -51,6 +51,57 @@ class TokenRandomStreamUnitTest {
         assertThat(stream.readLong(), is(-1L));
     }
 
-    // TODO Add more tests
+    @Test
+    void shouldReadBytesOfTokensInOrder() throws Exception {
+        // Given
+        TokenRandomStream bytesStream = new TokenRandomStream(new byte[] {1, 2, 3, 4, 5});
+        bytesStream.openInputStream();
+        // When
+        int number = bytesStream.readInt();
+        byte lastByte = bytesStream.readByte();
+        // Then
+        assertThat(number, is(0x01020304));
+        assertThat(lastByte, is((byte) 5));
+        assertThat(bytesStream.isOpen(), is(false));
+    }
+
+    @Test
+    void shouldReturnMinusOneIfNotEnoughBytes() throws Exception {
+        // Given
+        TokenRandomStream bytesStream = new TokenRandomStream(new byte[] {1, 2});
+        bytesStream.openInputStream();
+        // When
+        int number = bytesStream.readInt();
+        // Then
+        assertThat(number, is(-1));
+    }
 
+    @Test
+    void shouldReadSameBytesWithIndependentStreams() throws Exception {
+        // Given
+        byte[] bytes = {1, 2};
+        TokenRandomStream stream1 = new TokenRandomStream(bytes);
+        TokenRandomStream stream2 = new TokenRandomStream(bytes);
+        stream1.openInputStream();
+        stream2.openInputStream();
+        // When
+        stream1.readByte();
+        byte byteStream1 = stream1.readByte();
+        byte byteStream2 = stream2.readByte();
+        // Then
+        assertThat(byteStream1, is((byte) 2));
+        assertThat(byteStream2, is((byte) 1));
+    }
+
+    @Test
+    void shouldRestartWhenReopened() throws Exception {
+        // Given
+        TokenRandomStream bytesStream = new TokenRandomStream(new byte[] {1, 2});
+        bytesStream.openInputStream();
+        bytesStream.readByte();
+        // When
+        bytesStream.openInputStream();
+        // Then
+        assertThat(bytesStream.readByte(), is((byte) 1));
+    }
 }